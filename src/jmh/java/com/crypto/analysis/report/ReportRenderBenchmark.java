@@ -0,0 +1,92 @@
+package com.crypto.analysis.report;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 분석 보고서 렌더링 벤치마크 (기존 StringBuilder 구현 / 템플릿 렌더링 / 지문 캐시 적중)
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ReportRenderBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportRenderBenchmark {
+
+    // Claude 응답 형식 그대로 (코드 블럭 안의 JSON, 모든 선택 항목 포함)
+    static final String RESPONSE = """
+        ```json
+        {
+          "통화단위": "원",
+          "거래소": "UPBIT",
+          "코인명": "BTC",
+          "분석_요약": "단기적으로 저항선 돌파를 시도하고 있으며, 거래량 증가가 동반되면 추가 상승 여력이 있습니다.",
+          "매수매도_추천": {"매수_확률": 68, "매도_확률": 32, "추천": "매수", "신뢰도": 7.5, "근거": "RSI 가 중립 구간에서 상승 중이며 MACD 골든크로스가 발생했습니다."},
+          "매매_전략": {
+            "수익실현_목표가": [152000000, 158000000],
+            "손절매_라인": 138000000,
+            "리스크_보상_비율": 2.4,
+            "전략_설명": "첫 목표가에서 절반을 정리하고 나머지는 두 번째 목표가까지 보유합니다.",
+            "매수_분할": [
+              {"가격": 145000000, "비율": 40, "설명": "현재가 부근 1차 진입"},
+              {"가격": 142000000, "비율": 35, "설명": "1차 지지선 2차 진입"},
+              {"가격": 140000000, "비율": 25, "설명": "2차 지지선 3차 진입"}
+            ],
+            "매도_분할": [
+              {"가격": 152000000, "비율": 50, "설명": "1차 저항선"},
+              {"가격": 158000000, "비율": 50, "설명": "2차 저항선"}
+            ]
+          },
+          "시간별_전망": {"단기_24시간": "145,000,000원 부근에서 등락하며 방향성을 탐색할 전망입니다.", "중기_1주일": "152,000,000원 저항선 돌파 여부가 관건입니다.", "장기_1개월": "거시 환경이 우호적이면 신고가 도전이 가능합니다."},
+          "기술적_분석": {"주요_지지선": [142000000, 140000000], "주요_저항선": [152000000, 158000000], "추세_강도": "중", "주요_패턴": "상승 삼각형"},
+          "고급_지표_분석": {"MACD": "시그널선 상향 돌파", "볼린저밴드": "상단 밴드 접근", "피보나치": "0.618 되돌림 지지", "ATR": "변동성 평균 수준", "OBV": "완만한 상승"},
+          "최근_뉴스_요약": {"주요_뉴스": ["현물 ETF 순유입 지속", "거래소 보유량 감소", "미 연준 금리 동결"], "뉴스_영향": "전반적으로 긍정적"},
+          "위험_요소": ["거시경제 불확실성", "규제 리스크", "단기 과열 가능성"]
+        }
+        ```""";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private String json;
+    private AnalysisReportRenderer renderer;
+
+    @Setup
+    public void setup() throws Exception {
+        json = RESPONSE.substring(RESPONSE.indexOf("```json") + 7, RESPONSE.lastIndexOf("```")).trim();
+        renderer = new AnalysisReportRenderer(new AnalysisMetrics(new SimpleMeterRegistry()));
+        renderer.render(json);
+    }
+
+    @Benchmark
+    public String legacyStringBuilder() {
+        return LegacyReportFormatter.format(RESPONSE);
+    }
+
+    @Benchmark
+    public String template() throws Exception {
+        return renderer.render(AnalysisReport.from(mapper.readTree(json)));
+    }
+
+    @Benchmark
+    public String templateCached() throws Exception {
+        return renderer.render(json);
+    }
+}
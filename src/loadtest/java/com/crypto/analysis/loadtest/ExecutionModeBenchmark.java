@@ -0,0 +1,177 @@
+package com.crypto.analysis.loadtest;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 플랫폼 스레드 풀 모드와 가상 스레드 모드 비교 벤치마크
+ *
+ * 같은 스텁 서버(느린 외부 API)를 두고 애플리케이션을 모드별로 따로 띄워 같은 시나리오를 실행한다.
+ * <pre>
+ * mvn -DskipTests package
+ * mvn -Ploadtest test-compile exec:java -Dloadtest.main=com.crypto.analysis.loadtest.ExecutionModeBenchmark \
+ *     -Dexec.args="--app-jar=target/Coin_Analysis_AI-0.0.1-SNAPSHOT.jar --rps=300 --duration=60 --stub-latency=800"
+ * </pre>
+ *
+ * 주요 옵션 (나머지는 LoadTestRunner 와 같음)
+ * <ul>
+ *   <li>--app-jar: 실행할 애플리케이션 jar (필수)</li>
+ *   <li>--modes: platform,virtual 중 선택 (쉼표 구분)</li>
+ *   <li>--app-port: 애플리케이션 포트 (기본 18080)</li>
+ *   <li>--tomcat-threads: 플랫폼 모드의 Tomcat 최대 스레드 수 (기본 200)</li>
+ *   <li>--pinning: 가상 스레드 모드에서 고정 진단을 함께 켬 (결과는 애플리케이션 로그에 남음)</li>
+ * </ul>
+ */
+public class ExecutionModeBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestRunner.parseArgs(args);
+        String appJar = options.get("app-jar");
+        if (appJar == null) {
+            throw new IllegalArgumentException("--app-jar 를 지정하세요");
+        }
+        int appPort = Integer.parseInt(options.getOrDefault("app-port", "18080"));
+        int stubPort = Integer.parseInt(options.getOrDefault("stub-port", "9090"));
+
+        // 스레드가 외부 API 대기에 묶이는 상황을 재현하도록 기본 지연을 길게 잡음
+        options.putIfAbsent("stub-latency", "800");
+        options.putIfAbsent("scenarios", "markets,analyze");
+        options.put("target", "http://localhost:" + appPort);
+
+        UpstreamStubServer stub = new UpstreamStubServer(stubPort, StubProfile.fromArgs(options));
+        stub.start();
+
+        Map<String, List<LatencyRecorder.Report>> results = new LinkedHashMap<>();
+        try {
+            for (String mode : options.getOrDefault("modes", "platform,virtual").split(",")) {
+                mode = mode.trim();
+                Process app = startApp(appJar, mode, appPort, stubPort, options);
+                try {
+                    awaitReady(appPort);
+                    System.out.println("모드 실행: " + mode);
+                    results.put(mode, LoadTestRunner.run(options));
+                } finally {
+                    stopApp(app);
+                }
+            }
+        } finally {
+            stub.stop();
+        }
+
+        printComparison(results);
+        String reportPath = options.get("report");
+        if (reportPath != null) {
+            List<LatencyRecorder.Report> all = new ArrayList<>();
+            for (Map.Entry<String, List<LatencyRecorder.Report>> entry : results.entrySet()) {
+                for (LatencyRecorder.Report r : entry.getValue()) {
+                    all.add(new LatencyRecorder.Report(entry.getKey() + ":" + r.name(), r.completed(), r.errors(),
+                        r.dropped(), r.throughput(), r.p50Ms(), r.p90Ms(), r.p99Ms(), r.maxMs()));
+                }
+            }
+            LoadTestRunner.writeJson(Path.of(reportPath), all);
+        }
+    }
+
+    private static Process startApp(String appJar, String mode, int appPort, int stubPort,
+                                    Map<String, String> options) throws Exception {
+        boolean virtual = "virtual".equals(mode);
+        if (!virtual && !"platform".equals(mode)) {
+            throw new IllegalArgumentException("알 수 없는 모드: " + mode);
+        }
+        List<String> command = new ArrayList<>(List.of(
+            Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+            "--add-modules", "jdk.incubator.vector",
+            "-jar", appJar,
+            "--spring.profiles.active=loadtest",
+            "--server.port=" + appPort,
+            "--loadtest.stub.port=" + stubPort,
+            "--spring.threads.virtual.enabled=" + virtual,
+            "--server.tomcat.threads.max=" + options.getOrDefault("tomcat-threads", "200")));
+        if (virtual && options.containsKey("pinning")) {
+            command.add("--diagnostics.pinning.enabled=true");
+        }
+
+        File log = Path.of("target", "benchmark-" + mode + ".log").toFile();
+        log.getParentFile().mkdirs();
+        System.out.println("애플리케이션 시작 (" + mode + "), 로그: " + log);
+        return new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log)
+            .start();
+    }
+
+    private static void awaitReady(int appPort) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + appPort + "/actuator/health"))
+            .timeout(Duration.ofSeconds(5))
+            .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (Exception e) {
+                // 아직 기동 중
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("애플리케이션이 " + STARTUP_TIMEOUT.toSeconds() + "초 안에 시작되지 않았습니다");
+    }
+
+    private static void stopApp(Process app) throws InterruptedException {
+        app.destroy();
+        if (!app.waitFor(30, TimeUnit.SECONDS)) {
+            app.destroyForcibly();
+        }
+    }
+
+    private static void printComparison(Map<String, List<LatencyRecorder.Report>> results) {
+        for (Map.Entry<String, List<LatencyRecorder.Report>> entry : results.entrySet()) {
+            System.out.println();
+            System.out.println("[" + entry.getKey() + "]");
+            LoadTestRunner.printReports(entry.getValue());
+        }
+
+        // 시나리오별 p99 / 처리량 비교 (첫 모드 기준)
+        Map<String, Map<String, LatencyRecorder.Report>> byScenario = new LinkedHashMap<>();
+        for (Map.Entry<String, List<LatencyRecorder.Report>> entry : results.entrySet()) {
+            for (LatencyRecorder.Report r : entry.getValue()) {
+                byScenario.computeIfAbsent(r.name(), k -> new HashMap<>()).put(entry.getKey(), r);
+            }
+        }
+        if (results.size() < 2) {
+            return;
+        }
+        List<String> modes = new ArrayList<>(results.keySet());
+        String base = modes.get(0);
+        System.out.println();
+        for (Map.Entry<String, Map<String, LatencyRecorder.Report>> entry : byScenario.entrySet()) {
+            LatencyRecorder.Report baseline = entry.getValue().get(base);
+            for (String mode : modes.subList(1, modes.size())) {
+                LatencyRecorder.Report other = entry.getValue().get(mode);
+                if (baseline == null || other == null) {
+                    continue;
+                }
+                System.out.printf("%-14s %s 대비 %s: 처리량 %.2fx, p99 %.1fms -> %.1fms, 오류 %d -> %d, 누락 %d -> %d%n",
+                    entry.getKey(), base, mode,
+                    baseline.throughput() > 0 ? other.throughput() / baseline.throughput() : 0.0,
+                    baseline.p99Ms(), other.p99Ms(), baseline.errors(), other.errors(),
+                    baseline.dropped(), other.dropped());
+            }
+        }
+    }
+}
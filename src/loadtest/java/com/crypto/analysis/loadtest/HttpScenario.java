@@ -0,0 +1,47 @@
+package com.crypto.analysis.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * 단일 GET 엔드포인트를 호출하는 HTTP 시나리오
+ */
+public class HttpScenario implements LoadScenario {
+
+    private final String name;
+    private final HttpClient client;
+    private final HttpRequest request;
+
+    public HttpScenario(String name, HttpClient client, String url, Duration timeout) {
+        this.name = name;
+        this.client = client;
+        this.request = HttpRequest.newBuilder(URI.create(url))
+            .timeout(timeout)
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void fire(LatencyRecorder recorder, Runnable onComplete) {
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, error) -> {
+                long latency = System.nanoTime() - start;
+                if (error == null && response.statusCode() >= 200 && response.statusCode() < 400) {
+                    recorder.recordSuccess(latency);
+                } else {
+                    recorder.recordError(latency);
+                }
+                onComplete.run();
+            });
+    }
+}
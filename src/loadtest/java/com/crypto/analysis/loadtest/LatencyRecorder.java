@@ -0,0 +1,114 @@
+package com.crypto.analysis.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시나리오별 지연 시간 기록기
+ *
+ * 샘플을 미리 할당한 long 배열에 마이크로초 단위로 저장하고,
+ * 종료 시 정렬해서 백분위수를 계산한다. 용량을 넘는 샘플은 개수만 집계된다.
+ */
+public class LatencyRecorder {
+
+    private final String name;
+    private final long[] samplesMicros;
+    private final AtomicInteger sampleIndex = new AtomicInteger();
+    private final AtomicLong successCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    public LatencyRecorder(String name, int capacity) {
+        this.name = name;
+        this.samplesMicros = new long[Math.max(capacity, 1)];
+    }
+
+    public void start() {
+        startNanos = System.nanoTime();
+    }
+
+    public void stop() {
+        endNanos = System.nanoTime();
+    }
+
+    public void recordSuccess(long latencyNanos) {
+        successCount.incrementAndGet();
+        record(latencyNanos);
+    }
+
+    public void recordError(long latencyNanos) {
+        errorCount.incrementAndGet();
+        record(latencyNanos);
+    }
+
+    /**
+     * 목표 RPS 를 맞추지 못해 발사하지 못한 요청
+     */
+    public void recordDropped() {
+        droppedCount.incrementAndGet();
+    }
+
+    private void record(long latencyNanos) {
+        int index = sampleIndex.getAndIncrement();
+        if (index < samplesMicros.length) {
+            samplesMicros[index] = latencyNanos / 1_000;
+        }
+    }
+
+    public Report report() {
+        int count = Math.min(sampleIndex.get(), samplesMicros.length);
+        long[] sorted = Arrays.copyOf(samplesMicros, count);
+        Arrays.sort(sorted);
+
+        double elapsedSeconds = Math.max(endNanos - startNanos, 1) / 1_000_000_000.0;
+        long completed = successCount.get() + errorCount.get();
+
+        return new Report(
+            name,
+            completed,
+            errorCount.get(),
+            droppedCount.get(),
+            completed / elapsedSeconds,
+            percentile(sorted, 0.50),
+            percentile(sorted, 0.90),
+            percentile(sorted, 0.99),
+            count > 0 ? sorted[count - 1] / 1_000.0 : 0
+        );
+    }
+
+    private double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000.0;
+    }
+
+    /**
+     * 지연 시간은 밀리초, 처리량은 초당 완료 요청 수
+     */
+    public record Report(String name, long completed, long errors, long dropped, double throughput,
+                         double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+
+        public static String header() {
+            return String.format("%-14s %9s %7s %7s %10s %9s %9s %9s %9s",
+                "scenario", "completed", "errors", "dropped", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)");
+        }
+
+        public String toRow() {
+            return String.format("%-14s %9d %7d %7d %10.1f %9.1f %9.1f %9.1f %9.1f",
+                name, completed, errors, dropped, throughput, p50Ms, p90Ms, p99Ms, maxMs);
+        }
+
+        public String toJson() {
+            return String.format(java.util.Locale.ROOT,
+                "{\"scenario\":\"%s\",\"completed\":%d,\"errors\":%d,\"dropped\":%d,\"throughput\":%.2f,"
+                    + "\"p50Ms\":%.2f,\"p90Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}",
+                name, completed, errors, dropped, throughput, p50Ms, p90Ms, p99Ms, maxMs);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.crypto.analysis.loadtest;
+
+/**
+ * 부하 시나리오
+ *
+ * fire 는 요청을 비동기로 발사하고 즉시 반환해야 한다.
+ * 완료 시점에 recorder 에 지연 시간을 기록한다.
+ */
+public interface LoadScenario extends AutoCloseable {
+
+    String name();
+
+    /**
+     * 시나리오 준비 (연결 수립 등). 기본은 아무 것도 하지 않는다.
+     */
+    default void prepare() throws Exception {
+    }
+
+    void fire(LatencyRecorder recorder, Runnable onComplete);
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,203 @@
+package com.crypto.analysis.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 테스트 실행기
+ *
+ * 애플리케이션을 loadtest 프로필로 띄운 상태에서 실행한다.
+ * <pre>
+ * java -jar app.jar --spring.profiles.active=loadtest
+ * mvn -Ploadtest test-compile exec:java -Dexec.args="--rps=20 --duration=60 --with-stub=true"
+ * </pre>
+ *
+ * 주요 옵션
+ * <ul>
+ *   <li>--target: 애플리케이션 주소 (기본 http://localhost:8080)</li>
+ *   <li>--scenarios: markets,analyze,stock,stomp 중 선택 (쉼표 구분)</li>
+ *   <li>--rps, --duration(초), --max-in-flight: 시나리오별 목표 처리량과 지속 시간</li>
+ *   <li>--with-stub, --stub-port, --stub-latency, --stub-jitter, --stub-error-rate: 스텁 서버 설정</li>
+ *   <li>--report: 결과 JSON 저장 경로</li>
+ * </ul>
+ * 각 시나리오는 개방형(open-loop)으로 목표 RPS 에 맞춰 발사되며,
+ * 동시 요청이 max-in-flight 를 넘으면 발사하지 않고 dropped 로 집계한다.
+ */
+public class LoadTestRunner {
+
+    private static final long TICK_MILLIS = 10;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+
+        UpstreamStubServer stub = null;
+        if (Boolean.parseBoolean(options.getOrDefault("with-stub", "false"))) {
+            stub = new UpstreamStubServer(
+                Integer.parseInt(options.getOrDefault("stub-port", "9090")),
+                StubProfile.fromArgs(options));
+            stub.start();
+        }
+
+        try {
+            List<LatencyRecorder.Report> reports = run(options);
+            printReports(reports);
+
+            if (stub != null) {
+                System.out.println("스텁 요청 수: " + stub.getRequestCount() + ", 스텁 오류 수: " + stub.getErrorCount());
+            }
+
+            String reportPath = options.get("report");
+            if (reportPath != null) {
+                writeJson(Path.of(reportPath), reports);
+            }
+        } finally {
+            if (stub != null) {
+                stub.stop();
+            }
+        }
+    }
+
+    /**
+     * 옵션에 지정된 시나리오를 순서대로 실행하고 결과를 반환
+     */
+    public static List<LatencyRecorder.Report> run(Map<String, String> options) throws Exception {
+        String target = options.getOrDefault("target", "http://localhost:8080");
+        double rps = Double.parseDouble(options.getOrDefault("rps", "20"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "512"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "60")));
+
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+        List<LatencyRecorder.Report> reports = new ArrayList<>();
+        for (String name : options.getOrDefault("scenarios", "markets,analyze,stock,stomp").split(",")) {
+            try (LoadScenario scenario = createScenario(name.trim(), target, client, options, timeout)) {
+                scenario.prepare();
+                System.out.println("시나리오 실행: " + scenario.name() + " (" + rps + " rps, " + durationSeconds + "s)");
+                reports.add(drive(scenario, rps, durationSeconds, maxInFlight, timeout));
+            }
+        }
+        return reports;
+    }
+
+    private static LoadScenario createScenario(String name, String target, HttpClient client,
+                                               Map<String, String> options, Duration timeout) {
+        String market = options.getOrDefault("market", "KRW-BTC");
+        String exchange = options.getOrDefault("exchange", "upbit");
+        String symbol = options.getOrDefault("symbol", "AAPL");
+
+        switch (name) {
+            case "markets":
+                return new HttpScenario("markets", client, target + "/markets?exchange=" + exchange, timeout);
+            case "analyze":
+                return new HttpScenario("analyze", client,
+                    target + "/analyze?market=" + market + "&exchange=" + exchange, timeout);
+            case "stock":
+                return new HttpScenario("stock-analyze", client,
+                    target + "/api/stock/analyze?symbol=" + symbol, timeout);
+            case "stomp":
+                return new StompScenario(target.replaceFirst("^http", "ws") + "/ws",
+                    Integer.parseInt(options.getOrDefault("stomp-sessions", "8")), timeout);
+            default:
+                throw new IllegalArgumentException("알 수 없는 시나리오: " + name);
+        }
+    }
+
+    /**
+     * 목표 RPS 로 시나리오를 구동하고 모든 요청이 끝날 때까지 대기
+     */
+    static LatencyRecorder.Report drive(LoadScenario scenario, double rps, int durationSeconds,
+                                        int maxInFlight, Duration timeout) throws InterruptedException {
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.ceil(rps * durationSeconds * 1.1) + 16);
+        LatencyRecorder recorder = new LatencyRecorder(scenario.name(), capacity);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+
+        double perTick = rps * TICK_MILLIS / 1000.0;
+        long totalTicks = durationSeconds * 1000L / TICK_MILLIS;
+        double[] carry = {0};
+        long[] ticks = {0};
+
+        recorder.start();
+        ticker.scheduleAtFixedRate(() -> {
+            if (ticks[0]++ >= totalTicks) {
+                return;
+            }
+            carry[0] += perTick;
+            while (carry[0] >= 1) {
+                carry[0] -= 1;
+                if (inFlight.tryAcquire()) {
+                    scenario.fire(recorder, inFlight::release);
+                } else {
+                    recorder.recordDropped();
+                }
+            }
+        }, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+
+        Thread.sleep(durationSeconds * 1000L);
+        ticker.shutdown();
+        ticker.awaitTermination(1, TimeUnit.SECONDS);
+
+        // 남은 요청이 모두 끝날 때까지 대기
+        if (inFlight.tryAcquire(maxInFlight, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            inFlight.release(maxInFlight);
+        }
+        recorder.stop();
+        return recorder.report();
+    }
+
+    static void printReports(List<LatencyRecorder.Report> reports) {
+        System.out.println();
+        System.out.println(LatencyRecorder.Report.header());
+        for (LatencyRecorder.Report report : reports) {
+            System.out.println(report.toRow());
+        }
+    }
+
+    static void writeJson(Path path, List<LatencyRecorder.Report> reports) throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < reports.size(); i++) {
+            if (i > 0) json.append(",");
+            json.append(reports.get(i).toJson());
+        }
+        json.append("]");
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.writeString(path, json.toString(), StandardCharsets.UTF_8);
+        System.out.println("리포트 저장: " + path);
+    }
+
+    /**
+     * --key=value 형식의 인자를 맵으로 변환
+     */
+    static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                int eq = arg.indexOf('=');
+                if (eq > 2) {
+                    options.put(arg.substring(2, eq), arg.substring(eq + 1));
+                } else {
+                    options.put(arg.substring(2), "true");
+                }
+            }
+        }
+        return options;
+    }
+}
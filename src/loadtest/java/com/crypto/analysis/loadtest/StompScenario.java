@@ -0,0 +1,145 @@
+package com.crypto.analysis.loadtest;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.Transport;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+/**
+ * STOMP 엔드포인트(/ws) 시나리오
+ *
+ * 세션 풀을 열어 /topic/ticker 를 구독한 뒤, /app/subscribe 로 고유 표식이 담긴
+ * 마켓 코드를 보내고 해당 표식이 포함된 메시지가 돌아올 때까지의 왕복 시간을 잰다.
+ * 스텁 서버는 어떤 마켓 코드든 그대로 돌려주므로 표식이 응답에 남는다.
+ */
+public class StompScenario implements LoadScenario {
+
+    private static final Pattern MARKER = Pattern.compile("KRW-LT(\\d+)");
+
+    private final String wsUrl;
+    private final int sessionCount;
+    private final Duration timeout;
+    private final List<StompSession> sessions = new ArrayList<>();
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private WebSocketStompClient stompClient;
+
+    public StompScenario(String wsUrl, int sessionCount, Duration timeout) {
+        this.wsUrl = wsUrl;
+        this.sessionCount = sessionCount;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String name() {
+        return "stomp";
+    }
+
+    @Override
+    public void prepare() throws Exception {
+        List<Transport> transports = List.of(new WebSocketTransport(new StandardWebSocketClient()));
+        stompClient = new WebSocketStompClient(new SockJsClient(transports));
+        stompClient.setMessageConverter(new CompositeMessageConverter(
+            List.of(new StringMessageConverter(), new MappingJackson2MessageConverter())));
+
+        for (int i = 0; i < sessionCount; i++) {
+            StompSession session = stompClient.connectAsync(wsUrl, new StompSessionHandlerAdapter() { })
+                .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            session.subscribe("/topic/ticker", new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return String.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    onMessage(String.valueOf(payload));
+                }
+            });
+            sessions.add(session);
+        }
+    }
+
+    @Override
+    public void fire(LatencyRecorder recorder, Runnable onComplete) {
+        expireTimedOut();
+
+        long seq = sequence.incrementAndGet();
+        StompSession session = sessions.get((int) (seq % sessions.size()));
+        pending.put(seq, new Pending(System.nanoTime(), recorder, onComplete));
+
+        try {
+            StompHeaders headers = new StompHeaders();
+            headers.setDestination("/app/subscribe");
+            session.send(headers, Map.of("markets", List.of("KRW-LT" + seq)));
+        } catch (Exception e) {
+            Pending failed = pending.remove(seq);
+            if (failed != null) {
+                failed.recorder.recordError(System.nanoTime() - failed.startNanos);
+                failed.onComplete.run();
+            }
+        }
+    }
+
+    private void onMessage(String payload) {
+        Matcher matcher = MARKER.matcher(payload);
+        while (matcher.find()) {
+            Pending done = pending.remove(Long.parseLong(matcher.group(1)));
+            if (done != null) {
+                done.recorder.recordSuccess(System.nanoTime() - done.startNanos);
+                done.onComplete.run();
+            }
+        }
+    }
+
+    private void expireTimedOut() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Long, Pending>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Pending p = it.next().getValue();
+            if (now - p.startNanos > timeout.toNanos()) {
+                it.remove();
+                p.recorder.recordError(now - p.startNanos);
+                p.onComplete.run();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        expireTimedOut();
+        for (StompSession session : sessions) {
+            try {
+                session.disconnect();
+            } catch (Exception ignored) {
+                // 종료 중 오류는 무시
+            }
+        }
+        if (stompClient != null) {
+            stompClient.stop();
+        }
+    }
+
+    private record Pending(long startNanos, LatencyRecorder recorder, Runnable onComplete) { }
+}
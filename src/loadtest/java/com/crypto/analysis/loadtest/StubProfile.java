@@ -0,0 +1,64 @@
+package com.crypto.analysis.loadtest;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 스텁 서버의 지연/오류 프로필
+ *
+ * latencyMs 기본 지연에 0~jitterMs 사이의 무작위 지연이 더해지고,
+ * errorRate 비율의 요청은 errorStatus 응답을 받는다.
+ */
+public class StubProfile {
+
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+    private final int errorStatus;
+
+    public StubProfile(long latencyMs, long jitterMs, double errorRate, int errorStatus) {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+    }
+
+    /**
+     * --stub-latency, --stub-jitter, --stub-error-rate, --stub-error-status 인자로 프로필 생성
+     */
+    public static StubProfile fromArgs(Map<String, String> args) {
+        return new StubProfile(
+            Long.parseLong(args.getOrDefault("stub-latency", "50")),
+            Long.parseLong(args.getOrDefault("stub-jitter", "20")),
+            Double.parseDouble(args.getOrDefault("stub-error-rate", "0.0")),
+            Integer.parseInt(args.getOrDefault("stub-error-status", "503"))
+        );
+    }
+
+    /**
+     * 이번 요청에 적용할 지연 시간 (밀리초)
+     */
+    public long nextDelayMs() {
+        if (jitterMs <= 0) {
+            return latencyMs;
+        }
+        return latencyMs + ThreadLocalRandom.current().nextLong(jitterMs + 1);
+    }
+
+    /**
+     * 이번 요청을 오류로 응답할지 여부
+     */
+    public boolean nextIsError() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    public int getErrorStatus() {
+        return errorStatus;
+    }
+
+    @Override
+    public String toString() {
+        return "latency=" + latencyMs + "ms, jitter=" + jitterMs + "ms, errorRate=" + errorRate
+            + ", errorStatus=" + errorStatus;
+    }
+}
@@ -0,0 +1,288 @@
+package com.crypto.analysis.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * 외부 API 스텁 서버
+ *
+ * application-loadtest.properties 의 경로 구성에 맞춰 업비트, 바이낸스, Anthropic,
+ * Alpha Vantage, FRED, NewsAPI, CryptoCompare, CoinGecko, Blockchain.com,
+ * Alternative.me, Finnhub 응답을 흉내낸다. 모든 응답에는 StubProfile 의 지연과 오류율이 적용된다.
+ */
+public class UpstreamStubServer {
+
+    private final int port;
+    private final StubProfile profile;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public UpstreamStubServer(int port, StubProfile profile) {
+        this.port = port;
+        this.profile = profile;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestRunner.parseArgs(args);
+        int port = Integer.parseInt(options.getOrDefault("stub-port", "9090"));
+        UpstreamStubServer stub = new UpstreamStubServer(port, StubProfile.fromArgs(options));
+        stub.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::stop));
+        Thread.currentThread().join();
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 1024);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        System.out.println("스텁 서버 시작: port=" + port + " (" + profile + ")");
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            Thread.sleep(profile.nextDelayMs());
+
+            if (profile.nextIsError()) {
+                errorCount.incrementAndGet();
+                send(exchange, profile.getErrorStatus(), "{\"error\":\"stub failure\"}");
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String body = route(path, query);
+
+            if (body == null) {
+                send(exchange, 404, "{\"error\":\"unknown stub path\"}");
+            } else {
+                send(exchange, 200, body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String route(String path, Map<String, String> query) {
+        if (path.startsWith("/upbit/v1/market/all")) return upbitMarkets();
+        if (path.startsWith("/upbit/v1/ticker")) return upbitTicker(query.getOrDefault("markets", "KRW-BTC"));
+        if (path.startsWith("/upbit/v1/candles/")) return upbitCandles(path, query);
+        if (path.startsWith("/binance/api/v3/exchangeInfo")) return binanceExchangeInfo();
+        if (path.startsWith("/binance/api/v3/ticker/price")) return "{\"symbol\":\"" + query.get("symbol") + "\",\"price\":\"65000.00\"}";
+        if (path.startsWith("/binance/api/v3/ticker/24hr")) return "{\"symbol\":\"" + query.get("symbol") + "\",\"priceChangePercent\":\"1.25\"}";
+        if (path.startsWith("/binance/api/v3/klines")) return binanceKlines(query);
+        if (path.startsWith("/anthropic/v1/messages")) return claudeMessage();
+        if (path.startsWith("/alphavantage/query")) return alphaVantage(query);
+        if (path.startsWith("/fred/series/observations")) return fredObservations(query);
+        if (path.startsWith("/newsapi/v2/everything")) return "{\"status\":\"ok\",\"articles\":[]}";
+        if (path.startsWith("/cryptocompare/data/v2/news")) return "{\"Data\":[]}";
+        if (path.startsWith("/coingecko/api/v3/simple/price")) return "{}";
+        if (path.startsWith("/coingecko/api/v3/coins/")) return "{\"market_data\":{\"total_volume\":{\"usd\":1250000000},\"current_price\":{\"usd\":65000}}}";
+        if (path.startsWith("/blockchain/stats")) return "{\"hash_rate\":650000000,\"miners_revenue\":45000000,\"n_tx\":350000}";
+        if (path.startsWith("/alternative/fng")) return "{\"data\":[{\"value\":\"55\",\"value_classification\":\"Greed\"}]}";
+        if (path.startsWith("/finnhub/api/v1/")) return "[]";
+        return null;
+    }
+
+    private String upbitMarkets() {
+        return "[{\"market\":\"KRW-BTC\",\"korean_name\":\"비트코인\",\"english_name\":\"Bitcoin\"},"
+            + "{\"market\":\"KRW-ETH\",\"korean_name\":\"이더리움\",\"english_name\":\"Ethereum\"},"
+            + "{\"market\":\"KRW-XRP\",\"korean_name\":\"리플\",\"english_name\":\"Ripple\"},"
+            + "{\"market\":\"KRW-SOL\",\"korean_name\":\"솔라나\",\"english_name\":\"Solana\"}]";
+    }
+
+    private String upbitTicker(String markets) {
+        StringBuilder sb = new StringBuilder("[");
+        String[] codes = markets.split(",");
+        for (int i = 0; i < codes.length; i++) {
+            if (i > 0) sb.append(",");
+            sb.append("{\"market\":\"").append(codes[i]).append("\",\"trade_price\":95000000,")
+                .append("\"change_rate\":0.0125,\"timestamp\":").append(System.currentTimeMillis()).append("}");
+        }
+        return sb.append("]").toString();
+    }
+
+    private String upbitCandles(String path, Map<String, String> query) {
+        String market = query.getOrDefault("market", "KRW-BTC");
+        int count = Integer.parseInt(query.getOrDefault("count", "30"));
+        long stepMinutes = 1440;
+        int minutesIndex = path.indexOf("/minutes/");
+        if (minutesIndex >= 0) {
+            stepMinutes = Long.parseLong(path.substring(minutesIndex + "/minutes/".length()));
+        }
+        Instant latest = Instant.now().truncatedTo(ChronoUnit.MINUTES);
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            Instant time = latest.minus(stepMinutes * i, ChronoUnit.MINUTES);
+            double price = 95000000 + Math.sin(i / 3.0) * 1500000;
+            if (i > 0) sb.append(",");
+            appendUpbitCandle(sb, market, time, price);
+        }
+        return sb.append("]").toString();
+    }
+
+    private void appendUpbitCandle(StringBuilder sb, String market, Instant time, double price) {
+        String utc = time.atOffset(ZoneOffset.UTC).toLocalDateTime().toString();
+        String kst = time.atZone(ZoneId.of("Asia/Seoul")).toLocalDateTime().toString();
+        sb.append("{\"market\":\"").append(market).append("\",")
+            .append("\"candle_date_time_utc\":\"").append(utc).append("\",")
+            .append("\"candle_date_time_kst\":\"").append(kst).append("\",")
+            .append("\"opening_price\":").append(price * 0.995).append(",")
+            .append("\"high_price\":").append(price * 1.01).append(",")
+            .append("\"low_price\":").append(price * 0.99).append(",")
+            .append("\"trade_price\":").append(price).append(",")
+            .append("\"timestamp\":").append(time.toEpochMilli()).append(",")
+            .append("\"candle_acc_trade_price\":").append(price * 120).append(",")
+            .append("\"candle_acc_trade_volume\":120.5}");
+    }
+
+    private String binanceExchangeInfo() {
+        return "{\"symbols\":["
+            + "{\"symbol\":\"BTCUSDT\",\"baseAsset\":\"BTC\",\"quoteAsset\":\"USDT\"},"
+            + "{\"symbol\":\"ETHUSDT\",\"baseAsset\":\"ETH\",\"quoteAsset\":\"USDT\"},"
+            + "{\"symbol\":\"SOLUSDT\",\"baseAsset\":\"SOL\",\"quoteAsset\":\"USDT\"}]}";
+    }
+
+    private String binanceKlines(Map<String, String> query) {
+        int limit = Integer.parseInt(query.getOrDefault("limit", "30"));
+        long now = System.currentTimeMillis();
+        long step = 86_400_000L;
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = limit - 1; i >= 0; i--) {
+            double price = 65000 + Math.sin(i / 3.0) * 1000;
+            if (sb.length() > 1) sb.append(",");
+            sb.append("[").append(now - step * i).append(",\"").append(price * 0.995).append("\",\"")
+                .append(price * 1.01).append("\",\"").append(price * 0.99).append("\",\"")
+                .append(price).append("\",\"1520.5\",").append(now - step * i + step - 1).append("]");
+        }
+        return sb.append("]").toString();
+    }
+
+    private String claudeMessage() {
+        String analysis = "```json\\n{"
+            + "\\\"통화단위\\\":\\\"원\\\",\\\"거래소\\\":\\\"UPBIT\\\","
+            + "\\\"분석_요약\\\":\\\"스텁 분석 결과입니다.\\\","
+            + "\\\"매수매도_추천\\\":{\\\"매수_확률\\\":55,\\\"매도_확률\\\":45,\\\"추천\\\":\\\"관망\\\",\\\"신뢰도\\\":6.0,\\\"근거\\\":\\\"스텁\\\"},"
+            + "\\\"매매_전략\\\":{\\\"수익실현_목표가\\\":[100,110],\\\"손절매_라인\\\":90,\\\"리스크_보상_비율\\\":2.0,\\\"전략_설명\\\":\\\"스텁\\\"},"
+            + "\\\"시간별_전망\\\":{\\\"단기_24시간\\\":\\\"횡보\\\",\\\"중기_1주일\\\":\\\"횡보\\\",\\\"장기_1개월\\\":\\\"횡보\\\"},"
+            + "\\\"기술적_분석\\\":{\\\"주요_지지선\\\":[90,85],\\\"주요_저항선\\\":[110,115],\\\"추세_강도\\\":\\\"중\\\",\\\"주요_패턴\\\":\\\"박스권\\\"},"
+            + "\\\"위험_요소\\\":[\\\"스텁 위험 요소\\\"]}\\n```";
+        return "{\"id\":\"msg_stub\",\"type\":\"message\",\"role\":\"assistant\","
+            + "\"content\":[{\"type\":\"text\",\"text\":\"" + analysis + "\"}],"
+            + "\"usage\":{\"input_tokens\":900,\"output_tokens\":900,"
+            + "\"cache_read_input_tokens\":1500,\"cache_creation_input_tokens\":0}}";
+    }
+
+    private String alphaVantage(Map<String, String> query) {
+        String function = query.getOrDefault("function", "");
+        switch (function) {
+            case "GLOBAL_QUOTE":
+                return "{\"Global Quote\":{\"01. symbol\":\"" + query.get("symbol") + "\",\"05. price\":\"182.50\","
+                    + "\"06. volume\":\"52000000\",\"08. previous close\":\"180.10\",\"09. change\":\"2.40\","
+                    + "\"10. change percent\":\"1.33%\"}}";
+            case "OVERVIEW":
+                return "{\"Symbol\":\"" + query.get("symbol") + "\",\"Name\":\"Stub Corp\",\"MarketCapitalization\":\"2800000000000\","
+                    + "\"PERatio\":\"29.5\",\"EPS\":\"6.1\",\"DividendYield\":\"0.005\",\"Beta\":\"1.2\","
+                    + "\"ReturnOnEquityTTM\":\"1.5\",\"Sector\":\"TECHNOLOGY\",\"Industry\":\"SOFTWARE\"}";
+            case "TIME_SERIES_DAILY":
+                return dailySeries();
+            case "NEWS_SENTIMENT":
+                return "{\"feed\":[]}";
+            case "SYMBOL_SEARCH":
+                return "{\"bestMatches\":[]}";
+            default:
+                return "{}";
+        }
+    }
+
+    private String dailySeries() {
+        StringBuilder sb = new StringBuilder("{\"Time Series (Daily)\":{");
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 100; i++) {
+            double close = 180 + Math.sin(i / 5.0) * 6;
+            if (i > 0) sb.append(",");
+            sb.append("\"").append(today.minusDays(i)).append("\":{\"1. open\":\"").append(close - 1)
+                .append("\",\"2. high\":\"").append(close + 2).append("\",\"3. low\":\"").append(close - 2)
+                .append("\",\"4. close\":\"").append(close).append("\",\"5. volume\":\"48000000\"}");
+        }
+        return sb.append("}}").toString();
+    }
+
+    private String fredObservations(Map<String, String> query) {
+        int limit = Integer.parseInt(query.getOrDefault("limit", "1"));
+        boolean cpi = "CPIAUCSL".equals(query.get("series_id"));
+        LocalDate today = LocalDate.now();
+        StringBuilder sb = new StringBuilder("{\"observations\":[");
+        for (int i = 0; i < limit; i++) {
+            double value = cpi ? 315.0 - i * 0.7 : 5.33;
+            if (i > 0) sb.append(",");
+            sb.append("{\"date\":\"").append(cpi ? today.minusMonths(i) : today.minusDays(i))
+                .append("\",\"value\":\"").append(value).append("\"}");
+        }
+        return sb.append("]}").toString();
+    }
+
+    private void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    private Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+}
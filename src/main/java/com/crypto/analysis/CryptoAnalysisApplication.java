@@ -1,5 +1,7 @@
 package com.crypto.analysis;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -11,6 +13,8 @@ import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBr
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import com.crypto.analysis.alert.AlertUserHandshakeHandler;
+import com.crypto.analysis.metrics.UpstreamMetricsInterceptor;
 import com.crypto.analysis.service.RealTimeDataService;  // javax 대신 jakarta 사용
 
 import jakarta.annotation.PreDestroy;
@@ -19,20 +23,27 @@ import jakarta.annotation.PreDestroy;
 @EnableScheduling
 @EnableWebSocketMessageBroker
 public class CryptoAnalysisApplication implements WebSocketMessageBrokerConfigurer {
+    
+    private static final Logger log = LoggerFactory.getLogger(CryptoAnalysisApplication.class);
 
     public static void main(String[] args) {
         SpringApplication.run(CryptoAnalysisApplication.class, args);
     }
     
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(UpstreamMetricsInterceptor upstreamMetricsInterceptor) {
+        RestTemplate restTemplate = new RestTemplate();
+        // 외부 API 호출 지연을 provider/endpoint 별로 기록
+        restTemplate.getInterceptors().add(upstreamMetricsInterceptor);
+        return restTemplate;
     }
     
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/app");
+        // 알림은 /user/queue/alerts 로 세션 사용자에게만 전송
+        config.setUserDestinationPrefix("/user");
     }
     
     @Override
@@ -41,6 +52,8 @@ public class CryptoAnalysisApplication implements WebSocketMessageBrokerConfigur
         registry.addEndpoint("/ws")
                 // "*" 대신 구체적인 출처 지정
                 .setAllowedOrigins("http://localhost:8080") 
+                // /ws?user={id} 로 알림 수신 사용자 지정
+                .setHandshakeHandler(new AlertUserHandshakeHandler())
                 // 또는 아래와 같이 credentials 없이 설정
                 // .setAllowedOrigins("*").setAllowCredentials(false)
                 .withSockJS();
@@ -51,7 +64,7 @@ public class CryptoAnalysisApplication implements WebSocketMessageBrokerConfigur
 
     @PreDestroy
     public void onShutdown() {
-        System.out.println("애플리케이션 종료, 리소스 정리 중...");
+        log.info("애플리케이션 종료, 리소스 정리 중...");
         if (realTimeDataService != null) {
             realTimeDataService.shutdown();
         }
@@ -0,0 +1,13 @@
+package com.crypto.analysis.alert;
+
+/**
+ * 임계값 방향 (ABOVE: 값이 임계값 이상이 되면, BELOW: 임계값 이하가 되면 발생)
+ */
+public enum AlertDirection {
+    ABOVE,
+    BELOW;
+
+    public boolean isSatisfied(double value, double threshold) {
+        return this == ABOVE ? value >= threshold : value <= threshold;
+    }
+}
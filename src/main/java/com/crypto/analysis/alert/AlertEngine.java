@@ -0,0 +1,143 @@
+package com.crypto.analysis.alert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 임계값 알림 규칙 색인
+ *
+ * 거래소 -> 마켓 -> 지표마다 ABOVE 규칙은 임계값 오름차순 힙, BELOW 규칙은 임계값 내림차순 힙에 둔다.
+ * 힙에는 아직 만족하지 않은 규칙만 있으므로 새 값이 들어오면 양쪽 힙의 맨 위만 비교하고,
+ * 넘어선 규칙만 꺼내 발생시킨다. 규칙이 없는 지표의 값은 조회 두 번으로 끝나며 객체를 만들지 않는다.
+ * 삭제는 규칙 표에서만 지우고 힙에서는 꺼낼 때 건너뛰며, 지운 규칙이 힙의 절반을 넘으면 정리한다.
+ * 지표별 힙 단위로 동기화하므로 서로 다른 마켓의 값은 동시에 평가된다.
+ */
+public final class AlertEngine {
+
+    private static final int COMPACT_MIN = 64;
+
+    private final Map<String, Map<String, MarketAlerts>> exchanges = new ConcurrentHashMap<>();
+    private final Map<Long, AlertRule> rules = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    public long nextId() {
+        return nextId.getAndIncrement();
+    }
+
+    /**
+     * 규칙 등록
+     *
+     * @return 마지막 값이 이미 조건을 만족하면 그 값 (규칙은 등록하지 않고 바로 발생한 것으로 본다)
+     */
+    public OptionalDouble add(AlertRule rule) {
+        Book book = exchanges.computeIfAbsent(rule.exchange(), k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(rule.market(), k -> new MarketAlerts())
+            .book(rule.metric());
+        synchronized (book) {
+            if (!Double.isNaN(book.lastValue) && rule.direction().isSatisfied(book.lastValue, rule.threshold())) {
+                return OptionalDouble.of(book.lastValue);
+            }
+            rules.put(rule.id(), rule);
+            if (rule.direction() == AlertDirection.ABOVE) {
+                book.above.push(rule.threshold(), rule.id());
+            } else {
+                book.below.push(-rule.threshold(), rule.id());
+            }
+        }
+        return OptionalDouble.empty();
+    }
+
+    /**
+     * 규칙 삭제
+     *
+     * @return 삭제한 규칙 (없거나 이미 발생했으면 null)
+     */
+    public AlertRule remove(long id) {
+        AlertRule rule = rules.remove(id);
+        if (rule == null) {
+            return null;
+        }
+        Book book = exchanges.get(rule.exchange()).get(rule.market()).book(rule.metric());
+        synchronized (book) {
+            book.cancelled++;
+            if (book.cancelled >= COMPACT_MIN && book.cancelled * 2 > book.above.size() + book.below.size()) {
+                book.above.retain(rules::containsKey);
+                book.below.retain(rules::containsKey);
+                book.cancelled = 0;
+            }
+        }
+        return rule;
+    }
+
+    /**
+     * 새 값 평가
+     *
+     * @return 이번 값으로 발생한 알림 (없으면 빈 목록, 새 객체를 만들지 않음)
+     */
+    public List<AlertEvent> evaluate(String exchange, String market, AlertMetric metric, double value) {
+        Map<String, MarketAlerts> markets = exchanges.get(exchange);
+        MarketAlerts alerts = markets == null ? null : markets.get(market);
+        if (alerts == null || Double.isNaN(value)) {
+            return List.of();
+        }
+        Book book = alerts.book(metric);
+        List<AlertEvent> fired = List.of();
+        synchronized (book) {
+            book.lastValue = value;
+            while (!book.above.isEmpty() && book.above.peekKey() <= value) {
+                fired = fire(book, book.above.pop(), value, fired);
+            }
+            while (!book.below.isEmpty() && -book.below.peekKey() >= value) {
+                fired = fire(book, book.below.pop(), value, fired);
+            }
+        }
+        return fired;
+    }
+
+    public AlertRule get(long id) {
+        return rules.get(id);
+    }
+
+    public int size() {
+        return rules.size();
+    }
+
+    private List<AlertEvent> fire(Book book, long id, double value, List<AlertEvent> fired) {
+        AlertRule rule = rules.remove(id);
+        if (rule == null) {
+            // 삭제된 규칙
+            book.cancelled = Math.max(0, book.cancelled - 1);
+            return fired;
+        }
+        List<AlertEvent> events = fired.isEmpty() ? new ArrayList<>(2) : fired;
+        events.add(new AlertEvent(rule, value, System.currentTimeMillis()));
+        return events;
+    }
+
+    private static final class MarketAlerts {
+        private final Book[] books = new Book[AlertMetric.values().length];
+
+        MarketAlerts() {
+            for (int i = 0; i < books.length; i++) {
+                books[i] = new Book();
+            }
+        }
+
+        Book book(AlertMetric metric) {
+            return books[metric.ordinal()];
+        }
+    }
+
+    private static final class Book {
+        // 임계값 오름차순
+        final ThresholdHeap above = new ThresholdHeap(8);
+        // -임계값 오름차순 (임계값 내림차순)
+        final ThresholdHeap below = new ThresholdHeap(8);
+        double lastValue = Double.NaN;
+        int cancelled;
+    }
+}
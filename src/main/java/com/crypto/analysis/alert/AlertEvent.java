@@ -0,0 +1,10 @@
+package com.crypto.analysis.alert;
+
+/**
+ * 발생한 알림 (STOMP /user/queue/alerts 로 전송)
+ */
+public record AlertEvent(
+        AlertRule rule,
+        double value,
+        long firedAt) {
+}
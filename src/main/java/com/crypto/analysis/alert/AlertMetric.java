@@ -0,0 +1,14 @@
+package com.crypto.analysis.alert;
+
+/**
+ * 알림 조건 대상 값
+ *
+ * PRICE: 실시간 체결가와 현재가, CHANGE_PERCENT: 현재가의 전일 대비 변화율(%),
+ * RSI/PERCENT_B: 스크리너가 봉 마감마다 계산하는 RSI14 와 볼린저 %B (screener.timeframe 기준)
+ */
+public enum AlertMetric {
+    PRICE,
+    CHANGE_PERCENT,
+    RSI,
+    PERCENT_B
+}
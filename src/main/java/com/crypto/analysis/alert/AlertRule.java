@@ -0,0 +1,15 @@
+package com.crypto.analysis.alert;
+
+/**
+ * 등록된 알림 규칙 (한 번 발생하면 삭제됨)
+ */
+public record AlertRule(
+        long id,
+        String user,
+        String exchange,
+        String market,
+        AlertMetric metric,
+        AlertDirection direction,
+        double threshold,
+        long createdAt) {
+}
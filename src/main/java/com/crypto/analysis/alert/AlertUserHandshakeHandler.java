@@ -0,0 +1,32 @@
+package com.crypto.analysis.alert;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * STOMP 세션 사용자 지정
+ *
+ * 로그인 기능이 없으므로 /ws?user={id} 의 id 를 세션 사용자로 삼아
+ * 알림을 /user/queue/alerts 로 받을 수 있게 한다. 없으면 임의 id 를 붙인다.
+ */
+public class AlertUserHandshakeHandler extends DefaultHandshakeHandler {
+
+    private static final int MAX_USER_LENGTH = 64;
+
+    @Override
+    protected Principal determineUser(ServerHttpRequest request, WebSocketHandler wsHandler,
+                                      Map<String, Object> attributes) {
+        String user = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst("user");
+        if (user == null || user.isBlank() || user.length() > MAX_USER_LENGTH) {
+            user = UUID.randomUUID().toString();
+        }
+        String name = user;
+        return () -> name;
+    }
+}
@@ -0,0 +1,101 @@
+package com.crypto.analysis.alert;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * 임계값 오름차순 최소 힙 (임계값 double, 규칙 id long 기본형 배열)
+ *
+ * 맨 위가 다음에 넘을 가장 가까운 임계값이라 값이 들어올 때 맨 위만 보면 된다.
+ */
+final class ThresholdHeap {
+
+    private double[] keys;
+    private long[] ids;
+    private int size;
+
+    ThresholdHeap(int initialCapacity) {
+        keys = new double[Math.max(initialCapacity, 4)];
+        ids = new long[keys.length];
+    }
+
+    void push(double key, long id) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size << 1);
+            ids = Arrays.copyOf(ids, size << 1);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[i] = keys[parent];
+            ids[i] = ids[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        ids[i] = id;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    double peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * 맨 위 항목을 꺼내 id 반환
+     */
+    long pop() {
+        long top = ids[0];
+        size--;
+        if (size > 0) {
+            siftDown(0, keys[size], ids[size]);
+        }
+        return top;
+    }
+
+    /**
+     * keep 이 false 인 id 를 지우고 힙을 다시 만듦
+     */
+    void retain(LongPredicate keep) {
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (keep.test(ids[i])) {
+                keys[n] = keys[i];
+                ids[n] = ids[i];
+                n++;
+            }
+        }
+        size = n;
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i, keys[i], ids[i]);
+        }
+    }
+
+    private void siftDown(int i, double key, long id) {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            int right = child + 1;
+            if (right < size && keys[right] < keys[child]) {
+                child = right;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            keys[i] = keys[child];
+            ids[i] = ids[child];
+            i = child;
+        }
+        keys[i] = key;
+        ids[i] = id;
+    }
+}
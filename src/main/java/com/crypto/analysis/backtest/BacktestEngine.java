@@ -0,0 +1,128 @@
+package com.crypto.analysis.backtest;
+
+/**
+ * 봉 단위 백테스트 시뮬레이터
+ *
+ * 종가에서 신호를 판단하고 다음 봉 시가에 체결한다 (미래 데이터 참조 방지).
+ * 체결가에는 슬리피지를, 매수/매도 금액에는 수수료를 적용하며 포지션은 전액 진입/청산한다.
+ * 지표는 IndicatorCache 의 배열을 그대로 읽으므로 루프 안에서 객체를 만들지 않는다.
+ */
+public final class BacktestEngine {
+
+    private BacktestEngine() {
+    }
+
+    public static BacktestResult run(IndicatorCache cache, StrategyParams params, double feeRate, double slippage) {
+        double[] open = cache.open();
+        double[] close = cache.close();
+        int n = cache.size();
+        int start = Math.min(Math.max(1, params.warmup()), n);
+
+        // 전략별 입력 배열 (a: 기준선/RSI, b: 비교선, c: 밴드 폭)
+        double[] a;
+        double[] b = null;
+        double[] sd = null;
+        switch (params.type()) {
+            case RSI_REVERSION -> a = cache.rsi(params.period());
+            case SMA_CROSS -> {
+                a = cache.sma(params.period());
+                b = cache.sma(params.slowPeriod());
+            }
+            case EMA_CROSS -> {
+                a = cache.ema(params.period());
+                b = cache.ema(params.slowPeriod());
+            }
+            case BOLLINGER -> {
+                a = cache.sma(params.period());
+                sd = cache.stdDev(params.period());
+            }
+            default -> throw new IllegalArgumentException("지원하지 않는 전략: " + params.type());
+        }
+
+        double cash = 1.0;
+        double units = 0;
+        double entryCash = 0;
+        double peak = 1.0;
+        double maxDrawdown = 0;
+        int trades = 0;
+        int wins = 0;
+        int barsInMarket = 0;
+        // 직전 봉 종가에서 나온 주문 (1 매수, -1 매도, 0 없음)
+        int pending = 0;
+
+        for (int i = start; i < n; i++) {
+            if (pending == 1) {
+                double price = open[i] * (1 + slippage);
+                entryCash = cash;
+                units = cash * (1 - feeRate) / price;
+                cash = 0;
+            } else if (pending == -1) {
+                double price = open[i] * (1 - slippage);
+                cash = units * price * (1 - feeRate);
+                units = 0;
+                trades++;
+                if (cash > entryCash) {
+                    wins++;
+                }
+            }
+            pending = 0;
+
+            boolean holding = units > 0;
+            if (holding) {
+                barsInMarket++;
+            }
+            double equity = cash + units * close[i];
+            if (equity > peak) {
+                peak = equity;
+            } else {
+                double drawdown = 1 - equity / peak;
+                if (drawdown > maxDrawdown) {
+                    maxDrawdown = drawdown;
+                }
+            }
+
+            if (i == n - 1) {
+                break;
+            }
+            switch (params.type()) {
+                case RSI_REVERSION -> {
+                    if (!holding && a[i] < params.lower()) {
+                        pending = 1;
+                    } else if (holding && a[i] > params.upper()) {
+                        pending = -1;
+                    }
+                }
+                case SMA_CROSS, EMA_CROSS -> {
+                    boolean above = a[i] > b[i];
+                    boolean wasAbove = a[i - 1] > b[i - 1];
+                    if (!holding && above && !wasAbove) {
+                        pending = 1;
+                    } else if (holding && !above && wasAbove) {
+                        pending = -1;
+                    }
+                }
+                case BOLLINGER -> {
+                    if (!holding && close[i] < a[i] - params.width() * sd[i]) {
+                        pending = 1;
+                    } else if (holding && close[i] > a[i]) {
+                        pending = -1;
+                    }
+                }
+            }
+        }
+
+        int evaluated = n - start;
+        double finalEquity = n == 0 ? 1.0 : cash + units * close[n - 1];
+        return new BacktestResult(params, params.label(),
+            round((finalEquity - 1) * 100),
+            round(maxDrawdown * 100),
+            trades,
+            trades == 0 ? 0 : round(wins * 100.0 / trades),
+            evaluated == 0 ? 0 : round(barsInMarket * 100.0 / evaluated),
+            evaluated);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,25 @@
+package com.crypto.analysis.backtest;
+
+import java.util.List;
+
+/**
+ * 파라미터 스윕 결과 요약
+ *
+ * buyAndHoldPercent 는 같은 구간을 보유만 했을 때의 수익률로 비교 기준이다.
+ */
+public record BacktestReport(
+        String exchange,
+        String market,
+        String timeframe,
+        int bars,
+        long fromTime,
+        long toTime,
+        double feeRate,
+        double slippage,
+        double buyAndHoldPercent,
+        int combinations,
+        long barsEvaluated,
+        long elapsedMillis,
+        long barsPerSecond,
+        List<BacktestResult> results) {
+}
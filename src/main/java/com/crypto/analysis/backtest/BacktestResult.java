@@ -0,0 +1,18 @@
+package com.crypto.analysis.backtest;
+
+/**
+ * 파라미터 조합 하나의 백테스트 결과
+ *
+ * returnPercent 는 수수료/슬리피지 차감 후 누적 수익률, 열린 포지션은 마지막 종가로 평가한다.
+ * hitRate 는 청산된 거래 중 이익 거래 비율(%)이다.
+ */
+public record BacktestResult(
+        StrategyParams params,
+        String label,
+        double returnPercent,
+        double maxDrawdownPercent,
+        int trades,
+        double hitRate,
+        double exposurePercent,
+        int barsEvaluated) {
+}
@@ -0,0 +1,77 @@
+package com.crypto.analysis.backtest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.crypto.analysis.candle.CandleBars;
+import com.crypto.analysis.indicator.IndicatorKernels;
+
+/**
+ * 한 번의 스윕 동안 지표 배열을 기간별로 한 번만 계산해 공유
+ *
+ * 파라미터 조합마다 지표를 다시 계산하지 않으므로 시뮬레이션은 배열 비교만 하게 된다.
+ * 여러 포크조인 작업자가 동시에 읽으므로 ConcurrentHashMap 에 보관한다.
+ */
+public class IndicatorCache {
+
+    private final IndicatorKernels kernels = IndicatorKernels.get();
+    private final Map<String, double[]> series = new ConcurrentHashMap<>();
+    private final double[] open;
+    private final double[] close;
+
+    public IndicatorCache(CandleBars bars) {
+        int n = bars.size();
+        this.open = new double[n];
+        this.close = new double[n];
+        for (int i = 0; i < n; i++) {
+            open[i] = bars.open(i);
+            close[i] = bars.close(i);
+        }
+    }
+
+    public int size() {
+        return close.length;
+    }
+
+    public double[] open() {
+        return open;
+    }
+
+    public double[] close() {
+        return close;
+    }
+
+    public double[] sma(int period) {
+        return series.computeIfAbsent("sma:" + period, k -> kernels.sma(close, period));
+    }
+
+    public double[] ema(int period) {
+        return series.computeIfAbsent("ema:" + period, k -> kernels.ema(close, period));
+    }
+
+    public double[] stdDev(int period) {
+        return series.computeIfAbsent("sd:" + period, k -> kernels.rollingStdDev(close, period));
+    }
+
+    public double[] rsi(int period) {
+        return series.computeIfAbsent("rsi:" + period, k -> wilderRsi(period));
+    }
+
+    /**
+     * ta4j RSIIndicator 와 같은 정의 (이익/손실의 Wilder 평활, 첫 봉은 0)
+     */
+    private double[] wilderRsi(int period) {
+        int n = close.length;
+        double[] rsi = new double[n];
+        double alpha = 1.0 / period;
+        double gain = 0;
+        double loss = 0;
+        for (int i = 1; i < n; i++) {
+            double diff = close[i] - close[i - 1];
+            gain += ((diff > 0 ? diff : 0) - gain) * alpha;
+            loss += ((diff < 0 ? -diff : 0) - loss) * alpha;
+            rsi[i] = loss == 0 ? (gain == 0 ? 0 : 100) : 100 - 100 / (1 + gain / loss);
+        }
+        return rsi;
+    }
+}
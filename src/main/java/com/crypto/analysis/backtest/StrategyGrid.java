@@ -0,0 +1,74 @@
+package com.crypto.analysis.backtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 파라미터 격자 생성 (지정하지 않은 축은 기본값 사용)
+ */
+public final class StrategyGrid {
+
+    private static final List<Integer> RSI_PERIODS = List.of(7, 9, 14, 21);
+    private static final List<Double> RSI_LOWER = List.of(20.0, 25.0, 30.0, 35.0);
+    private static final List<Double> RSI_UPPER = List.of(65.0, 70.0, 75.0, 80.0);
+    private static final List<Integer> SMA_FAST = List.of(5, 10, 20, 30);
+    private static final List<Integer> SMA_SLOW = List.of(50, 100, 150, 200);
+    private static final List<Integer> EMA_FAST = List.of(8, 12, 20);
+    private static final List<Integer> EMA_SLOW = List.of(26, 50, 100);
+    private static final List<Integer> BB_PERIODS = List.of(14, 20, 30);
+    private static final List<Double> BB_WIDTHS = List.of(1.5, 2.0, 2.5, 3.0);
+
+    private StrategyGrid() {
+    }
+
+    /**
+     * @param type null 이면 모든 전략
+     */
+    public static List<StrategyParams> build(StrategyType type, List<Integer> periods, List<Integer> slowPeriods,
+            List<Double> lowers, List<Double> uppers, List<Double> widths) {
+        List<StrategyParams> grid = new ArrayList<>();
+        for (StrategyType t : type == null ? StrategyType.values() : new StrategyType[] {type}) {
+            switch (t) {
+                case RSI_REVERSION -> {
+                    for (int period : or(periods, RSI_PERIODS)) {
+                        for (double lower : or(lowers, RSI_LOWER)) {
+                            for (double upper : or(uppers, RSI_UPPER)) {
+                                if (lower < upper) {
+                                    grid.add(StrategyParams.rsi(period, lower, upper));
+                                }
+                            }
+                        }
+                    }
+                }
+                case SMA_CROSS, EMA_CROSS -> {
+                    List<Integer> fasts = or(periods, t == StrategyType.SMA_CROSS ? SMA_FAST : EMA_FAST);
+                    List<Integer> slows = or(slowPeriods, t == StrategyType.SMA_CROSS ? SMA_SLOW : EMA_SLOW);
+                    for (int fast : fasts) {
+                        for (int slow : slows) {
+                            if (fast < slow) {
+                                grid.add(StrategyParams.cross(t, fast, slow));
+                            }
+                        }
+                    }
+                }
+                case BOLLINGER -> {
+                    for (int period : or(periods, BB_PERIODS)) {
+                        for (double width : or(widths, BB_WIDTHS)) {
+                            grid.add(StrategyParams.bollinger(period, width));
+                        }
+                    }
+                }
+            }
+        }
+        for (StrategyParams params : grid) {
+            if (params.period() <= 0 || params.slowPeriod() < 0) {
+                throw new IllegalArgumentException("기간은 1 이상이어야 합니다: " + params.label());
+            }
+        }
+        return grid;
+    }
+
+    private static <T> List<T> or(List<T> values, List<T> defaults) {
+        return values == null || values.isEmpty() ? defaults : values;
+    }
+}
@@ -0,0 +1,44 @@
+package com.crypto.analysis.backtest;
+
+/**
+ * 전략 파라미터 한 조합
+ *
+ * period: RSI/볼린저 기간, 교차 전략에서는 단기선 기간
+ * slowPeriod: 교차 전략의 장기선 기간 (그 외 0)
+ * lower/upper: RSI 매수/매도 기준
+ * width: 볼린저 밴드 폭 (표준편차 배수)
+ */
+public record StrategyParams(
+        StrategyType type,
+        int period,
+        int slowPeriod,
+        double lower,
+        double upper,
+        double width) {
+
+    public static StrategyParams rsi(int period, double lower, double upper) {
+        return new StrategyParams(StrategyType.RSI_REVERSION, period, 0, lower, upper, 0);
+    }
+
+    public static StrategyParams cross(StrategyType type, int fast, int slow) {
+        return new StrategyParams(type, fast, slow, 0, 0, 0);
+    }
+
+    public static StrategyParams bollinger(int period, double width) {
+        return new StrategyParams(StrategyType.BOLLINGER, period, 0, 0, 0, width);
+    }
+
+    /** 지표가 안정되기까지 건너뛸 봉 수 */
+    public int warmup() {
+        return Math.max(period, slowPeriod);
+    }
+
+    public String label() {
+        return switch (type) {
+            case RSI_REVERSION -> "RSI(" + period + ") " + lower + "/" + upper;
+            case SMA_CROSS -> "SMA " + period + "/" + slowPeriod;
+            case EMA_CROSS -> "EMA " + period + "/" + slowPeriod;
+            case BOLLINGER -> "BB(" + period + ", " + width + ")";
+        };
+    }
+}
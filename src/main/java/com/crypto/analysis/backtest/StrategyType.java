@@ -0,0 +1,15 @@
+package com.crypto.analysis.backtest;
+
+/**
+ * 백테스트 전략 (현물 롱 전용, 폴백 분석/스크리너와 같은 규칙)
+ *
+ * RSI_REVERSION: RSI 가 lower 아래면 매수, upper 위면 매도
+ * SMA_CROSS / EMA_CROSS: 단기선이 장기선을 상향 돌파하면 매수, 하향 돌파하면 매도
+ * BOLLINGER: 종가가 하단 밴드 아래면 매수, 중심선 위로 복귀하면 매도
+ */
+public enum StrategyType {
+    RSI_REVERSION,
+    SMA_CROSS,
+    EMA_CROSS,
+    BOLLINGER
+}
@@ -0,0 +1,83 @@
+package com.crypto.analysis.backtest;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+import com.crypto.analysis.screener.TopK;
+
+/**
+ * 파라미터 조합 목록을 반씩 나눠 포크조인으로 시뮬레이션하고 수익률 상위 K 를 합친다
+ */
+public class SweepTask extends RecursiveTask<SweepTask.Result> {
+
+    private static final int THRESHOLD = 16;
+
+    static final Comparator<BacktestResult> BY_RETURN =
+        Comparator.comparingDouble(BacktestResult::returnPercent)
+            .thenComparingDouble(r -> -r.maxDrawdownPercent());
+
+    private final IndicatorCache cache;
+    private final List<StrategyParams> grid;
+    private final int from;
+    private final int to;
+    private final int k;
+    private final double feeRate;
+    private final double slippage;
+
+    public SweepTask(IndicatorCache cache, List<StrategyParams> grid, int k, double feeRate, double slippage) {
+        this(cache, grid, 0, grid.size(), k, feeRate, slippage);
+    }
+
+    private SweepTask(IndicatorCache cache, List<StrategyParams> grid, int from, int to, int k,
+            double feeRate, double slippage) {
+        this.cache = cache;
+        this.grid = grid;
+        this.from = from;
+        this.to = to;
+        this.k = k;
+        this.feeRate = feeRate;
+        this.slippage = slippage;
+    }
+
+    @Override
+    protected Result compute() {
+        if (to - from <= THRESHOLD) {
+            Result result = new Result(k);
+            for (int i = from; i < to; i++) {
+                BacktestResult backtest = BacktestEngine.run(cache, grid.get(i), feeRate, slippage);
+                result.top.offer(backtest);
+                result.barsEvaluated += backtest.barsEvaluated();
+            }
+            return result;
+        }
+        int mid = (from + to) >>> 1;
+        SweepTask left = new SweepTask(cache, grid, from, mid, k, feeRate, slippage);
+        left.fork();
+        Result right = new SweepTask(cache, grid, mid, to, k, feeRate, slippage).compute();
+        return left.join().merge(right);
+    }
+
+    public static class Result {
+        final TopK<BacktestResult> top;
+        long barsEvaluated;
+
+        Result(int k) {
+            this.top = new TopK<>(k, BY_RETURN);
+        }
+
+        Result merge(Result other) {
+            top.merge(other.top);
+            barsEvaluated += other.barsEvaluated;
+            return this;
+        }
+
+        public List<BacktestResult> getTop() {
+            return top.toSortedList();
+        }
+
+        public long getBarsEvaluated() {
+            return barsEvaluated;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.crypto.analysis.candle;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 시간순 OHLCV 링 버퍼
+ *
+ * 원시 타입 배열에 봉을 오래된 순서로 보관하고, 용량을 넘으면 가장 오래된 봉을 덮어쓴다.
+ * 인덱스 0 이 가장 오래된 봉이다. 모든 접근은 내부 읽기/쓰기 락으로 보호된다.
+ */
+public class BarRingBuffer {
+
+    private final int capacity;
+    private final long[] openTime;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+    private final double[] quoteVolume;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int head;
+    private int size;
+
+    public BarRingBuffer(int capacity) {
+        this.capacity = Math.max(capacity, 1);
+        this.openTime = new long[this.capacity];
+        this.open = new double[this.capacity];
+        this.high = new double[this.capacity];
+        this.low = new double[this.capacity];
+        this.close = new double[this.capacity];
+        this.volume = new double[this.capacity];
+        this.quoteVolume = new double[this.capacity];
+    }
+
+    /**
+     * 봉 추가 또는 갱신
+     *
+     * 마지막 봉과 시각이 같으면 교체하고, 더 최신이면 뒤에 붙인다.
+     * 중간 시각의 봉은 같은 시각이 있을 때만 교체하며, 없으면 무시하고 false 를 반환한다.
+     */
+    public boolean upsert(long time, double o, double h, double l, double c, double v, double qv) {
+        lock.writeLock().lock();
+        try {
+            if (size == 0 || time > openTime[physical(size - 1)]) {
+                int index;
+                if (size < capacity) {
+                    index = physical(size);
+                    size++;
+                } else {
+                    index = head;
+                    head = (head + 1) % capacity;
+                }
+                write(index, time, o, h, l, c, v, qv);
+                return true;
+            }
+            int found = search(time);
+            if (found >= 0) {
+                write(physical(found), time, o, h, l, c, v, qv);
+                return true;
+            }
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 가장 오래된 봉보다 이전의 봉을 앞에 채움 (기록을 더 깊게 적재할 때, 용량을 넘으면 오래된 쪽을 버림)
+     *
+     * source 는 오래된 순이어야 하며, 현재 가장 오래된 봉 이후의 봉은 무시한다. 추가한 봉 수를 반환한다.
+     */
+    public int mergeOlder(CandleBars source) {
+        lock.writeLock().lock();
+        try {
+            long first = size == 0 ? Long.MAX_VALUE : openTime[head];
+            int older = 0;
+            while (older < source.size() && source.openTime(older) < first) {
+                older++;
+            }
+            int keep = Math.min(older, capacity - size);
+            if (keep <= 0) {
+                return 0;
+            }
+            // 기존 봉을 뒤로 밀고 source 의 가장 최근 keep 개를 앞에 둠
+            int total = size + keep;
+            long[] t = new long[total];
+            double[][] columns = new double[6][total];
+            for (int i = 0; i < keep; i++) {
+                int k = older - keep + i;
+                t[i] = source.openTime(k);
+                columns[0][i] = source.open(k);
+                columns[1][i] = source.high(k);
+                columns[2][i] = source.low(k);
+                columns[3][i] = source.close(k);
+                columns[4][i] = source.volume(k);
+                columns[5][i] = source.quoteVolume(k);
+            }
+            for (int i = 0; i < size; i++) {
+                int p = physical(i);
+                t[keep + i] = openTime[p];
+                columns[0][keep + i] = open[p];
+                columns[1][keep + i] = high[p];
+                columns[2][keep + i] = low[p];
+                columns[3][keep + i] = close[p];
+                columns[4][keep + i] = volume[p];
+                columns[5][keep + i] = quoteVolume[p];
+            }
+            for (int i = 0; i < total; i++) {
+                write(i, t[i], columns[0][i], columns[1][i], columns[2][i], columns[3][i], columns[4][i], columns[5][i]);
+            }
+            head = 0;
+            size = total;
+            return keep;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 체결 한 건을 해당 봉에 반영 (봉이 없으면 새로 시작)
+     */
+    public boolean applyTrade(long barTime, double price, double qty) {
+        lock.writeLock().lock();
+        try {
+            if (size > 0) {
+                int last = physical(size - 1);
+                if (openTime[last] == barTime) {
+                    high[last] = Math.max(high[last], price);
+                    low[last] = Math.min(low[last], price);
+                    close[last] = price;
+                    volume[last] += qty;
+                    quoteVolume[last] += price * qty;
+                    return true;
+                }
+                if (barTime < openTime[last]) {
+                    return false;
+                }
+            }
+            // 쓰기 락은 재진입 가능
+            return upsert(barTime, price, price, price, price, qty, price * qty);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 가장 오래된 봉 시각, 비어 있으면 Long.MAX_VALUE */
+    public long firstOpenTime() {
+        lock.readLock().lock();
+        try {
+            return size == 0 ? Long.MAX_VALUE : openTime[head];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 가장 최신 봉 시각, 비어 있으면 Long.MIN_VALUE */
+    public long lastOpenTime() {
+        lock.readLock().lock();
+        try {
+            return size == 0 ? Long.MIN_VALUE : openTime[physical(size - 1)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * [fromTime, toTime) 구간의 봉을 복사 (오래된 순)
+     */
+    public CandleBars copyRange(long fromTime, long toTime) {
+        lock.readLock().lock();
+        try {
+            int start = lowerBound(fromTime);
+            int end = lowerBound(toTime);
+            CandleBars bars = new CandleBars(Math.max(end - start, 0));
+            for (int i = start; i < end; i++) {
+                int p = physical(i);
+                bars.add(openTime[p], open[p], high[p], low[p], close[p], volume[p], quoteVolume[p]);
+            }
+            return bars;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 최신 봉부터 거꾸로 훑으며 버킷 단위로 합쳐 최대 count 개를 반환 (오래된 순)
+     *
+     * 가장 오래된 버킷이 버퍼 시작보다 앞에서 시작하면 불완전하므로 제외한다.
+     */
+    public CandleBars aggregate(BucketFunction bucket, int count) {
+        lock.readLock().lock();
+        try {
+            int slots = Math.min(count, size);
+            long[] t = new long[slots];
+            double[] o = new double[slots];
+            double[] h = new double[slots];
+            double[] l = new double[slots];
+            double[] c = new double[slots];
+            double[] v = new double[slots];
+            double[] qv = new double[slots];
+
+            int filled = 0;
+            long currentBucket = Long.MIN_VALUE;
+            for (int i = size - 1; i >= 0; i--) {
+                int p = physical(i);
+                long b = bucket.bucketStart(openTime[p]);
+                if (b != currentBucket) {
+                    if (filled == slots) {
+                        break;
+                    }
+                    int s = slots - 1 - filled;
+                    filled++;
+                    currentBucket = b;
+                    t[s] = b;
+                    o[s] = open[p];
+                    h[s] = high[p];
+                    l[s] = low[p];
+                    c[s] = close[p];
+                    v[s] = volume[p];
+                    qv[s] = quoteVolume[p];
+                } else {
+                    int s = slots - filled;
+                    o[s] = open[p];
+                    h[s] = Math.max(h[s], high[p]);
+                    l[s] = Math.min(l[s], low[p]);
+                    v[s] += volume[p];
+                    qv[s] += quoteVolume[p];
+                }
+            }
+
+            int offset = slots - filled;
+            // 버퍼 시작이 버킷 중간이면 가장 오래된 버킷은 일부 데이터만 있으므로 제외
+            if (filled > 0 && t[offset] < openTime[head]) {
+                offset++;
+            }
+            CandleBars bars = new CandleBars(slots - offset);
+            for (int s = offset; s < slots; s++) {
+                bars.add(t[s], o[s], h[s], l[s], c[s], v[s], qv[s]);
+            }
+            return bars;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(int index, long time, double o, double h, double l, double c, double v, double qv) {
+        openTime[index] = time;
+        open[index] = o;
+        high[index] = h;
+        low[index] = l;
+        close[index] = c;
+        volume[index] = v;
+        quoteVolume[index] = qv;
+    }
+
+    private int physical(int logical) {
+        return (head + logical) % capacity;
+    }
+
+    private int search(long time) {
+        int index = lowerBound(time);
+        return index < size && openTime[physical(index)] == time ? index : -1;
+    }
+
+    /** time 이상인 첫 봉의 논리 인덱스 */
+    private int lowerBound(long time) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (openTime[physical(mid)] < time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    @FunctionalInterface
+    public interface BucketFunction {
+        long bucketStart(long epochMillis);
+    }
+}
@@ -0,0 +1,107 @@
+package com.crypto.analysis.candle;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 집계 결과 봉 묶음 (오래된 순, 원시 타입 배열)
+ */
+public class CandleBars {
+
+    private static final long KST_OFFSET_SECONDS = 9 * 3600;
+
+    private final long[] openTime;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+    private final double[] quoteVolume;
+    private int size;
+
+    public CandleBars(int capacity) {
+        this.openTime = new long[capacity];
+        this.open = new double[capacity];
+        this.high = new double[capacity];
+        this.low = new double[capacity];
+        this.close = new double[capacity];
+        this.volume = new double[capacity];
+        this.quoteVolume = new double[capacity];
+    }
+
+    public void add(long time, double o, double h, double l, double c, double v, double qv) {
+        openTime[size] = time;
+        open[size] = o;
+        high[size] = h;
+        low[size] = l;
+        close[size] = c;
+        volume[size] = v;
+        quoteVolume[size] = qv;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long openTime(int i) { return openTime[i]; }
+    public double open(int i) { return open[i]; }
+    public double high(int i) { return high[i]; }
+    public double low(int i) { return low[i]; }
+    public double close(int i) { return close[i]; }
+    public double volume(int i) { return volume[i]; }
+    public double quoteVolume(int i) { return quoteVolume[i]; }
+
+    /**
+     * 업비트 캔들 API 와 같은 형식(최신순)의 JSON 문자열로 변환
+     *
+     * ObjectMapper 트리를 만들지 않고 StringBuilder 에 바로 기록한다.
+     */
+    public String toUpbitJson(String market) {
+        StringBuilder sb = new StringBuilder(Math.max(2, size * 260));
+        writeUpbitJson(sb, market);
+        return sb.toString();
+    }
+
+    public void writeUpbitJson(StringBuilder sb, String market) {
+        sb.append('[');
+        for (int i = size - 1; i >= 0; i--) {
+            if (i != size - 1) {
+                sb.append(',');
+            }
+            long epochSecond = Math.floorDiv(openTime[i], 1000L);
+            sb.append("{\"market\":\"").append(market).append('"');
+            sb.append(",\"candle_date_time_utc\":\"");
+            appendDateTime(sb, epochSecond);
+            sb.append("\",\"candle_date_time_kst\":\"");
+            appendDateTime(sb, epochSecond + KST_OFFSET_SECONDS);
+            sb.append("\",\"opening_price\":").append(open[i]);
+            sb.append(",\"high_price\":").append(high[i]);
+            sb.append(",\"low_price\":").append(low[i]);
+            sb.append(",\"trade_price\":").append(close[i]);
+            sb.append(",\"timestamp\":").append(openTime[i]);
+            sb.append(",\"candle_acc_trade_price\":").append(quoteVolume[i]);
+            sb.append(",\"candle_acc_trade_volume\":").append(volume[i]);
+            sb.append('}');
+        }
+        sb.append(']');
+    }
+
+    // yyyy-MM-ddTHH:mm:ss (업비트 형식, 시간대 표기 없음)
+    public static void appendDateTime(StringBuilder sb, long epochSecond) {
+        LocalDateTime t = LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+        sb.append(t.getYear()).append('-');
+        pad(sb, t.getMonthValue()).append('-');
+        pad(sb, t.getDayOfMonth()).append('T');
+        pad(sb, t.getHour()).append(':');
+        pad(sb, t.getMinute()).append(':');
+        pad(sb, t.getSecond());
+    }
+
+    private static StringBuilder pad(StringBuilder sb, int value) {
+        if (value < 10) {
+            sb.append('0');
+        }
+        return sb.append(value);
+    }
+}
@@ -0,0 +1,103 @@
+package com.crypto.analysis.concurrent;
+
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.crypto.analysis.logging.MdcTaskDecorator;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 실행 모드 설정
+ *
+ * spring.threads.virtual.enabled=true 이면 스프링 부트가 Tomcat 요청 처리와 @Scheduled 작업을
+ * 가상 스레드로 실행하고, 여기서 만드는 분석 fan-out 실행기도 가상 스레드를 쓴다.
+ * 끄면 기존처럼 플랫폼 스레드 풀을 사용한다.
+ *
+ * 여기서 실행기 빈을 만들면 스프링 부트는 기본 작업 실행기(applicationTaskExecutor)를 만들지 않으므로
+ * @Async 용 기본 실행기도 여기서 같은 모드로 만들고 두 실행기 모두 MdcTaskDecorator 를 직접 건다.
+ */
+@Configuration
+@EnableAsync
+public class ExecutionConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean VIRTUAL_THREADS;
+
+    @Value("${spring.task.execution.pool.core-size:8}")
+    private int TASK_POOL_SIZE;
+
+    @Value("${analysis.fanout.pool-size:16}")
+    private int FANOUT_POOL_SIZE;
+
+    @Value("${analysis.fanout.max-concurrency:256}")
+    private int FANOUT_MAX_CONCURRENCY;
+
+    /**
+     * 분석 경로의 블로킹 작업(지표 계산, 외부 응답 이후의 저장 등)을 동시에 실행하는 실행기
+     */
+    @Bean
+    public AsyncTaskExecutor analysisFanOutExecutor(MdcTaskDecorator mdcTaskDecorator) {
+        if (VIRTUAL_THREADS) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("analysis-fanout-");
+            executor.setVirtualThreads(true);
+            // 풀 크기 대신 동시에 외부 API 를 기다리는 작업 수만 제한
+            // setConcurrencyLimit 은 제출하는 스레드(analysisBlockingScheduler 를 통한 이벤트 루프)를 막으므로
+            // 제출은 바로 받고 시작된 가상 스레드 안에서 허가를 기다림
+            Semaphore permits = new Semaphore(FANOUT_MAX_CONCURRENCY);
+            executor.setTaskDecorator(task -> {
+                Runnable decorated = mdcTaskDecorator.decorate(task);
+                return () -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        decorated.run();
+                    } finally {
+                        permits.release();
+                    }
+                };
+            });
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(FANOUT_POOL_SIZE);
+        executor.setMaxPoolSize(FANOUT_POOL_SIZE);
+        executor.setThreadNamePrefix("analysis-fanout-");
+        executor.setTaskDecorator(mdcTaskDecorator);
+        return executor;
+    }
+
+    /**
+     * @Async 기본 실행기 (스프링 부트 기본 실행기 대신, taskExecutor 이름으로 @Async 가 찾는다)
+     */
+    @Bean(name = { "applicationTaskExecutor", "taskExecutor" })
+    public AsyncTaskExecutor applicationTaskExecutor(MdcTaskDecorator mdcTaskDecorator) {
+        if (VIRTUAL_THREADS) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("task-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(mdcTaskDecorator);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(TASK_POOL_SIZE);
+        executor.setThreadNamePrefix("task-");
+        executor.setTaskDecorator(mdcTaskDecorator);
+        return executor;
+    }
+
+    /**
+     * 논블로킹 외부 호출 뒤의 블로킹 단계를 이벤트 루프 밖으로 옮기는 스케줄러 (fan-out 실행기를 공유)
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler analysisBlockingScheduler(@Qualifier("analysisFanOutExecutor") AsyncTaskExecutor analysisFanOutExecutor) {
+        return Schedulers.fromExecutor(analysisFanOutExecutor);
+    }
+}
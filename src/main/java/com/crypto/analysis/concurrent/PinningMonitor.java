@@ -0,0 +1,117 @@
+package com.crypto.analysis.concurrent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.crypto.analysis.metrics.AnalysisMetrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * 가상 스레드 고정(pinning) 진단
+ *
+ * diagnostics.pinning.enabled=true 이면 JFR jdk.VirtualThreadPinned 이벤트를 구독해
+ * synchronized 블록 안에서 대기하느라 캐리어 스레드를 붙잡은 지점을 우리 코드의 첫 프레임 기준으로 집계한다.
+ * 지점마다 처음 한 번은 스택과 함께 WARN 으로, 이후에는 DEBUG 로 남기고 종료 시 지점별 횟수를 요약한다.
+ */
+@Component
+public class PinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(PinningMonitor.class);
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.crypto.analysis.";
+    private static final int MAX_LOGGED_FRAMES = 12;
+
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+
+    @Value("${diagnostics.pinning.enabled:false}")
+    private boolean ENABLED;
+
+    @Value("${diagnostics.pinning.threshold-ms:20}")
+    private long THRESHOLD_MS;
+
+    @Autowired
+    private AnalysisMetrics metrics;
+
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        if (!ENABLED) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(Duration.ofMillis(THRESHOLD_MS)).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("가상 스레드 고정 진단 시작 (임계값 {}ms)", THRESHOLD_MS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream == null) {
+            return;
+        }
+        stream.close();
+        if (sites.isEmpty()) {
+            log.info("가상 스레드 고정 없음");
+            return;
+        }
+        StringBuilder summary = new StringBuilder("가상 스레드 고정 지점별 횟수");
+        sites.entrySet().stream()
+            .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+            .forEach(e -> summary.append("\n  ").append(e.getValue().sum()).append("  ").append(e.getKey()));
+        log.warn(summary.toString());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String site = "(unknown)";
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APP_PACKAGE)) {
+                site = type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+                break;
+            }
+        }
+
+        long nanos = event.getDuration().toNanos();
+        metrics.recordVirtualThreadPinned(site, nanos);
+        LongAdder count = sites.computeIfAbsent(site, k -> new LongAdder());
+        count.increment();
+        if (count.sum() == 1) {
+            log.warn("가상 스레드 고정 {}ms at {}{}", nanos / 1_000_000, site, format(event.getStackTrace()));
+        } else {
+            log.debug("가상 스레드 고정 {}ms at {}", nanos / 1_000_000, site);
+        }
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < Math.min(frames.size(), MAX_LOGGED_FRAMES); i++) {
+            RecordedFrame frame = frames.get(i);
+            sb.append("\n\tat ").append(frame.getMethod().getType().getName()).append('.')
+                .append(frame.getMethod().getName()).append(':').append(frame.getLineNumber());
+        }
+        return sb.toString();
+    }
+}
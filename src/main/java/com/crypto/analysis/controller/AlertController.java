@@ -0,0 +1,69 @@
+package com.crypto.analysis.controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.crypto.analysis.alert.AlertDirection;
+import com.crypto.analysis.alert.AlertMetric;
+import com.crypto.analysis.alert.AlertRule;
+import com.crypto.analysis.service.AlertService;
+
+@RestController
+@RequestMapping("/api/alerts")
+public class AlertController {
+
+    @Autowired
+    private AlertService alertService;
+
+    /**
+     * 알림 등록 (발생하면 /ws?user={user} 로 연결한 세션의 /user/queue/alerts 로 전송, 한 번 발생하면 삭제)
+     * 예: POST /api/alerts?user=u1&exchange=upbit&market=KRW-BTC&metric=PRICE&direction=ABOVE&threshold=150000000
+     */
+    @PostMapping
+    public Map<String, Object> register(
+            @RequestParam String user,
+            @RequestParam(defaultValue = "upbit") String exchange,
+            @RequestParam String market,
+            @RequestParam String metric,
+            @RequestParam String direction,
+            @RequestParam double threshold) {
+        Map<String, Object> result = new HashMap<>();
+        try {
+            AlertRule rule = alertService.register(user, exchange, market,
+                AlertMetric.valueOf(metric.toUpperCase()), AlertDirection.valueOf(direction.toUpperCase()), threshold);
+            result.put("rule", rule);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            result.put("error", e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * 사용자의 대기 중인 알림 목록
+     */
+    @GetMapping
+    public List<AlertRule> list(@RequestParam String user) {
+        return alertService.list(user);
+    }
+
+    /**
+     * 알림 삭제
+     */
+    @DeleteMapping("/{id}")
+    public Map<String, Object> cancel(@PathVariable long id, @RequestParam String user) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("id", id);
+        result.put("cancelled", alertService.cancel(user, id));
+        return result;
+    }
+}
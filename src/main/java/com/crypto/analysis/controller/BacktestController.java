@@ -0,0 +1,60 @@
+package com.crypto.analysis.controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.crypto.analysis.backtest.StrategyGrid;
+import com.crypto.analysis.backtest.StrategyParams;
+import com.crypto.analysis.backtest.StrategyType;
+import com.crypto.analysis.model.Timeframe;
+import com.crypto.analysis.service.BacktestService;
+
+@RestController
+@RequestMapping("/api/backtest")
+public class BacktestController {
+    
+    private static final Logger log = LoggerFactory.getLogger(BacktestController.class);
+    
+    @Autowired
+    private BacktestService backtestService;
+    
+    /**
+     * 파라미터 스윕 백테스트
+     *
+     * strategy 를 생략하면 모든 전략, 축(period, slow, lower, upper, width)을 생략하면 기본 격자를 사용한다.
+     * 예: /api/backtest?exchange=upbit&symbol=KRW-BTC&timeframe=1h&strategy=rsi_reversion&period=7,14&lower=25,30
+     */
+    @GetMapping
+    public Object backtest(
+            @RequestParam String exchange,
+            @RequestParam String symbol,
+            @RequestParam(defaultValue = "1h") String timeframe,
+            @RequestParam(defaultValue = "2000") int count,
+            @RequestParam(required = false) String strategy,
+            @RequestParam(required = false) List<Integer> period,
+            @RequestParam(required = false) List<Integer> slow,
+            @RequestParam(required = false) List<Double> lower,
+            @RequestParam(required = false) List<Double> upper,
+            @RequestParam(required = false) List<Double> width,
+            @RequestParam(defaultValue = "10") int top) {
+        try {
+            StrategyType type = strategy == null ? null : StrategyType.valueOf(strategy.toUpperCase());
+            List<StrategyParams> grid = StrategyGrid.build(type, period, slow, lower, upper, width);
+            return backtestService.sweep(exchange, symbol, Timeframe.parse(timeframe), count, grid, top);
+        } catch (Exception e) {
+            log.warn("백테스트 실패: {}", e.getMessage());
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return error;
+        }
+    }
+}
@@ -1,42 +1,44 @@
 package com.crypto.analysis.controller;
 
-import java.util.HashMap;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
-import com.crypto.analysis.service.BinanceService;
-import com.crypto.analysis.service.ClaudeService;
-import com.crypto.analysis.service.MarketSentimentService;
-import com.crypto.analysis.service.TechnicalIndicatorService;
-import com.crypto.analysis.service.UpbitService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.crypto.analysis.exchange.ExchangeAdapter;
+import com.crypto.analysis.exchange.ExchangeJson;
+import com.crypto.analysis.exchange.ExchangeRegistry;
+import com.crypto.analysis.model.Timeframe;
+import com.crypto.analysis.service.CandleAggregationService;
+import com.crypto.analysis.service.CryptoAnalysisService;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 @Controller
 public class CryptoAnalysisController {
     
-    @Autowired
-    private UpbitService upbitService;
+    private static final Logger log = LoggerFactory.getLogger(CryptoAnalysisController.class);
     
-    @Autowired
-    private BinanceService binanceService;
+    private static final String UNSUPPORTED_EXCHANGE = "{\"error\":\"지원하지 않는 거래소입니다.\"}";
     
     @Autowired
-    private TechnicalIndicatorService technicalIndicatorService;
+    private ExchangeRegistry exchangeRegistry;
     
     @Autowired
-    private MarketSentimentService marketSentimentService;
+    private CryptoAnalysisService cryptoAnalysisService;
     
     @Autowired
-    private ClaudeService claudeService;
-    
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CandleAggregationService candleAggregationService;
     
     @GetMapping("/")
     public String home(Model model) {
@@ -48,19 +50,13 @@ public class CryptoAnalysisController {
         }
     }
     
-    @GetMapping("/markets")
+    @GetMapping(value = "/markets", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
     public String getMarkets(@RequestParam(defaultValue = "upbit") String exchange) {
         try {
-            if ("upbit".equalsIgnoreCase(exchange)) {
-                return upbitService.getMarkets();
-            } else if ("binance".equalsIgnoreCase(exchange)) {
-                return binanceService.getSymbols();
-            } else {
-                return "[]";
-            }
+            return ExchangeJson.writeMarkets(exchangeRegistry.get(exchange).markets().items());
         } catch (Exception e) {
-            System.err.println("Error fetching coin list: " + e.getMessage());
+            log.warn("코인 목록 조회 실패: {}", e.getMessage());
             return "[]";
         }
     }
@@ -70,100 +66,17 @@ public class CryptoAnalysisController {
     public Map<String, Object> analyze(
             @RequestParam String market,
             @RequestParam(defaultValue = "upbit") String exchange) {
-        Map<String, Object> result = new HashMap<>();
-        
-        try {
-            String candleData, currentPrice;
-            
-            // 거래소에 따라 API 호출 서비스 선택
-            if ("upbit".equalsIgnoreCase(exchange)) {
-                // 캔들 데이터 조회
-                candleData = upbitService.getDayCandles(market, 30);
-                
-                // 현재가 조회
-                currentPrice = upbitService.getCurrentPrice(market);
-            } else if ("binance".equalsIgnoreCase(exchange)) {
-                // 캔들 데이터 조회
-                candleData = binanceService.getDayCandles(market, 30);
-                
-                // 현재가 조회
-                currentPrice = binanceService.getCurrentPrice(market);
-            } else {
-                result.put("success", false);
-                result.put("error", "지원하지 않는 거래소입니다. 'upbit' 또는 'binance'를 선택하세요.");
-                return result;
-            }
-            
-            // 기술적 지표 계산
-            Map<String, Object> indicators = technicalIndicatorService.calculateAllIndicators(market, candleData);
-            
-            // 공포/욕심 지수 조회
-            Map<String, Object> fearGreedIndex = marketSentimentService.getFearAndGreedIndex();
-            
-            // 관련 뉴스 조회
-            String coinSymbol;
-            if ("upbit".equalsIgnoreCase(exchange)) {
-                coinSymbol = market.split("-")[1]; // KRW-BTC에서 BTC 추출
-            } else {
-                coinSymbol = market.replace("USDT", ""); // BTCUSDT에서 BTC 추출
-            }
-            Map<String, Object> news = marketSentimentService.getNewsForCoin(coinSymbol);
-            
-            // 데이터 통합
-            Map<String, Object> analysisData = new HashMap<>();
-            analysisData.put("market", market);
-            analysisData.put("exchange", exchange);
-            analysisData.put("currentPrice", currentPrice);
-            analysisData.put("candles", candleData);
-            analysisData.put("technicalIndicators", indicators.get("latest"));
-            analysisData.put("fearGreedIndex", fearGreedIndex);
-            analysisData.put("news", news);
-            analysisData.put("sentimentService", marketSentimentService); // 감성 분석을 위해 서비스 전달
-            
-            // Claude API로 분석 요청
-            String analysisResult = claudeService.generateAnalysis(analysisData);
-            
-            // JSON 응답에서 추출
-            String jsonResponse = extractJsonFromResponse(analysisResult);
-            
-            // 결과 반환
-            result.put("success", true);
-            result.put("analysis", jsonResponse);
-            result.put("rawAnalysis", analysisResult); // 원본 분석 텍스트도 함께 전달
-            result.put("indicators", indicators);
-            result.put("fearGreedIndex", fearGreedIndex);
-            result.put("news", news);
-            result.put("exchange", exchange); // 거래소 정보 추가
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            result.put("success", false);
-            result.put("error", e.getMessage());
-        }
-        
-        return result;
+        return cryptoAnalysisService.analyze(market, exchange);
     }
     
     /**
-     * Claude 응답에서 JSON 부분만 추출
+     * 끝난 Claude 분석 결과 (구독 전에 전송이 끝난 경우 다시 받기, 아직 진행 중이면 204)
      */
-    private String extractJsonFromResponse(String response) {
-        try {
-            int startIndex = response.indexOf("```json");
-            int endIndex = response.lastIndexOf("```");
-            
-            if (startIndex != -1 && endIndex != -1 && startIndex < endIndex) {
-                // json 블록 시작 부분 이후부터 추출
-                startIndex = response.indexOf("\n", startIndex) + 1;
-                return response.substring(startIndex, endIndex).trim();
-            }
-            
-            // JSON 형식이 아닌 경우 전체 응답 반환
-            return response;
-        } catch (Exception e) {
-            System.err.println("JSON 추출 실패: " + e.getMessage());
-            return response;
-        }
+    @GetMapping("/analyze/result/{analysisId}")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> analysisResult(@PathVariable String analysisId) {
+        Map<String, Object> result = cryptoAnalysisService.upgradeResult(analysisId);
+        return result == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(result);
     }
     
     @GetMapping("/price")
@@ -171,63 +84,57 @@ public class CryptoAnalysisController {
     public String getCurrentPrice(
             @RequestParam String market,
             @RequestParam(defaultValue = "upbit") String exchange) {
-        if ("upbit".equalsIgnoreCase(exchange)) {
-            return upbitService.getCurrentPrice(market);
-        } else if ("binance".equalsIgnoreCase(exchange)) {
-            return binanceService.getCurrentPrice(market);
-        } else {
-            return "{\"error\":\"지원하지 않는 거래소입니다.\"}";
+        if (!exchangeRegistry.supports(exchange)) {
+            return UNSUPPORTED_EXCHANGE;
         }
+        return ExchangeJson.writeTicker(exchangeRegistry.get(exchange).ticker(market));
     }
     
-    @GetMapping("/candles/day")
+    @GetMapping(value = "/candles/day", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
     public String getDayCandles(
             @RequestParam String market, 
             @RequestParam(defaultValue = "30") int count,
-            @RequestParam(defaultValue = "upbit") String exchange) {
-        if ("upbit".equalsIgnoreCase(exchange)) {
-            return upbitService.getDayCandles(market, count);
-        } else if ("binance".equalsIgnoreCase(exchange)) {
-            return binanceService.getDayCandles(market, count);
-        } else {
-            return "{\"error\":\"지원하지 않는 거래소입니다.\"}";
-        }
+            @RequestParam(defaultValue = "upbit") String exchange) throws Exception {
+        return candles(exchange, market, Timeframe.ONE_DAY, count);
     }
     
-    @GetMapping("/candles/hour")
+    @GetMapping(value = "/candles/hour", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
     public String getHourCandles(
             @RequestParam String market, 
             @RequestParam(defaultValue = "24") int count,
-            @RequestParam(defaultValue = "upbit") String exchange) {
-        if ("upbit".equalsIgnoreCase(exchange)) {
-            return upbitService.getHourCandles(market, count);
-        } else if ("binance".equalsIgnoreCase(exchange)) {
-            return binanceService.getHourCandles(market, count);
-        } else {
-            return "{\"error\":\"지원하지 않는 거래소입니다.\"}";
-        }
+            @RequestParam(defaultValue = "upbit") String exchange) throws Exception {
+        return candles(exchange, market, Timeframe.ofMinutes(60), count);
     }
     
-    @GetMapping("/candles/minute")
+    @GetMapping(value = "/candles/minute", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
     public String getMinuteCandles(
             @RequestParam String market, 
             @RequestParam(defaultValue = "1") int minutes,
             @RequestParam(defaultValue = "60") int count,
-            @RequestParam(defaultValue = "upbit") String exchange) {
-        if ("upbit".equalsIgnoreCase(exchange)) {
-            return upbitService.getMinuteCandles(market, minutes, count);
-        } else if ("binance".equalsIgnoreCase(exchange)) {
-            return binanceService.getMinuteCandles(market, minutes, count);
-        } else {
-            return "{\"error\":\"지원하지 않는 거래소입니다.\"}";
+            @RequestParam(defaultValue = "upbit") String exchange) throws Exception {
+        return candles(exchange, market, Timeframe.ofMinutes(minutes), count);
+    }
+    
+    // 거래소가 직접 제공하지 않는 단위는 1분봉/일봉을 모아 집계
+    private String candles(String exchange, String market, Timeframe timeframe, int count) throws Exception {
+        if (!exchangeRegistry.supports(exchange)) {
+            return UNSUPPORTED_EXCHANGE;
+        }
+        ExchangeAdapter adapter = exchangeRegistry.get(exchange);
+        if (!adapter.supports(timeframe)) {
+            return candleAggregationService.getCandlesJson(exchange, market, timeframe, count);
         }
+        return ExchangeJson.writeCandles(adapter.candles(market, timeframe, count).items());
     }
     
+    // 오류 페이지가 정상 응답으로 캐시되지 않도록 상태 코드를 함께 내려줌 (잘못된 파라미터는 400)
     @ExceptionHandler(Exception.class)
-    public String handleError(Exception e, Model model) {
+    public String handleError(Exception e, Model model, HttpServletResponse response) {
+        response.setStatus(e instanceof IllegalArgumentException
+            ? HttpServletResponse.SC_BAD_REQUEST : HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
         model.addAttribute("message", "서비스 처리 중 오류가 발생했습니다.");
         model.addAttribute("error", e.getMessage());
         return "error";
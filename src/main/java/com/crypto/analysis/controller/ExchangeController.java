@@ -1,41 +1,53 @@
 package com.crypto.analysis.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.crypto.analysis.service.BinanceService;
-import com.crypto.analysis.service.UpbitService;
+import com.crypto.analysis.exchange.ExchangeAdapter;
+import com.crypto.analysis.exchange.ExchangeJson;
+import com.crypto.analysis.exchange.ExchangeRegistry;
+import com.crypto.analysis.model.Timeframe;
+import com.crypto.analysis.service.CandleBackfillService;
+import com.crypto.analysis.service.CandleAggregationService;
 
 @RestController
 @RequestMapping("/api/exchange")
 public class ExchangeController {
     
+    private static final Logger log = LoggerFactory.getLogger(ExchangeController.class);
+    
+    private static final String UNSUPPORTED_EXCHANGE =
+        "{\"error\": \"지원하지 않는 거래소입니다. 'upbit' 또는 'binance'를 선택하세요.\"}";
+    
+    @Autowired
+    private ExchangeRegistry exchangeRegistry;
+    
     @Autowired
-    private UpbitService upbitService;
+    private CandleAggregationService candleAggregationService;
     
     @Autowired
-    private BinanceService binanceService;
+    private CandleBackfillService candleBackfillService;
     
     /**
      * 거래소별 코인 목록 조회
      */
-    @GetMapping("/markets")
+    @GetMapping(value = "/markets", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
     public String getMarkets(@RequestParam String exchange) {
         try {
-            if ("upbit".equalsIgnoreCase(exchange)) {
-                return upbitService.getMarkets();
-            } else if ("binance".equalsIgnoreCase(exchange)) {
-                return binanceService.getSymbols();
-            } else {
-                return "{\"error\": \"지원하지 않는 거래소입니다. 'upbit' 또는 'binance'를 선택하세요.\"}";
+            if (!exchangeRegistry.supports(exchange)) {
+                return UNSUPPORTED_EXCHANGE;
             }
+            return ExchangeJson.writeMarkets(exchangeRegistry.get(exchange).markets().items());
         } catch (Exception e) {
-            System.err.println("코인 목록 조회 실패: " + e.getMessage());
+            log.warn("코인 목록 조회 실패: {}", e.getMessage());
             return "{\"error\": \"" + e.getMessage() + "\"}";
         }
     }
@@ -43,19 +55,16 @@ public class ExchangeController {
     /**
      * 현재가 조회
      */
-    @GetMapping("/price")
+    @GetMapping(value = "/price", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
     public String getCurrentPrice(@RequestParam String exchange, @RequestParam String symbol) {
         try {
-            if ("upbit".equalsIgnoreCase(exchange)) {
-                return upbitService.getCurrentPrice(symbol);
-            } else if ("binance".equalsIgnoreCase(exchange)) {
-                return binanceService.getCurrentPrice(symbol);
-            } else {
-                return "{\"error\": \"지원하지 않는 거래소입니다. 'upbit' 또는 'binance'를 선택하세요.\"}";
+            if (!exchangeRegistry.supports(exchange)) {
+                return UNSUPPORTED_EXCHANGE;
             }
+            return ExchangeJson.writeTicker(exchangeRegistry.get(exchange).ticker(symbol));
         } catch (Exception e) {
-            System.err.println("현재가 조회 실패: " + e.getMessage());
+            log.warn("현재가 조회 실패: {}", e.getMessage());
             return "{\"error\": \"" + e.getMessage() + "\"}";
         }
     }
@@ -63,22 +72,16 @@ public class ExchangeController {
     /**
      * 일봉 캔들 조회
      */
-    @GetMapping("/candles/day")
+    @GetMapping(value = "/candles/day", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
     public String getDayCandles(
             @RequestParam String exchange, 
             @RequestParam String symbol, 
             @RequestParam(defaultValue = "30") int count) {
         try {
-            if ("upbit".equalsIgnoreCase(exchange)) {
-                return upbitService.getDayCandles(symbol, count);
-            } else if ("binance".equalsIgnoreCase(exchange)) {
-                return binanceService.getDayCandles(symbol, count);
-            } else {
-                return "{\"error\": \"지원하지 않는 거래소입니다. 'upbit' 또는 'binance'를 선택하세요.\"}";
-            }
+            return candles(exchange, symbol, Timeframe.ONE_DAY, count);
         } catch (Exception e) {
-            System.err.println("일봉 조회 실패: " + e.getMessage());
+            log.warn("일봉 조회 실패: {}", e.getMessage());
             return "{\"error\": \"" + e.getMessage() + "\"}";
         }
     }
@@ -86,22 +89,16 @@ public class ExchangeController {
     /**
      * 시간봉 캔들 조회
      */
-    @GetMapping("/candles/hour")
+    @GetMapping(value = "/candles/hour", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
     public String getHourCandles(
             @RequestParam String exchange,
             @RequestParam String symbol, 
             @RequestParam(defaultValue = "24") int count) {
         try {
-            if ("upbit".equalsIgnoreCase(exchange)) {
-                return upbitService.getHourCandles(symbol, count);
-            } else if ("binance".equalsIgnoreCase(exchange)) {
-                return binanceService.getHourCandles(symbol, count);
-            } else {
-                return "{\"error\": \"지원하지 않는 거래소입니다. 'upbit' 또는 'binance'를 선택하세요.\"}";
-            }
+            return candles(exchange, symbol, Timeframe.ofMinutes(60), count);
         } catch (Exception e) {
-            System.err.println("시간봉 조회 실패: " + e.getMessage());
+            log.warn("시간봉 조회 실패: {}", e.getMessage());
             return "{\"error\": \"" + e.getMessage() + "\"}";
         }
     }
@@ -109,7 +106,7 @@ public class ExchangeController {
     /**
      * 분봉 캔들 조회
      */
-    @GetMapping("/candles/minute")
+    @GetMapping(value = "/candles/minute", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
     public String getMinuteCandles(
             @RequestParam String exchange,
@@ -117,16 +114,65 @@ public class ExchangeController {
             @RequestParam(defaultValue = "1") int minutes,
             @RequestParam(defaultValue = "60") int count) {
         try {
-            if ("upbit".equalsIgnoreCase(exchange)) {
-                return upbitService.getMinuteCandles(symbol, minutes, count);
-            } else if ("binance".equalsIgnoreCase(exchange)) {
-                return binanceService.getMinuteCandles(symbol, minutes, count);
-            } else {
-                return "{\"error\": \"지원하지 않는 거래소입니다. 'upbit' 또는 'binance'를 선택하세요.\"}";
+            return candles(exchange, symbol, Timeframe.ofMinutes(minutes), count);
+        } catch (Exception e) {
+            log.warn("분봉 조회 실패: {}", e.getMessage());
+            return "{\"error\": \"" + e.getMessage() + "\"}";
+        }
+    }
+    
+    /**
+     * 임의 타임프레임 캔들 조회 (예: 3m, 45m, 4h, 3d, 1w)
+     *
+     * 1분봉/일봉을 모아 집계하므로 거래소가 직접 제공하지 않는 단위도 조회할 수 있다.
+     */
+    @GetMapping(value = "/candles", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public String getCandles(
+            @RequestParam String exchange,
+            @RequestParam String symbol,
+            @RequestParam String timeframe,
+            @RequestParam(defaultValue = "60") int count) {
+        try {
+            if (!exchangeRegistry.supports(exchange)) {
+                return UNSUPPORTED_EXCHANGE;
             }
+            return candleAggregationService.getCandlesJson(exchange, symbol, Timeframe.parse(timeframe), count);
         } catch (Exception e) {
-            System.err.println("분봉 조회 실패: " + e.getMessage());
+            log.warn("캔들 집계 조회 실패: {}", e.getMessage());
             return "{\"error\": \"" + e.getMessage() + "\"}";
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * 장기 과거 캔들 조회 (거래소 제공 단위, 한 페이지 이상)
+     *
+     * 저장된 기록에 없는 구간만 받아 저장하므로 같은 구간을 다시 받지 않는다.
+     */
+    @GetMapping(value = "/candles/history", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public String getCandleHistory(
+            @RequestParam String exchange,
+            @RequestParam String symbol,
+            @RequestParam(defaultValue = "1d") String interval,
+            @RequestParam(defaultValue = "365") int count) {
+        try {
+            return candleBackfillService.getCandlesJson(exchange, symbol, Timeframe.parse(interval), count);
+        } catch (Exception e) {
+            log.warn("과거 캔들 조회 실패: {}", e.getMessage());
+            return "{\"error\": \"" + e.getMessage() + "\"}";
+        }
+    }
+    
+    // 거래소가 직접 제공하지 않는 단위는 1분봉/일봉을 모아 집계
+    private String candles(String exchange, String symbol, Timeframe timeframe, int count) throws Exception {
+        if (!exchangeRegistry.supports(exchange)) {
+            return UNSUPPORTED_EXCHANGE;
+        }
+        ExchangeAdapter adapter = exchangeRegistry.get(exchange);
+        if (!adapter.supports(timeframe)) {
+            return candleAggregationService.getCandlesJson(exchange, symbol, timeframe, count);
+        }
+        return ExchangeJson.writeCandles(adapter.candles(symbol, timeframe, count).items());
+    }
+}
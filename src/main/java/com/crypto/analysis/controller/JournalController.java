@@ -0,0 +1,58 @@
+package com.crypto.analysis.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.crypto.analysis.service.JournalReplayService;
+
+@RestController
+@RequestMapping("/api/journal")
+public class JournalController {
+
+    @Autowired
+    private JournalReplayService journalReplayService;
+
+    /**
+     * 저널 기록 건수와 최근 재생 결과
+     */
+    @GetMapping
+    public Map<String, Object> status() {
+        return journalReplayService.getStatus();
+    }
+
+    /**
+     * 저널 재생 시작 (from/to 는 epoch ms, 생략하면 최근 1시간, speed 0 은 최대 속도)
+     * 예: POST /api/journal/replay?speed=60
+     */
+    @PostMapping("/replay")
+    public Map<String, Object> replay(
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(defaultValue = "0") double speed) {
+        long end = to != null ? to : System.currentTimeMillis();
+        long start = from != null ? from : end - 3_600_000L;
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("from", start);
+        result.put("to", end);
+        result.put("speed", speed);
+        result.put("started", journalReplayService.start(start, end, speed));
+        return result;
+    }
+
+    /**
+     * 진행 중인 재생 중단
+     */
+    @PostMapping("/replay/stop")
+    public Map<String, Object> stop() {
+        journalReplayService.stop();
+        return journalReplayService.getStatus();
+    }
+}
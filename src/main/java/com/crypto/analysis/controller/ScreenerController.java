@@ -0,0 +1,57 @@
+package com.crypto.analysis.controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.crypto.analysis.screener.MarketSignals;
+import com.crypto.analysis.screener.ScreenerRanking;
+import com.crypto.analysis.screener.ScreenerSnapshot;
+import com.crypto.analysis.service.MarketScannerService;
+
+@RestController
+@RequestMapping("/api/screener")
+public class ScreenerController {
+    
+    @Autowired
+    private MarketScannerService marketScannerService;
+    
+    /**
+     * 스크리너 결과 조회 (ranking 을 지정하면 해당 순위만, exchange 로 거래소 필터)
+     */
+    @GetMapping
+    public Object getScreener(
+            @RequestParam(required = false) String ranking,
+            @RequestParam(required = false) String exchange) {
+        ScreenerSnapshot snapshot = marketScannerService.getSnapshot();
+        if (ranking == null && exchange == null) {
+            return snapshot;
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("updatedAt", snapshot.updatedAt());
+        result.put("timeframe", snapshot.timeframe());
+        try {
+            Map<ScreenerRanking, List<MarketSignals>> rankings = snapshot.rankings();
+            Map<String, List<MarketSignals>> filtered = new HashMap<>();
+            for (Map.Entry<ScreenerRanking, List<MarketSignals>> entry : rankings.entrySet()) {
+                if (ranking != null && entry.getKey() != ScreenerRanking.valueOf(ranking.toUpperCase())) {
+                    continue;
+                }
+                filtered.put(entry.getKey().name(), entry.getValue().stream()
+                    .filter(s -> exchange == null || exchange.equalsIgnoreCase(s.exchange()))
+                    .toList());
+            }
+            result.put("rankings", filtered);
+        } catch (IllegalArgumentException e) {
+            result.put("error", "지원하지 않는 순위 기준입니다: " + ranking);
+        }
+        return result;
+    }
+}
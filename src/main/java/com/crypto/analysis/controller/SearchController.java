@@ -0,0 +1,31 @@
+package com.crypto.analysis.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.crypto.analysis.search.SearchEntry;
+import com.crypto.analysis.service.SymbolSearchService;
+
+@RestController
+public class SearchController {
+
+    @Autowired
+    private SymbolSearchService symbolSearchService;
+
+    /**
+     * 코인/주식 자동완성 (심볼, 이름 접두어, 오타, 한글 초성)
+     * 예: GET /search?q=ㅂㅌ&type=coin&exchange=upbit
+     */
+    @GetMapping("/search")
+    public List<SearchEntry> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String exchange,
+            @RequestParam(defaultValue = "10") int limit) {
+        return symbolSearchService.search(q, type, exchange, limit);
+    }
+}
@@ -0,0 +1,48 @@
+package com.crypto.analysis.controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.crypto.analysis.spread.SpreadSnapshot;
+import com.crypto.analysis.service.SpreadService;
+
+@RestController
+@RequestMapping("/api/spread")
+public class SpreadController {
+
+    @Autowired
+    private SpreadService spreadService;
+
+    /**
+     * 자산별 김치 프리미엄 (실시간은 /topic/spread 구독)
+     */
+    @GetMapping
+    public Object getSpread() {
+        SpreadSnapshot snapshot = spreadService.getSnapshot();
+        if (snapshot == null) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("error", "아직 계산된 프리미엄이 없습니다");
+            return result;
+        }
+        return snapshot;
+    }
+
+    /**
+     * 자산의 최근 프리미엄 기록 (오래된 순)
+     * 예: GET /api/spread/BTC/history?limit=600
+     */
+    @GetMapping("/{asset}/history")
+    public List<SpreadSnapshot.SpreadPoint> getHistory(
+            @PathVariable String asset,
+            @RequestParam(defaultValue = "600") int limit) {
+        return spreadService.getHistory(asset, limit);
+    }
+}
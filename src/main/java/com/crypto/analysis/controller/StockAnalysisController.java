@@ -4,6 +4,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,24 +15,34 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.crypto.analysis.metrics.AnalysisMetrics;
 import com.crypto.analysis.model.Stock;
 import com.crypto.analysis.service.ClaudeService;
 import com.crypto.analysis.service.StockService;
+import com.crypto.analysis.service.SymbolSearchService;
 import com.crypto.analysis.service.TechnicalIndicatorService;
 
 @RestController
 @RequestMapping("/api/stock")
 public class StockAnalysisController {
     
+    private static final Logger log = LoggerFactory.getLogger(StockAnalysisController.class);
+    
     @Autowired
     private StockService stockService;
     
+    @Autowired
+    private SymbolSearchService symbolSearchService;
+    
     @Autowired
     private ClaudeService claudeService;
     
     @Autowired
     private TechnicalIndicatorService technicalIndicatorService;
     
+    @Autowired
+    private AnalysisMetrics metrics;
+    
     /**
      * 상위 거래량 30개 종목 조회
      */
@@ -40,7 +52,7 @@ public class StockAnalysisController {
             @RequestParam(defaultValue = "US") String market,
             @RequestParam(defaultValue = "30") int limit) {
         try {
-            System.out.println("상위 거래량 종목 요청: 시장=" + market + ", 개수=" + limit);
+            log.debug("상위 거래량 종목 요청: 시장={}, 개수={}", market, limit);
             List<Stock> stocks = stockService.getTopVolumeStocks(limit);
             
             // 지정된 시장에 해당하는 종목만 필터링
@@ -51,11 +63,10 @@ public class StockAnalysisController {
                     .collect(java.util.stream.Collectors.toList());
             }
             
-            System.out.println("응답 종목 수: " + stocks.size());
+            log.debug("응답 종목 수: {}", stocks.size());
             return ResponseEntity.ok(stocks);
         } catch (Exception e) {
-            System.err.println("상위 종목 조회 오류: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("상위 종목 조회 오류: {}", e.getMessage());
             
             // 에러 응답 전송
             Map<String, Object> errorResponse = new HashMap<>();
@@ -73,12 +84,11 @@ public class StockAnalysisController {
             @RequestParam String query, 
             @RequestParam(defaultValue = "US") String market) {
         try {
-            System.out.println("종목 검색 요청: 검색어=" + query + ", 시장=" + market);
-            List<Stock> stocks = stockService.searchStocks(query, market);
+            log.debug("종목 검색 요청: 검색어={}, 시장={}", query, market);
+            List<Stock> stocks = symbolSearchService.searchStocks(query, market);
             return ResponseEntity.ok(stocks);
         } catch (Exception e) {
-            System.err.println("종목 검색 오류: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("종목 검색 오류: {}", e.getMessage());
             
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "종목 검색 실패: " + e.getMessage());
@@ -94,27 +104,32 @@ public class StockAnalysisController {
     public ResponseEntity<?> analyzeStock(
             @RequestParam String symbol,
             @RequestParam(defaultValue = "US") String market) {
-        System.out.println("종목 분석 요청: 심볼=" + symbol + ", 시장=" + market);
+        log.debug("종목 분석 요청: 심볼={}, 시장={}", symbol, market);
         Map<String, Object> result = new HashMap<>();
         
         try {
             // 주식 데이터 가져오기
-            Map<String, Object> stockData = stockService.getStockData(symbol, market);
+            Map<String, Object> stockData = metrics.timeStage("stock", "quote",
+                    () -> stockService.getStockData(symbol, market));
             
-            // 히스토리컬 데이터 가져오기
-            String historicalData = stockService.getHistoricalData(symbol, market, 30);
+            // 히스토리컬 데이터 가져오기 (sma200 계산을 위해 약 1년치)
+            String historicalData = metrics.timeStage("stock", "history",
+                    () -> stockService.getHistoricalData(symbol, market, 250));
             
             // 캔들 데이터 변환
             stockData.put("candles", historicalData);
             
             // 기술적 지표 계산
-            Map<String, Object> indicators = technicalIndicatorService.calculateStockIndicators(symbol, historicalData);
+            Map<String, Object> indicators = metrics.timeStage("stock", "indicators",
+                    () -> technicalIndicatorService.calculateStockIndicators(symbol, historicalData));
             
             // 뉴스 데이터 가져오기
-            Map<String, Object> newsData = stockService.getNewsForStock(symbol);
+            Map<String, Object> newsData = metrics.timeStage("stock", "news",
+                    () -> stockService.getNewsForStock(symbol));
             
             // 재무 데이터 가져오기
-            Map<String, Object> financials = stockService.getFinancialData(symbol, market);
+            Map<String, Object> financials = metrics.timeStage("stock", "financials",
+                    () -> stockService.getFinancialData(symbol, market));
             
             // 통합 데이터
             Map<String, Object> analysisData = new HashMap<>();
@@ -128,7 +143,8 @@ public class StockAnalysisController {
             analysisData.put("news", newsData);
             
             // Claude API로 분석 요청
-            String analysisResult = claudeService.generateStockAnalysis(analysisData);
+            String analysisResult = metrics.timeStage("stock", "claude",
+                    () -> claudeService.generateStockAnalysis(analysisData));
             
             // JSON 응답에서 추출 (필요시)
             String jsonResponse = extractJsonFromResponse(analysisResult);
@@ -150,12 +166,11 @@ public class StockAnalysisController {
             result.put("prices", indicators.get("prices"));
             result.put("volumes", indicators.get("volumes"));
             
-            System.out.println("분석 완료: " + symbol);
+            log.debug("분석 완료: {}", symbol);
             return ResponseEntity.ok(result);
             
         } catch (Exception e) {
-            System.err.println("종목 분석 오류: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("종목 분석 오류: {}", e.getMessage());
             
             result.put("success", false);
             result.put("error", e.getMessage());
@@ -180,7 +195,7 @@ public class StockAnalysisController {
             // JSON 형식이 아닌 경우 전체 응답 반환
             return response;
         } catch (Exception e) {
-            System.err.println("JSON 추출 실패: " + e.getMessage());
+            log.warn("JSON 추출 실패: {}", e.getMessage());
             return response;
         }
     }
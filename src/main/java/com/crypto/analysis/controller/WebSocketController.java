@@ -3,6 +3,8 @@ package com.crypto.analysis.controller;
 import java.util.List;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
@@ -13,6 +15,8 @@ import com.crypto.analysis.service.RealTimeDataService;
 @Controller
 public class WebSocketController {
     
+    private static final Logger log = LoggerFactory.getLogger(WebSocketController.class);
+    
     @Autowired
     private RealTimeDataService realTimeDataService;
     
@@ -24,7 +28,7 @@ public class WebSocketController {
             realTimeDataService.subscribeToTickerData(markets);
             return "{\"status\":\"subscribed\",\"markets\":" + markets + "}";
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("티커 구독 처리 실패", e);
             return "{\"status\":\"error\",\"message\":\"" + e.getMessage() + "\"}";
         }
     }
@@ -0,0 +1,21 @@
+package com.crypto.analysis.exchange;
+
+import java.util.List;
+
+/**
+ * 어댑터 목록 조회 결과 (캔들, 마켓)
+ *
+ * 외부 조회 실패로 만든 임시 목록이면 degraded 이다. 목록 타입에 표시를 숨기지 않고 결과에 드러내므로
+ * 목록을 복사하거나 변환해도 임시 데이터 여부가 사라지지 않는다.
+ * 예열 캐시, 검색 색인, 프리미엄 자산 선정은 degraded 결과를 실패로 취급한다.
+ */
+public record AdapterResult<T>(List<T> items, boolean degraded) {
+
+    public static <T> AdapterResult<T> of(List<T> items) {
+        return new AdapterResult<>(items, false);
+    }
+
+    public static <T> AdapterResult<T> fallback(List<T> items) {
+        return new AdapterResult<>(items, true);
+    }
+}
@@ -0,0 +1,62 @@
+package com.crypto.analysis.exchange;
+
+import java.util.List;
+
+import com.crypto.analysis.model.Candle;
+import com.crypto.analysis.model.Timeframe;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 거래소 어댑터 (시세 조회 SPI)
+ *
+ * 구현체는 응답을 Candle / Ticker / MarketInfo 로 정규화해 돌려주고, JSON 직렬화는 HTTP 경계(ExchangeJson)에서 한 번만 한다.
+ * 스프링 빈으로 등록하면 ExchangeRegistry 가 id() 로 찾아 쓰므로 새 거래소는 구현체 추가만으로 붙는다.
+ * *Async 메서드의 기본 구현은 블로킹 메서드를 boundedElastic 에서 실행하므로, 구현체는 필요할 때만 논블로킹으로 재정의한다.
+ */
+public interface ExchangeAdapter {
+
+    /** 거래소 식별자 (소문자, 요청 파라미터 exchange 값) */
+    String id();
+
+    /** 캔들 요청 한 번에 받을 수 있는 최대 개수 */
+    int maxCandlesPerRequest();
+
+    /** 거래소가 직접 제공하는 캔들 단위 문자열 (제공하지 않으면 null) */
+    String nativeInterval(Timeframe timeframe);
+
+    default boolean supports(Timeframe timeframe) {
+        return nativeInterval(timeframe) != null;
+    }
+
+    /** 마켓 목록 (실패 시 기본 목록, degraded) */
+    AdapterResult<MarketInfo> markets();
+
+    /** 현재가 (실패 시 0 으로 채운 값) */
+    Ticker ticker(String market);
+
+    /**
+     * 최근 캔들 (최신순, 실패 시 임시 데이터, degraded)
+     *
+     * @throws IllegalArgumentException 거래소가 제공하지 않는 단위
+     */
+    AdapterResult<Candle> candles(String market, Timeframe timeframe, int count);
+
+    /** ticker 의 논블로킹 버전 (실패 시 0 으로 채운 값) */
+    default Mono<Ticker> tickerAsync(String market) {
+        return Mono.fromCallable(() -> ticker(market)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /** candles 의 논블로킹 버전 (최신순, 실패 시 임시 데이터, degraded, 지원하지 않는 단위는 IllegalArgumentException 오류 신호) */
+    default Mono<AdapterResult<Candle>> candlesAsync(String market, Timeframe timeframe, int count) {
+        return Mono.fromCallable(() -> candles(market, timeframe, count)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * beforeMillis 이전(미포함)에 시작한 캔들 (최신순, 실패 시 예외, 집계/적재용)
+     *
+     * @param beforeMillis null 이면 최근 캔들
+     */
+    List<Candle> candlesBefore(String market, Timeframe timeframe, int count, Long beforeMillis) throws Exception;
+}
@@ -0,0 +1,211 @@
+package com.crypto.analysis.exchange;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.crypto.analysis.candle.CandleBars;
+import com.crypto.analysis.model.Candle;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * 정규화된 시세의 업비트 형식 JSON 변환 (스트리밍 읽기/쓰기, 중간 트리 없음)
+ */
+public final class ExchangeJson {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private ExchangeJson() {
+    }
+
+    /**
+     * 캔들 목록을 업비트 캔들 API 형식으로 (입력 순서 유지)
+     */
+    public static String writeCandles(List<Candle> candles) {
+        return write(generator -> {
+            generator.writeStartArray();
+            StringBuilder time = new StringBuilder(19);
+            for (Candle candle : candles) {
+                long openTime = candle.candleDateTimeUtc().toInstant().toEpochMilli();
+                generator.writeStartObject();
+                generator.writeStringField("market", candle.market());
+                time.setLength(0);
+                CandleBars.appendDateTime(time, openTime / 1000);
+                generator.writeStringField("candle_date_time_utc", time.toString());
+                time.setLength(0);
+                CandleBars.appendDateTime(time, candle.candleDateTimeKst().toLocalDateTime().toEpochSecond(ZoneOffset.UTC));
+                generator.writeStringField("candle_date_time_kst", time.toString());
+                generator.writeNumberField("opening_price", candle.openingPrice());
+                generator.writeNumberField("high_price", candle.highPrice());
+                generator.writeNumberField("low_price", candle.lowPrice());
+                generator.writeNumberField("trade_price", candle.tradePrice());
+                generator.writeNumberField("timestamp", openTime);
+                generator.writeNumberField("candle_acc_trade_price", candle.candleAccTradePrice());
+                generator.writeNumberField("candle_acc_trade_volume", candle.candleAccTradeVolume());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        });
+    }
+
+    /**
+     * 현재가를 업비트 현재가 API 형식(원소 하나인 배열)으로
+     */
+    public static String writeTicker(Ticker ticker) {
+        return write(generator -> {
+            generator.writeStartArray();
+            generator.writeStartObject();
+            generator.writeStringField("market", ticker.market());
+            generator.writeStringField("code", ticker.market());
+            generator.writeNumberField("trade_price", ticker.tradePrice());
+            generator.writeNumberField("change_rate", ticker.changeRate());
+            generator.writeNumberField("signed_change_rate", ticker.changeRate());
+            generator.writeNumberField("high_price", ticker.highPrice());
+            generator.writeNumberField("low_price", ticker.lowPrice());
+            generator.writeNumberField("acc_trade_volume_24h", ticker.accTradeVolume24h());
+            generator.writeNumberField("acc_trade_price_24h", ticker.accTradePrice24h());
+            generator.writeNumberField("timestamp", ticker.timestamp());
+            generator.writeEndObject();
+            generator.writeEndArray();
+        });
+    }
+
+    public static String writeMarkets(List<MarketInfo> markets) {
+        return write(generator -> {
+            generator.writeStartArray();
+            for (MarketInfo market : markets) {
+                generator.writeStartObject();
+                generator.writeStringField("market", market.market());
+                generator.writeStringField("baseAsset", market.baseAsset());
+                generator.writeStringField("quoteAsset", market.quoteAsset());
+                generator.writeStringField("korean_name", market.koreanName());
+                generator.writeStringField("english_name", market.englishName());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        });
+    }
+
+    /**
+     * 업비트 캔들 API 형식 JSON 을 읽어 Candle 목록으로 (입력 순서 유지, 모르는 필드는 건너뜀)
+     */
+    public static List<Candle> parseCandles(String json) throws IOException {
+        List<Candle> candles = new ArrayList<>();
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("캔들 배열이 아닙니다");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String market = null;
+                ZonedDateTime utc = null;
+                ZonedDateTime kst = null;
+                double open = 0;
+                double high = 0;
+                double low = 0;
+                double close = 0;
+                double quoteVolume = 0;
+                double volume = 0;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    switch (field) {
+                        case "market" -> market = parser.getText();
+                        case "candle_date_time_utc" ->
+                            utc = LocalDateTime.parse(parser.getText().replace("Z", "")).atZone(ZoneOffset.UTC);
+                        case "candle_date_time_kst" -> kst = LocalDateTime.parse(parser.getText()).atZone(KST);
+                        case "opening_price" -> open = parser.getDoubleValue();
+                        case "high_price" -> high = parser.getDoubleValue();
+                        case "low_price" -> low = parser.getDoubleValue();
+                        case "trade_price" -> close = parser.getDoubleValue();
+                        case "candle_acc_trade_price" -> quoteVolume = parser.getDoubleValue();
+                        case "candle_acc_trade_volume" -> volume = parser.getDoubleValue();
+                        default -> {
+                            if (value.isStructStart()) {
+                                parser.skipChildren();
+                            }
+                        }
+                    }
+                }
+                if (kst == null && utc != null) {
+                    kst = utc.withZoneSameInstant(KST);
+                }
+                candles.add(new Candle(market, utc, kst, open, high, low, close, quoteVolume, volume));
+            }
+        }
+        return candles;
+    }
+
+    /**
+     * 바이낸스 exchangeInfo 의 symbols 중 quoteAsset 이 일치하는 마켓 (한글/영문명은 비워 둠, 필터 등 나머지 필드는 건너뜀)
+     */
+    public static List<MarketInfo> parseBinanceSymbols(String json, String quoteAsset) throws IOException {
+        List<MarketInfo> markets = new ArrayList<>();
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("exchangeInfo 객체가 아닙니다");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"symbols".equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    String symbol = null;
+                    String base = null;
+                    String quote = null;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = parser.currentName();
+                        parser.nextToken();
+                        switch (name) {
+                            case "symbol" -> symbol = parser.getText();
+                            case "baseAsset" -> base = parser.getText();
+                            case "quoteAsset" -> quote = parser.getText();
+                            default -> parser.skipChildren();
+                        }
+                    }
+                    if (symbol != null && quoteAsset.equals(quote)) {
+                        markets.add(new MarketInfo(symbol, base, quote, null, null));
+                    }
+                }
+            }
+        }
+        return markets;
+    }
+
+    /**
+     * 시작 시각(UTC epoch millis)과 OHLCV 로 Candle 생성
+     */
+    public static Candle candle(String market, long openTime, double open, double high, double low, double close,
+            double volume, double quoteVolume) {
+        ZonedDateTime utc = ZonedDateTime.ofInstant(Instant.ofEpochMilli(openTime), ZoneOffset.UTC);
+        return new Candle(market, utc, utc.withZoneSameInstant(KST), open, high, low, close, quoteVolume, volume);
+    }
+
+    private static String write(Body body) {
+        StringWriter writer = new StringWriter(256);
+        try (JsonGenerator generator = FACTORY.createGenerator(writer)) {
+            body.write(generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        void write(JsonGenerator generator) throws IOException;
+    }
+}
@@ -0,0 +1,45 @@
+package com.crypto.analysis.exchange;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 등록된 거래소 어댑터 조회
+ */
+@Component
+public class ExchangeRegistry {
+
+    private final Map<String, ExchangeAdapter> adapters = new LinkedHashMap<>();
+
+    public ExchangeRegistry(List<ExchangeAdapter> adapters) {
+        for (ExchangeAdapter adapter : adapters) {
+            if (this.adapters.putIfAbsent(adapter.id(), adapter) != null) {
+                throw new IllegalStateException("중복된 거래소 어댑터입니다: " + adapter.id());
+            }
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException 등록되지 않은 거래소
+     */
+    public ExchangeAdapter get(String exchange) {
+        ExchangeAdapter adapter = exchange == null ? null : adapters.get(exchange.toLowerCase());
+        if (adapter == null) {
+            throw new IllegalArgumentException("지원하지 않는 거래소입니다: " + exchange);
+        }
+        return adapter;
+    }
+
+    public boolean supports(String exchange) {
+        return exchange != null && adapters.containsKey(exchange.toLowerCase());
+    }
+
+    public Collection<ExchangeAdapter> all() {
+        return Collections.unmodifiableCollection(adapters.values());
+    }
+}
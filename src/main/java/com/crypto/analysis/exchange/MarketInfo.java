@@ -0,0 +1,12 @@
+package com.crypto.analysis.exchange;
+
+/**
+ * 거래소 마켓 정보 (market 은 거래소 고유 표기, 예: KRW-BTC, BTCUSDT)
+ */
+public record MarketInfo(
+        String market,
+        String baseAsset,
+        String quoteAsset,
+        String koreanName,
+        String englishName) {
+}
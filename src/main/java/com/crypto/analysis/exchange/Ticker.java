@@ -0,0 +1,26 @@
+package com.crypto.analysis.exchange;
+
+/**
+ * 정규화된 현재가
+ *
+ * changeRate 는 전일 대비 부호 있는 변화율(0.01 = 1%)이다.
+ */
+public record Ticker(
+        String market,
+        double tradePrice,
+        double changeRate,
+        double highPrice,
+        double lowPrice,
+        double accTradeVolume24h,
+        double accTradePrice24h,
+        long timestamp) {
+
+    public static Ticker empty(String market) {
+        return new Ticker(market, 0, 0, 0, 0, 0, 0, System.currentTimeMillis());
+    }
+
+    /** 조회 실패로 만든 빈 현재가인지 (실제 체결가는 0 이 될 수 없음) */
+    public boolean isEmpty() {
+        return tradePrice <= 0;
+    }
+}
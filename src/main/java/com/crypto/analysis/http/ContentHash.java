@@ -0,0 +1,35 @@
+package com.crypto.analysis.http;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 내용 해시 (ETag, 정적 파일 버전, 보고서 캐시 키에 쓰는 SHA-256 16진수 문자열)
+ */
+public final class ContentHash {
+
+    private static final int SHA256_BYTES = 32;
+
+    private ContentHash() {
+    }
+
+    /**
+     * SHA-256 전체 16진수 (64자)
+     */
+    public static String sha256Hex(byte[] bytes) {
+        return sha256Hex(bytes, SHA256_BYTES);
+    }
+
+    /**
+     * SHA-256 앞쪽 prefixBytes 바이트만 16진수로 (짧은 버전 문자열용)
+     */
+    public static String sha256Hex(byte[] bytes, int prefixBytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(digest, 0, Math.min(prefixBytes, digest.length));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
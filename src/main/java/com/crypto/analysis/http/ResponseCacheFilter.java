@@ -0,0 +1,220 @@
+package com.crypto.analysis.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.model.Timeframe;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 캔들/마켓 조회 응답 캐시 필터
+ *
+ * 응답 본문의 SHA-256 으로 강한 ETag 를 만들고, If-None-Match 가 맞으면 304 로 답한다.
+ * gzip 압축본은 다른 표현이므로 ETag 에 -gz 를 붙여 구분하고, If-None-Match 는 두 형태 모두 받는다.
+ * 캐시는 200 application/json 응답만 대상으로 한다 (오류 페이지 등은 그대로 통과).
+ * max-age 는 다음 봉 경계를 넘지 않도록 잡아 새 봉이 생기면 바로 다시 받게 한다.
+ * 만료 전까지는 본문과 gzip 압축본을 LRU 로 보관해 컨트롤러와 외부 API 를 거치지 않는다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    @Value("${http.cache.enabled:true}")
+    private boolean ENABLED;
+
+    @Value("${http.cache.max-entries:256}")
+    private int MAX_ENTRIES;
+
+    @Value("${http.cache.candle-max-age-seconds:10}")
+    private long CANDLE_MAX_AGE_SECONDS;
+
+    @Value("${http.cache.markets-max-age-seconds:300}")
+    private long MARKETS_MAX_AGE_SECONDS;
+
+    @Value("${http.cache.default-max-age-seconds:2}")
+    private long DEFAULT_MAX_AGE_SECONDS;
+
+    @Autowired
+    private AnalysisMetrics metrics;
+
+    // 접근 순서 LRU (요청 키 -> 캐시된 응답)
+    private final Map<String, CachedResponse> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!ENABLED || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return !(path.equals("/markets") || path.startsWith("/candles/") || path.startsWith("/api/exchange/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI();
+        String key = request.getQueryString() == null ? path : path + "?" + request.getQueryString();
+        long now = System.currentTimeMillis();
+
+        CachedResponse cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        if (cached != null && now < cached.expiresAt) {
+            write(request, response, cached, now, "hit");
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        byte[] body = wrapper.getContentAsByteArray();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || !isCacheable(wrapper.getContentType(), body)) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        CachedResponse fresh = new CachedResponse(etag(body), wrapper.getContentType(), body, gzip(body),
+            now + maxAgeSeconds(request, path, now) * 1000);
+        synchronized (cache) {
+            cache.put(key, fresh);
+        }
+        // 래퍼에 쌓인 본문은 버리고 캐시 항목으로 직접 응답
+        wrapper.resetBuffer();
+        write(request, response, fresh, now, "miss");
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response, CachedResponse cached, long now,
+            String outcome) throws IOException {
+        long maxAge = Math.max(0, (cached.expiresAt - now) / 1000);
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzipped = cached.gzip != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        response.setHeader(HttpHeaders.ETAG, gzipped ? gzipEtag(cached.etag) : cached.etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=" + maxAge);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        // 본문이 같으면 압축 여부와 관계없이 클라이언트 사본은 유효 (인코딩이 바뀌어도 304)
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(cached.etag) || ifNoneMatch.contains(gzipEtag(cached.etag))
+                || ifNoneMatch.trim().equals("*"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            metrics.recordResponseCache(endpoint(request), "not_modified");
+            return;
+        }
+        metrics.recordResponseCache(endpoint(request), outcome);
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (cached.contentType != null) {
+            response.setContentType(cached.contentType);
+        }
+        byte[] payload = cached.body;
+        if (gzipped) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            payload = cached.gzip;
+        }
+        response.setContentLength(payload.length);
+        response.getOutputStream().write(payload);
+    }
+
+    /**
+     * 다음 봉 경계까지 남은 시간 (확정 봉만 주는 history 는 상한 없이, 그 외는 진행 중 봉 때문에 상한 적용)
+     */
+    private long maxAgeSeconds(HttpServletRequest request, String path, long now) {
+        if (path.endsWith("/markets")) {
+            return MARKETS_MAX_AGE_SECONDS;
+        }
+        Timeframe timeframe = timeframeOf(request, path);
+        if (timeframe == null) {
+            return DEFAULT_MAX_AGE_SECONDS;
+        }
+        long nextBoundary = timeframe.bucketStart(now, ZoneOffset.UTC) + timeframe.approximateMinutes() * 60_000L;
+        long untilBoundary = Math.max(1, (nextBoundary - now) / 1000);
+        return path.endsWith("/candles/history") ? untilBoundary : Math.min(untilBoundary, CANDLE_MAX_AGE_SECONDS);
+    }
+
+    private Timeframe timeframeOf(HttpServletRequest request, String path) {
+        try {
+            if (path.endsWith("/candles/day")) {
+                return Timeframe.ONE_DAY;
+            } else if (path.endsWith("/candles/hour")) {
+                return Timeframe.parse("1h");
+            } else if (path.endsWith("/candles/minute")) {
+                String minutes = request.getParameter("minutes");
+                return minutes == null ? Timeframe.ONE_MINUTE : Timeframe.ofMinutes(Integer.parseInt(minutes));
+            } else if (path.endsWith("/candles/history")) {
+                String interval = request.getParameter("interval");
+                return Timeframe.parse(interval == null ? "1d" : interval);
+            } else if (path.endsWith("/candles")) {
+                String timeframe = request.getParameter("timeframe");
+                return timeframe == null ? null : Timeframe.parse(timeframe);
+            }
+        } catch (IllegalArgumentException e) {
+            // 잘못된 파라미터는 컨트롤러가 오류로 응답하므로 기본 만료 사용
+        }
+        return null;
+    }
+
+    // JSON 이 아닌 응답(오류 페이지 등)과 컨트롤러가 200 으로 내려주는 오류/빈 응답은 캐시하지 않음
+    private boolean isCacheable(String contentType, byte[] body) {
+        if (body.length == 0 || contentType == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            return false;
+        }
+        String head = new String(body, 0, Math.min(body.length, 32), StandardCharsets.UTF_8).replaceAll("\\s", "");
+        return !head.startsWith("{\"error\"") && !head.equals("[]");
+    }
+
+    private String endpoint(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/api/exchange/") ? path : path.replaceFirst("^(/candles/[a-z]+).*", "$1");
+    }
+
+    private static String etag(byte[] body) {
+        return "\"" + ContentHash.sha256Hex(body, 16) + "\"";
+    }
+
+    // 같은 본문의 gzip 표현 ("<hash>-gz")
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        if (body.length < GZIP_MIN_BYTES) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private record CachedResponse(String etag, String contentType, byte[] body, byte[] gzip, long expiresAt) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.crypto.analysis.indicator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * double[] 기반 지표 커널
+ *
+ * 결과 배열은 입력과 길이가 같고, 초기 구간(index < window - 1)은 ta4j 와 같이 있는 데이터만으로 계산한다.
+ * 구현은 jdk.incubator.vector 모듈이 로드되어 있으면 VectorKernels, 아니면 ScalarKernels 를 쓴다.
+ * (VectorKernels 는 항상 빌드에 포함되고 실행 시 --add-modules jdk.incubator.vector 를 주면 쓰인다, -Dindicator.kernels=scalar 로 강제 가능)
+ */
+public interface IndicatorKernels {
+
+    /** 슬라이딩 합 */
+    double[] rollingSum(double[] values, int window);
+
+    /** 슬라이딩 모분산 (ta4j VarianceIndicator 와 같은 정의) */
+    double[] rollingVariance(double[] values, int window);
+
+    /** 지수 이동 평균 (첫 값은 values[0], 계수 2 / (period + 1)) */
+    double[] ema(double[] values, int period);
+
+    /** True Range (ta4j TRIndicator 와 같은 정의, 첫 봉은 고가 - 저가) */
+    double[] trueRange(double[] high, double[] low, double[] close);
+
+    /** 원소별 a - b */
+    double[] subtract(double[] a, double[] b);
+
+    /** 단순 이동 평균 */
+    default double[] sma(double[] values, int window) {
+        double[] sum = rollingSum(values, window);
+        for (int i = 0; i < sum.length; i++) {
+            sum[i] /= Math.min(i + 1, window);
+        }
+        return sum;
+    }
+
+    /** 슬라이딩 모표준편차 */
+    default double[] rollingStdDev(double[] values, int window) {
+        double[] variance = rollingVariance(values, window);
+        for (int i = 0; i < variance.length; i++) {
+            variance[i] = Math.sqrt(variance[i]);
+        }
+        return variance;
+    }
+
+    /** 구현 이름 (로그/메트릭용) */
+    String name();
+
+    /**
+     * 사용 가능한 가장 빠른 구현
+     */
+    static IndicatorKernels get() {
+        return Holder.INSTANCE;
+    }
+
+    final class Holder {
+        private static final Logger log = LoggerFactory.getLogger(IndicatorKernels.class);
+        private static final IndicatorKernels INSTANCE = select();
+
+        private Holder() {
+        }
+
+        private static IndicatorKernels select() {
+            if (!"scalar".equalsIgnoreCase(System.getProperty("indicator.kernels"))
+                    && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+                try {
+                    IndicatorKernels vector = (IndicatorKernels) Class
+                        .forName("com.crypto.analysis.indicator.VectorKernels")
+                        .getDeclaredConstructor().newInstance();
+                    log.info("지표 커널: {}", vector.name());
+                    return vector;
+                } catch (ReflectiveOperationException | LinkageError e) {
+                    log.warn("Vector API 커널 로드 실패, 스칼라 커널 사용: {}", e.getMessage());
+                }
+            }
+            log.info("지표 커널: scalar (Vector API 는 --add-modules jdk.incubator.vector 로 실행 시 사용)");
+            return new ScalarKernels();
+        }
+    }
+}
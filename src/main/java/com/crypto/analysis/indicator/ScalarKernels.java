@@ -0,0 +1,144 @@
+package com.crypto.analysis.indicator;
+
+/**
+ * 스칼라 지표 커널 (Vector API 를 쓸 수 없을 때의 기본 구현)
+ *
+ * 슬라이딩 합은 VectorKernels 와 비트 단위로 같은 결과가 나오도록
+ * sum += (x[i] - x[i - window]) 순서로 누적하고, 같은 위치에서 창을 다시 합산한다 (accumulate).
+ * 슬라이딩 분산도 평균/편차 제곱합을 갱신하는 O(n) 방식이며 창 길이마다 다시 합산해 누적 오차를 묶어 둔다.
+ */
+public final class ScalarKernels implements IndicatorKernels {
+
+    // 누적 오차가 쌓이지 않도록 창을 처음부터 다시 합산하는 최소 주기 (창이 더 크면 창 길이마다, 전체 O(n) 유지)
+    static final int RESYNC_INTERVAL = 1024;
+
+    // 편차 제곱합이 한 번에 이 비율 아래로 줄면 갱신 오차가 결과를 덮으므로 다시 합산
+    private static final double CANCELLATION_RATIO = 1.0 / 1024;
+
+    @Override
+    public double[] rollingSum(double[] values, int window) {
+        checkWindow(window);
+        double[] out = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            out[i] = i < window ? values[i] : values[i] - values[i - window];
+        }
+        accumulate(values, out, window);
+        return out;
+    }
+
+    @Override
+    public double[] rollingVariance(double[] values, int window) {
+        checkWindow(window);
+        int n = values.length;
+        double[] out = new double[n];
+        // 평균과 편차 제곱합을 Welford 방식으로 갱신 (sumSq - sum^2 처럼 가격대만큼 자릿수가 사라지지 않음)
+        double mean = 0;
+        double m2 = 0;
+        for (int i = 0; i < n; i++) {
+            int start = Math.max(0, i - window + 1);
+            int length = i - start + 1;
+            double x = values[i];
+            double previousM2 = m2;
+            if (i < window) {
+                double d = x - mean;
+                mean += d / length;
+                m2 += d * (x - mean);
+            } else {
+                double old = values[i - window];
+                double previousMean = mean;
+                mean += (x - old) / window;
+                m2 += (x - old) * (x - mean + old - previousMean);
+            }
+            // 창 길이마다 (원소당 2회, O(n)), 또는 분산이 한 번에 급감해 유효 자릿수가 적게 남았을 때 창을 다시 합산
+            if (i > 0 && (i % window == 0 || m2 < previousM2 * CANCELLATION_RATIO)) {
+                mean = 0;
+                for (int j = start; j <= i; j++) {
+                    mean += values[j];
+                }
+                mean /= length;
+                m2 = 0;
+                for (int j = start; j <= i; j++) {
+                    double d = values[j] - mean;
+                    m2 += d * d;
+                }
+            }
+            out[i] = Math.max(0, m2 / length);
+        }
+        return out;
+    }
+
+    @Override
+    public double[] ema(double[] values, int period) {
+        checkWindow(period);
+        double[] out = new double[values.length];
+        if (values.length == 0) {
+            return out;
+        }
+        double k = 2.0 / (period + 1);
+        out[0] = values[0];
+        for (int i = 1; i < values.length; i++) {
+            out[i] = (values[i] - out[i - 1]) * k + out[i - 1];
+        }
+        return out;
+    }
+
+    @Override
+    public double[] trueRange(double[] high, double[] low, double[] close) {
+        int n = high.length;
+        double[] out = new double[n];
+        if (n == 0) {
+            return out;
+        }
+        out[0] = Math.abs(high[0] - low[0]);
+        for (int i = 1; i < n; i++) {
+            double range = Math.abs(high[i] - low[i]);
+            double up = Math.abs(high[i] - close[i - 1]);
+            double down = Math.abs(close[i - 1] - low[i]);
+            out[i] = Math.max(Math.max(range, up), down);
+        }
+        return out;
+    }
+
+    @Override
+    public double[] subtract(double[] a, double[] b) {
+        double[] out = new double[a.length];
+        for (int i = 0; i < a.length; i++) {
+            out[i] = a[i] - b[i];
+        }
+        return out;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    /**
+     * 차분 배열을 제자리에서 누적해 슬라이딩 합으로 변환 (주기마다 창을 다시 합산)
+     */
+    static void accumulate(double[] values, double[] delta, int window) {
+        int interval = resyncInterval(window);
+        double sum = 0;
+        for (int i = 0; i < delta.length; i++) {
+            if (i > 0 && i % interval == 0) {
+                sum = 0;
+                for (int j = Math.max(0, i - window + 1); j <= i; j++) {
+                    sum += values[j];
+                }
+            } else {
+                sum += delta[i];
+            }
+            delta[i] = sum;
+        }
+    }
+
+    static int resyncInterval(int window) {
+        return Math.max(window, RESYNC_INTERVAL);
+    }
+
+    static void checkWindow(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("기간은 1 이상이어야 합니다: " + window);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.crypto.analysis.indicator;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * jdk.incubator.vector 기반 지표 커널
+ *
+ * 원소별 연산(True Range, 차분)은 SIMD 레인으로 처리하고,
+ * 앞 값에 의존하는 누적(슬라이딩 합/분산의 누적, EMA 재귀)만 스칼라로 남긴다.
+ * IndicatorKernels.get() 이 모듈이 있을 때만 리플렉션으로 로드한다.
+ */
+final class VectorKernels implements IndicatorKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private final ScalarKernels scalar = new ScalarKernels();
+
+    @Override
+    public double[] rollingSum(double[] values, int window) {
+        ScalarKernels.checkWindow(window);
+        int n = values.length;
+        // 1) 차분 d[i] = x[i] - x[i - window] 을 벡터로 계산
+        double[] delta = new double[n];
+        System.arraycopy(values, 0, delta, 0, Math.min(window, n));
+        int i = window;
+        int upper = window + SPECIES.loopBound(Math.max(0, n - window));
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector head = DoubleVector.fromArray(SPECIES, values, i);
+            DoubleVector tail = DoubleVector.fromArray(SPECIES, values, i - window);
+            head.sub(tail).intoArray(delta, i);
+        }
+        for (; i < n; i++) {
+            delta[i] = values[i] - values[i - window];
+        }
+        // 2) 누적 (ScalarKernels 와 같은 순서/같은 재합산 위치라 결과가 비트 단위로 같음)
+        ScalarKernels.accumulate(values, delta, window);
+        return delta;
+    }
+
+    @Override
+    public double[] rollingVariance(double[] values, int window) {
+        // 평균/편차 제곱합을 앞 값에서 갱신하는 O(n) 누적이라 벡터화 이득이 없음
+        return scalar.rollingVariance(values, window);
+    }
+
+    @Override
+    public double[] ema(double[] values, int period) {
+        // 앞 값에 의존하는 재귀식이라 벡터화 이득이 없음
+        return scalar.ema(values, period);
+    }
+
+    @Override
+    public double[] trueRange(double[] high, double[] low, double[] close) {
+        int n = high.length;
+        double[] out = new double[n];
+        if (n == 0) {
+            return out;
+        }
+        out[0] = Math.abs(high[0] - low[0]);
+        int i = 1;
+        int upper = 1 + SPECIES.loopBound(n - 1);
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector h = DoubleVector.fromArray(SPECIES, high, i);
+            DoubleVector l = DoubleVector.fromArray(SPECIES, low, i);
+            DoubleVector prevClose = DoubleVector.fromArray(SPECIES, close, i - 1);
+            DoubleVector range = h.sub(l).abs();
+            DoubleVector up = h.sub(prevClose).abs();
+            DoubleVector down = prevClose.sub(l).abs();
+            range.max(up).max(down).intoArray(out, i);
+        }
+        for (; i < n; i++) {
+            double range = Math.abs(high[i] - low[i]);
+            double up = Math.abs(high[i] - close[i - 1]);
+            double down = Math.abs(close[i - 1] - low[i]);
+            out[i] = Math.max(Math.max(range, up), down);
+        }
+        return out;
+    }
+
+    @Override
+    public double[] subtract(double[] a, double[] b) {
+        double[] out = new double[a.length];
+        int i = 0;
+        int upper = SPECIES.loopBound(a.length);
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).sub(DoubleVector.fromArray(SPECIES, b, i)).intoArray(out, i);
+        }
+        for (; i < a.length; i++) {
+            out[i] = a[i] - b[i];
+        }
+        return out;
+    }
+
+    @Override
+    public String name() {
+        return "vector(" + SPECIES.length() + " lanes)";
+    }
+}
@@ -0,0 +1,106 @@
+package com.crypto.analysis.journal;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 저널 재생기
+ *
+ * 세그먼트를 읽기 전용으로 매핑해 오래된 순으로 훑으며 [from, to] 시각의 레코드를 handler 에 넘긴다.
+ * 레코드 객체 하나를 재사용하고, 마켓 문자열은 직전 레코드와 같으면 다시 만들지 않는다.
+ * 쓰는 중인 세그먼트도 읽을 수 있으며 헤더가 기록된 레코드까지만 읽는다.
+ */
+public final class JournalReader {
+
+    // 거래소 시각과 로컬 시각 차이를 감안해 세그먼트를 건너뛸 때 두는 여유
+    private static final long SKEW_MILLIS = 60_000;
+
+    private JournalReader() {
+    }
+
+    @FunctionalInterface
+    public interface Handler {
+        /**
+         * @return 계속 읽으려면 true
+         */
+        boolean accept(JournalRecord record) throws Exception;
+    }
+
+    /**
+     * @return handler 에 넘긴 레코드 수
+     */
+    public static long replay(Path directory, long from, long to, Handler handler) throws Exception {
+        List<Path> segments = TickJournal.segments(directory);
+        JournalRecord record = new JournalRecord();
+        byte[] marketBytes = new byte[TickJournal.MARKET_BYTES];
+        byte[] lastMarketBytes = new byte[TickJournal.MARKET_BYTES];
+        int lastMarketLength = -1;
+        String lastMarket = null;
+        long count = 0;
+
+        for (int s = 0; s < segments.size(); s++) {
+            // 다음 세그먼트가 from 전에 열렸으면 이 세그먼트의 레코드는 모두 from 이전
+            if (s + 1 < segments.size() && TickJournal.openedAt(segments.get(s + 1)) + SKEW_MILLIS < from) {
+                continue;
+            }
+            if (TickJournal.openedAt(segments.get(s)) - SKEW_MILLIS > to) {
+                break;
+            }
+            MappedByteBuffer buffer = map(segments.get(s));
+            for (int base = 0; base + TickJournal.RECORD_SIZE <= buffer.capacity(); base += TickJournal.RECORD_SIZE) {
+                long header = (long) TickJournal.HEADER.getAcquire(buffer, base);
+                if (header == 0) {
+                    break;
+                }
+                long time = buffer.getLong(base + 8);
+                if (time < from || time > to) {
+                    continue;
+                }
+                int length = (int) (header >>> 24 & 0xFF);
+                for (int i = 0; i < length; i++) {
+                    marketBytes[i] = buffer.get(base + TickJournal.MARKET_OFFSET + i);
+                }
+                if (length != lastMarketLength || !sameBytes(marketBytes, lastMarketBytes, length)) {
+                    lastMarket = new String(marketBytes, 0, length, StandardCharsets.US_ASCII);
+                    System.arraycopy(marketBytes, 0, lastMarketBytes, 0, length);
+                    lastMarketLength = length;
+                }
+
+                record.set((byte) (header & 0xFF), TickJournal.exchangeName((int) (header >>> 8 & 0xFF)), lastMarket,
+                    time, buffer.getLong(base + 16), (header >>> 16 & 1) != 0);
+                for (int i = 0; i < JournalRecord.VALUE_COUNT; i++) {
+                    record.setValue(i, buffer.getDouble(base + TickJournal.VALUES_OFFSET + i * 8));
+                }
+                count++;
+                if (!handler.accept(record)) {
+                    return count;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static MappedByteBuffer map(Path segment) throws IOException {
+        // 매핑은 채널을 닫아도 유지됨
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+
+    private static boolean sameBytes(byte[] a, byte[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,124 @@
+package com.crypto.analysis.journal;
+
+import com.crypto.analysis.exchange.Ticker;
+import com.crypto.analysis.trade.TradeEvent;
+
+/**
+ * 저널 레코드 한 건 (쓰기/읽기 모두 객체 하나를 재사용)
+ *
+ * 종류별 값 배치
+ * <ul>
+ *   <li>TICK: time=시세 시각, values=현재가, 변화율, 고가, 저가, 24시간 거래량, 24시간 거래대금</li>
+ *   <li>TRADE: time=체결 시각, id=체결 id, buy=매수 체결, values=가격, 수량</li>
+ *   <li>CANDLE: time=1분봉 시작 시각, values=시가, 고가, 저가, 종가, 거래량, 거래대금</li>
+ * </ul>
+ */
+public final class JournalRecord {
+
+    public static final byte TICK = 1;
+    public static final byte TRADE = 2;
+    public static final byte CANDLE = 3;
+
+    public static final int VALUE_COUNT = 6;
+
+    private byte type;
+    private String exchange;
+    private String market;
+    private long time;
+    private long id;
+    private boolean buy;
+    private final double[] values = new double[VALUE_COUNT];
+
+    public JournalRecord tick(String exchange, Ticker ticker) {
+        set(TICK, exchange, ticker.market(), ticker.timestamp(), 0, false);
+        values[0] = ticker.tradePrice();
+        values[1] = ticker.changeRate();
+        values[2] = ticker.highPrice();
+        values[3] = ticker.lowPrice();
+        values[4] = ticker.accTradeVolume24h();
+        values[5] = ticker.accTradePrice24h();
+        return this;
+    }
+
+    public JournalRecord trade(String exchange, String market, long time, long tradeId, double price, double size,
+                               boolean buy) {
+        set(TRADE, exchange, market, time, tradeId, buy);
+        values[0] = price;
+        values[1] = size;
+        return this;
+    }
+
+    public JournalRecord candle(String exchange, String market, long openTime, double open, double high, double low,
+                                double close, double volume, double quoteVolume) {
+        set(CANDLE, exchange, market, openTime, 0, false);
+        values[0] = open;
+        values[1] = high;
+        values[2] = low;
+        values[3] = close;
+        values[4] = volume;
+        values[5] = quoteVolume;
+        return this;
+    }
+
+    public Ticker toTicker() {
+        return new Ticker(market, values[0], values[1], values[2], values[3], values[4], values[5], time);
+    }
+
+    /**
+     * TRADE 레코드를 out 에 채움
+     */
+    public TradeEvent toTrade(TradeEvent out) {
+        out.reset();
+        out.setMarket(market);
+        out.setTradeId(id);
+        out.setTime(time);
+        out.setPrice(values[0]);
+        out.setSize(values[1]);
+        out.setBuy(buy);
+        return out;
+    }
+
+    void set(byte type, String exchange, String market, long time, long id, boolean buy) {
+        this.type = type;
+        this.exchange = exchange;
+        this.market = market;
+        this.time = time;
+        this.id = id;
+        this.buy = buy;
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            values[i] = 0;
+        }
+    }
+
+    void setValue(int index, double value) {
+        values[index] = value;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public String getExchange() {
+        return exchange;
+    }
+
+    public String getMarket() {
+        return market;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public boolean isBuy() {
+        return buy;
+    }
+
+    public double value(int index) {
+        return values[index];
+    }
+}
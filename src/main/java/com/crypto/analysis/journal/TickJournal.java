@@ -0,0 +1,266 @@
+package com.crypto.analysis.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * 메모리 매핑 세그먼트 파일에 쓰는 추가 전용 저널
+ *
+ * 레코드는 RECORD_SIZE 바이트 고정 길이이고, 세그먼트는 segmentBytes 를 넘거나 rollMillis 가 지나면 새 파일로 넘긴다.
+ * 파일 이름은 세그먼트를 연 시각(밀리초)과 순번이라 이름 순서가 곧 시간 순서다.
+ * 레코드 본문을 먼저 쓰고 종류가 들어 있는 헤더 8바이트를 release 로 마지막에 써서,
+ * 읽는 쪽은 헤더가 0 이 아닌 레코드까지만 읽으면 중간에 잘린 레코드를 보지 않는다.
+ * 세그먼트는 0 으로 채워진 채 만들어지므로 재시작 시에는 이어 쓰지 않고 새 세그먼트를 연다.
+ * 파일 생성과 매핑, 페이지 할당은 append 의 락 안에서 하지 않도록 다음 세그먼트를 백그라운드에서 미리
+ * 예비 파일(*.spare)로 만들어 두고, 넘길 때는 이름만 바꿔 쓴다 (준비가 덜 됐으면 그 자리에서 만든다).
+ *
+ * 레코드 배치 (little endian)
+ * <pre>
+ *  0  byte   종류 (JournalRecord.TICK/TRADE/CANDLE)
+ *  1  byte   거래소 코드
+ *  2  byte   플래그 (bit0: 매수 체결)
+ *  3  byte   마켓 길이
+ *  8  long   시각 (epoch ms)
+ * 16  long   id (체결 id)
+ * 24  byte[24] 마켓 (ASCII)
+ * 48  double[6] 값
+ * </pre>
+ */
+public final class TickJournal implements Closeable {
+
+    public static final int RECORD_SIZE = 96;
+    static final int MARKET_OFFSET = 24;
+    static final int MARKET_BYTES = 24;
+    static final int VALUES_OFFSET = 48;
+    static final String SUFFIX = ".journal";
+    static final String SPARE_SUFFIX = ".spare";
+    private static final int PAGE_BYTES = 4096;
+
+    static final VarHandle HEADER = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final String[] EXCHANGES = {null, "upbit", "binance"};
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long rollMillis;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private Path segment;
+    private long segmentOpenedAt;
+    private int position;
+    private int sequence;
+    private long written;
+
+    // 미리 만들어 두는 다음 세그먼트
+    private final ExecutorService preallocator = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "journal-preallocate");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private CompletableFuture<Spare> spare;
+    private int spareSequence;
+
+    public TickJournal(Path directory, long segmentBytes, long rollMillis) throws IOException {
+        this.directory = directory;
+        // 매핑 한 번에 2GB 를 넘을 수 없고 레코드 경계에 맞춤
+        long bytes = Math.min(Math.max(segmentBytes, RECORD_SIZE * 1024L), Integer.MAX_VALUE);
+        this.segmentBytes = (int) (bytes - bytes % RECORD_SIZE);
+        this.rollMillis = rollMillis;
+        Files.createDirectories(directory);
+        // 이전 실행에서 쓰지 못한 예비 파일 정리
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.filter(p -> p.getFileName().toString().endsWith(SPARE_SUFFIX)).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+        prepareSpare();
+    }
+
+    /**
+     * 레코드 추가 (세그먼트가 가득 찼거나 roll 시간이 지났으면 먼저 새 세그먼트를 연다)
+     */
+    public synchronized void append(JournalRecord record) throws IOException {
+        long now = System.currentTimeMillis();
+        if (buffer == null || position + RECORD_SIZE > segmentBytes || now - segmentOpenedAt >= rollMillis) {
+            roll(now);
+        }
+        int base = position;
+        buffer.putLong(base + 8, record.getTime());
+        buffer.putLong(base + 16, record.getId());
+        String market = record.getMarket() == null ? "" : record.getMarket();
+        int length = Math.min(market.length(), MARKET_BYTES);
+        for (int i = 0; i < length; i++) {
+            buffer.put(base + MARKET_OFFSET + i, (byte) market.charAt(i));
+        }
+        for (int i = 0; i < JournalRecord.VALUE_COUNT; i++) {
+            buffer.putDouble(base + VALUES_OFFSET + i * 8, record.value(i));
+        }
+        long header = (record.getType() & 0xFFL)
+            | (exchangeCode(record.getExchange()) & 0xFFL) << 8
+            | (record.isBuy() ? 1L : 0L) << 16
+            | (long) length << 24;
+        HEADER.setRelease(buffer, base, header);
+        position += RECORD_SIZE;
+        written++;
+    }
+
+    /**
+     * 현재 세그먼트를 디스크에 기록
+     */
+    public synchronized void flush() {
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * cutoff 이전에 닫힌 세그먼트 삭제 (쓰는 중인 세그먼트는 남김)
+     *
+     * @return 삭제한 세그먼트 수
+     */
+    public synchronized int deleteBefore(long cutoff) throws IOException {
+        List<Path> segments = segments(directory);
+        int deleted = 0;
+        // 다음 세그먼트가 열린 시각이 곧 이 세그먼트가 닫힌 시각
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            Path path = segments.get(i);
+            if (openedAt(segments.get(i + 1)) < cutoff && !path.equals(segment)) {
+                Files.deleteIfExists(path);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    public synchronized long getWritten() {
+        return written;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closeSegment();
+        // 준비 중인 예비 파일은 끝까지 만든 뒤 지움
+        preallocator.shutdown();
+        if (spare != null) {
+            Spare unused = spare.exceptionally(e -> null).join();
+            spare = null;
+            if (unused != null) {
+                unused.channel().close();
+                Files.deleteIfExists(unused.path());
+            }
+        }
+    }
+
+    /**
+     * 디렉터리의 세그먼트 목록 (오래된 순)
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(p -> p.getFileName().toString().endsWith(SUFFIX))
+                .sorted()
+                .toList();
+        }
+    }
+
+    // 파일 이름: {열린 시각 13자리}-{순번 6자리}.journal
+    static long openedAt(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.indexOf('-')));
+    }
+
+    static String exchangeName(int code) {
+        return code > 0 && code < EXCHANGES.length ? EXCHANGES[code] : "unknown";
+    }
+
+    private static int exchangeCode(String exchange) {
+        for (int i = 1; i < EXCHANGES.length; i++) {
+            if (EXCHANGES[i].equalsIgnoreCase(exchange)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private void roll(long now) throws IOException {
+        closeSegment();
+        Path next = directory.resolve(String.format("%013d-%06d%s", now, sequence++ % 1_000_000, SUFFIX));
+        Spare ready = spare == null ? null : spare.getNow(null);
+        if (ready != null) {
+            // 매핑은 파일 이름과 무관하므로 이름만 바꿔 그대로 사용
+            Files.move(ready.path(), next, StandardCopyOption.ATOMIC_MOVE);
+            channel = ready.channel();
+            buffer = ready.buffer();
+        } else {
+            if (spare != null && spare.isCompletedExceptionally()) {
+                spare = null;
+            }
+            channel = FileChannel.open(next, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        segment = next;
+        segmentOpenedAt = now;
+        position = 0;
+        if (ready != null || spare == null) {
+            prepareSpare();
+        }
+    }
+
+    private void closeSegment() throws IOException {
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+        }
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    // 다음 세그먼트를 예비 파일로 만들고 페이지를 미리 할당 (첫 기록 때 페이지 폴트가 append 를 막지 않도록)
+    private void prepareSpare() {
+        Path path = directory.resolve(String.format("next-%06d%s", spareSequence++ % 1_000_000, SPARE_SUFFIX));
+        spare = CompletableFuture.supplyAsync(() -> {
+            try {
+                FileChannel spareChannel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+                MappedByteBuffer spareBuffer = spareChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+                spareBuffer.order(ByteOrder.LITTLE_ENDIAN);
+                for (int i = 0; i < segmentBytes; i += PAGE_BYTES) {
+                    spareBuffer.put(i, (byte) 0);
+                }
+                return new Spare(path, spareChannel, spareBuffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, preallocator);
+    }
+
+    private record Spare(Path path, FileChannel channel, MappedByteBuffer buffer) {
+    }
+}
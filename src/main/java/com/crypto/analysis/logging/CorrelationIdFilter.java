@@ -0,0 +1,50 @@
+package com.crypto.analysis.logging;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 요청별 상관관계 ID 필터
+ *
+ * X-Correlation-Id 헤더가 있으면 그대로 쓰고 없으면 새로 만들어 MDC 에 넣는다.
+ * 요청 처리 중 남는 모든 로그(외부 API 호출 포함)에 같은 ID 가 붙어 요청 단위 추적이 가능하다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Correlation-Id";
+    public static final String MDC_KEY = "correlationId";
+
+    // 외부에서 들어온 값은 로그 주입을 막기 위해 짧은 영숫자만 허용
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String correlationId = request.getHeader(HEADER);
+        if (correlationId == null || !VALID_ID.matcher(correlationId).matches()) {
+            correlationId = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        }
+
+        MDC.put(MDC_KEY, correlationId);
+        response.setHeader(HEADER, correlationId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
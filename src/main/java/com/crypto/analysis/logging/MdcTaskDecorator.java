@@ -0,0 +1,58 @@
+package com.crypto.analysis.logging;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 비동기 작업에 호출 스레드의 MDC(상관관계 ID 등)를 전달
+ *
+ * 실행기마다 직접 건다 (ExecutionConfig 의 fan-out/@Async 실행기, 서비스별 실행기).
+ * ExecutionConfig 가 실행기 빈을 만들기 때문에 스프링 부트 기본 실행기에 자동 적용되는 경로는 없다.
+ */
+@Component
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> run(context, runnable);
+    }
+
+    /**
+     * context 를 MDC 로 두고 실행한 뒤 원래 MDC 로 되돌림 (TaskDecorator 를 거치지 않는 Reactor 스케줄러/이벤트 루프용)
+     */
+    public static void run(Map<String, String> context, Runnable runnable) {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        set(context);
+        try {
+            runnable.run();
+        } finally {
+            set(previous);
+        }
+    }
+
+    /**
+     * run 과 같되 결과를 반환
+     */
+    public static <T> T call(Map<String, String> context, Callable<T> callable) throws Exception {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        set(context);
+        try {
+            return callable.call();
+        } finally {
+            set(previous);
+        }
+    }
+
+    private static void set(Map<String, String> context) {
+        if (context != null) {
+            MDC.setContextMap(context);
+        } else {
+            MDC.clear();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.crypto.analysis.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+/**
+ * 분석 파이프라인 메트릭 기록기
+ *
+ * 외부 API 호출 지연, 대체 데이터 사용 횟수, 지표 계산 시간, Claude 토큰/지연,
+ * /analyze 단계별 소요 시간을 한 곳에서 기록한다. /actuator/prometheus 로 노출된다.
+ */
+@Component
+public class AnalysisMetrics {
+
+    private final MeterRegistry registry;
+
+    public AnalysisMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 외부 API 호출 지연 기록 (provider: upbit, binance, anthropic ..., endpoint: 정규화된 경로)
+     */
+    public void recordUpstream(String provider, String endpoint, String outcome, long nanos) {
+        Timer.builder("analysis.upstream.requests")
+            .description("외부 API 호출 지연 시간")
+            .tag("provider", provider)
+            .tag("endpoint", endpoint)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 외부 API 실패로 대체(임시) 데이터를 사용한 횟수
+     */
+    public void recordFallback(String source, String data) {
+        Counter.builder("analysis.fallback")
+            .description("대체 데이터 사용 횟수")
+            .tag("source", source)
+            .tag("data", data)
+            .register(registry)
+            .increment();
+    }
+
+    /**
+     * 응답 캐시 결과 (outcome: hit, not_modified, miss)
+     */
+    public void recordResponseCache(String endpoint, String outcome) {
+        Counter.builder("analysis.http.response.cache")
+            .description("응답 캐시 적중 횟수")
+            .tag("endpoint", endpoint)
+            .tag("outcome", outcome)
+            .register(registry)
+            .increment();
+    }
+
+    /**
+     * 호가창 동기화 이벤트 (event: gap, crossed, resync, disconnect)
+     */
+    public void recordOrderBookEvent(String exchange, String event) {
+        Counter.builder("analysis.orderbook.events")
+            .description("호가창 재동기화/연결 이벤트 횟수")
+            .tag("exchange", exchange)
+            .tag("event", event)
+            .register(registry)
+            .increment();
+    }
+
+    /**
+     * 발생한 알림 수 (metric: 알림 지표)
+     */
+    public void recordAlertFired(String metric) {
+        Counter.builder("analysis.alerts.fired")
+            .description("발생한 실시간 알림 수")
+            .tag("metric", metric)
+            .register(registry)
+            .increment();
+    }
+
+    /**
+     * 가상 스레드가 캐리어 스레드에 고정된 시간 (site: 우리 코드의 첫 프레임)
+     */
+    public void recordVirtualThreadPinned(String site, long nanos) {
+        Timer.builder("analysis.virtual.pinned")
+            .description("가상 스레드 고정 시간")
+            .tag("site", site)
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 기술적 지표 계산 시간 (kind: crypto, stock)
+     */
+    public void recordIndicators(String kind, long nanos) {
+        Timer.builder("analysis.indicators.compute")
+            .description("기술적 지표 계산 시간")
+            .tag("kind", kind)
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Claude 호출 지연 및 토큰 사용량 (kind: crypto, stock / outcome: success, fallback, 토큰: prompt, response, cache_read, cache_write)
+     */
+    public void recordClaudeCall(String kind, String model, String outcome, long nanos,
+                                 long inputTokens, long outputTokens, long cacheReadTokens, long cacheWriteTokens) {
+        Timer.builder("analysis.claude.latency")
+            .description("Claude 분석 요청 지연 시간")
+            .tag("kind", kind)
+            .tag("model", model)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+
+        if (inputTokens > 0) {
+            claudeTokens(kind, model, "prompt").record(inputTokens);
+        }
+        if (outputTokens > 0) {
+            claudeTokens(kind, model, "response").record(outputTokens);
+        }
+        // 프롬프트 캐시에서 읽은/캐시에 쓴 입력 토큰 (prompt 는 캐시 밖 입력만 셈)
+        if (cacheReadTokens > 0) {
+            claudeTokens(kind, model, "cache_read").record(cacheReadTokens);
+        }
+        if (cacheWriteTokens > 0) {
+            claudeTokens(kind, model, "cache_write").record(cacheWriteTokens);
+        }
+    }
+
+    private DistributionSummary claudeTokens(String kind, String model, String direction) {
+        return DistributionSummary.builder("analysis.claude.tokens")
+            .description("Claude 요청/응답 토큰 수")
+            .baseUnit("tokens")
+            .tag("kind", kind)
+            .tag("model", model)
+            .tag("direction", direction)
+            .register(registry);
+    }
+
+    /**
+     * 분석 파이프라인 단계 실행 시간 측정 (pipeline: crypto, stock)
+     */
+    public <T> T timeStage(String pipeline, String stage, StageCall<T> call) throws Exception {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return call.call();
+        } catch (Exception e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            recordStage(pipeline, stage, outcome, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * timeStage 의 Mono 버전 (구독부터 완료까지 측정)
+     */
+    public <T> Mono<T> timeStageAsync(String pipeline, String stage, Mono<T> mono) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return mono
+                .doOnSuccess(value -> recordStage(pipeline, stage, "success", System.nanoTime() - start))
+                .doOnError(e -> recordStage(pipeline, stage, "error", System.nanoTime() - start));
+        });
+    }
+
+    private void recordStage(String pipeline, String stage, String outcome, long nanos) {
+        Timer.builder("analysis.pipeline.stage")
+            .description("분석 파이프라인 단계별 소요 시간")
+            .tag("pipeline", pipeline)
+            .tag("stage", stage)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @FunctionalInterface
+    public interface StageCall<T> {
+        T call() throws Exception;
+    }
+}
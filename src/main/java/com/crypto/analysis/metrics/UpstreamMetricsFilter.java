@@ -0,0 +1,60 @@
+package com.crypto.analysis.metrics;
+
+import java.net.URI;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import com.crypto.analysis.logging.MdcTaskDecorator;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebClient 외부 호출 지연 측정 필터
+ *
+ * UpstreamMetricsInterceptor 와 같은 provider/endpoint 태그로 기록한다.
+ * 응답이 이벤트 루프 스레드에서 오므로 구독 시점(호출 스레드)의 MDC 를 잡아 두었다가 로그에 다시 붙인다.
+ */
+@Component
+public class UpstreamMetricsFilter implements ExchangeFilterFunction {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamMetricsFilter.class);
+
+    private final AnalysisMetrics metrics;
+
+    public UpstreamMetricsFilter(AnalysisMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return next.exchange(request)
+                .doOnSuccess(response -> record(request.url(), response == null ? "IO_ERROR"
+                    : UpstreamMetricsInterceptor.outcomeOf(response.statusCode().value()), start, context))
+                .doOnError(e -> record(request.url(), "IO_ERROR", start, context))
+                .doOnCancel(() -> record(request.url(), "CANCELLED", start, context));
+        });
+    }
+
+    private void record(URI uri, String outcome, long start, Map<String, String> context) {
+        long elapsed = System.nanoTime() - start;
+        String provider = UpstreamMetricsInterceptor.provider(uri);
+        String endpoint = UpstreamMetricsInterceptor.endpoint(uri, provider);
+        metrics.recordUpstream(provider, endpoint, outcome, elapsed);
+        if (log.isDebugEnabled()) {
+            // 이벤트 루프 스레드의 MDC 는 비우지 않고 원래대로 되돌림
+            MdcTaskDecorator.run(context,
+                () -> log.debug("upstream {} {} {} {}ms", provider, endpoint, outcome, elapsed / 1_000_000));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.crypto.analysis.metrics;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * RestTemplate 외부 호출 지연 측정 인터셉터
+ *
+ * 호스트로 provider 를, 쿼리와 식별자를 제거한 경로로 endpoint 태그를 만든다.
+ * loadtest 프로필처럼 로컬 스텁을 쓰는 경우 첫 경로 세그먼트(/upbit/...)를 provider 로 본다.
+ * 측정 구간은 응답 헤더 수신까지이며 본문 읽기는 포함되지 않는다.
+ */
+@Component
+public class UpstreamMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamMetricsInterceptor.class);
+
+    private static final Map<String, String> PROVIDERS = Map.ofEntries(
+        Map.entry("api.upbit.com", "upbit"),
+        Map.entry("api.binance.com", "binance"),
+        Map.entry("api.anthropic.com", "anthropic"),
+        Map.entry("www.alphavantage.co", "alphavantage"),
+        Map.entry("newsapi.org", "newsapi"),
+        Map.entry("min-api.cryptocompare.com", "cryptocompare"),
+        Map.entry("api.stlouisfed.org", "fred"),
+        Map.entry("api.coingecko.com", "coingecko"),
+        Map.entry("api.blockchain.info", "blockchain"),
+        Map.entry("blockchain.info", "blockchain"),
+        Map.entry("api.alternative.me", "alternative"),
+        Map.entry("finnhub.io", "finnhub")
+    );
+
+    // 숫자가 섞인 긴 세그먼트(해시, 주소 등)는 식별자로 보고 치환
+    private static final Pattern ID_SEGMENT = Pattern.compile("^(?=.*\\d)[A-Za-z0-9_-]{6,}$");
+
+    private final AnalysisMetrics metrics;
+
+    public UpstreamMetricsInterceptor(AnalysisMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long start = System.nanoTime();
+        String outcome = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            outcome = outcomeOf(response.getStatusCode().value());
+            return response;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            URI uri = request.getURI();
+            String provider = provider(uri);
+            String endpoint = endpoint(uri, provider);
+            metrics.recordUpstream(provider, endpoint, outcome, elapsed);
+            // MDC 의 correlationId 와 함께 기록되어 요청 단위로 외부 호출 순서를 재구성할 수 있다
+            if (log.isDebugEnabled()) {
+                log.debug("upstream {} {} {} {}ms", provider, endpoint, outcome, elapsed / 1_000_000);
+            }
+        }
+    }
+
+    static String provider(URI uri) {
+        String host = uri.getHost() == null ? "unknown" : uri.getHost();
+        String provider = PROVIDERS.get(host);
+        if (provider != null) {
+            return provider;
+        }
+        if (isLocal(host)) {
+            String path = uri.getPath() == null ? "" : uri.getPath();
+            String[] segments = path.split("/");
+            return segments.length > 1 && !segments[1].isEmpty() ? segments[1] : host;
+        }
+        return host;
+    }
+
+    static String endpoint(URI uri, String provider) {
+        String path = uri.getPath() == null || uri.getPath().isEmpty() ? "/" : uri.getPath();
+        if (isLocal(uri.getHost()) && path.startsWith("/" + provider + "/")) {
+            path = path.substring(provider.length() + 1);
+        }
+
+        StringBuilder normalized = new StringBuilder();
+        String[] segments = path.split("/");
+        for (int i = 1; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.isEmpty()) {
+                continue;
+            }
+            // coingecko /coins/{id} 처럼 코인 이름이 경로에 들어가는 경우
+            boolean coinId = i > 1 && "coins".equals(segments[i - 1]) && !"markets".equals(segment);
+            normalized.append('/').append(coinId || ID_SEGMENT.matcher(segment).matches() ? "{id}" : segment);
+        }
+        if (normalized.length() == 0) {
+            normalized.append('/');
+        }
+
+        // Alpha Vantage 는 단일 경로에 function 파라미터로 API 를 구분
+        String function = queryParam(uri.getRawQuery(), "function");
+        if (function != null) {
+            normalized.append("?function=").append(function);
+        }
+        return normalized.toString();
+    }
+
+    private static String queryParam(String query, String name) {
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.startsWith(name + "=")) {
+                return pair.substring(name.length() + 1);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isLocal(String host) {
+        return "localhost".equals(host) || "127.0.0.1".equals(host);
+    }
+
+    static String outcomeOf(int status) {
+        if (status >= 500) return "SERVER_ERROR";
+        if (status >= 400) return "CLIENT_ERROR";
+        if (status >= 300) return "REDIRECTION";
+        return "SUCCESS";
+    }
+}
@@ -0,0 +1,71 @@
+package com.crypto.analysis.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * STOMP 세션 수와 브로커 채널 큐 길이 게이지
+ *
+ * 채널 실행기는 스프링 메시징 설정이 등록하는 clientInbound/clientOutbound/broker 실행기를 사용한다.
+ */
+@Component
+public class WebSocketMetrics {
+
+    private static final List<String> CHANNEL_EXECUTORS = List.of(
+        "clientInboundChannelExecutor",
+        "clientOutboundChannelExecutor",
+        "brokerChannelExecutor"
+    );
+
+    private final AtomicInteger activeSessions = new AtomicInteger();
+
+    public WebSocketMetrics(MeterRegistry registry, Map<String, Executor> executors) {
+        Gauge.builder("websocket.sessions.active", activeSessions, AtomicInteger::get)
+            .description("연결된 STOMP 세션 수")
+            .register(registry);
+
+        for (String name : CHANNEL_EXECUTORS) {
+            if (executors.get(name) instanceof ThreadPoolTaskExecutor executor) {
+                String channel = name.replace("ChannelExecutor", "");
+                Gauge.builder("websocket.broker.queue.depth", executor, WebSocketMetrics::queueDepth)
+                    .description("브로커 채널 대기 메시지 수")
+                    .tag("channel", channel)
+                    .register(registry);
+                Gauge.builder("websocket.broker.active.threads", executor, ThreadPoolTaskExecutor::getActiveCount)
+                    .description("브로커 채널 처리 중인 스레드 수")
+                    .tag("channel", channel)
+                    .register(registry);
+            }
+        }
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        activeSessions.incrementAndGet();
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        activeSessions.updateAndGet(count -> Math.max(0, count - 1));
+    }
+
+    private static double queueDepth(ThreadPoolTaskExecutor executor) {
+        try {
+            return executor.getThreadPoolExecutor().getQueue().size();
+        } catch (IllegalStateException e) {
+            // 아직 초기화되지 않은 실행기
+            return 0;
+        }
+    }
+}
@@ -2,21 +2,17 @@ package com.crypto.analysis.model;
 
 import java.time.ZonedDateTime;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class Candle {
-    private String market;
-    private ZonedDateTime candleDateTimeUtc;
-    private ZonedDateTime candleDateTimeKst;
-    private Double openingPrice;
-    private Double highPrice;
-    private Double lowPrice;
-    private Double tradePrice;
-    private Double candleAccTradePrice;
-    private Double candleAccTradeVolume;
+/**
+ * 캔들 (불변, 가격/거래량은 박싱 없는 double)
+ */
+public record Candle(
+        String market,
+        ZonedDateTime candleDateTimeUtc,
+        ZonedDateTime candleDateTimeKst,
+        double openingPrice,
+        double highPrice,
+        double lowPrice,
+        double tradePrice,
+        double candleAccTradePrice,
+        double candleAccTradeVolume) {
 }
@@ -0,0 +1,66 @@
+package com.crypto.analysis.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 저장된 과거 캔들 (확정된 봉만 저장)
+ *
+ * source 는 upbit/binance/alphavantage, candleInterval 은 Timeframe 문자열(1m, 1h, 1d 등)이다.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "candle_history",
+    uniqueConstraints = @UniqueConstraint(name = "uk_candle_history",
+        columnNames = {"source", "market", "candle_interval", "open_time"}),
+    indexes = @Index(name = "idx_candle_history_series", columnList = "source, market, candle_interval, open_time"))
+public class CandleRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 16)
+    private String source;
+
+    @Column(nullable = false, length = 32)
+    private String market;
+
+    @Column(name = "candle_interval", nullable = false, length = 8)
+    private String candleInterval;
+
+    // 시가 시각 (epoch millis, UTC)
+    @Column(name = "open_time", nullable = false)
+    private long openTime;
+
+    private double openingPrice;
+    private double highPrice;
+    private double lowPrice;
+    private double tradePrice;
+    private double accTradeVolume;
+    private double accTradePrice;
+
+    public CandleRecord(String source, String market, String candleInterval, long openTime,
+            double openingPrice, double highPrice, double lowPrice, double tradePrice,
+            double accTradeVolume, double accTradePrice) {
+        this.source = source;
+        this.market = market;
+        this.candleInterval = candleInterval;
+        this.openTime = openTime;
+        this.openingPrice = openingPrice;
+        this.highPrice = highPrice;
+        this.lowPrice = lowPrice;
+        this.tradePrice = tradePrice;
+        this.accTradeVolume = accTradeVolume;
+        this.accTradePrice = accTradePrice;
+    }
+}
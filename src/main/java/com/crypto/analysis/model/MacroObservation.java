@@ -0,0 +1,48 @@
+package com.crypto.analysis.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 저장된 거시경제 시계열 관측값 (FRED 시리즈, 지수/ETF 종가)
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "macro_observation",
+    uniqueConstraints = @UniqueConstraint(name = "uk_macro_observation",
+        columnNames = {"series_id", "observation_date"}))
+public class MacroObservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "series_id", nullable = false, length = 16)
+    private String seriesId;
+
+    @Column(name = "observation_date", nullable = false)
+    private LocalDate observationDate;
+
+    @Column(name = "observation_value", nullable = false)
+    private double value;
+
+    private Instant fetchedAt;
+
+    public MacroObservation(String seriesId, LocalDate observationDate, double value, Instant fetchedAt) {
+        this.seriesId = seriesId;
+        this.observationDate = observationDate;
+        this.value = value;
+        this.fetchedAt = fetchedAt;
+    }
+}
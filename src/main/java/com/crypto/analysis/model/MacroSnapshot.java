@@ -0,0 +1,55 @@
+package com.crypto.analysis.model;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 거시경제 지표 스냅샷 (불변)
+ *
+ * MacroDataService 가 주기적으로 새 스냅샷을 만들어 교체하며, 분석 경로는 읽기만 한다.
+ */
+public record MacroSnapshot(
+        double interestRate,
+        double inflation,
+        double dollarIndex,
+        double sp500,
+        Instant updatedAt,
+        boolean fallback) {
+
+    // API 를 한 번도 받지 못했을 때 쓰는 기본값
+    public static final MacroSnapshot DEFAULT = new MacroSnapshot(3.5, 2.8, 102.5, 5100, Instant.EPOCH, true);
+
+    /**
+     * 프롬프트용 데이터 (기존 키 이름 유지)
+     */
+    public Map<String, Object> toPromptData() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("금리", interestRate);
+        data.put("인플레이션", inflation);
+        data.put("달러지수", dollarIndex);
+        data.put("S&P500", sp500);
+        return Collections.unmodifiableMap(data);
+    }
+
+    public MacroSnapshot withInterestRate(double value) {
+        return new MacroSnapshot(value, inflation, dollarIndex, sp500, updatedAt, fallback);
+    }
+
+    public MacroSnapshot withInflation(double value) {
+        return new MacroSnapshot(interestRate, value, dollarIndex, sp500, updatedAt, fallback);
+    }
+
+    public MacroSnapshot withDollarIndex(double value) {
+        return new MacroSnapshot(interestRate, inflation, value, sp500, updatedAt, fallback);
+    }
+
+    public MacroSnapshot withSp500(double value) {
+        return new MacroSnapshot(interestRate, inflation, dollarIndex, value, updatedAt, fallback);
+    }
+
+    public MacroSnapshot stamped(Instant at, boolean usedFallback) {
+        return new MacroSnapshot(interestRate, inflation, dollarIndex, sp500, at, usedFallback);
+    }
+}
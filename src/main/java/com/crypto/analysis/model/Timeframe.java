@@ -0,0 +1,132 @@
+package com.crypto.analysis.model;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 캔들 타임프레임 (예: 3m, 15m, 4h, 1d, 1w)
+ *
+ * 분/시간 단위는 분(minute) 수로, 일/주 단위는 각각 일수/주수로 보관한다.
+ * 버킷 경계는 지정한 시간대의 자정을 기준으로 정렬되며, 하루를 나누어 떨어지지 않는
+ * 사용자 정의 분 단위(예: 7m)는 매일 자정에 새로 시작한다.
+ */
+public record Timeframe(Unit unit, int amount) {
+
+    public enum Unit { MINUTE, DAY, WEEK }
+
+    public static final Timeframe ONE_MINUTE = new Timeframe(Unit.MINUTE, 1);
+    public static final Timeframe ONE_DAY = new Timeframe(Unit.DAY, 1);
+
+    private static final Pattern FORMAT = Pattern.compile("^(\\d{1,4})([mhdwMHDW])$");
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final long DAY_MILLIS = 86_400_000L;
+    private static final int MINUTES_PER_DAY = 1440;
+    // 1970-01-05 (월요일) 기준 주 번호
+    private static final long EPOCH_MONDAY = 4;
+
+    public Timeframe {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("타임프레임 크기는 1 이상이어야 합니다: " + amount);
+        }
+        if (unit == Unit.MINUTE && amount >= MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("하루 이상은 일 단위(d)로 지정하세요: " + amount + "m");
+        }
+    }
+
+    /**
+     * "15m", "4h", "1d", "1w" 형식 문자열 파싱
+     */
+    public static Timeframe parse(String value) {
+        Matcher matcher = FORMAT.matcher(value == null ? "" : value.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("지원하지 않는 타임프레임 형식입니다: " + value);
+        }
+        int amount = Integer.parseInt(matcher.group(1));
+        switch (Character.toLowerCase(matcher.group(2).charAt(0))) {
+            case 'm':
+                return amount % MINUTES_PER_DAY == 0 ? new Timeframe(Unit.DAY, amount / MINUTES_PER_DAY)
+                    : new Timeframe(Unit.MINUTE, amount);
+            case 'h':
+                return amount % 24 == 0 ? new Timeframe(Unit.DAY, amount / 24)
+                    : new Timeframe(Unit.MINUTE, amount * 60);
+            case 'd':
+                return new Timeframe(Unit.DAY, amount);
+            default:
+                return new Timeframe(Unit.WEEK, amount);
+        }
+    }
+
+    public static Timeframe ofMinutes(int minutes) {
+        return parse(minutes + "m");
+    }
+
+    /** 분봉 데이터만으로 만들 수 있는 일중 타임프레임 여부 */
+    public boolean isIntraday() {
+        return unit == Unit.MINUTE;
+    }
+
+    /** 버킷 하나가 포함하는 대략적인 분 수 */
+    public long approximateMinutes() {
+        switch (unit) {
+            case MINUTE: return amount;
+            case DAY: return (long) amount * MINUTES_PER_DAY;
+            default: return (long) amount * 7 * MINUTES_PER_DAY;
+        }
+    }
+
+    /** 버킷 하나가 포함하는 일봉 수 (일/주 단위) */
+    public int days() {
+        return unit == Unit.WEEK ? amount * 7 : unit == Unit.DAY ? amount : 1;
+    }
+
+    /**
+     * 주어진 시각이 속한 버킷의 시작 시각 (epoch millis)
+     */
+    public long bucketStart(long epochMillis, ZoneId zone) {
+        if (unit == Unit.MINUTE) {
+            long offsetMillis = offsetMillis(epochMillis, zone);
+            long local = epochMillis + offsetMillis;
+            long dayStart = Math.floorDiv(local, DAY_MILLIS) * DAY_MILLIS;
+            long bucketMillis = amount * MINUTE_MILLIS;
+            return dayStart + ((local - dayStart) / bucketMillis) * bucketMillis - offsetMillis;
+        }
+
+        LocalDate date = Instant.ofEpochMilli(epochMillis).atZone(zone).toLocalDate();
+        if (unit == Unit.DAY) {
+            if (amount > 1) {
+                date = LocalDate.ofEpochDay(Math.floorDiv(date.toEpochDay(), amount) * amount);
+            }
+        } else {
+            date = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            if (amount > 1) {
+                long weeks = Math.floorDiv(date.toEpochDay() - EPOCH_MONDAY, 7);
+                date = LocalDate.ofEpochDay(EPOCH_MONDAY + Math.floorDiv(weeks, amount) * amount * 7);
+            }
+        }
+        return date.atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    private static long offsetMillis(long epochMillis, ZoneId zone) {
+        if (zone.getRules().isFixedOffset()) {
+            return zone.getRules().getOffset(Instant.EPOCH).getTotalSeconds() * 1000L;
+        }
+        return zone.getRules().getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds() * 1000L;
+    }
+
+    @Override
+    public String toString() {
+        switch (unit) {
+            case MINUTE:
+                return amount % 60 == 0 ? (amount / 60) + "h" : amount + "m";
+            case DAY:
+                return amount + "d";
+            default:
+                return amount + "w";
+        }
+    }
+}
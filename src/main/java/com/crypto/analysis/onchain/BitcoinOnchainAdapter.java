@@ -0,0 +1,78 @@
+package com.crypto.analysis.onchain;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 비트코인 온체인 지표 (blockchain.com 통계/차트 API)
+ */
+@Component
+@Order(1)
+public class BitcoinOnchainAdapter implements OnchainAdapter {
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${blockchain.api.base-url:https://api.blockchain.info}")
+    private String BLOCKCHAIN_API_URL;
+
+    public BitcoinOnchainAdapter(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    @Override
+    public String provider() {
+        return "blockchain";
+    }
+
+    @Override
+    public boolean supports(String coinSymbol) {
+        return "BTC".equals(coinSymbol);
+    }
+
+    @Override
+    public Map<String, Double> collect(String coinSymbol) throws Exception {
+        Map<String, Double> metrics = new HashMap<>();
+
+        ResponseEntity<String> statsResponse = restTemplate.getForEntity(BLOCKCHAIN_API_URL + "/stats", String.class);
+        JsonNode stats = objectMapper.readTree(statsResponse.getBody());
+
+        if (stats.has("hash_rate")) {
+            metrics.put("해시레이트", stats.get("hash_rate").asDouble());
+        }
+        double txCount = stats.path("n_tx").asDouble();
+        if (txCount > 0) {
+            metrics.put("일일트랜잭션수", txCount);
+            // total_fees_btc 는 사토시 단위, 건당 평균 수수료를 USD 로 환산
+            double feesBtc = stats.path("total_fees_btc").asDouble() / 100_000_000.0;
+            double priceUsd = stats.path("market_price_usd").asDouble();
+            if (feesBtc > 0 && priceUsd > 0) {
+                metrics.put("평균트랜잭션수수료", feesBtc * priceUsd / txCount);
+            }
+        }
+
+        // 하루 동안 사용된 고유 주소 수 (가장 최근 값만 사용)
+        ResponseEntity<String> addressResponse = restTemplate.getForEntity(
+            BLOCKCHAIN_API_URL + "/charts/n-unique-addresses?timespan=2days&format=json", String.class);
+        JsonNode values = objectMapper.readTree(addressResponse.getBody()).path("values");
+        if (values.size() > 0) {
+            metrics.put("활성주소수", values.get(values.size() - 1).path("y").asDouble());
+        }
+
+        return metrics;
+    }
+
+    @Override
+    public Map<String, Double> defaults(String coinSymbol) {
+        return Map.of("활성주소수", 950000.0, "해시레이트", 525.3, "평균트랜잭션수수료", 8.5);
+    }
+}
@@ -0,0 +1,92 @@
+package com.crypto.analysis.onchain;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 전용 어댑터가 없는 코인용 기본 어댑터
+ *
+ * /coins/{id} 대신 가벼운 /simple/price 로 24시간 거래대금만 받아 트랜잭션 수를 추정한다.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class CoinGeckoOnchainAdapter implements OnchainAdapter {
+
+    private static final Map<String, String> COINGECKO_IDS = Map.ofEntries(
+        Map.entry("BTC", "bitcoin"),
+        Map.entry("ETH", "ethereum"),
+        Map.entry("XRP", "ripple"),
+        Map.entry("ADA", "cardano"),
+        Map.entry("DOGE", "dogecoin"),
+        Map.entry("SOL", "solana"),
+        Map.entry("DOT", "polkadot"),
+        Map.entry("AVAX", "avalanche-2"),
+        Map.entry("MATIC", "polygon"),
+        Map.entry("LINK", "chainlink"),
+        Map.entry("UNI", "uniswap"),
+        Map.entry("ATOM", "cosmos"),
+        Map.entry("AAVE", "aave"),
+        Map.entry("ALGO", "algorand"),
+        Map.entry("XLM", "stellar"),
+        Map.entry("ETC", "ethereum-classic"),
+        Map.entry("NEAR", "near"),
+        Map.entry("SHIB", "shiba-inu"),
+        Map.entry("SAND", "the-sandbox")
+    );
+
+    private static final Map<String, Double> DEFAULT_ACTIVE_ADDRESSES = Map.of(
+        "XRP", 150000.0,
+        "ADA", 120000.0,
+        "SOL", 180000.0
+    );
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${coingecko.api.base-url:https://api.coingecko.com/api/v3}")
+    private String COINGECKO_API_URL;
+
+    public CoinGeckoOnchainAdapter(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    @Override
+    public String provider() {
+        return "coingecko";
+    }
+
+    @Override
+    public boolean supports(String coinSymbol) {
+        return true;
+    }
+
+    @Override
+    public Map<String, Double> collect(String coinSymbol) throws Exception {
+        String id = COINGECKO_IDS.getOrDefault(coinSymbol, coinSymbol.toLowerCase());
+        String url = COINGECKO_API_URL + "/simple/price?ids=" + id + "&vs_currencies=usd&include_24hr_vol=true";
+        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+        JsonNode coin = objectMapper.readTree(response.getBody()).path(id);
+
+        Map<String, Double> metrics = new HashMap<>();
+        if (coin.has("usd_24h_vol")) {
+            // 평균 트랜잭션 크기를 1000 달러로 가정하여 대략적인 트랜잭션 수 추정
+            metrics.put("일일트랜잭션수", Math.floor(coin.get("usd_24h_vol").asDouble() / 1000));
+        }
+        return metrics;
+    }
+
+    @Override
+    public Map<String, Double> defaults(String coinSymbol) {
+        return Map.of("활성주소수", DEFAULT_ACTIVE_ADDRESSES.getOrDefault(coinSymbol, 100000.0), "일일트랜잭션수", 125000.0);
+    }
+}
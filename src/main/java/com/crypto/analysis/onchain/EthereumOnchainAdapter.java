@@ -0,0 +1,68 @@
+package com.crypto.analysis.onchain;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 이더리움 온체인 지표
+ *
+ * 키 없이 쓸 수 있는 익스플로러 API 가 없어 CoinGecko 시장 데이터의 TVL 로 스테이킹량을 추정한다.
+ * 커뮤니티/개발/티커 데이터는 요청하지 않는다.
+ */
+@Component
+@Order(2)
+public class EthereumOnchainAdapter implements OnchainAdapter {
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${coingecko.api.base-url:https://api.coingecko.com/api/v3}")
+    private String COINGECKO_API_URL;
+
+    public EthereumOnchainAdapter(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    @Override
+    public String provider() {
+        return "coingecko";
+    }
+
+    @Override
+    public boolean supports(String coinSymbol) {
+        return "ETH".equals(coinSymbol);
+    }
+
+    @Override
+    public Map<String, Double> collect(String coinSymbol) throws Exception {
+        String url = COINGECKO_API_URL + "/coins/ethereum?localization=false&tickers=false&market_data=true"
+            + "&community_data=false&developer_data=false&sparkline=false";
+        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+        JsonNode marketData = objectMapper.readTree(response.getBody()).path("market_data");
+
+        Map<String, Double> metrics = new HashMap<>();
+        JsonNode tvl = marketData.path("total_value_locked");
+        double price = marketData.path("current_price").path("usd").asDouble();
+        if (tvl.isNumber() && price > 0) {
+            metrics.put("스테이킹량", tvl.asDouble() / price);
+        }
+        if (marketData.path("total_volume").has("usd")) {
+            metrics.put("일일거래대금", marketData.path("total_volume").path("usd").asDouble());
+        }
+        return metrics;
+    }
+
+    @Override
+    public Map<String, Double> defaults(String coinSymbol) {
+        return Map.of("활성주소수", 620000.0, "스테이킹량", 25000000.0, "평균가스비", 35.2);
+    }
+}
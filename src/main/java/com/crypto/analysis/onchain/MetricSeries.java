@@ -0,0 +1,83 @@
+package com.crypto.analysis.onchain;
+
+/**
+ * 온체인 지표 하나의 시계열 (고정 크기 링 버퍼)
+ */
+public class MetricSeries {
+
+    private final long[] times;
+    private final double[] values;
+    private int head;
+    private int size;
+
+    public MetricSeries(int capacity) {
+        this.times = new long[capacity];
+        this.values = new double[capacity];
+    }
+
+    public synchronized void add(long time, double value) {
+        int index = (head + size) % times.length;
+        if (size < times.length) {
+            size++;
+        } else {
+            head = (head + 1) % times.length;
+        }
+        times[index] = time;
+        values[index] = value;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized double latest() {
+        return size == 0 ? Double.NaN : values[(head + size - 1) % times.length];
+    }
+
+    /**
+     * windowMillis 이전(없으면 가장 오래된) 값 대비 변화율 (%)
+     */
+    public synchronized double changePercent(long windowMillis) {
+        if (size < 2) {
+            return Double.NaN;
+        }
+        int last = (head + size - 1) % times.length;
+        double base = values[head];
+        long target = times[last] - windowMillis;
+        for (int i = size - 2; i >= 0; i--) {
+            int index = (head + i) % times.length;
+            if (times[index] <= target) {
+                base = values[index];
+                break;
+            }
+        }
+        return base == 0 ? Double.NaN : (values[last] / base - 1) * 100;
+    }
+
+    /**
+     * 보관 구간 전체의 최소제곱 기울기를 평균값 대비 시간당 변화율(%)로 환산
+     */
+    public synchronized double trendPercentPerHour() {
+        if (size < 3) {
+            return Double.NaN;
+        }
+        long t0 = times[head];
+        double sumX = 0, sumY = 0, sumXY = 0, sumXX = 0;
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) % times.length;
+            double x = (times[index] - t0) / 3_600_000.0;
+            double y = values[index];
+            sumX += x;
+            sumY += y;
+            sumXY += x * y;
+            sumXX += x * x;
+        }
+        double denominator = size * sumXX - sumX * sumX;
+        double mean = sumY / size;
+        if (denominator == 0 || mean == 0) {
+            return Double.NaN;
+        }
+        double slope = (size * sumXY - sumX * sumY) / denominator;
+        return slope / mean * 100;
+    }
+}
@@ -0,0 +1,27 @@
+package com.crypto.analysis.onchain;
+
+import java.util.Map;
+
+/**
+ * 체인별 온체인 지표 수집 어댑터
+ *
+ * 구현체는 @Order 순서대로 조회되며, supports 가 true 인 첫 어댑터가 해당 코인을 담당한다.
+ * 지표 이름은 프롬프트에 그대로 들어가는 한글 키를 사용한다.
+ */
+public interface OnchainAdapter {
+
+    /** 메트릭/로그용 제공자 이름 */
+    String provider();
+
+    boolean supports(String coinSymbol);
+
+    /**
+     * 지표 수집 (필요한 필드만 요청, 실패 시 예외)
+     */
+    Map<String, Double> collect(String coinSymbol) throws Exception;
+
+    /**
+     * 한 번도 수집하지 못했을 때 쓰는 기본값
+     */
+    Map<String, Double> defaults(String coinSymbol);
+}
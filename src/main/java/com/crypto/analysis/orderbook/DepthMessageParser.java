@@ -0,0 +1,187 @@
+package com.crypto.analysis.orderbook;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * 거래소 호가 메시지 파서
+ *
+ * 트리 모델 없이 스트리밍으로 읽어 재사용하는 DepthUpdate 에 바로 채운다.
+ */
+public final class DepthMessageParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private DepthMessageParser() {
+    }
+
+    /**
+     * 업비트 orderbook 메시지 (WebSocket 은 바이너리 프레임으로 보냄)
+     *
+     * @return orderbook 메시지면 true
+     */
+    public static boolean parseUpbit(byte[] data, int offset, int length, DepthUpdate out) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(data, offset, length)) {
+            return readUpbit(parser, out);
+        }
+    }
+
+    public static boolean parseUpbit(String json, DepthUpdate out) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return readUpbit(parser, out);
+        }
+    }
+
+    /**
+     * 바이낸스 combined stream depthUpdate ({"stream":..., "data":{"U":..,"u":..,"b":[..],"a":[..]}})
+     *
+     * @return depthUpdate 메시지면 true
+     */
+    public static boolean parseBinanceDiff(String json, DepthUpdate out) throws IOException {
+        out.reset();
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            boolean depth = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("data".equals(field)) {
+                    depth = readBinanceDiff(parser, out);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return depth && out.getMarket() != null;
+        }
+    }
+
+    /**
+     * 바이낸스 REST /depth 스냅샷 ({"lastUpdateId":..,"bids":[..],"asks":[..]})
+     */
+    public static void parseBinanceSnapshot(String market, String json, DepthUpdate out) throws IOException {
+        out.reset();
+        out.setMarket(market);
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("depth 응답이 객체가 아닙니다");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "lastUpdateId" -> {
+                        out.setFirstUpdateId(parser.getLongValue());
+                        out.setFinalUpdateId(parser.getLongValue());
+                    }
+                    case "bids" -> readLevels(parser, out, true);
+                    case "asks" -> readLevels(parser, out, false);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private static boolean readUpbit(JsonParser parser, DepthUpdate out) throws IOException {
+        out.reset();
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        boolean orderbook = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "type" -> orderbook = "orderbook".equals(parser.getText());
+                case "code" -> out.setMarket(parser.getText());
+                case "timestamp" -> {
+                    long timestamp = parser.getLongValue();
+                    out.setFirstUpdateId(timestamp);
+                    out.setFinalUpdateId(timestamp);
+                    out.setEventTime(timestamp);
+                }
+                case "orderbook_units" -> readUpbitUnits(parser, out);
+                default -> parser.skipChildren();
+            }
+        }
+        return orderbook && out.getMarket() != null;
+    }
+
+    // [{"ask_price":..,"bid_price":..,"ask_size":..,"bid_size":..}, ...]
+    private static void readUpbitUnits(JsonParser parser, DepthUpdate out) throws IOException {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            double askPrice = 0;
+            double bidPrice = 0;
+            double askSize = 0;
+            double bidSize = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "ask_price" -> askPrice = number(parser);
+                    case "bid_price" -> bidPrice = number(parser);
+                    case "ask_size" -> askSize = number(parser);
+                    case "bid_size" -> bidSize = number(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (askPrice > 0) {
+                out.addAsk(askPrice, askSize);
+            }
+            if (bidPrice > 0) {
+                out.addBid(bidPrice, bidSize);
+            }
+        }
+    }
+
+    private static boolean readBinanceDiff(JsonParser parser, DepthUpdate out) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return false;
+        }
+        boolean depth = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "e" -> depth = "depthUpdate".equals(parser.getText());
+                case "E" -> out.setEventTime(parser.getLongValue());
+                case "s" -> out.setMarket(parser.getText());
+                case "U" -> out.setFirstUpdateId(parser.getLongValue());
+                case "u" -> out.setFinalUpdateId(parser.getLongValue());
+                case "b" -> readLevels(parser, out, true);
+                case "a" -> readLevels(parser, out, false);
+                default -> parser.skipChildren();
+            }
+        }
+        return depth;
+    }
+
+    // [["가격", "수량"], ...]
+    private static void readLevels(JsonParser parser, DepthUpdate out, boolean bid) throws IOException {
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            parser.nextToken();
+            double price = number(parser);
+            parser.nextToken();
+            double size = number(parser);
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+            }
+            if (bid) {
+                out.addBid(price, size);
+            } else {
+                out.addAsk(price, size);
+            }
+        }
+    }
+
+    // 바이낸스는 가격/수량을 문자열로 내려줌
+    private static double number(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_STRING
+            ? Double.parseDouble(parser.getText()) : parser.getDoubleValue();
+    }
+}
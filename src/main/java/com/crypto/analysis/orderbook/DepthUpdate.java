@@ -0,0 +1,129 @@
+package com.crypto.analysis.orderbook;
+
+import java.util.Arrays;
+
+/**
+ * 호가 메시지 한 건 (스냅샷 또는 변경분)
+ *
+ * 연결마다 하나를 만들어 메시지를 파싱할 때마다 재사용한다. 레벨 배열은 부족할 때만 늘어난다.
+ * 잔량 0 인 레벨은 삭제를 뜻한다.
+ */
+public final class DepthUpdate {
+
+    private String market;
+    // 바이낸스: 첫/마지막 update id, 업비트: 둘 다 메시지 timestamp
+    private long firstUpdateId;
+    private long finalUpdateId;
+    private long eventTime;
+
+    private double[] bidPrices;
+    private double[] bidSizes;
+    private int bidCount;
+    private double[] askPrices;
+    private double[] askSizes;
+    private int askCount;
+
+    public DepthUpdate(int initialLevels) {
+        int capacity = Math.max(1, initialLevels);
+        bidPrices = new double[capacity];
+        bidSizes = new double[capacity];
+        askPrices = new double[capacity];
+        askSizes = new double[capacity];
+    }
+
+    public void reset() {
+        market = null;
+        firstUpdateId = 0;
+        finalUpdateId = 0;
+        eventTime = 0;
+        bidCount = 0;
+        askCount = 0;
+    }
+
+    public void addBid(double price, double size) {
+        if (bidCount == bidPrices.length) {
+            bidPrices = Arrays.copyOf(bidPrices, bidCount * 2);
+            bidSizes = Arrays.copyOf(bidSizes, bidCount * 2);
+        }
+        bidPrices[bidCount] = price;
+        bidSizes[bidCount] = size;
+        bidCount++;
+    }
+
+    public void addAsk(double price, double size) {
+        if (askCount == askPrices.length) {
+            askPrices = Arrays.copyOf(askPrices, askCount * 2);
+            askSizes = Arrays.copyOf(askSizes, askCount * 2);
+        }
+        askPrices[askCount] = price;
+        askSizes[askCount] = size;
+        askCount++;
+    }
+
+    /**
+     * 재동기화 중 대기열에 보관할 복사본 (재동기화 중에만 할당)
+     */
+    public DepthUpdate copy() {
+        DepthUpdate copy = new DepthUpdate(Math.max(bidCount, askCount));
+        copy.market = market;
+        copy.firstUpdateId = firstUpdateId;
+        copy.finalUpdateId = finalUpdateId;
+        copy.eventTime = eventTime;
+        System.arraycopy(bidPrices, 0, copy.bidPrices, 0, bidCount);
+        System.arraycopy(bidSizes, 0, copy.bidSizes, 0, bidCount);
+        System.arraycopy(askPrices, 0, copy.askPrices, 0, askCount);
+        System.arraycopy(askSizes, 0, copy.askSizes, 0, askCount);
+        copy.bidCount = bidCount;
+        copy.askCount = askCount;
+        return copy;
+    }
+
+    void applyTo(PriceLevelTree bids, PriceLevelTree asks) {
+        for (int i = 0; i < bidCount; i++) {
+            bids.update(bidPrices[i], bidSizes[i]);
+        }
+        for (int i = 0; i < askCount; i++) {
+            asks.update(askPrices[i], askSizes[i]);
+        }
+    }
+
+    public String getMarket() {
+        return market;
+    }
+
+    public void setMarket(String market) {
+        this.market = market;
+    }
+
+    public long getFirstUpdateId() {
+        return firstUpdateId;
+    }
+
+    public void setFirstUpdateId(long firstUpdateId) {
+        this.firstUpdateId = firstUpdateId;
+    }
+
+    public long getFinalUpdateId() {
+        return finalUpdateId;
+    }
+
+    public void setFinalUpdateId(long finalUpdateId) {
+        this.finalUpdateId = finalUpdateId;
+    }
+
+    public long getEventTime() {
+        return eventTime;
+    }
+
+    public void setEventTime(long eventTime) {
+        this.eventTime = eventTime;
+    }
+
+    public int getBidCount() {
+        return bidCount;
+    }
+
+    public int getAskCount() {
+        return askCount;
+    }
+}
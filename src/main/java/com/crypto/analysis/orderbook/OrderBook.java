@@ -0,0 +1,193 @@
+package com.crypto.analysis.orderbook;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 마켓 하나의 호가창
+ *
+ * 바이낸스는 REST 스냅샷 + WebSocket 변경분으로 유지한다. 변경분의 update id 가 이어지지 않으면(GAP)
+ * 동기화를 풀고 이후 변경분을 대기열에 쌓아 두었다가 새 스냅샷 뒤에 다시 적용한다.
+ * 업비트는 메시지마다 전체 호가가 오므로 timestamp 가 앞서는 메시지로만 통째로 교체한다.
+ * 갱신은 PriceLevelTree 에 바로 반영되어 동기화된 상태에서는 객체를 할당하지 않는다.
+ * WebSocket 수신 스레드, 스냅샷 응답 스레드, 발행 스레드가 함께 쓰므로 메모리 안의 짧은 구간만 동기화한다.
+ */
+public final class OrderBook {
+
+    public enum Result { APPLIED, STALE, BUFFERED, GAP, CROSSED }
+
+    // 재동기화 중 보관할 최대 변경분 수 (넘치면 오래된 것부터 버리고 다시 GAP 으로 처리됨)
+    private static final int MAX_PENDING = 2000;
+
+    private final String exchange;
+    private final String market;
+    private final PriceLevelTree bids;
+    private final PriceLevelTree asks;
+    private final Deque<DepthUpdate> pending = new ArrayDeque<>();
+
+    private boolean synced;
+    private long lastUpdateId;
+    private long updatedAt;
+    private long version;
+
+    public OrderBook(String exchange, String market, int initialLevels) {
+        this.exchange = exchange;
+        this.market = market;
+        this.bids = new PriceLevelTree(true, initialLevels);
+        this.asks = new PriceLevelTree(false, initialLevels);
+    }
+
+    /**
+     * 바이낸스 변경분 적용 (동기화 전이면 대기열에 보관)
+     */
+    public synchronized Result applyDiff(DepthUpdate update) {
+        if (!synced) {
+            buffer(update.copy());
+            return Result.BUFFERED;
+        }
+        Result result = applySynced(update);
+        if (result == Result.GAP || result == Result.CROSSED) {
+            desync();
+            buffer(update.copy());
+        }
+        return result;
+    }
+
+    /**
+     * 바이낸스 REST 스냅샷으로 재동기화하고 대기열의 변경분을 이어서 적용
+     *
+     * @return APPLIED, 또는 스냅샷과 대기열이 이어지지 않아 다시 스냅샷이 필요하면 GAP
+     */
+    public synchronized Result applySnapshot(DepthUpdate snapshot) {
+        bids.clear();
+        asks.clear();
+        snapshot.applyTo(bids, asks);
+        lastUpdateId = snapshot.getFinalUpdateId();
+        updatedAt = System.currentTimeMillis();
+        synced = true;
+        version++;
+
+        while (!pending.isEmpty()) {
+            DepthUpdate update = pending.pollFirst();
+            Result result = applySynced(update);
+            if (result == Result.GAP || result == Result.CROSSED) {
+                synced = false;
+                pending.addFirst(update);
+                return Result.GAP;
+            }
+        }
+        return Result.APPLIED;
+    }
+
+    /**
+     * 업비트 전체 호가로 교체 (이전 메시지보다 오래된 메시지는 무시)
+     */
+    public synchronized Result replace(DepthUpdate update) {
+        if (synced && update.getFinalUpdateId() < lastUpdateId) {
+            return Result.STALE;
+        }
+        bids.clear();
+        asks.clear();
+        update.applyTo(bids, asks);
+        lastUpdateId = update.getFinalUpdateId();
+        updatedAt = update.getEventTime();
+        synced = true;
+        version++;
+        return Result.APPLIED;
+    }
+
+    /**
+     * 연결이 끊겼을 때 호출 (다음 스냅샷까지 요약을 내보내지 않음)
+     */
+    public synchronized void invalidate() {
+        desync();
+    }
+
+    public synchronized boolean isSynced() {
+        return synced;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * 호가 요약 (동기화 전이거나 한쪽이 비어 있으면 null)
+     *
+     * @param levels       포함할 레벨 수 (한쪽당)
+     * @param depthBandPct depth 를 계산할 중간가 기준 범위(%)
+     */
+    public synchronized OrderBookSnapshot snapshot(int levels, double depthBandPct) {
+        if (!synced || bids.isEmpty() || asks.isEmpty()) {
+            return null;
+        }
+        double bestBid = bids.bestPrice();
+        double bestAsk = asks.bestPrice();
+        double mid = (bestBid + bestAsk) / 2;
+        double spread = bestAsk - bestBid;
+        double band = depthBandPct / 100;
+        double bidDepth = bids.notionalWithin(mid * (1 - band));
+        double askDepth = asks.notionalWithin(mid * (1 + band));
+        double totalDepth = bidDepth + askDepth;
+        return new OrderBookSnapshot(exchange, market, updatedAt, bestBid, bestAsk, mid, spread,
+            mid > 0 ? spread / mid * 10_000 : 0, depthBandPct, bidDepth, askDepth,
+            totalDepth > 0 ? (bidDepth - askDepth) / totalDepth : 0,
+            bids.levels(), asks.levels(), top(bids, levels), top(asks, levels));
+    }
+
+    private Result applySynced(DepthUpdate update) {
+        if (update.getFinalUpdateId() <= lastUpdateId) {
+            return Result.STALE;
+        }
+        // 첫 변경분은 U <= lastUpdateId + 1 <= u, 이후는 U == 이전 u + 1
+        if (update.getFirstUpdateId() > lastUpdateId + 1) {
+            return Result.GAP;
+        }
+        update.applyTo(bids, asks);
+        lastUpdateId = update.getFinalUpdateId();
+        updatedAt = update.getEventTime();
+        version++;
+        // 최우선 매수가가 매도가 이상이면 누락된 변경분이 있다고 봄
+        if (!bids.isEmpty() && !asks.isEmpty() && bids.bestPrice() >= asks.bestPrice()) {
+            return Result.CROSSED;
+        }
+        return Result.APPLIED;
+    }
+
+    private void desync() {
+        synced = false;
+        pending.clear();
+    }
+
+    private void buffer(DepthUpdate update) {
+        if (pending.size() >= MAX_PENDING) {
+            pending.pollFirst();
+        }
+        pending.addLast(update);
+    }
+
+    private static List<OrderBookSnapshot.Level> top(PriceLevelTree tree, int levels) {
+        double[] prices = new double[levels];
+        double[] sizes = new double[levels];
+        int count = tree.copyTop(levels, prices, sizes);
+        List<OrderBookSnapshot.Level> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new OrderBookSnapshot.Level(prices[i], sizes[i]));
+        }
+        return result;
+    }
+
+    public String getExchange() {
+        return exchange;
+    }
+
+    public String getMarket() {
+        return market;
+    }
+}
@@ -0,0 +1,31 @@
+package com.crypto.analysis.orderbook;
+
+import java.util.List;
+
+/**
+ * 호가 요약 (STOMP /topic/orderbook/{exchange}/{market} 와 Claude 프롬프트용)
+ *
+ * depth 는 중간가 기준 ±depthBandPct% 안의 잔량 x 가격 합계이고,
+ * imbalance 는 (매수 depth - 매도 depth) / (매수 depth + 매도 depth) 로 -1 ~ 1 사이 값이다.
+ */
+public record OrderBookSnapshot(
+        String exchange,
+        String market,
+        long updatedAt,
+        double bestBid,
+        double bestAsk,
+        double mid,
+        double spread,
+        double spreadBps,
+        double depthBandPct,
+        double bidDepth,
+        double askDepth,
+        double imbalance,
+        int bidLevels,
+        int askLevels,
+        List<Level> bids,
+        List<Level> asks) {
+
+    public record Level(double price, double size) {
+    }
+}
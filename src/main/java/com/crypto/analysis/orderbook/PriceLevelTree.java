@@ -0,0 +1,258 @@
+package com.crypto.analysis.orderbook;
+
+import java.util.Arrays;
+
+/**
+ * 호가 가격 레벨 트리 (배열 기반 treap)
+ *
+ * 노드를 가격/잔량/자식/우선순위 기본형 배열의 인덱스로 표현하고 삭제된 노드는 free list 로 재사용하므로,
+ * 용량 안에서는 갱신(O(log 레벨 수))과 순회에 객체 할당이 없다. 용량이 모자랄 때만 배열을 두 배로 늘린다.
+ * descending 이면 높은 가격이 먼저(매수 호가), 아니면 낮은 가격이 먼저(매도 호가) 순회된다.
+ * 스레드 안전하지 않으므로 OrderBook 이 동기화한다.
+ */
+public final class PriceLevelTree {
+
+    private static final int NIL = 0;
+
+    private final boolean descending;
+
+    private double[] prices;
+    private double[] sizes;
+    private int[] left;
+    private int[] right;
+    private int[] priority;
+    // 중위 순회용 스택 (트리 높이만큼 사용)
+    private int[] stack;
+
+    private int root = NIL;
+    private int count;
+    private int nextUnused = 1;
+    private int freeHead = NIL;
+    private int seed = 0x2545F491;
+
+    public PriceLevelTree(boolean descending, int initialCapacity) {
+        this.descending = descending;
+        int capacity = Math.max(16, initialCapacity) + 1;
+        prices = new double[capacity];
+        sizes = new double[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        priority = new int[capacity];
+        stack = new int[capacity];
+    }
+
+    /**
+     * 가격 레벨 잔량 설정 (size 가 0 이하면 레벨 삭제)
+     */
+    public void update(double price, double size) {
+        if (size <= 0) {
+            root = remove(root, price);
+            return;
+        }
+        // 재귀 도중 배열이 바뀌지 않도록 삽입 전에 용량 확보
+        if (freeHead == NIL && nextUnused == prices.length) {
+            grow();
+        }
+        root = insert(root, price, size);
+    }
+
+    public void clear() {
+        root = NIL;
+        count = 0;
+        nextUnused = 1;
+        freeHead = NIL;
+    }
+
+    public int levels() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return root == NIL;
+    }
+
+    /** 최우선 호가 (비어 있으면 NaN) */
+    public double bestPrice() {
+        int node = first();
+        return node == NIL ? Double.NaN : prices[node];
+    }
+
+    /** 최우선 호가 잔량 (비어 있으면 0) */
+    public double bestSize() {
+        int node = first();
+        return node == NIL ? 0 : sizes[node];
+    }
+
+    /**
+     * 최우선부터 n 개 레벨을 out 배열에 복사하고 복사한 개수를 반환
+     */
+    public int copyTop(int n, double[] outPrices, double[] outSizes) {
+        int copied = 0;
+        int sp = 0;
+        int node = root;
+        while ((node != NIL || sp > 0) && copied < n) {
+            while (node != NIL) {
+                stack[sp++] = node;
+                node = left[node];
+            }
+            node = stack[--sp];
+            outPrices[copied] = prices[node];
+            outSizes[copied] = sizes[node];
+            copied++;
+            node = right[node];
+        }
+        return copied;
+    }
+
+    /**
+     * 최우선부터 limitPrice 까지(포함) 레벨의 잔량 x 가격 합계
+     */
+    public double notionalWithin(double limitPrice) {
+        double total = 0;
+        int sp = 0;
+        int node = root;
+        while (node != NIL || sp > 0) {
+            while (node != NIL) {
+                stack[sp++] = node;
+                node = left[node];
+            }
+            node = stack[--sp];
+            if (compare(prices[node], limitPrice) > 0) {
+                break;
+            }
+            total += prices[node] * sizes[node];
+            node = right[node];
+        }
+        return total;
+    }
+
+    // 순서상 a 가 b 보다 앞이면 음수
+    private int compare(double a, double b) {
+        return descending ? Double.compare(b, a) : Double.compare(a, b);
+    }
+
+    private int first() {
+        int node = root;
+        if (node == NIL) {
+            return NIL;
+        }
+        while (left[node] != NIL) {
+            node = left[node];
+        }
+        return node;
+    }
+
+    private int insert(int node, double price, double size) {
+        if (node == NIL) {
+            return allocate(price, size);
+        }
+        int c = compare(price, prices[node]);
+        if (c == 0) {
+            sizes[node] = size;
+            return node;
+        }
+        if (c < 0) {
+            left[node] = insert(left[node], price, size);
+            if (priority[left[node]] > priority[node]) {
+                node = rotateRight(node);
+            }
+        } else {
+            right[node] = insert(right[node], price, size);
+            if (priority[right[node]] > priority[node]) {
+                node = rotateLeft(node);
+            }
+        }
+        return node;
+    }
+
+    private int remove(int node, double price) {
+        if (node == NIL) {
+            return NIL;
+        }
+        int c = compare(price, prices[node]);
+        if (c < 0) {
+            left[node] = remove(left[node], price);
+            return node;
+        }
+        if (c > 0) {
+            right[node] = remove(right[node], price);
+            return node;
+        }
+        int merged = merge(left[node], right[node]);
+        release(node);
+        return merged;
+    }
+
+    // a 의 모든 가격이 b 보다 앞선다고 가정
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        return b;
+    }
+
+    private int rotateRight(int node) {
+        int pivot = left[node];
+        left[node] = right[pivot];
+        right[pivot] = node;
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        int pivot = right[node];
+        right[node] = left[pivot];
+        left[pivot] = node;
+        return pivot;
+    }
+
+    private int allocate(double price, double size) {
+        int node;
+        if (freeHead != NIL) {
+            node = freeHead;
+            freeHead = left[node];
+        } else {
+            node = nextUnused++;
+        }
+        prices[node] = price;
+        sizes[node] = size;
+        left[node] = NIL;
+        right[node] = NIL;
+        priority[node] = nextPriority();
+        count++;
+        return node;
+    }
+
+    private void release(int node) {
+        left[node] = freeHead;
+        freeHead = node;
+        count--;
+    }
+
+    // xorshift (Random 객체 없이 우선순위 생성)
+    private int nextPriority() {
+        int x = seed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        seed = x;
+        return x;
+    }
+
+    private void grow() {
+        int capacity = prices.length * 2;
+        prices = Arrays.copyOf(prices, capacity);
+        sizes = Arrays.copyOf(sizes, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        stack = Arrays.copyOf(stack, capacity);
+    }
+}
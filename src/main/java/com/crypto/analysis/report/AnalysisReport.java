@@ -0,0 +1,290 @@
+package com.crypto.analysis.report;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * 분석 보고서 화면 모델 (Claude/대체 분석 JSON 에서 만들고 templates/report/analysis-report.html 로 렌더링)
+ *
+ * 필수 항목(분석_요약, 매수매도_추천, 시간별_전망, 기술적_분석, 위험_요소)이 없으면 예외를 던지며,
+ * 호출하는 쪽은 원본 응답을 그대로 보여준다.
+ */
+public record AnalysisReport(
+        String title,
+        String summary,
+        Recommendation recommendation,
+        Strategy strategy,
+        List<Item> outlooks,
+        Technical technical,
+        List<Item> advanced,
+        List<Item> financial,
+        News news,
+        List<String> risks) {
+
+    public record Item(String label, String value) {
+    }
+
+    /**
+     * type: buy, sell, wait (CSS 클래스), width 는 확률 막대 너비(%)
+     */
+    public record Recommendation(String type, String label, String buyWidth, String sellWidth,
+            String buyText, String sellText, String confidence, String reason) {
+    }
+
+    /**
+     * 분할 매수/매도 표 (heading 은 표 위 소제목, caption 은 표 첫 줄 제목, 없으면 null)
+     */
+    public record AllocationTable(String heading, String caption, boolean spaced, List<String> headers, List<Row> rows) {
+    }
+
+    public record Row(String price, String ratio, String note) {
+    }
+
+    public record Strategy(String tagClass, String tagLabel, List<AllocationTable> tables, String riskReward, String description) {
+    }
+
+    public record Technical(List<Item> items, String supports, String resistances) {
+    }
+
+    public record News(List<String> headlines, String impact) {
+    }
+
+    public static AnalysisReport from(JsonNode root) {
+        // 거래소 정보와 통화 단위 확인
+        String exchange = root.has("거래소") ? root.get("거래소").asText() : "upbit";
+        String currency = "upbit".equalsIgnoreCase(exchange) ? "원" : "$";
+
+        String name = root.get("코인명") != null ? root.get("코인명").asText()
+            : (root.get("회사명") != null ? root.get("회사명").asText() : "암호화폐");
+
+        JsonNode recommendNode = root.get("매수매도_추천");
+        String recommendType = recommendNode.get("추천").asText();
+        Recommendation recommendation = recommendation(recommendNode, recommendType);
+
+        Strategy strategy = root.has("매매_전략") ? strategy(root, root.get("매매_전략"), recommendType, currency) : null;
+
+        // 시간별 전망 (코인은 24시간/1주일/1개월, 주식은 1주일/1개월/3개월)
+        JsonNode outlookNode = root.get("시간별_전망");
+        List<Item> outlooks = List.of(
+            new Item("단기 (" + (outlookNode.has("단기_24시간") ? "24시간" : "1주일") + ")",
+                (outlookNode.has("단기_24시간") ? outlookNode.get("단기_24시간") : outlookNode.get("단기_1주일")).asText()),
+            new Item("중기 (1" + (outlookNode.has("중기_1개월") ? "개월" : "주일") + ")",
+                (outlookNode.has("중기_1개월") ? outlookNode.get("중기_1개월") : outlookNode.get("중기_1주일")).asText()),
+            new Item("장기 (" + (outlookNode.has("장기_1개월") ? "1개월" : "3개월") + ")",
+                (outlookNode.has("장기_1개월") ? outlookNode.get("장기_1개월") : outlookNode.get("장기_3개월")).asText()));
+
+        JsonNode technicalNode = root.get("기술적_분석");
+        Technical technical = new Technical(
+            List.of(new Item("추세 강도", technicalNode.get("추세_강도").asText()),
+                new Item("주요 패턴", technicalNode.get("주요_패턴").asText())),
+            joinPrices(technicalNode.get("주요_지지선"), currency),
+            joinPrices(technicalNode.get("주요_저항선"), currency));
+
+        List<Item> advanced = null;
+        if (root.has("고급_지표_분석")) {
+            JsonNode node = root.get("고급_지표_분석");
+            advanced = List.of(
+                new Item("MACD", node.get("MACD").asText()),
+                new Item("볼린저밴드", node.get("볼린저밴드").asText()),
+                new Item("피보나치", node.get("피보나치").asText()),
+                new Item("ATR", node.get("ATR").asText()),
+                new Item("OBV", node.get("OBV").asText()));
+        }
+
+        // 재무 분석 (주식용)
+        List<Item> financial = null;
+        if (root.has("재무_분석")) {
+            JsonNode node = root.get("재무_분석");
+            financial = List.of(
+                new Item("PER", node.get("PER").asText()),
+                new Item("EPS", node.get("EPS").asText()),
+                new Item("배당수익률", node.get("배당수익률").asText()),
+                new Item("시가총액", node.get("시가총액").asText()),
+                new Item("기업가치 평가", node.get("기업가치_평가").asText()));
+        }
+
+        News news = null;
+        if (root.has("최근_뉴스_요약")) {
+            JsonNode node = root.get("최근_뉴스_요약");
+            news = new News(texts(node.get("주요_뉴스")), node.get("뉴스_영향").asText());
+        }
+
+        return new AnalysisReport(name + " 분석 보고서", root.get("분석_요약").asText(), recommendation, strategy,
+            outlooks, technical, advanced, financial, news, texts(root.get("위험_요소")));
+    }
+
+    private static Recommendation recommendation(JsonNode node, String recommendType) {
+        String type = "wait";
+        String label = "🟠 관망 추천";
+        if (recommendType.equals("매수")) {
+            type = "buy";
+            label = "🟢 매수 추천";
+        } else if (recommendType.equals("매도")) {
+            type = "sell";
+            label = "🔴 매도 추천";
+        }
+        double buyProb = probability(node.get("매수_확률"));
+        double sellProb = probability(node.get("매도_확률"));
+        return new Recommendation(type, label, String.valueOf(buyProb), String.valueOf(sellProb),
+            String.format("%.1f", buyProb), String.format("%.1f", sellProb),
+            node.get("신뢰도").asText(), node.get("근거").asText());
+    }
+
+    private static double probability(JsonNode node) {
+        return node.isNumber() ? node.asDouble() : Double.parseDouble(node.asText());
+    }
+
+    /**
+     * 매매 전략 (추천에 따라 분할 매수/수익실현, 분할 매도/재진입, 관망 매수/매도 기준 표와 손절매 표)
+     */
+    private static Strategy strategy(JsonNode root, JsonNode strategy, String recommendType, String currency) {
+        List<AllocationTable> tables = new ArrayList<>();
+        String tagClass;
+        String tagLabel;
+
+        if (recommendType.equals("매수")) {
+            tagClass = "tag-buy";
+            tagLabel = "매수 전략";
+
+            List<Row> entries;
+            if (strategy.has("매수_분할") && strategy.get("매수_분할").isArray()) {
+                entries = allocationRows(strategy.get("매수_분할"), "설명", currency);
+            } else {
+                // 구체적인 분할 매수 정보가 없는 경우 기본 내용 표시
+                entries = new ArrayList<>();
+                entries.add(new Row("현재 가격", "50%", "첫 진입"));
+                JsonNode supports = root.get("기술적_분석").get("주요_지지선");
+                entries.add(supports.isArray() && supports.size() > 0
+                    ? new Row(supports.get(0).asText() + currency, "50%", "추가 매수")
+                    : new Row("추가 하락 시", "50%", "추가 매수"));
+            }
+            tables.add(new AllocationTable("📊 분할 매수 전략", null, false, List.of("진입 가격", "배분 비율", "설명"), entries));
+
+            List<Row> exits;
+            if (strategy.has("매도_분할") && strategy.get("매도_분할").isArray()) {
+                exits = allocationRows(strategy.get("매도_분할"), "설명", currency);
+            } else {
+                // 수익실현 목표가를 같은 비율로 나눔 (나머지는 마지막 목표가)
+                exits = new ArrayList<>();
+                JsonNode targets = strategy.get("수익실현_목표가");
+                if (targets.isArray() && targets.size() > 0) {
+                    int numTargets = targets.size();
+                    int sellPercentage = 100 / numTargets;
+                    for (int i = 0; i < numTargets; i++) {
+                        int percentage = i == numTargets - 1 ? 100 - sellPercentage * (numTargets - 1) : sellPercentage;
+                        exits.add(new Row(targets.get(i).asText() + currency, percentage + "%", "수익실현 " + (i + 1) + "차"));
+                    }
+                }
+            }
+            tables.add(new AllocationTable("🔔 수익실현 전략", null, false, List.of("매도 가격", "매도 비율", "설명"), exits));
+        } else if (recommendType.equals("매도")) {
+            tagClass = "tag-sell";
+            tagLabel = "매도 전략";
+
+            List<Row> exits;
+            if (strategy.has("매도_분할") && strategy.get("매도_분할").isArray()) {
+                exits = allocationRows(strategy.get("매도_분할"), "설명", currency);
+            } else {
+                // 구체적인 분할 매도 정보가 없는 경우 기본 내용 표시
+                exits = new ArrayList<>();
+                exits.add(new Row("현재 가격", "60%", "첫 매도"));
+                JsonNode resistances = root.get("기술적_분석").get("주요_저항선");
+                exits.add(resistances.isArray() && resistances.size() > 0
+                    ? new Row(resistances.get(0).asText() + currency, "40%", "추가 매도")
+                    : new Row("추가 상승 시", "40%", "추가 매도"));
+            }
+            tables.add(new AllocationTable("📉 분할 매도 전략", null, false, List.of("매도 가격", "매도 비율", "설명"), exits));
+
+            List<Row> entries;
+            if (strategy.has("매수_분할") && strategy.get("매수_분할").isArray()) {
+                entries = allocationRows(strategy.get("매수_분할"), "설명", currency);
+            } else {
+                // 구체적인 재진입 정보가 없는 경우 수익실현 목표가 기반으로 표시
+                entries = new ArrayList<>();
+                JsonNode targets = strategy.get("수익실현_목표가");
+                if (targets.isArray() && targets.size() > 0) {
+                    entries.add(new Row(targets.get(0).asText() + currency, "50%", "첫 매수"));
+                    if (targets.size() > 1) {
+                        entries.add(new Row(targets.get(1).asText() + currency, "50%", "추가 매수"));
+                    }
+                }
+            }
+            tables.add(new AllocationTable("🔔 재진입 전략", null, false, List.of("매수 가격", "매수 비율", "설명"), entries));
+        } else {
+            tagClass = "tag-neutral";
+            tagLabel = "관망 전략";
+
+            List<Row> buys;
+            if (strategy.has("관망_매수") && strategy.get("관망_매수").isArray()) {
+                buys = allocationRows(strategy.get("관망_매수"), "조건", currency);
+            } else {
+                buys = levelRows(root.get("기술적_분석").get("주요_지지선"), currency,
+                    "지지선 확인 후 반등", "2차 지지선 확인", new Row("추가 하락 시", "100%", "지지 확인 후"));
+            }
+            tables.add(new AllocationTable("⚖️ 관망 후 진입 전략", "매수 검토 기준", false, List.of("진입 가격", "배분 비율", "조건"), buys));
+
+            List<Row> sells;
+            if (strategy.has("관망_매도") && strategy.get("관망_매도").isArray()) {
+                sells = allocationRows(strategy.get("관망_매도"), "조건", currency);
+            } else {
+                sells = levelRows(root.get("기술적_분석").get("주요_저항선"), currency,
+                    "저항선 도달 후 반락", "2차 저항선 도달", new Row("추가 상승 시", "100%", "저항 확인 후"));
+            }
+            tables.add(new AllocationTable(null, "매도 검토 기준", true, List.of("진입 가격", "배분 비율", "조건"), sells));
+        }
+
+        tables.add(new AllocationTable("⚠️ 손절매 라인", null, false, List.of("손절 가격", "손절 비율", "설명"),
+            List.of(new Row(strategy.get("손절매_라인").asText() + currency, "100%", "모든 포지션 청산"))));
+
+        return new Strategy(tagClass, tagLabel, tables,
+            strategy.get("리스크_보상_비율").asText(), strategy.get("전략_설명").asText());
+    }
+
+    private static List<Row> allocationRows(JsonNode allocation, String noteField, String currency) {
+        List<Row> rows = new ArrayList<>(allocation.size());
+        for (JsonNode entry : allocation) {
+            rows.add(new Row(entry.get("가격").asText() + currency, entry.get("비율").asText() + "%",
+                entry.has(noteField) ? entry.get(noteField).asText() : ""));
+        }
+        return rows;
+    }
+
+    // 관망 기준 표: 1차/2차 지지(저항)선에 60/40%, 없으면 기본 행
+    private static List<Row> levelRows(JsonNode levels, String currency, String firstNote, String secondNote, Row fallback) {
+        List<Row> rows = new ArrayList<>();
+        if (levels.isArray() && levels.size() > 0) {
+            rows.add(new Row(levels.get(0).asText() + currency, "60%", firstNote));
+            if (levels.size() > 1) {
+                rows.add(new Row(levels.get(1).asText() + currency, "40%", secondNote));
+            }
+        } else {
+            rows.add(fallback);
+        }
+        return rows;
+    }
+
+    private static String joinPrices(JsonNode prices, String currency) {
+        StringBuilder joined = new StringBuilder();
+        if (prices.isArray()) {
+            for (int i = 0; i < prices.size(); i++) {
+                if (i > 0) {
+                    joined.append(", ");
+                }
+                joined.append(prices.get(i).asText()).append(currency);
+            }
+        }
+        return joined.toString();
+    }
+
+    private static List<String> texts(JsonNode array) {
+        List<String> texts = new ArrayList<>();
+        if (array.isArray()) {
+            for (JsonNode node : array) {
+                texts.add(node.asText());
+            }
+        }
+        return texts;
+    }
+}
@@ -0,0 +1,108 @@
+package com.crypto.analysis.report;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import com.crypto.analysis.http.ContentHash;
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 분석 보고서 HTML 렌더러
+ *
+ * 템플릿(templates/report/analysis-report.html)은 처음 쓸 때 한 번 파싱해 두고 다시 읽지 않는다 (spring.thymeleaf.cache 와 별개).
+ * 스타일은 정적 파일(/css/analysis-report.css)로 분리해 내용 해시를 붙인 주소로 연결하므로 브라우저가 계속 캐시한다.
+ * 렌더링 결과는 분석 JSON 의 SHA-256 지문별로 LRU 캐시에 보관해, 예열 결과나 같은 입력의 대체 분석은 다시 렌더링하지 않는다.
+ */
+@Component
+public class AnalysisReportRenderer {
+
+    public static final String CSS_PATH = "/css/analysis-report.css";
+
+    private static final String TEMPLATE = "analysis-report";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final AnalysisMetrics metrics;
+    private final SpringTemplateEngine templateEngine = templateEngine();
+    private final String cssHref = CSS_PATH + "?v=" + cssVersion();
+
+    @Value("${report.cache-size:256}")
+    private int MAX_ENTRIES = 256;
+
+    // 접근 순서 LRU (분석 JSON 지문 -> 렌더링된 HTML)
+    private final Map<String, String> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    public AnalysisReportRenderer(AnalysisMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * 분석 JSON 을 보고서 HTML 로 변환 (필수 항목이 없으면 예외)
+     */
+    public String render(String json) throws IOException {
+        String fingerprint = fingerprint(json);
+        synchronized (cache) {
+            String cached = cache.get(fingerprint);
+            if (cached != null) {
+                metrics.recordResponseCache("analysis_report", "hit");
+                return cached;
+            }
+        }
+        String html = render(AnalysisReport.from(MAPPER.readTree(json)));
+        metrics.recordResponseCache("analysis_report", "miss");
+        synchronized (cache) {
+            cache.put(fingerprint, html);
+        }
+        return html;
+    }
+
+    String render(AnalysisReport report) {
+        Context context = new Context();
+        context.setVariable("report", report);
+        context.setVariable("cssHref", cssHref);
+        return templateEngine.process(TEMPLATE, context);
+    }
+
+    private static SpringTemplateEngine templateEngine() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/report/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setCacheable(true);
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        // 식을 SpEL 컴파일러로 바이트코드화 (OGNL 리플렉션 호출보다 빠름)
+        engine.setEnableSpringELCompiler(true);
+        return engine;
+    }
+
+    // CSS 내용이 바뀔 때만 주소가 바뀌도록 내용 해시 사용
+    private static String cssVersion() {
+        try (InputStream in = AnalysisReportRenderer.class.getResourceAsStream("/static" + CSS_PATH)) {
+            return in == null ? "0" : ContentHash.sha256Hex(in.readAllBytes(), 8);
+        } catch (IOException e) {
+            return "0";
+        }
+    }
+
+    private static String fingerprint(String json) {
+        return ContentHash.sha256Hex(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,24 @@
+package com.crypto.analysis.report;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 보고서 CSS 정적 리소스 설정
+ *
+ * 보고서는 CSS 를 내용 해시를 붙인 주소(?v=)로만 연결하므로 오래 캐시해도 된다.
+ */
+@Configuration
+public class ReportResourceConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler(AnalysisReportRenderer.CSS_PATH)
+                .addResourceLocations("classpath:/static/css/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic());
+    }
+}
@@ -0,0 +1,36 @@
+package com.crypto.analysis.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.crypto.analysis.model.CandleRecord;
+
+public interface CandleRecordRepository extends JpaRepository<CandleRecord, Long> {
+
+    /**
+     * 최신순 조회 (Pageable 로 개수 제한)
+     */
+    List<CandleRecord> findBySourceAndMarketAndCandleIntervalOrderByOpenTimeDesc(
+            String source, String market, String candleInterval, Pageable pageable);
+
+    @Query("select c.openTime from CandleRecord c where c.source = :source and c.market = :market "
+            + "and c.candleInterval = :interval and c.openTime between :fromTime and :toTime")
+    List<Long> findOpenTimes(@Param("source") String source, @Param("market") String market,
+            @Param("interval") String interval, @Param("fromTime") long fromTime, @Param("toTime") long toTime);
+
+    @Query("select min(c.openTime) from CandleRecord c where c.source = :source and c.market = :market "
+            + "and c.candleInterval = :interval")
+    Long findFirstOpenTime(@Param("source") String source, @Param("market") String market,
+            @Param("interval") String interval);
+
+    @Query("select max(c.openTime) from CandleRecord c where c.source = :source and c.market = :market "
+            + "and c.candleInterval = :interval")
+    Long findLastOpenTime(@Param("source") String source, @Param("market") String market,
+            @Param("interval") String interval);
+
+    long countBySourceAndMarketAndCandleInterval(String source, String market, String candleInterval);
+}
@@ -0,0 +1,19 @@
+package com.crypto.analysis.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.crypto.analysis.model.MacroObservation;
+
+public interface MacroObservationRepository extends JpaRepository<MacroObservation, Long> {
+
+    /**
+     * 최신순 13개 (CPI 전년 대비 계산에 필요한 개수)
+     */
+    List<MacroObservation> findTop13BySeriesIdOrderByObservationDateDesc(String seriesId);
+
+    Optional<MacroObservation> findBySeriesIdAndObservationDate(String seriesId, LocalDate observationDate);
+}
@@ -0,0 +1,32 @@
+package com.crypto.analysis.screener;
+
+/**
+ * 스크리너 한 종목의 지표 계산 결과
+ *
+ * smaCross/emaCross 는 마지막 봉에서 발생한 교차만 표시한다 (GOLDEN, DEATH, 없으면 null).
+ * percentB 가 1 보다 크면 볼린저 상단, 0 보다 작으면 하단 돌파다.
+ */
+public record MarketSignals(
+        String exchange,
+        String market,
+        long candleTime,
+        double close,
+        double changePercent,
+        double rsi,
+        double sma20,
+        double sma50,
+        double ema12,
+        double ema26,
+        double percentB,
+        String smaCross,
+        String emaCross) {
+
+    public boolean bollingerBreakout() {
+        return percentB > 1 || percentB < 0;
+    }
+
+    /** 교차 신호 강도 (이평선 간 괴리율 %) */
+    public double crossStrength() {
+        return sma50 == 0 ? 0 : Math.abs(sma20 / sma50 - 1) * 100;
+    }
+}
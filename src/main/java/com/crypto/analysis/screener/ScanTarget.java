@@ -0,0 +1,9 @@
+package com.crypto.analysis.screener;
+
+import com.crypto.analysis.candle.CandleBars;
+
+/**
+ * 스캔 대상 종목과 미리 읽어 둔 캔들
+ */
+public record ScanTarget(String exchange, String market, CandleBars bars) {
+}
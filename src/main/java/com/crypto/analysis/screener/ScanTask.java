@@ -0,0 +1,110 @@
+package com.crypto.analysis.screener;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * 종목 목록을 반씩 나눠 포크조인으로 지표 계산 후 순위별 상위 K 를 합친다
+ *
+ * 마감 시각(deadlineNanos)을 넘기면 남은 종목은 계산하지 않고 skipped 로 센다.
+ * sink 가 있으면 계산한 지표를 하나씩 넘긴다 (여러 작업 스레드에서 동시에 호출됨).
+ */
+public class ScanTask extends RecursiveTask<ScanTask.Result> {
+
+    private static final int THRESHOLD = 32;
+
+    private final List<ScanTarget> targets;
+    private final int from;
+    private final int to;
+    private final int k;
+    private final long deadlineNanos;
+    private final Consumer<MarketSignals> sink;
+
+    public ScanTask(List<ScanTarget> targets, int k, long deadlineNanos) {
+        this(targets, k, deadlineNanos, null);
+    }
+
+    public ScanTask(List<ScanTarget> targets, int k, long deadlineNanos, Consumer<MarketSignals> sink) {
+        this(targets, 0, targets.size(), k, deadlineNanos, sink);
+    }
+
+    private ScanTask(List<ScanTarget> targets, int from, int to, int k, long deadlineNanos,
+                     Consumer<MarketSignals> sink) {
+        this.targets = targets;
+        this.from = from;
+        this.to = to;
+        this.k = k;
+        this.deadlineNanos = deadlineNanos;
+        this.sink = sink;
+    }
+
+    @Override
+    protected Result compute() {
+        if (to - from <= THRESHOLD) {
+            Result result = new Result(k);
+            for (int i = from; i < to; i++) {
+                if (System.nanoTime() > deadlineNanos) {
+                    result.skipped += to - i;
+                    break;
+                }
+                ScanTarget target = targets.get(i);
+                MarketSignals signals = SignalCalculator.calculate(target.exchange(), target.market(), target.bars());
+                if (signals == null) {
+                    result.skipped++;
+                    continue;
+                }
+                result.scanned++;
+                if (sink != null) {
+                    sink.accept(signals);
+                }
+                for (Map.Entry<ScreenerRanking, TopK<MarketSignals>> entry : result.rankings.entrySet()) {
+                    if (entry.getKey().matches(signals)) {
+                        entry.getValue().offer(signals);
+                    }
+                }
+            }
+            return result;
+        }
+        int mid = (from + to) >>> 1;
+        ScanTask left = new ScanTask(targets, from, mid, k, deadlineNanos, sink);
+        left.fork();
+        Result right = new ScanTask(targets, mid, to, k, deadlineNanos, sink).compute();
+        return left.join().merge(right);
+    }
+
+    public static class Result {
+        final Map<ScreenerRanking, TopK<MarketSignals>> rankings = new EnumMap<>(ScreenerRanking.class);
+        int scanned;
+        int skipped;
+
+        Result(int k) {
+            for (ScreenerRanking ranking : ScreenerRanking.values()) {
+                rankings.put(ranking, new TopK<>(k, ranking.order()));
+            }
+        }
+
+        Result merge(Result other) {
+            for (ScreenerRanking ranking : ScreenerRanking.values()) {
+                rankings.get(ranking).merge(other.rankings.get(ranking));
+            }
+            scanned += other.scanned;
+            skipped += other.skipped;
+            return this;
+        }
+
+        public Map<ScreenerRanking, TopK<MarketSignals>> getRankings() {
+            return rankings;
+        }
+
+        public int getScanned() {
+            return scanned;
+        }
+
+        public int getSkipped() {
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.crypto.analysis.screener;
+
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+/**
+ * 스크리너 순위 기준 (조건 + 정렬)
+ */
+public enum ScreenerRanking {
+
+    RSI_OVERSOLD(s -> true, Comparator.comparingDouble(s -> -s.rsi())),
+    RSI_OVERBOUGHT(s -> true, Comparator.comparingDouble(MarketSignals::rsi)),
+    GOLDEN_CROSS(s -> "GOLDEN".equals(s.smaCross()) || "GOLDEN".equals(s.emaCross()),
+        Comparator.comparingDouble(MarketSignals::crossStrength)),
+    DEATH_CROSS(s -> "DEATH".equals(s.smaCross()) || "DEATH".equals(s.emaCross()),
+        Comparator.comparingDouble(MarketSignals::crossStrength)),
+    BOLLINGER_UPPER_BREAKOUT(s -> s.percentB() > 1, Comparator.comparingDouble(MarketSignals::percentB)),
+    BOLLINGER_LOWER_BREAKOUT(s -> s.percentB() < 0, Comparator.comparingDouble(s -> -s.percentB()));
+
+    private final Predicate<MarketSignals> filter;
+    private final Comparator<MarketSignals> order;
+
+    ScreenerRanking(Predicate<MarketSignals> filter, Comparator<MarketSignals> order) {
+        this.filter = filter;
+        this.order = order;
+    }
+
+    public boolean matches(MarketSignals signals) {
+        return filter.test(signals);
+    }
+
+    public Comparator<MarketSignals> order() {
+        return order;
+    }
+}
@@ -0,0 +1,21 @@
+package com.crypto.analysis.screener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 스크리너 결과 스냅샷 (/api/screener, /topic/screener)
+ */
+public record ScreenerSnapshot(
+        Instant updatedAt,
+        String timeframe,
+        int scanned,
+        int skipped,
+        long durationMillis,
+        Map<ScreenerRanking, List<MarketSignals>> rankings) {
+
+    public static ScreenerSnapshot empty(String timeframe) {
+        return new ScreenerSnapshot(Instant.EPOCH, timeframe, 0, 0, 0, Map.of());
+    }
+}
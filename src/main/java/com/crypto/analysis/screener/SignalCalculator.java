@@ -0,0 +1,101 @@
+package com.crypto.analysis.screener;
+
+import com.crypto.analysis.candle.CandleBars;
+
+/**
+ * 종가 배열에서 스크리너 지표를 한 번에 계산 (ta4j 객체를 만들지 않는 단일 패스 계산)
+ */
+public final class SignalCalculator {
+
+    public static final int MIN_BARS = 51;
+
+    private static final int RSI_PERIOD = 14;
+    private static final int BB_PERIOD = 20;
+    private static final double BB_WIDTH = 2.0;
+
+    private SignalCalculator() {
+    }
+
+    /**
+     * @return 봉 수가 부족하면 null
+     */
+    public static MarketSignals calculate(String exchange, String market, CandleBars bars) {
+        int n = bars.size();
+        if (n < MIN_BARS) {
+            return null;
+        }
+        double[] close = new double[n];
+        for (int i = 0; i < n; i++) {
+            close[i] = bars.close(i);
+        }
+        int last = n - 1;
+
+        double sma20 = sma(close, last, 20);
+        double sma50 = sma(close, last, 50);
+        double prevSma20 = sma(close, last - 1, 20);
+        double prevSma50 = sma(close, last - 1, 50);
+
+        // EMA 는 전체 구간을 한 번 훑으며 직전 값도 함께 보관
+        double ema12 = close[0];
+        double ema26 = close[0];
+        double prevEma12 = ema12;
+        double prevEma26 = ema26;
+        double k12 = 2.0 / 13;
+        double k26 = 2.0 / 27;
+        for (int i = 1; i < n; i++) {
+            prevEma12 = ema12;
+            prevEma26 = ema26;
+            ema12 += (close[i] - ema12) * k12;
+            ema26 += (close[i] - ema26) * k26;
+        }
+
+        // Wilder RSI
+        double gain = 0;
+        double loss = 0;
+        for (int i = 1; i <= RSI_PERIOD; i++) {
+            double diff = close[i] - close[i - 1];
+            gain += Math.max(diff, 0);
+            loss += Math.max(-diff, 0);
+        }
+        gain /= RSI_PERIOD;
+        loss /= RSI_PERIOD;
+        for (int i = RSI_PERIOD + 1; i < n; i++) {
+            double diff = close[i] - close[i - 1];
+            gain = (gain * (RSI_PERIOD - 1) + Math.max(diff, 0)) / RSI_PERIOD;
+            loss = (loss * (RSI_PERIOD - 1) + Math.max(-diff, 0)) / RSI_PERIOD;
+        }
+        double rsi = loss == 0 ? 100 : 100 - 100 / (1 + gain / loss);
+
+        // 볼린저 밴드 %B (모표준편차)
+        double variance = 0;
+        for (int i = last - BB_PERIOD + 1; i <= last; i++) {
+            double d = close[i] - sma20;
+            variance += d * d;
+        }
+        double sd = Math.sqrt(variance / BB_PERIOD);
+        double upper = sma20 + BB_WIDTH * sd;
+        double lower = sma20 - BB_WIDTH * sd;
+        double percentB = upper == lower ? 0.5 : (close[last] - lower) / (upper - lower);
+
+        double changePercent = close[last - 1] == 0 ? 0 : (close[last] / close[last - 1] - 1) * 100;
+
+        return new MarketSignals(exchange, market, bars.openTime(last), close[last], changePercent, rsi,
+            sma20, sma50, ema12, ema26, percentB,
+            cross(prevSma20, prevSma50, sma20, sma50),
+            cross(prevEma12, prevEma26, ema12, ema26));
+    }
+
+    private static double sma(double[] values, int end, int period) {
+        double sum = 0;
+        for (int i = end - period + 1; i <= end; i++) {
+            sum += values[i];
+        }
+        return sum / period;
+    }
+
+    private static String cross(double prevFast, double prevSlow, double fast, double slow) {
+        if (prevFast <= prevSlow && fast > slow) return "GOLDEN";
+        if (prevFast >= prevSlow && fast < slow) return "DEATH";
+        return null;
+    }
+}
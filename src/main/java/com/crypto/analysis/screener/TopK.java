@@ -0,0 +1,53 @@
+package com.crypto.analysis.screener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 상위 K 개만 유지하는 선택기 (크기 K 최소 힙, O(n log K))
+ *
+ * 스레드 안전하지 않으므로 샤드별로 만든 뒤 merge 로 합친다.
+ */
+public class TopK<T> {
+
+    private final int k;
+    private final Comparator<T> order;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * @param order 큰 값이 우선인 비교자
+     */
+    public TopK(int k, Comparator<T> order) {
+        this.k = k;
+        this.order = order;
+        this.heap = new PriorityQueue<>(Math.max(1, k), order);
+    }
+
+    public void offer(T item) {
+        if (k <= 0) {
+            return;
+        }
+        if (heap.size() < k) {
+            heap.add(item);
+        } else if (order.compare(item, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(item);
+        }
+    }
+
+    public TopK<T> merge(TopK<T> other) {
+        for (T item : other.heap) {
+            offer(item);
+        }
+        return this;
+    }
+
+    /** 우선순위 높은 순 */
+    public List<T> toSortedList() {
+        List<T> result = new ArrayList<>(heap);
+        result.sort(order.reversed());
+        return result;
+    }
+}
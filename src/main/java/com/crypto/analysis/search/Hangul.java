@@ -0,0 +1,55 @@
+package com.crypto.analysis.search;
+
+/**
+ * 한글 초성 처리
+ */
+final class Hangul {
+
+    private static final char SYLLABLE_FIRST = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+    // 중성 21 x 종성 28
+    private static final int SYLLABLES_PER_INITIAL = 588;
+    private static final char[] INITIALS = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ".toCharArray();
+
+    private Hangul() {
+    }
+
+    static boolean isSyllable(char c) {
+        return c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST;
+    }
+
+    /** 호환용 자음 (ㄱ ~ ㅎ) */
+    static boolean isInitial(char c) {
+        return c >= 0x3131 && c <= 0x314E;
+    }
+
+    /**
+     * 완성형 글자를 초성으로 바꿈 (그 밖의 글자는 그대로)
+     */
+    static String initials(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            out.append(isSyllable(c) ? INITIALS[(c - SYLLABLE_FIRST) / SYLLABLES_PER_INITIAL] : c);
+        }
+        return out.toString();
+    }
+
+    static boolean containsSyllable(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isSyllable(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean containsInitial(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isInitial(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,15 @@
+package com.crypto.analysis.search;
+
+/**
+ * 검색 대상 종목
+ *
+ * type 은 coin 또는 stock, symbol 은 거래소 고유 표기(KRW-BTC, BTCUSDT, AAPL), asset 은 기초 자산(BTC, AAPL)이다.
+ */
+public record SearchEntry(
+        String type,
+        String exchange,
+        String symbol,
+        String asset,
+        String name,
+        String koreanName) {
+}
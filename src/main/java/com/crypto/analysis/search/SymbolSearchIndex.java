@@ -0,0 +1,384 @@
+package com.crypto.analysis.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 종목 자동완성 색인 (만든 뒤에는 바뀌지 않으므로 여러 요청 스레드가 함께 읽음)
+ *
+ * 심볼, 기초 자산, 영문/한글 이름(단어 시작마다), 한글 이름 초성을 소문자 키로 만들어 하나의 트라이에 넣는다.
+ * 키를 정렬한 순서대로 넣으므로 노드마다 하위 키가 postings 배열의 연속 구간 [lo, hi) 이 되어,
+ * 접두어 검색은 노드를 찾은 뒤 구간만 훑는다. 접두어 결과가 모자라면 트라이를 따라 편집 거리 행을 계산해
+ * 오타(삽입/삭제/치환/인접 교환)를 허용한 접두어 일치를 더한다.
+ * 순위는 일치 종류(심볼 > 이름 > 초성 > 오타)와 정확히 일치하는지, 그다음 추가한 순서다.
+ */
+public final class SymbolSearchIndex {
+
+    private static final int MAX_KEY_LENGTH = 32;
+    private static final int MIN_FUZZY_LENGTH = 3;
+    // 한 종목이 여러 키로 걸려도 limit 개를 채우도록 여유 있게 후보를 모음
+    private static final int CANDIDATES_PER_RESULT = 8;
+
+    // 키 종류 (작을수록 우선)
+    private static final int KIND_SYMBOL = 0;
+    private static final int KIND_NAME = 1;
+    private static final int KIND_INITIALS = 2;
+    private static final int FUZZY_SCORE = 6;
+
+    public static final SymbolSearchIndex EMPTY = builder().build();
+
+    private final SearchEntry[] entries;
+    private final Map<String, Integer> typeCounts = new HashMap<>();
+
+    // 트라이 (첫 자식 / 다음 형제), 0 이 루트
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] lo;
+    private final int[] hi;
+
+    // 키 정렬 순서의 postings
+    private final int[] postingEntries;
+    private final byte[] postingKinds;
+    private final byte[] postingLengths;
+
+    private SymbolSearchIndex(List<SearchEntry> entries, List<Key> keys) {
+        this.entries = entries.toArray(new SearchEntry[0]);
+        for (SearchEntry entry : this.entries) {
+            typeCounts.merge(entry.type(), 1, Integer::sum);
+        }
+
+        keys.sort(Comparator.comparing(Key::key).thenComparingInt(Key::kind).thenComparingInt(Key::entry));
+        int n = keys.size();
+        postingEntries = new int[n];
+        postingKinds = new byte[n];
+        postingLengths = new byte[n];
+
+        int capacity = 1;
+        for (Key key : keys) {
+            capacity += key.key().length();
+        }
+        char[] nodeLabels = new char[capacity];
+        int[] nodeFirst = new int[capacity];
+        int[] nodeNext = new int[capacity];
+        int[] nodeLast = new int[capacity];
+        int[] nodeLo = new int[capacity];
+        int[] nodeHi = new int[capacity];
+        nodeFirst[0] = -1;
+        nodeNext[0] = -1;
+        nodeLast[0] = -1;
+        int nodes = 1;
+
+        // 직전 키의 경로 (정렬돼 있으므로 공통 접두어 노드는 그대로 재사용)
+        int[] path = new int[MAX_KEY_LENGTH + 1];
+        String previous = "";
+        for (int p = 0; p < n; p++) {
+            Key key = keys.get(p);
+            String text = key.key();
+            int common = 0;
+            int max = Math.min(previous.length(), text.length());
+            while (common < max && previous.charAt(common) == text.charAt(common)) {
+                common++;
+            }
+            int node = path[common];
+            for (int d = common; d < text.length(); d++) {
+                int child = nodes++;
+                nodeLabels[child] = text.charAt(d);
+                nodeFirst[child] = -1;
+                nodeNext[child] = -1;
+                nodeLast[child] = -1;
+                nodeLo[child] = p;
+                if (nodeLast[node] < 0) {
+                    nodeFirst[node] = child;
+                } else {
+                    nodeNext[nodeLast[node]] = child;
+                }
+                nodeLast[node] = child;
+                node = child;
+                path[d + 1] = child;
+            }
+            for (int d = 0; d <= text.length(); d++) {
+                nodeHi[path[d]] = p + 1;
+            }
+            postingEntries[p] = key.entry();
+            postingKinds[p] = (byte) key.kind();
+            postingLengths[p] = (byte) text.length();
+            previous = text;
+        }
+        labels = Arrays.copyOf(nodeLabels, nodes);
+        firstChild = Arrays.copyOf(nodeFirst, nodes);
+        nextSibling = Arrays.copyOf(nodeNext, nodes);
+        lo = Arrays.copyOf(nodeLo, nodes);
+        hi = Arrays.copyOf(nodeHi, nodes);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    /** type(coin, stock) 종목 수 */
+    public int count(String type) {
+        return typeCounts.getOrDefault(type, 0);
+    }
+
+    /**
+     * 자동완성 검색
+     *
+     * @param type     coin 또는 stock (null 이면 전체)
+     * @param exchange 거래소 (null 이면 전체)
+     */
+    public List<SearchEntry> search(String query, String type, String exchange, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0 || entries.length == 0) {
+            return List.of();
+        }
+        Candidates candidates = new Candidates(limit * CANDIDATES_PER_RESULT, type, exchange);
+        collectPrefix(q, candidates);
+        // "비트ㅋ" 처럼 글자와 초성을 섞어 입력하면 초성으로 바꿔 한 번 더 찾음
+        if (Hangul.containsSyllable(q) && Hangul.containsInitial(q)) {
+            collectPrefix(Hangul.initials(q), candidates);
+        }
+        List<SearchEntry> results = candidates.results(limit);
+        if (results.size() < limit && q.length() >= MIN_FUZZY_LENGTH && !Hangul.containsInitial(q)) {
+            collectFuzzy(q.toCharArray(), q.length() >= 6 ? 2 : 1, candidates);
+            results = candidates.results(limit);
+        }
+        return results;
+    }
+
+    private void collectPrefix(String q, Candidates candidates) {
+        int node = 0;
+        for (int i = 0; i < q.length() && node >= 0; i++) {
+            char c = q.charAt(i);
+            int child = firstChild[node];
+            while (child >= 0 && labels[child] != c) {
+                child = nextSibling[child];
+            }
+            node = child;
+        }
+        if (node < 0) {
+            return;
+        }
+        for (int p = lo[node]; p < hi[node]; p++) {
+            int exact = postingLengths[p] == q.length() ? 0 : 1;
+            candidates.offer(postingEntries[p], postingKinds[p] * 2 + exact);
+        }
+    }
+
+    // 첫 글자는 맞게 입력한다고 보고 그 아래에서만 찾음 (위쪽 노드를 모두 훑지 않도록)
+    private void collectFuzzy(char[] q, int maxDistance, Candidates candidates) {
+        int first = firstChild[0];
+        while (first >= 0 && labels[first] != q[0]) {
+            first = nextSibling[first];
+        }
+        if (first < 0) {
+            return;
+        }
+        // 깊이별 편집 거리 행 (rows[d] 는 길이 d 접두어와 질의의 거리)과 지나온 글자
+        int[][] rows = new int[MAX_KEY_LENGTH + 1][q.length + 1];
+        char[] prefix = new char[MAX_KEY_LENGTH + 1];
+        for (int j = 0; j <= q.length; j++) {
+            rows[0][j] = j;
+        }
+        fuzzy(first, 1, q, rows, prefix, maxDistance, candidates);
+    }
+
+    // 노드까지의 접두어와 질의의 편집 거리 행을 계산하며 내려감 (행의 최솟값이 허용 거리를 넘으면 중단)
+    private void fuzzy(int node, int depth, char[] q, int[][] rows, char[] prefix, int maxDistance,
+                       Candidates candidates) {
+        char c = labels[node];
+        prefix[depth] = c;
+        int m = q.length;
+        int[] previous = rows[depth - 1];
+        int[] row = rows[depth];
+        row[0] = depth;
+        int min = row[0];
+        for (int j = 1; j <= m; j++) {
+            int cost = q[j - 1] == c ? 0 : 1;
+            int value = Math.min(Math.min(previous[j] + 1, row[j - 1] + 1), previous[j - 1] + cost);
+            // 인접한 두 글자가 바뀐 경우
+            if (depth > 1 && j > 1 && q[j - 1] == prefix[depth - 1] && q[j - 2] == c) {
+                value = Math.min(value, rows[depth - 2][j - 2] + 1);
+            }
+            row[j] = value;
+            min = Math.min(min, value);
+        }
+        if (min > maxDistance) {
+            return;
+        }
+        int distance = row[m];
+        // 질의보다 짧은 접두어에서 멈추면 그 아래 모든 키가 걸리므로 질의 길이 이상에서만 일치로 봄
+        if (depth >= m && distance <= maxDistance) {
+            for (int p = lo[node]; p < hi[node]; p++) {
+                candidates.offer(postingEntries[p], FUZZY_SCORE + distance * 3 + postingKinds[p]);
+            }
+            if (min >= distance) {
+                return;
+            }
+        }
+        if (depth >= MAX_KEY_LENGTH) {
+            return;
+        }
+        for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+            fuzzy(child, depth + 1, q, rows, prefix, maxDistance, candidates);
+        }
+    }
+
+    /**
+     * 색인 키 정규화 (소문자, 글자와 숫자만)
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(Math.min(text.length(), MAX_KEY_LENGTH));
+        for (int i = 0; i < text.length() && out.length() < MAX_KEY_LENGTH; i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                out.append(Character.toLowerCase(c));
+            }
+        }
+        return out.toString();
+    }
+
+    private record Key(String key, int entry, int kind) {
+    }
+
+    /**
+     * 점수가 낮은 후보만 남기는 최대 힙 (점수 << 32 | 종목 번호, 같은 점수면 먼저 추가한 종목 우선)
+     */
+    private final class Candidates {
+
+        private final long[] heap;
+        private final String type;
+        private final String exchange;
+        private int size;
+
+        Candidates(int capacity, String type, String exchange) {
+            this.heap = new long[capacity];
+            this.type = type;
+            this.exchange = exchange;
+        }
+
+        void offer(int entry, int score) {
+            SearchEntry candidate = entries[entry];
+            if ((type != null && !type.equalsIgnoreCase(candidate.type()))
+                    || (exchange != null && !exchange.equalsIgnoreCase(candidate.exchange()))) {
+                return;
+            }
+            long rank = ((long) score << 32) | entry;
+            if (size < heap.length) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (heap[parent] >= rank) {
+                        break;
+                    }
+                    heap[i] = heap[parent];
+                    i = parent;
+                }
+                heap[i] = rank;
+            } else if (rank < heap[0]) {
+                int i = 0;
+                int half = size >>> 1;
+                while (i < half) {
+                    int child = (i << 1) + 1;
+                    if (child + 1 < size && heap[child + 1] > heap[child]) {
+                        child++;
+                    }
+                    if (heap[child] <= rank) {
+                        break;
+                    }
+                    heap[i] = heap[child];
+                    i = child;
+                }
+                heap[i] = rank;
+            }
+        }
+
+        List<SearchEntry> results(int limit) {
+            long[] sorted = Arrays.copyOf(heap, size);
+            Arrays.sort(sorted);
+            List<SearchEntry> results = new ArrayList<>(Math.min(limit, sorted.length));
+            Set<Integer> seen = new HashSet<>();
+            for (long rank : sorted) {
+                int entry = (int) rank;
+                if (seen.add(entry)) {
+                    results.add(entries[entry]);
+                    if (results.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            return results;
+        }
+    }
+
+    /**
+     * 색인 생성 (먼저 추가한 종목이 같은 점수에서 앞섬)
+     */
+    public static final class Builder {
+
+        private final List<SearchEntry> entries = new ArrayList<>();
+        private final List<Key> keys = new ArrayList<>();
+        private final Set<String> seen = new HashSet<>();
+
+        private Builder() {
+        }
+
+        public Builder add(SearchEntry entry) {
+            if (!seen.add(entry.type() + ":" + entry.exchange() + ":" + entry.symbol())) {
+                return this;
+            }
+            int id = entries.size();
+            entries.add(entry);
+
+            Map<String, Integer> own = new HashMap<>();
+            addKey(own, entry.symbol(), KIND_SYMBOL);
+            addKey(own, entry.asset(), KIND_SYMBOL);
+            addWords(own, entry.name(), KIND_NAME);
+            addWords(own, entry.koreanName(), KIND_NAME);
+            if (entry.koreanName() != null && Hangul.containsSyllable(entry.koreanName())) {
+                addWords(own, Hangul.initials(entry.koreanName()), KIND_INITIALS);
+            }
+            for (Map.Entry<String, Integer> key : own.entrySet()) {
+                keys.add(new Key(key.getKey(), id, key.getValue()));
+            }
+            return this;
+        }
+
+        public SymbolSearchIndex build() {
+            return new SymbolSearchIndex(entries, new ArrayList<>(keys));
+        }
+
+        private static void addKey(Map<String, Integer> own, String text, int kind) {
+            String key = normalize(text);
+            if (!key.isEmpty()) {
+                own.merge(key, kind, Math::min);
+            }
+        }
+
+        // 전체 이름과 두 번째 단어부터의 나머지 ("Bitcoin Cash" -> bitcoincash, cash)
+        private static void addWords(Map<String, Integer> own, String text, int kind) {
+            if (text == null) {
+                return;
+            }
+            addKey(own, text, kind);
+            for (int i = 1; i < text.length(); i++) {
+                if (!Character.isLetterOrDigit(text.charAt(i - 1)) && Character.isLetterOrDigit(text.charAt(i))) {
+                    addKey(own, text.substring(i), kind);
+                }
+            }
+        }
+    }
+}
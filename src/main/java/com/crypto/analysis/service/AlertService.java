@@ -0,0 +1,159 @@
+package com.crypto.analysis.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import com.crypto.analysis.alert.AlertDirection;
+import com.crypto.analysis.alert.AlertEngine;
+import com.crypto.analysis.alert.AlertEvent;
+import com.crypto.analysis.alert.AlertMetric;
+import com.crypto.analysis.alert.AlertRule;
+import com.crypto.analysis.exchange.Ticker;
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.screener.MarketSignals;
+
+/**
+ * 실시간 알림 서비스
+ *
+ * 사용자가 등록한 임계값 규칙을 AlertEngine 에 두고, 체결(TradeTapeService), 현재가(RealTimeDataService),
+ * 스크리너 지표(MarketScannerService)가 들어올 때마다 평가한다.
+ * 발생한 알림은 STOMP 사용자 목적지 /user/queue/alerts 로 보내고 규칙은 삭제한다.
+ */
+@Service
+public class AlertService {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertService.class);
+
+    private static final String DESTINATION = "/queue/alerts";
+
+    private final AlertEngine engine = new AlertEngine();
+    private final Map<String, Set<Long>> userRules = new ConcurrentHashMap<>();
+
+    @Value("${alerts.max-rules:1000000}")
+    private int MAX_RULES;
+
+    @Value("${alerts.max-rules-per-user:200}")
+    private int MAX_RULES_PER_USER;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private AnalysisMetrics metrics;
+
+    /**
+     * 규칙 등록 (현재 값이 이미 조건을 만족하면 바로 알림을 보내고 규칙은 남기지 않음)
+     */
+    public AlertRule register(String user, String exchange, String market, AlertMetric metric,
+                              AlertDirection direction, double threshold) {
+        if (user == null || user.isBlank()) {
+            throw new IllegalArgumentException("user 를 지정하세요");
+        }
+        if (Double.isNaN(threshold) || Double.isInfinite(threshold)) {
+            throw new IllegalArgumentException("임계값이 올바르지 않습니다: " + threshold);
+        }
+        if (engine.size() >= MAX_RULES) {
+            throw new IllegalStateException("등록 가능한 알림 수(" + MAX_RULES + ")를 넘었습니다");
+        }
+        Set<Long> ids = userRules.computeIfAbsent(user, k -> ConcurrentHashMap.newKeySet());
+        if (ids.size() >= MAX_RULES_PER_USER) {
+            throw new IllegalStateException("사용자당 알림은 " + MAX_RULES_PER_USER + "개까지 등록할 수 있습니다");
+        }
+
+        String normalizedExchange = exchange.toLowerCase();
+        AlertRule rule = new AlertRule(engine.nextId(), user, normalizedExchange, normalizeMarket(normalizedExchange, market),
+            metric, direction, threshold, System.currentTimeMillis());
+        ids.add(rule.id());
+        OptionalDouble current = engine.add(rule);
+        if (current.isPresent()) {
+            publish(List.of(new AlertEvent(rule, current.getAsDouble(), System.currentTimeMillis())));
+        }
+        return rule;
+    }
+
+    public List<AlertRule> list(String user) {
+        List<AlertRule> rules = new ArrayList<>();
+        for (Long id : userRules.getOrDefault(user, Set.of())) {
+            AlertRule rule = engine.get(id);
+            if (rule != null) {
+                rules.add(rule);
+            }
+        }
+        rules.sort(Comparator.comparingLong(AlertRule::id));
+        return rules;
+    }
+
+    /**
+     * 규칙 삭제 (다른 사용자의 규칙은 지우지 않음)
+     */
+    public boolean cancel(String user, long id) {
+        AlertRule rule = engine.get(id);
+        if (rule == null || !rule.user().equals(user)) {
+            return false;
+        }
+        Set<Long> ids = userRules.get(user);
+        if (ids != null) {
+            ids.remove(id);
+        }
+        return engine.remove(id) != null;
+    }
+
+    public int getActiveRules() {
+        return engine.size();
+    }
+
+    /**
+     * 실시간 체결가
+     */
+    public void onPrice(String exchange, String market, double price) {
+        publish(engine.evaluate(exchange, market, AlertMetric.PRICE, price));
+    }
+
+    /**
+     * 현재가 (가격과 전일 대비 변화율)
+     */
+    public void onTicker(String exchange, Ticker ticker) {
+        publish(engine.evaluate(exchange, ticker.market(), AlertMetric.PRICE, ticker.tradePrice()));
+        publish(engine.evaluate(exchange, ticker.market(), AlertMetric.CHANGE_PERCENT, ticker.changeRate() * 100));
+    }
+
+    /**
+     * 스크리너가 봉 마감마다 계산한 지표 (여러 계산 스레드에서 동시에 호출됨)
+     */
+    public void onSignals(MarketSignals signals) {
+        publish(engine.evaluate(signals.exchange(), signals.market(), AlertMetric.RSI, signals.rsi()));
+        publish(engine.evaluate(signals.exchange(), signals.market(), AlertMetric.PERCENT_B, signals.percentB()));
+    }
+
+    private void publish(List<AlertEvent> events) {
+        for (AlertEvent event : events) {
+            AlertRule rule = event.rule();
+            Set<Long> ids = userRules.get(rule.user());
+            if (ids != null) {
+                ids.remove(rule.id());
+            }
+            metrics.recordAlertFired(rule.metric().name().toLowerCase());
+            try {
+                messagingTemplate.convertAndSendToUser(rule.user(), DESTINATION, event);
+            } catch (Exception e) {
+                log.warn("알림 전송 실패 {}: {}", rule.id(), e.getMessage());
+            }
+        }
+    }
+
+    private static String normalizeMarket(String exchange, String market) {
+        return "binance".equals(exchange) ? market.toUpperCase() : market;
+    }
+}
@@ -0,0 +1,154 @@
+package com.crypto.analysis.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.crypto.analysis.logging.MdcTaskDecorator;
+import com.crypto.analysis.metrics.AnalysisMetrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 인기 종목 분석 예열
+ *
+ * 설정된 핫 리스트(analysis.warm.markets)와 요청 빈도 상위 종목(analysis.warm.auto-top)의
+ * /analyze 결과를 일봉 마감 직후(analysis.warm.cron, UTC) 미리 만들어 CryptoAnalysisService 에 캐시한다.
+ * Claude 호출 비용 때문에 기본은 데이터 준비 단계까지만 예열한다 (analysis.warm.include-claude).
+ */
+@Service
+public class AnalysisWarmerService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisWarmerService.class);
+
+    private final CryptoAnalysisService cryptoAnalysisService;
+    private final AtomicBoolean warming = new AtomicBoolean();
+
+    @Value("${analysis.warm.enabled:false}")
+    private boolean ENABLED;
+
+    @Value("${analysis.warm.markets:}")
+    private List<String> MARKETS;
+
+    @Value("${analysis.warm.auto-top:0}")
+    private int AUTO_TOP;
+
+    @Value("${analysis.warm.include-claude:false}")
+    private boolean INCLUDE_CLAUDE;
+
+    @Value("${analysis.warm.parallelism:2}")
+    private int PARALLELISM;
+
+    @Autowired
+    private AnalysisMetrics metrics;
+
+    @Autowired
+    private MdcTaskDecorator mdcTaskDecorator;
+
+    private ThreadPoolTaskExecutor executor;
+
+    public AnalysisWarmerService(CryptoAnalysisService cryptoAnalysisService) {
+        this.cryptoAnalysisService = cryptoAnalysisService;
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(1, PARALLELISM));
+        executor.setMaxPoolSize(Math.max(1, PARALLELISM));
+        executor.setThreadNamePrefix("analysis-warm-");
+        executor.setTaskDecorator(mdcTaskDecorator);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 시작 직후 한 번 백그라운드로 예열
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmOnStartup() {
+        Thread thread = new Thread(this::warmHotMarkets, "analysis-warm-startup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 일봉 마감(UTC 자정) 직후 핫 리스트 예열
+     */
+    @Scheduled(cron = "${analysis.warm.cron:30 0 0 * * *}", zone = "UTC")
+    public void warmHotMarkets() {
+        if (!ENABLED) {
+            return;
+        }
+        if (!warming.compareAndSet(false, true)) {
+            log.info("이전 분석 예열이 진행 중이라 건너뜁니다");
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            List<String> keys = hotList();
+            cryptoAnalysisService.retainWarmed(keys);
+
+            List<CompletableFuture<Boolean>> tasks = new ArrayList<>();
+            for (String key : keys) {
+                tasks.add(CompletableFuture.supplyAsync(() -> warm(key), executor));
+            }
+            int warmed = 0;
+            for (CompletableFuture<Boolean> task : tasks) {
+                warmed += task.join() ? 1 : 0;
+            }
+            log.info("분석 예열 완료: {}/{}개, {}ms", warmed, keys.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            warming.set(false);
+        }
+    }
+
+    // 설정된 목록 + 요청 빈도 상위 (exchange:market 형식)
+    private List<String> hotList() {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String entry : MARKETS) {
+            String[] parts = entry.trim().split(":", 2);
+            if (parts.length == 2 && !parts[1].isBlank()) {
+                keys.add(CryptoAnalysisService.key(parts[0].trim(), parts[1].trim()));
+            } else if (!entry.isBlank()) {
+                log.warn("잘못된 예열 종목 형식 (exchange:market): {}", entry);
+            }
+        }
+        if (AUTO_TOP > 0) {
+            keys.addAll(cryptoAnalysisService.topRequested(AUTO_TOP));
+        }
+        return new ArrayList<>(keys);
+    }
+
+    private boolean warm(String key) {
+        String[] parts = key.split(":", 2);
+        try {
+            cryptoAnalysisService.warm(parts[1], parts[0], INCLUDE_CLAUDE);
+            return true;
+        } catch (Exception e) {
+            metrics.recordFallback("warmer", "analysis");
+            log.warn("분석 예열 실패 {}: {}", key, e.getMessage());
+            return false;
+        }
+    }
+}
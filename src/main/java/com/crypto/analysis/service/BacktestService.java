@@ -0,0 +1,104 @@
+package com.crypto.analysis.service;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.crypto.analysis.backtest.BacktestReport;
+import com.crypto.analysis.backtest.IndicatorCache;
+import com.crypto.analysis.backtest.StrategyParams;
+import com.crypto.analysis.backtest.SweepTask;
+import com.crypto.analysis.candle.CandleBars;
+import com.crypto.analysis.model.Timeframe;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 저장된 캔들로 규칙 기반 전략을 백테스트하는 서비스
+ *
+ * 캔들은 CandleBackfillService 로 부족한 구간만 받아 DB 에서 읽고,
+ * 지표는 스윕 전체에서 기간별로 한 번만 계산한 뒤 파라미터 조합을 포크조인으로 나눠 시뮬레이션한다.
+ */
+@Service
+public class BacktestService {
+
+    private static final Logger log = LoggerFactory.getLogger(BacktestService.class);
+
+    private final CandleBackfillService candleBackfillService;
+
+    @Value("${backtest.parallelism:0}")
+    private int PARALLELISM;
+
+    @Value("${backtest.max-bars:20000}")
+    private int MAX_BARS;
+
+    @Value("${backtest.max-combinations:5000}")
+    private int MAX_COMBINATIONS;
+
+    @Value("${backtest.fee-rate.upbit:0.0005}")
+    private double UPBIT_FEE_RATE;
+
+    @Value("${backtest.fee-rate.binance:0.001}")
+    private double BINANCE_FEE_RATE;
+
+    @Value("${backtest.slippage-bps:5}")
+    private double SLIPPAGE_BPS;
+
+    private ForkJoinPool pool;
+
+    public BacktestService(CandleBackfillService candleBackfillService) {
+        this.candleBackfillService = candleBackfillService;
+    }
+
+    @PostConstruct
+    public void init() {
+        // 0 이면 코어 수만큼
+        int parallelism = PARALLELISM > 0 ? PARALLELISM : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * 파라미터 격자 전체를 시뮬레이션하고 수익률 상위 top 개를 반환
+     */
+    public BacktestReport sweep(String exchange, String market, Timeframe timeframe, int count,
+            List<StrategyParams> grid, int top) throws Exception {
+        if (grid.isEmpty()) {
+            throw new IllegalArgumentException("파라미터 조합이 없습니다");
+        }
+        if (grid.size() > MAX_COMBINATIONS) {
+            throw new IllegalArgumentException("파라미터 조합이 너무 많습니다: " + grid.size() + " (최대 " + MAX_COMBINATIONS + ")");
+        }
+        CandleBars bars = candleBackfillService.loadBars(exchange, market, timeframe, Math.min(count, MAX_BARS));
+        if (bars.size() < 2) {
+            throw new IllegalStateException("백테스트할 캔들이 없습니다: " + exchange + " " + market);
+        }
+
+        double feeRate = "upbit".equalsIgnoreCase(exchange) ? UPBIT_FEE_RATE : BINANCE_FEE_RATE;
+        double slippage = SLIPPAGE_BPS / 10_000;
+
+        long start = System.nanoTime();
+        IndicatorCache cache = new IndicatorCache(bars);
+        SweepTask.Result result = pool.invoke(new SweepTask(cache, grid, top, feeRate, slippage));
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+
+        long barsPerSecond = result.getBarsEvaluated() * 1_000_000_000L / elapsedNanos;
+        double buyAndHold = (bars.close(bars.size() - 1) / bars.open(0) - 1) * 100;
+        log.info("백테스트 {} {} {}: 봉 {}개, 조합 {}개, {}ms ({} bars/s)", exchange, market, timeframe,
+            bars.size(), grid.size(), elapsedNanos / 1_000_000, barsPerSecond);
+
+        return new BacktestReport(exchange.toLowerCase(), market, timeframe.toString(), bars.size(),
+            bars.openTime(0), bars.openTime(bars.size() - 1), feeRate, slippage,
+            Math.round(buyAndHold * 100) / 100.0, grid.size(), result.getBarsEvaluated(),
+            elapsedNanos / 1_000_000, barsPerSecond, result.getTop());
+    }
+}
@@ -1,8 +1,13 @@
 package com.crypto.analysis.service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -12,16 +17,38 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.crypto.analysis.exchange.AdapterResult;
+import com.crypto.analysis.exchange.ExchangeAdapter;
+import com.crypto.analysis.exchange.ExchangeJson;
+import com.crypto.analysis.exchange.MarketInfo;
+import com.crypto.analysis.exchange.Ticker;
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.model.Candle;
+import com.crypto.analysis.model.Timeframe;
+import com.crypto.analysis.upstream.ReactiveUpstreamClient;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import reactor.core.publisher.Mono;
 
 @Service
-public class BinanceService {
+public class BinanceService implements ExchangeAdapter {
+    
+    private static final Logger log = LoggerFactory.getLogger(BinanceService.class);
+    
+    // klines API 한 번에 받을 수 있는 최대 개수
+    private static final int MAX_CANDLES_PER_REQUEST = 1000;
+    
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
     
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
-    private final String API_URL = "https://api.binance.com/api/v3";
+    
+    @Value("${binance.api.base-url:https://api.binance.com/api/v3}")
+    private String API_URL;
     
     @Value("${binance.api.key:}")
     private String API_KEY;
@@ -29,15 +56,19 @@ public class BinanceService {
     @Value("${binance.api.secret:}")
     private String API_SECRET;
     
+    @Autowired
+    private AnalysisMetrics metrics;
+    
+    @Autowired
+    private ReactiveUpstreamClient upstreamClient;
+    
     public BinanceService(RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
         this.objectMapper = new ObjectMapper();
     }
     
-    /**
-     * 바이낸스 심볼 목록 가져오기
-     */
-    public String getSymbols() {
+    @Override
+    public AdapterResult<MarketInfo> markets() {
         try {
             String url = API_URL + "/exchangeInfo";
             
@@ -58,268 +89,268 @@ public class BinanceService {
                 String.class
             );
             
-            // 응답에서 심볼 정보만 필터링하여 반환
-            String responseBody = response.getBody();
-            JsonNode root = objectMapper.readTree(responseBody);
-            JsonNode symbols = root.get("symbols");
-            
-            // USDT 마켓만 필터링하고 필요한 정보만 추출
-            ArrayNode filteredSymbols = objectMapper.createArrayNode();
-            for (JsonNode symbol : symbols) {
-                String symbolName = symbol.get("symbol").asText();
-                String baseAsset = symbol.get("baseAsset").asText();
-                String quoteAsset = symbol.get("quoteAsset").asText();
-                
-                // USDT 마켓만 필터링
-                if (quoteAsset.equals("USDT")) {
-                    JsonNode filteredSymbol = objectMapper.createObjectNode()
-                        .put("market", symbolName)
-                        .put("baseAsset", baseAsset)
-                        .put("quoteAsset", quoteAsset)
-                        .put("korean_name", getKoreanName(baseAsset))
-                        .put("english_name", getEnglishName(baseAsset));
-                        
-                    filteredSymbols.add(filteredSymbol);
-                }
+            // USDT 마켓만 필터링하고 필요한 정보만 추출 (수 MB 응답이라 트리 없이 스트리밍으로 읽음)
+            List<MarketInfo> markets = new ArrayList<>();
+            for (MarketInfo symbol : ExchangeJson.parseBinanceSymbols(response.getBody(), "USDT")) {
+                String baseAsset = symbol.baseAsset();
+                markets.add(new MarketInfo(symbol.market(), baseAsset, symbol.quoteAsset(),
+                    getKoreanName(baseAsset), getEnglishName(baseAsset)));
             }
             
-            return objectMapper.writeValueAsString(filteredSymbols);
+            return AdapterResult.of(markets);
         } catch (Exception e) {
-            System.err.println("바이낸스 API 연결 실패: " + e.getMessage());
-            e.printStackTrace();
-            return getFallbackSymbols();
+            metrics.recordFallback("binance", "markets");
+            log.warn("바이낸스 API 연결 실패: {}", e.getMessage());
+            return AdapterResult.fallback(getFallbackSymbols());
         }
     }
     
     /**
      * 바이낸스 API 호출 실패 시 사용할 기본 심볼 데이터
      */
-    private String getFallbackSymbols() {
-        try {
-            ArrayNode symbols = objectMapper.createArrayNode();
-            
-            // 주요 암호화폐에 대한 기본 데이터 생성
-            String[][] defaultCoins = {
-                {"BTCUSDT", "비트코인", "Bitcoin"},
-                {"ETHUSDT", "이더리움", "Ethereum"},
-                {"XRPUSDT", "리플", "Ripple"},
-                {"ADAUSDT", "에이다", "Cardano"},
-                {"DOGEUSDT", "도지코인", "Dogecoin"},
-                {"SOLUSDT", "솔라나", "Solana"},
-                {"DOTUSDT", "폴카닷", "Polkadot"},
-                {"AVAXUSDT", "아발란체", "Avalanche"},
-                {"MATICUSDT", "폴리곤", "Polygon"},
-                {"LINKUSDT", "체인링크", "Chainlink"}
-            };
-            
-            for (String[] coin : defaultCoins) {
-                String market = coin[0];
-                String baseAsset = market.replace("USDT", "");
-                
-                JsonNode symbol = objectMapper.createObjectNode()
-                    .put("market", market)
-                    .put("baseAsset", baseAsset)
-                    .put("quoteAsset", "USDT")
-                    .put("korean_name", coin[1])
-                    .put("english_name", coin[2]);
-                    
-                symbols.add(symbol);
-            }
-            
-            return objectMapper.writeValueAsString(symbols);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return "[]";
+    private List<MarketInfo> getFallbackSymbols() {
+        // 주요 암호화폐에 대한 기본 데이터 생성
+        String[][] defaultCoins = {
+            {"BTCUSDT", "비트코인", "Bitcoin"},
+            {"ETHUSDT", "이더리움", "Ethereum"},
+            {"XRPUSDT", "리플", "Ripple"},
+            {"ADAUSDT", "에이다", "Cardano"},
+            {"DOGEUSDT", "도지코인", "Dogecoin"},
+            {"SOLUSDT", "솔라나", "Solana"},
+            {"DOTUSDT", "폴카닷", "Polkadot"},
+            {"AVAXUSDT", "아발란체", "Avalanche"},
+            {"MATICUSDT", "폴리곤", "Polygon"},
+            {"LINKUSDT", "체인링크", "Chainlink"}
+        };
+        
+        List<MarketInfo> symbols = new ArrayList<>();
+        for (String[] coin : defaultCoins) {
+            symbols.add(new MarketInfo(coin[0], coin[0].replace("USDT", ""), "USDT", coin[1], coin[2]));
         }
+        return symbols;
     }
     
     /**
-     * 특정 심볼의 현재가 조회
+     * 24시간 통계 한 번으로 현재가와 변화율 조회
      */
-    public String getCurrentPrice(String symbol) {
+    @Override
+    public Ticker ticker(String symbol) {
         try {
-            String url = API_URL + "/ticker/price?symbol=" + symbol;
-            
             HttpHeaders headers = new HttpHeaders();
-            headers.setAccept(java.util.Collections.singletonList(MediaType.APPLICATION_JSON));
+            jsonHeaders(headers);
             
             HttpEntity<String> entity = new HttpEntity<>(headers);
             
             ResponseEntity<String> response = restTemplate.exchange(
-                url, 
+                tickerUrl(symbol), 
                 HttpMethod.GET, 
                 entity,
                 String.class
             );
             
-            // 업비트 API 형식과 유사하게 반환 형식 변환
-            JsonNode priceData = objectMapper.readTree(response.getBody());
-            String price = priceData.get("price").asText();
-            
-            // 24시간 가격 변화율 조회
-            String changeUrl = API_URL + "/ticker/24hr?symbol=" + symbol;
-            ResponseEntity<String> changeResponse = restTemplate.exchange(
-                changeUrl, 
-                HttpMethod.GET, 
-                entity,
-                String.class
-            );
-            
-            JsonNode changeData = objectMapper.readTree(changeResponse.getBody());
-            String priceChangePercent = changeData.get("priceChangePercent").asText();
-            
-            // 결과 포맷팅
-            String result = "[{\"market\":\"" + symbol + "\",\"code\":\"" + symbol + "\","
-                + "\"trade_price\":" + price + ","
-                + "\"change_rate\":" + (Double.parseDouble(priceChangePercent) / 100) + "}]";
-                
-            return result;
+            return parseTicker(symbol, response.getBody());
         } catch (Exception e) {
-            System.err.println("현재가 조회 실패: " + e.getMessage());
-            e.printStackTrace();
-            return "[{\"market\":\"" + symbol + "\",\"code\":\"" + symbol + "\",\"trade_price\":0,\"change_rate\":0}]";
+            metrics.recordFallback("binance", "price");
+            log.warn("현재가 조회 실패: {}", e.getMessage());
+            return Ticker.empty(symbol);
         }
     }
     
-    /**
-     * 캔들 데이터 조회
-     */
-    public String getCandles(String symbol, String interval, int limit) {
+    @Override
+    public Mono<Ticker> tickerAsync(String symbol) {
+        return upstreamClient.get(tickerUrl(symbol), BinanceService::jsonHeaders)
+            .flatMap(body -> Mono.fromCallable(() -> parseTicker(symbol, body)))
+            .onErrorResume(e -> {
+                metrics.recordFallback("binance", "price");
+                log.warn("현재가 조회 실패: {}", e.getMessage());
+                return Mono.just(Ticker.empty(symbol));
+            });
+    }
+    
+    private String tickerUrl(String symbol) {
+        return API_URL + "/ticker/24hr?symbol=" + symbol;
+    }
+    
+    private Ticker parseTicker(String symbol, String json) throws Exception {
+        JsonNode data = objectMapper.readTree(json);
+        return new Ticker(symbol,
+            data.get("lastPrice").asDouble(),
+            data.get("priceChangePercent").asDouble() / 100,
+            data.path("highPrice").asDouble(),
+            data.path("lowPrice").asDouble(),
+            data.path("volume").asDouble(),
+            data.path("quoteVolume").asDouble(),
+            data.path("closeTime").asLong(System.currentTimeMillis()));
+    }
+    
+    @Override
+    public AdapterResult<Candle> candles(String symbol, Timeframe timeframe, int count) {
+        return candleList(symbol, requireNativeInterval(timeframe), count);
+    }
+    
+    @Override
+    public Mono<AdapterResult<Candle>> candlesAsync(String symbol, Timeframe timeframe, int count) {
+        // 지원하지 않는 단위는 조립 시점에 던지지 않고 구독자에게 IllegalArgumentException 으로 전달 (대체 데이터로 바꾸지 않음)
+        return Mono.defer(() -> {
+            String url = klinesUrl(symbol, requireNativeInterval(timeframe), count, null);
+            return upstreamClient.get(url, BinanceService::jsonHeaders)
+                .flatMap(body -> Mono.fromCallable(() -> AdapterResult.of(parseKlines(symbol, body, count))))
+                .onErrorResume(e -> {
+                    metrics.recordFallback("binance", "candles");
+                    log.warn("캔들 데이터 조회 실패: {}", e.getMessage());
+                    return Mono.just(AdapterResult.fallback(generateFallbackCandles(symbol, count)));
+                });
+        });
+    }
+    
+    @Override
+    public List<Candle> candlesBefore(String symbol, Timeframe timeframe, int count, Long beforeMillis) throws Exception {
+        return requestKlines(symbol, requireNativeInterval(timeframe), count, beforeMillis);
+    }
+    
+    private AdapterResult<Candle> candleList(String symbol, String interval, int limit) {
         try {
-            String url = API_URL + "/klines?symbol=" + symbol + "&interval=" + interval + "&limit=" + limit;
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setAccept(java.util.Collections.singletonList(MediaType.APPLICATION_JSON));
-            
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            
-            ResponseEntity<String> response = restTemplate.exchange(
-                url, 
-                HttpMethod.GET, 
-                entity,
-                String.class
-            );
-            
-            // 바이낸스 API 응답을 업비트 API 형식으로 변환
-            JsonNode candlesData = objectMapper.readTree(response.getBody());
-            ArrayNode formattedCandles = objectMapper.createArrayNode();
-            
-            for (JsonNode candle : candlesData) {
-                long openTime = candle.get(0).asLong(); // 시가 시간 (밀리초)
-                String openPrice = candle.get(1).asText(); // 시가
-                String highPrice = candle.get(2).asText(); // 고가
-                String lowPrice = candle.get(3).asText(); // 저가
-                String closePrice = candle.get(4).asText(); // 종가
-                String volume = candle.get(5).asText(); // 거래량
-                
-                // 날짜 변환 (UTC)
-                java.time.Instant instant = java.time.Instant.ofEpochMilli(openTime);
-                String utcTimeStr = instant.toString().replace("Z", "");
-                
-                // KST 시간 변환 (UTC + 9시간)
-                java.time.ZonedDateTime kstTime = java.time.ZonedDateTime.ofInstant(
-                    instant, java.time.ZoneId.of("Asia/Seoul"));
-                String kstTimeStr = kstTime.toLocalDateTime().toString();
-                
-                // 업비트 API 형식에 맞게 변환
-                JsonNode formattedCandle = objectMapper.createObjectNode()
-                    .put("market", symbol)
-                    .put("candle_date_time_utc", utcTimeStr)
-                    .put("candle_date_time_kst", kstTimeStr)
-                    .put("opening_price", Double.parseDouble(openPrice))
-                    .put("high_price", Double.parseDouble(highPrice))
-                    .put("low_price", Double.parseDouble(lowPrice))
-                    .put("trade_price", Double.parseDouble(closePrice))
-                    .put("candle_acc_trade_price", Double.parseDouble(volume) * Double.parseDouble(closePrice)) // 대략적인 계산
-                    .put("candle_acc_trade_volume", Double.parseDouble(volume));
-                    
-                formattedCandles.add(formattedCandle);
-            }
-            
-            return objectMapper.writeValueAsString(formattedCandles);
+            return AdapterResult.of(requestKlines(symbol, interval, limit, null));
         } catch (Exception e) {
-            System.err.println("캔들 데이터 조회 실패: " + e.getMessage());
-            e.printStackTrace();
-            return generateFallbackCandles(symbol, limit);
+            metrics.recordFallback("binance", "candles");
+            log.warn("캔들 데이터 조회 실패: {}", e.getMessage());
+            return AdapterResult.fallback(generateFallbackCandles(symbol, limit));
+        }
+    }
+    
+    private List<Candle> requestKlines(String symbol, String interval, int limit, Long beforeMillis) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        jsonHeaders(headers);
+        
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+        
+        ResponseEntity<String> response = restTemplate.exchange(
+            klinesUrl(symbol, interval, limit, beforeMillis), 
+            HttpMethod.GET, 
+            entity,
+            String.class
+        );
+        
+        return parseKlines(symbol, response.getBody(), limit);
+    }
+    
+    private String klinesUrl(String symbol, String interval, int limit, Long beforeMillis) {
+        String url = API_URL + "/klines?symbol=" + symbol + "&interval=" + interval + "&limit=" + limit;
+        if (beforeMillis != null) {
+            // endTime 은 시가 시간 기준 포함 조건
+            url += "&endTime=" + (beforeMillis - 1);
         }
+        return url;
+    }
+    
+    private static void jsonHeaders(HttpHeaders headers) {
+        headers.setAccept(java.util.Collections.singletonList(MediaType.APPLICATION_JSON));
     }
     
     /**
-     * 임시 캔들 데이터 생성
+     * klines 응답을 스트리밍으로 읽어 바로 Candle 로 변환 (업비트와 같은 최신순)
+     *
+     * 각 원소는 [시가 시간, 시가, 고가, 저가, 종가, 거래량, 종가 시간, 거래대금, ...] 배열이다.
      */
-    private String generateFallbackCandles(String symbol, int count) {
-        try {
-            ArrayNode candles = objectMapper.createArrayNode();
-            long now = System.currentTimeMillis();
-            double basePrice = 50000.0; // 기본 가격 (예: 비트코인)
-            
-            if (symbol.equals("ETHUSDT")) basePrice = 3000.0;
-            else if (symbol.equals("XRPUSDT")) basePrice = 0.5;
-            else if (symbol.equals("SOLUSDT")) basePrice = 100.0;
-            else if (!symbol.equals("BTCUSDT")) basePrice = 10.0;
-            
-            for (int i = count - 1; i >= 0; i--) {
-                double fluctuation = 0.02 * Math.random() - 0.01; // -1% ~ +1% 변동
-                double price = basePrice * (1 + fluctuation * i);
-                long timestamp = now - (i * 86400000); // 하루 간격
-                
-                // 날짜 변환
-                java.time.Instant instant = java.time.Instant.ofEpochMilli(timestamp);
-                String utcTimeStr = instant.toString().replace("Z", "");
-                
-                // KST 시간 변환 (UTC + 9시간)
-                java.time.ZonedDateTime kstTime = java.time.ZonedDateTime.ofInstant(
-                    instant, java.time.ZoneId.of("Asia/Seoul"));
-                String kstTimeStr = kstTime.toLocalDateTime().toString();
-                
-                JsonNode candle = objectMapper.createObjectNode()
-                    .put("market", symbol)
-                    .put("candle_date_time_utc", utcTimeStr)
-                    .put("candle_date_time_kst", kstTimeStr)
-                    .put("opening_price", price * 0.99)
-                    .put("high_price", price * 1.02)
-                    .put("low_price", price * 0.98)
-                    .put("trade_price", price)
-                    .put("candle_acc_trade_price", price * 100)
-                    .put("candle_acc_trade_volume", 100 + Math.random() * 50);
-                    
-                candles.add(candle);
+    private static List<Candle> parseKlines(String symbol, String json, int limit) throws Exception {
+        List<Candle> candles = new ArrayList<>(limit);
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("klines 응답이 배열이 아닙니다");
+            }
+            double[] values = new double[8];
+            while (parser.nextToken() == JsonToken.START_ARRAY) {
+                int index = 0;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (index < values.length) {
+                        // 가격/수량은 문자열, 시간은 숫자로 내려옴
+                        values[index] = parser.currentToken() == JsonToken.VALUE_STRING
+                            ? Double.parseDouble(parser.getText()) : parser.getDoubleValue();
+                    }
+                    index++;
+                }
+                candles.add(ExchangeJson.candle(symbol, (long) values[0], values[1], values[2], values[3],
+                    values[4], values[5], values[7]));
             }
-            
-            return objectMapper.writeValueAsString(candles);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return "[]";
         }
+        // 바이낸스는 오래된 순으로 내려주므로 업비트와 같은 최신순으로 맞춤
+        java.util.Collections.reverse(candles);
+        return candles;
     }
     
     /**
-     * 일봉 캔들 조회
+     * 임시 캔들 데이터 생성
      */
-    public String getDayCandles(String symbol, int count) {
-        return getCandles(symbol, "1d", count);
+    private List<Candle> generateFallbackCandles(String symbol, int count) {
+        List<Candle> candles = new ArrayList<>(count);
+        long now = System.currentTimeMillis();
+        double basePrice = 50000.0; // 기본 가격 (예: 비트코인)
+        
+        if (symbol.equals("ETHUSDT")) basePrice = 3000.0;
+        else if (symbol.equals("XRPUSDT")) basePrice = 0.5;
+        else if (symbol.equals("SOLUSDT")) basePrice = 100.0;
+        else if (!symbol.equals("BTCUSDT")) basePrice = 10.0;
+        
+        for (int i = 0; i < count; i++) {
+            double fluctuation = 0.02 * Math.random() - 0.01; // -1% ~ +1% 변동
+            double price = basePrice * (1 + fluctuation * i);
+            long timestamp = now - (i * 86400000L); // 하루 간격
+            
+            candles.add(ExchangeJson.candle(symbol, timestamp, price * 0.99, price * 1.02, price * 0.98, price,
+                100 + Math.random() * 50, price * 100));
+        }
+        
+        return candles;
     }
     
-    /**
-     * 시간봉 캔들 조회
-     */
-    public String getHourCandles(String symbol, int count) {
-        return getCandles(symbol, "1h", count);
+    @Override
+    public String id() {
+        return "binance";
+    }
+    
+    @Override
+    public int maxCandlesPerRequest() {
+        return MAX_CANDLES_PER_REQUEST;
+    }
+    
+    @Override
+    public String nativeInterval(Timeframe timeframe) {
+        switch (timeframe.unit()) {
+            case MINUTE:
+                return minuteInterval(timeframe.amount());
+            case DAY:
+                return timeframe.amount() == 1 || timeframe.amount() == 3 ? timeframe.amount() + "d" : null;
+            default:
+                return timeframe.amount() == 1 ? "1w" : null;
+        }
+    }
+    
+    private String requireNativeInterval(Timeframe timeframe) {
+        String interval = nativeInterval(timeframe);
+        if (interval == null) {
+            throw new IllegalArgumentException("바이낸스가 지원하지 않는 캔들 단위입니다: " + timeframe);
+        }
+        return interval;
     }
     
     /**
-     * 분봉 캔들 조회
+     * 분 단위를 바이낸스 kline interval 로 변환 (지원하지 않으면 null)
      */
-    public String getMinuteCandles(String symbol, int minutes, int count) {
-        String interval;
-        if (minutes == 1) interval = "1m";
-        else if (minutes == 3) interval = "3m";
-        else if (minutes == 5) interval = "5m";
-        else if (minutes == 15) interval = "15m";
-        else if (minutes == 30) interval = "30m";
-        else interval = "1h"; // 기본값
-        
-        return getCandles(symbol, interval, count);
+    public static String minuteInterval(int minutes) {
+        switch (minutes) {
+            case 1: return "1m";
+            case 3: return "3m";
+            case 5: return "5m";
+            case 15: return "15m";
+            case 30: return "30m";
+            case 60: return "1h";
+            case 120: return "2h";
+            case 240: return "4h";
+            case 360: return "6h";
+            case 480: return "8h";
+            case 720: return "12h";
+            default: return null;
+        }
     }
     
     /**
@@ -0,0 +1,415 @@
+package com.crypto.analysis.service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.crypto.analysis.candle.BarRingBuffer;
+import com.crypto.analysis.candle.CandleBars;
+import com.crypto.analysis.exchange.ExchangeAdapter;
+import com.crypto.analysis.exchange.ExchangeRegistry;
+import com.crypto.analysis.model.Candle;
+import com.crypto.analysis.model.Timeframe;
+
+/**
+ * 1분봉 기반 멀티 타임프레임 캔들 집계 서비스
+ *
+ * 마켓별로 1분봉 링 버퍼와 일봉 링 버퍼를 유지한다.
+ * 일중 타임프레임(3m, 15m, 4h ...)은 1분봉을, 일/주 단위(1d, 3d, 1w)는 일봉을 합쳐 만든다.
+ * 일봉은 거래소 일봉으로 초기화한 뒤 들어오는 1분봉으로 당일 봉을 갱신한다.
+ *
+ * 한 번 조회된 마켓은 주기적으로 최신 1분봉만 받아 오므로, 요청 시점에는 외부 호출 없이 집계된다.
+ * 체결을 구독 중인 마켓(trades.markets)은 TradeTapeService 가 실시간 체결을 넘겨 진행 중인 1분봉을 바로 갱신한다.
+ * 일봉 재계산과 기준 일봉(base*)은 마켓별 lock 안에서만 읽고 쓴다.
+ * 버킷 경계는 거래소별 시간대(candle.aggregation.zone.*) 자정 기준으로 정렬된다.
+ */
+@Service
+public class CandleAggregationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CandleAggregationService.class);
+
+    private static final long MINUTE_MILLIS = 60_000L;
+
+    private final ExchangeRegistry exchangeRegistry;
+    private final CandleBackfillService candleBackfillService;
+    private final Map<String, MarketBars> markets = new ConcurrentHashMap<>();
+
+    @Value("${candle.aggregation.zone.upbit:UTC}")
+    private String UPBIT_ZONE;
+
+    @Value("${candle.aggregation.zone.binance:UTC}")
+    private String BINANCE_ZONE;
+
+    @Value("${candle.aggregation.minute-capacity:10080}")
+    private int MINUTE_CAPACITY;
+
+    @Value("${candle.aggregation.day-capacity:800}")
+    private int DAY_CAPACITY;
+
+    @Value("${candle.aggregation.idle-minutes:30}")
+    private long IDLE_MINUTES;
+
+    @Autowired
+    private JournalService journalService;
+
+    public CandleAggregationService(ExchangeRegistry exchangeRegistry, CandleBackfillService candleBackfillService) {
+        this.exchangeRegistry = exchangeRegistry;
+        this.candleBackfillService = candleBackfillService;
+    }
+
+    /**
+     * 지정한 타임프레임의 캔들을 최대 count 개 반환 (오래된 순)
+     */
+    public CandleBars getCandles(String exchange, String market, Timeframe timeframe, int count) throws Exception {
+        MarketBars bars = track(exchange, market);
+        ZoneId zone = zoneOf(exchange);
+
+        if (timeframe.isIntraday()) {
+            ensureMinuteHistory(bars, timeframe.approximateMinutes() * (count + 1));
+            return bars.minutes.aggregate(t -> timeframe.bucketStart(t, zone), count);
+        }
+
+        ensureDailyHistory(bars, (long) timeframe.days() * (count + 1));
+        return bars.days.aggregate(t -> timeframe.bucketStart(t, zone), count);
+    }
+
+    /**
+     * 업비트 캔들 API 형식(최신순) JSON 으로 반환
+     */
+    public String getCandlesJson(String exchange, String market, Timeframe timeframe, int count) throws Exception {
+        return getCandles(exchange, market, timeframe, count).toUpbitJson(market);
+    }
+
+    /**
+     * 1분봉 적재 (순서 무관)
+     */
+    public int ingestMinuteBars(String exchange, String market, List<Candle> candles) {
+        MarketBars bars = markets.computeIfAbsent(key(exchange, market), k -> new MarketBars(exchange, market));
+        bars.lock.lock();
+        try {
+            return ingestMinuteBars(bars, candles);
+        } finally {
+            bars.lock.unlock();
+        }
+    }
+
+    /**
+     * 스트리밍 체결 한 건 반영 (TradeTapeService 수신 스레드에서 호출)
+     */
+    public void ingestTrade(String exchange, String market, long timestamp, double price, double quantity) {
+        MarketBars bars = markets.get(key(exchange, market));
+        if (bars == null || bars.minuteDepth == 0) {
+            // 조회된 적 없거나 아직 1분봉을 적재하기 전인 마켓의 체결은 보관하지 않음
+            return;
+        }
+        long minute = Math.floorDiv(timestamp, MINUTE_MILLIS) * MINUTE_MILLIS;
+        if (!bars.minutes.applyTrade(minute, price, quantity) || bars.dayDepth == 0) {
+            return;
+        }
+        // 당일 일봉에도 바로 반영. 적재 중이라 락을 못 잡으면 건너뛰고 다음 1분봉 갱신의 일봉 재계산에 맡긴다
+        // (수신 스레드가 외부 호출을 기다리지 않도록)
+        if (bars.lock.tryLock()) {
+            try {
+                bars.days.applyTrade(Timeframe.ONE_DAY.bucketStart(minute, zoneOf(exchange)), price, quantity);
+            } finally {
+                bars.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 조회 중인 마켓의 최신 1분봉 갱신 및 오래 조회되지 않은 마켓 정리
+     */
+    @Scheduled(fixedDelayString = "${candle.aggregation.refresh-ms:60000}")
+    public void refreshTrackedMarkets() {
+        long now = System.currentTimeMillis();
+        for (MarketBars bars : markets.values()) {
+            if (now - bars.lastAccess > IDLE_MINUTES * MINUTE_MILLIS) {
+                markets.remove(key(bars.exchange, bars.market));
+                log.debug("캔들 집계 대상에서 제외: {} {}", bars.exchange, bars.market);
+                continue;
+            }
+            try {
+                long missing = (now - bars.minutes.lastOpenTime()) / MINUTE_MILLIS + 1;
+                // 조회는 락 밖에서, 적재와 일봉 재계산은 요청 스레드의 적재와 겹치지 않도록 락 안에서
+                List<Candle> candles = adapter(bars).candlesBefore(bars.market, Timeframe.ONE_MINUTE,
+                    (int) Math.min(Math.max(missing, 2), maxPerRequest(bars.exchange)), null);
+                bars.lock.lock();
+                try {
+                    ingestMinuteBars(bars, candles);
+                } finally {
+                    bars.lock.unlock();
+                }
+            } catch (Exception e) {
+                log.warn("1분봉 갱신 실패 {} {}: {}", bars.exchange, bars.market, e.getMessage());
+            }
+        }
+    }
+
+    private MarketBars track(String exchange, String market) {
+        MarketBars bars = markets.computeIfAbsent(key(exchange, market), k -> new MarketBars(exchange, market));
+        bars.lastAccess = System.currentTimeMillis();
+        return bars;
+    }
+
+    /**
+     * 1분봉을 최소 minutesNeeded 개(용량 이내)까지 적재
+     *
+     * 마켓마다 적재한 깊이를 기억해 두고, 더 긴 기록을 요청하면 가장 오래된 봉 이전을 이어서 채운다.
+     */
+    private void ensureMinuteHistory(MarketBars bars, long minutesNeeded) throws Exception {
+        int count = (int) Math.max(Math.min(minutesNeeded, MINUTE_CAPACITY), 1);
+        if (bars.minuteDepth >= count) {
+            return;
+        }
+        bars.lock.lock();
+        try {
+            if (bars.minuteDepth >= count) {
+                return;
+            }
+            if (bars.minuteDepth == 0) {
+                fetchMinutes(bars, Math.min(count, maxPerRequest(bars.exchange)));
+            }
+            if (bars.minutes.size() < count) {
+                bars.minutes.mergeOlder(olderBars(bars, Timeframe.ONE_MINUTE, count, bars.minutes.size(),
+                    bars.minutes.firstOpenTime()));
+            }
+            bars.minuteDepth = count;
+        } finally {
+            bars.lock.unlock();
+        }
+    }
+
+    /**
+     * 일봉을 최소 daysNeeded 개(용량 이내)까지 적재 (1분봉과 같이 적재한 깊이를 기억하고 부족하면 이어서 채움)
+     */
+    private void ensureDailyHistory(MarketBars bars, long daysNeeded) throws Exception {
+        int count = (int) Math.max(Math.min(daysNeeded, DAY_CAPACITY), 1);
+        if (bars.dayDepth >= count) {
+            return;
+        }
+        bars.lock.lock();
+        try {
+            if (bars.dayDepth >= count) {
+                return;
+            }
+            ZoneId zone = zoneOf(bars.exchange);
+            if (isUtcAligned(zone)) {
+                if (bars.dayDepth == 0) {
+                    // 당일 봉을 1분봉으로 이어 붙이기 위해 1분봉을 먼저 채움
+                    ensureMinuteHistory(bars, maxPerRequest(bars.exchange));
+                    // 업비트/바이낸스 일봉은 UTC 00:00 기준이므로 UTC 정렬일 때만 거래소 일봉을 그대로 사용
+                    seedDays(bars, adapter(bars).candlesBefore(bars.market, Timeframe.ONE_DAY,
+                        Math.min(count, maxPerRequest(bars.exchange)), null));
+                }
+                if (bars.days.size() < count) {
+                    bars.days.mergeOlder(olderBars(bars, Timeframe.ONE_DAY, count, bars.days.size(),
+                        bars.days.firstOpenTime()));
+                }
+            } else {
+                if (bars.dayDepth == 0) {
+                    log.info("{} 시간대가 UTC 가 아니므로 일봉을 1분봉 기록으로만 구성합니다: {}", bars.exchange, zone);
+                }
+                ensureMinuteHistory(bars, Math.max(count * 1440L, maxPerRequest(bars.exchange)));
+                rollDays(bars, bars.minutes.firstOpenTime());
+            }
+            bars.dayDepth = count;
+        } finally {
+            bars.lock.unlock();
+        }
+    }
+
+    /**
+     * before 이전의 봉 (오래된 순), 한 페이지를 넘으면 저장된 백필 데이터에서 읽음
+     */
+    private CandleBars olderBars(MarketBars bars, Timeframe timeframe, int count, int have, long before) throws Exception {
+        if (count > maxPerRequest(bars.exchange)) {
+            return candleBackfillService.loadBars(bars.exchange, bars.market, timeframe, count);
+        }
+        List<Candle> candles = adapter(bars).candlesBefore(bars.market, timeframe, count - have,
+            before == Long.MAX_VALUE ? null : before);
+        int n = candles.size();
+        boolean descending = n > 1 && openTime(candles.get(0)) > openTime(candles.get(n - 1));
+        CandleBars older = new CandleBars(n);
+        for (int k = 0; k < n; k++) {
+            Candle c = candles.get(descending ? n - 1 - k : k);
+            older.add(openTime(c), c.openingPrice(), c.highPrice(), c.lowPrice(), c.tradePrice(),
+                c.candleAccTradeVolume(), c.candleAccTradePrice());
+        }
+        return older;
+    }
+
+    private void fetchMinutes(MarketBars bars, int count) throws Exception {
+        ingestMinuteBars(bars, adapter(bars).candlesBefore(bars.market, Timeframe.ONE_MINUTE, count, null));
+    }
+
+    private int ingestMinuteBars(MarketBars bars, List<Candle> candles) {
+        int n = candles.size();
+        if (n == 0) {
+            return 0;
+        }
+
+        // 오래된 순으로 넣어야 링 버퍼 뒤에 붙음
+        boolean descending = n > 1 && openTime(candles.get(0)) > openTime(candles.get(n - 1));
+
+        int ingested = 0;
+        long earliest = Long.MAX_VALUE;
+        for (int k = 0; k < n; k++) {
+            Candle c = candles.get(descending ? n - 1 - k : k);
+            long time = openTime(c);
+            if (bars.minutes.upsert(time, c.openingPrice(), c.highPrice(), c.lowPrice(), c.tradePrice(),
+                    c.candleAccTradeVolume(), c.candleAccTradePrice())) {
+                journalService.recordCandle(bars.exchange, bars.market, time, c.openingPrice(), c.highPrice(),
+                    c.lowPrice(), c.tradePrice(), c.candleAccTradeVolume(), c.candleAccTradePrice());
+                ingested++;
+                earliest = Math.min(earliest, time);
+            }
+        }
+        if (ingested > 0 && bars.dayDepth > 0) {
+            rollDays(bars, earliest);
+        }
+        return ingested;
+    }
+
+    /**
+     * 거래소 일봉으로 일봉 버퍼 초기화
+     *
+     * 가장 최근(진행 중) 일봉은 기준값으로 보관하고, 이후의 1분봉으로 갱신한다.
+     */
+    private void seedDays(MarketBars bars, List<Candle> candles) {
+        int n = candles.size();
+        if (n == 0) {
+            return;
+        }
+        boolean descending = n > 1 && openTime(candles.get(0)) > openTime(candles.get(n - 1));
+
+        long latestDay = Long.MIN_VALUE;
+        for (int k = 0; k < n; k++) {
+            Candle c = candles.get(descending ? n - 1 - k : k);
+            long day = openTime(c);
+            bars.days.upsert(day, c.openingPrice(), c.highPrice(), c.lowPrice(), c.tradePrice(),
+                c.candleAccTradeVolume(), c.candleAccTradePrice());
+            latestDay = Math.max(latestDay, day);
+        }
+
+        CandleBars latest = bars.days.copyRange(latestDay, latestDay + 1);
+        if (latest.size() == 1) {
+            bars.baseDay = latestDay;
+            bars.baseThrough = bars.minutes.lastOpenTime();
+            bars.baseOpen = latest.open(0);
+            bars.baseHigh = latest.high(0);
+            bars.baseLow = latest.low(0);
+            bars.baseVolume = latest.volume(0);
+            bars.baseQuoteVolume = latest.quoteVolume(0);
+        }
+    }
+
+    /**
+     * fromTime 이 속한 날부터 최신 1분봉이 속한 날까지 일봉 재계산
+     */
+    private void rollDays(MarketBars bars, long fromTime) {
+        if (fromTime == Long.MAX_VALUE || bars.minutes.size() == 0) {
+            return;
+        }
+        ZoneId zone = zoneOf(bars.exchange);
+        long firstMinute = bars.minutes.firstOpenTime();
+        long lastMinute = bars.minutes.lastOpenTime();
+
+        long day = Timeframe.ONE_DAY.bucketStart(fromTime, zone);
+        while (day <= lastMinute) {
+            long nextDay = Timeframe.ONE_DAY.bucketStart(day + 36 * 3_600_000L, zone);
+            boolean base = day == bars.baseDay;
+
+            // 1분봉이 그날 처음부터 있지 않고 기준 일봉도 없으면 정확한 일봉을 만들 수 없음
+            if (base || firstMinute <= day) {
+                long from = base ? bars.baseThrough + MINUTE_MILLIS : day;
+                CandleBars minutes = bars.minutes.copyRange(from, nextDay);
+
+                double o = base ? bars.baseOpen : Double.NaN;
+                double h = base ? bars.baseHigh : Double.NEGATIVE_INFINITY;
+                double l = base ? bars.baseLow : Double.POSITIVE_INFINITY;
+                double c = Double.NaN;
+                double v = base ? bars.baseVolume : 0;
+                double qv = base ? bars.baseQuoteVolume : 0;
+                for (int i = 0; i < minutes.size(); i++) {
+                    if (Double.isNaN(o)) o = minutes.open(i);
+                    h = Math.max(h, minutes.high(i));
+                    l = Math.min(l, minutes.low(i));
+                    c = minutes.close(i);
+                    v += minutes.volume(i);
+                    qv += minutes.quoteVolume(i);
+                }
+                if (Double.isNaN(c) && base) {
+                    CandleBars seeded = bars.days.copyRange(day, day + 1);
+                    c = seeded.size() == 1 ? seeded.close(0) : o;
+                }
+                if (!Double.isNaN(o) && !Double.isNaN(c)) {
+                    bars.days.upsert(day, o, h, l, c, v, qv);
+                }
+            }
+            day = nextDay;
+        }
+    }
+
+    private ZoneId zoneOf(String exchange) {
+        return ZoneId.of("upbit".equalsIgnoreCase(exchange) ? UPBIT_ZONE : BINANCE_ZONE);
+    }
+
+    private boolean isUtcAligned(ZoneId zone) {
+        return zone.getRules().isFixedOffset() && zone.getRules().getOffset(Instant.EPOCH).getTotalSeconds() == 0;
+    }
+
+    private ExchangeAdapter adapter(MarketBars bars) {
+        return exchangeRegistry.get(bars.exchange);
+    }
+
+    // 캔들 API 1회 호출 최대 개수
+    private int maxPerRequest(String exchange) {
+        return exchangeRegistry.get(exchange).maxCandlesPerRequest();
+    }
+
+    private static long openTime(Candle candle) {
+        return candle.candleDateTimeUtc().toInstant().toEpochMilli();
+    }
+
+    private static String key(String exchange, String market) {
+        return exchange.toLowerCase() + ":" + market;
+    }
+
+    private class MarketBars {
+        final String exchange;
+        final String market;
+        final BarRingBuffer minutes = new BarRingBuffer(MINUTE_CAPACITY);
+        final BarRingBuffer days = new BarRingBuffer(DAY_CAPACITY);
+        // 초기 적재 중 외부 API 를 기다리므로 synchronized 대신 사용 (가상 스레드가 캐리어에 고정되지 않도록)
+        final ReentrantLock lock = new ReentrantLock();
+        volatile long lastAccess = System.currentTimeMillis();
+        // 지금까지 적재한 기록 깊이 (봉 개수, 0 이면 아직 적재 전)
+        volatile int minuteDepth;
+        volatile int dayDepth;
+
+        // 거래소 일봉으로 받은 진행 중 일봉 (baseThrough 이후 1분봉을 더해 갱신, lock 안에서만 접근)
+        long baseDay = Long.MIN_VALUE;
+        long baseThrough;
+        double baseOpen;
+        double baseHigh;
+        double baseLow;
+        double baseVolume;
+        double baseQuoteVolume;
+
+        MarketBars(String exchange, String market) {
+            this.exchange = exchange;
+            this.market = market;
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.crypto.analysis.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.crypto.analysis.candle.CandleBars;
+import com.crypto.analysis.exchange.ExchangeAdapter;
+import com.crypto.analysis.exchange.ExchangeRegistry;
+import com.crypto.analysis.logging.MdcTaskDecorator;
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.model.Candle;
+import com.crypto.analysis.model.CandleRecord;
+import com.crypto.analysis.model.Timeframe;
+import com.crypto.analysis.repository.CandleRecordRepository;
+import com.crypto.analysis.upstream.RateLimitBudget;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 과거 캔들 백필 서비스
+ *
+ * 저장된 구간 앞뒤로 비어 있는 부분만 to/endTime 커서로 거슬러 올라가며 받아 DB 에 저장한다.
+ * 봉 간격이 고정이므로 페이지별 커서를 미리 계산해 병렬로 받고, 거래가 없어 건너뛴 봉 때문에
+ * 생기는 페이지 겹침은 병합 단계에서 시가 시각 기준으로 중복 제거한다.
+ * 거래소별 요청 한도는 RateLimitBudget 으로 나눠 쓴다.
+ */
+@Service
+public class CandleBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(CandleBackfillService.class);
+
+    // 바이낸스 klines 요청 weight (limit 1000 기준)
+    private static final int BINANCE_KLINES_WEIGHT = 2;
+
+    private final ExchangeRegistry exchangeRegistry;
+    private final CandleRecordRepository repository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 시리즈별 백필 직렬화 (같은 구간을 동시에 받아 유니크 제약에 걸리지 않도록)
+    // 락을 쥔 채 페이지 다운로드를 기다리므로 synchronized 대신 ReentrantLock (가상 스레드 고정 방지)
+    private final Map<String, ReentrantLock> seriesLocks = new ConcurrentHashMap<>();
+    // 상장 이전까지 거슬러 올라가 더 이상 과거 데이터가 없는 시리즈
+    private final Set<String> exhausted = ConcurrentHashMap.newKeySet();
+
+    @Value("${candle.backfill.parallelism:4}")
+    private int PARALLELISM;
+
+    @Value("${candle.backfill.max-pages:100}")
+    private int MAX_PAGES;
+
+    @Value("${candle.backfill.upbit.requests-per-second:8}")
+    private double UPBIT_REQUESTS_PER_SECOND;
+
+    @Value("${candle.backfill.binance.weight-per-minute:2400}")
+    private double BINANCE_WEIGHT_PER_MINUTE;
+
+    @Autowired
+    private AnalysisMetrics metrics;
+
+    @Autowired
+    private MdcTaskDecorator mdcTaskDecorator;
+
+    private ThreadPoolTaskExecutor executor;
+    private RateLimitBudget upbitBudget;
+    private RateLimitBudget binanceBudget;
+
+    public CandleBackfillService(ExchangeRegistry exchangeRegistry, CandleRecordRepository repository) {
+        this.exchangeRegistry = exchangeRegistry;
+        this.repository = repository;
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(PARALLELISM);
+        executor.setMaxPoolSize(PARALLELISM);
+        executor.setThreadNamePrefix("candle-backfill-");
+        executor.setTaskDecorator(mdcTaskDecorator);
+        executor.initialize();
+
+        upbitBudget = new RateLimitBudget("upbit", UPBIT_REQUESTS_PER_SECOND, (int) Math.max(1, UPBIT_REQUESTS_PER_SECOND));
+        binanceBudget = new RateLimitBudget("binance", BINANCE_WEIGHT_PER_MINUTE / 60.0,
+            (int) Math.max(BINANCE_KLINES_WEIGHT, BINANCE_WEIGHT_PER_MINUTE / 60.0));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 최근 count 개의 확정 봉이 DB 에 있도록 빈 구간만 받아 저장
+     *
+     * @return 새로 저장한 봉 수
+     */
+    public int backfill(String exchange, String market, Timeframe timeframe, int count) throws Exception {
+        String source = exchange.toLowerCase();
+        String interval = timeframe.toString();
+        String seriesKey = source + ":" + market + ":" + interval;
+        long intervalMillis = timeframe.approximateMinutes() * 60_000L;
+        ExchangeAdapter adapter = exchangeRegistry.get(source);
+        if (!adapter.supports(timeframe)) {
+            throw new IllegalArgumentException(source + " 가 직접 제공하지 않는 캔들 단위입니다: " + timeframe);
+        }
+        int pageSize = adapter.maxCandlesPerRequest();
+
+        ReentrantLock lock = seriesLock(seriesKey);
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            Long first = repository.findFirstOpenTime(source, market, interval);
+            Long last = repository.findLastOpenTime(source, market, interval);
+            long stored = first == null ? 0 : repository.countBySourceAndMarketAndCandleInterval(source, market, interval);
+
+            PagePlan plan = planPages(first, last, stored, count, now, intervalMillis, pageSize, MAX_PAGES,
+                exhausted.contains(seriesKey));
+            List<Long> cursors = plan.cursors();
+            Long probeCursor = plan.probeCursor();
+            if (cursors.isEmpty()) {
+                return 0;
+            }
+
+            long start = System.nanoTime();
+            Set<Long> failed = new HashSet<>();
+            TreeMap<Long, CandleRecord> merged = downloadPages(adapter, market, timeframe, cursors, pageSize, failed);
+            if (probeCursor != null && !failed.contains(probeCursor) && merged.headMap(probeCursor).isEmpty()) {
+                // 가장 오래된 페이지가 비었으면 상장 시점까지 받은 것
+                exhausted.add(seriesKey);
+            }
+            dropPastFailures(merged, cursors, plan.headPages(), failed, pageSize * intervalMillis);
+
+            // 진행 중인 봉은 값이 바뀌므로 저장하지 않음
+            merged.tailMap(now - intervalMillis, false).clear();
+            int saved = saveNew(source, market, interval, merged);
+            log.info("캔들 백필 {} {} {}: 페이지 {}개, 신규 {}개, {}ms", source, market, interval,
+                cursors.size(), saved, (System.nanoTime() - start) / 1_000_000);
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 최근 count 개 확정 봉을 오래된 순으로 반환 (부족하면 먼저 백필)
+     */
+    public CandleBars loadBars(String exchange, String market, Timeframe timeframe, int count) throws Exception {
+        backfill(exchange, market, timeframe, count);
+        return loadStoredBars(exchange.toLowerCase(), market, timeframe.toString(), count);
+    }
+
+    /**
+     * 업비트 캔들 API 형식(최신순) JSON 으로 반환
+     */
+    public String getCandlesJson(String exchange, String market, Timeframe timeframe, int count) throws Exception {
+        return loadBars(exchange, market, timeframe, count).toUpbitJson(market);
+    }
+
+    /**
+     * 저장된 봉만 조회 (외부 호출 없음)
+     */
+    public CandleBars loadStoredBars(String source, String market, String interval, int count) {
+        List<CandleRecord> records = repository.findBySourceAndMarketAndCandleIntervalOrderByOpenTimeDesc(
+            source, market, interval, PageRequest.of(0, Math.max(count, 1)));
+        CandleBars bars = new CandleBars(records.size());
+        for (int i = records.size() - 1; i >= 0; i--) {
+            CandleRecord r = records.get(i);
+            bars.add(r.getOpenTime(), r.getOpeningPrice(), r.getHighPrice(), r.getLowPrice(), r.getTradePrice(),
+                r.getAccTradeVolume(), r.getAccTradePrice());
+        }
+        return bars;
+    }
+
+    public long countStored(String source, String market, String interval) {
+        return repository.countBySourceAndMarketAndCandleInterval(source, market, interval);
+    }
+
+    /**
+     * 업비트 캔들 API 형식 JSON 을 그대로 저장 (이미 있는 봉은 건너뜀)
+     */
+    public int storeCandles(String source, String market, String interval, String candleJson) throws Exception {
+        TreeMap<Long, CandleRecord> merged = new TreeMap<>();
+        parseInto(merged, source, market, interval, candleJson);
+        ReentrantLock lock = seriesLock(source + ":" + market + ":" + interval);
+        lock.lock();
+        try {
+            return saveNew(source, market, interval, merged);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock seriesLock(String seriesKey) {
+        return seriesLocks.computeIfAbsent(seriesKey, k -> new ReentrantLock());
+    }
+
+    /**
+     * 받을 페이지 커서 계산
+     *
+     * 페이지 하나가 [cursor - pageSize * 간격, cursor) 를 덮는다. 앞쪽 headPages 개는 마지막 저장 봉 이후 ~ 현재이며,
+     * maxPages 에서 잘려도 저장 구간과 이어지도록 last 에서 앞으로 잡는다 (남은 부분은 다음 호출에서).
+     * 나머지는 저장된 가장 오래된 봉 이전 구간이며, 그중 가장 오래된 페이지가 probeCursor 이다.
+     */
+    static PagePlan planPages(Long first, Long last, long stored, int count, long now, long intervalMillis,
+            int pageSize, int maxPages, boolean exhausted) {
+        List<Long> cursors = new ArrayList<>();
+        long headCount = 0;
+        if (last != null) {
+            headCount = (now - last) / intervalMillis;
+            for (long from = last + intervalMillis; from < now && cursors.size() < maxPages;
+                    from += pageSize * intervalMillis) {
+                cursors.add(Math.min(from + pageSize * intervalMillis, now));
+            }
+        }
+        int headPages = cursors.size();
+        Long probeCursor = null;
+        long missingTail = count - stored - headCount;
+        if (missingTail > 0 && !exhausted) {
+            long tailFrom = first == null ? now : first;
+            long pages = Math.min((missingTail + pageSize - 1) / pageSize, maxPages - cursors.size());
+            for (long p = 0; p < pages; p++) {
+                probeCursor = tailFrom - p * pageSize * intervalMillis;
+                cursors.add(probeCursor);
+            }
+        }
+        return new PagePlan(cursors, headPages, probeCursor);
+    }
+
+    /** 백필 페이지 커서 (앞쪽 headPages 개는 최신 구간, probeCursor 는 가장 오래된 과거 페이지, 없으면 null) */
+    record PagePlan(List<Long> cursors, int headPages, Long probeCursor) {
+    }
+
+    /**
+     * 실패한 페이지 너머의 봉은 저장하지 않음
+     *
+     * 저장 구간의 first/last 만 보고 다음 백필 범위를 정하므로, 실패한 페이지를 건너뛰어 저장하면 그 구간이 영영 비게 된다.
+     * 앞쪽(최신) 페이지는 처음 실패한 페이지부터 이후를, 뒤쪽(과거) 페이지는 처음 실패한 페이지부터 이전을 버린다.
+     */
+    static void dropPastFailures(TreeMap<Long, CandleRecord> merged, List<Long> cursors, int headPages,
+            Set<Long> failed, long pageMillis) {
+        if (failed.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < headPages; i++) {
+            if (failed.contains(cursors.get(i))) {
+                merged.tailMap(cursors.get(i) - pageMillis).clear();
+                break;
+            }
+        }
+        for (int i = headPages; i < cursors.size(); i++) {
+            if (failed.contains(cursors.get(i))) {
+                merged.headMap(cursors.get(i)).clear();
+                break;
+            }
+        }
+    }
+
+    private TreeMap<Long, CandleRecord> downloadPages(ExchangeAdapter adapter, String market, Timeframe timeframe,
+            List<Long> cursors, int pageSize, Set<Long> failed) throws Exception {
+        String source = adapter.id();
+        String interval = timeframe.toString();
+
+        List<Future<List<Candle>>> pages = new ArrayList<>(cursors.size());
+        for (Long cursor : cursors) {
+            pages.add(executor.submit(() -> {
+                if ("binance".equals(source)) {
+                    binanceBudget.acquire(BINANCE_KLINES_WEIGHT);
+                } else {
+                    upbitBudget.acquire();
+                }
+                return adapter.candlesBefore(market, timeframe, pageSize, cursor);
+            }));
+        }
+
+        TreeMap<Long, CandleRecord> merged = new TreeMap<>();
+        Exception failure = null;
+        for (int i = 0; i < pages.size(); i++) {
+            try {
+                for (Candle candle : pages.get(i).get()) {
+                    long openTime = candle.candleDateTimeUtc().toInstant().toEpochMilli();
+                    merged.put(openTime, new CandleRecord(source, market, interval, openTime,
+                        candle.openingPrice(), candle.highPrice(), candle.lowPrice(), candle.tradePrice(),
+                        candle.candleAccTradeVolume(), candle.candleAccTradePrice()));
+                }
+            } catch (Exception e) {
+                // 일부 페이지 실패 시 저장 구간과 이어지는 페이지만 저장하고 나머지는 다음 호출에서 다시 채움
+                failure = e;
+                failed.add(cursors.get(i));
+                metrics.recordFallback(source, "candle_backfill");
+            }
+        }
+        if (failure != null) {
+            log.warn("캔들 백필 일부 페이지 실패 {} {} {}: {}", source, market, interval, failure.getMessage());
+            if (merged.isEmpty()) {
+                throw failure;
+            }
+        }
+        return merged;
+    }
+
+    private void parseInto(TreeMap<Long, CandleRecord> merged, String source, String market, String interval,
+            String candleJson) throws Exception {
+        JsonNode candles = objectMapper.readTree(candleJson);
+        for (JsonNode c : candles) {
+            long openTime = LocalDateTime.parse(c.get("candle_date_time_utc").asText().replace("Z", ""))
+                .toInstant(ZoneOffset.UTC).toEpochMilli();
+            merged.put(openTime, new CandleRecord(source, market, interval, openTime,
+                c.get("opening_price").asDouble(),
+                c.get("high_price").asDouble(),
+                c.get("low_price").asDouble(),
+                c.get("trade_price").asDouble(),
+                c.get("candle_acc_trade_volume").asDouble(),
+                c.get("candle_acc_trade_price").asDouble()));
+        }
+    }
+
+    private int saveNew(String source, String market, String interval, TreeMap<Long, CandleRecord> merged) {
+        if (merged.isEmpty()) {
+            return 0;
+        }
+        Set<Long> existing = new HashSet<>(repository.findOpenTimes(source, market, interval,
+            merged.firstKey(), merged.lastKey()));
+        List<CandleRecord> fresh = new ArrayList<>(merged.size());
+        for (CandleRecord record : merged.values()) {
+            if (!existing.contains(record.getOpenTime())) {
+                fresh.add(record);
+            }
+        }
+        repository.saveAll(fresh);
+        return fresh.size();
+    }
+}
@@ -1,6 +1,8 @@
 package com.crypto.analysis.service;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -9,24 +11,70 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.crypto.analysis.exchange.Ticker;
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.model.Candle;
+import com.crypto.analysis.orderbook.OrderBookSnapshot;
+import com.crypto.analysis.report.AnalysisReportRenderer;
+import com.crypto.analysis.upstream.ReactiveUpstreamClient;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import reactor.core.publisher.Mono;
+
 @Service
 public class ClaudeService {
     
+    private static final Logger log = LoggerFactory.getLogger(ClaudeService.class);
+    
+    // 업비트 candle_date_time_kst 와 같은 형식
+    private static final DateTimeFormatter CANDLE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    
+    // 분석 지시문과 응답 형식은 요청마다 같으므로 system 블록에 두고 프롬프트 캐시로 재사용
+    private static final String CRYPTO_SYSTEM_PROMPT = cryptoSystemPrompt();
+    private static final String STOCK_SYSTEM_PROMPT = stockSystemPrompt();
+    
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
-    private final String API_URL = "https://api.anthropic.com/v1/messages";
+    
+    @Autowired
+    private AnalysisMetrics metrics;
+
+    @Autowired
+    private AnalysisReportRenderer reportRenderer;
+    
+    @Autowired
+    private MacroDataService macroDataService;
+    
+    @Autowired
+    private OnchainCollectorService onchainCollectorService;
+    
+    @Autowired
+    private ReactiveUpstreamClient upstreamClient;
+    
+    @Autowired
+    private OrderBookService orderBookService;
+    
+    // Claude 응답은 수십 초가 걸리므로 일반 외부 호출과 다른 타임아웃/재시도 사용
+    @Value("${claude.api.timeout-ms:90000}")
+    private long CLAUDE_TIMEOUT_MS;
+    
+    @Value("${claude.api.retries:1}")
+    private int CLAUDE_RETRIES;
+    
+    @Value("${claude.api.url:https://api.anthropic.com/v1/messages}")
+    private String API_URL;
     
     @Value("${claude.api.key}")
     private String API_KEY;
@@ -40,8 +88,20 @@ public class ClaudeService {
     @Value("${cryptocompare.api.key}")
     private String CRYPTO_COMPARE_API_KEY;
     
-    @Value("${fred.api.key}")
-    private String FRED_API_KEY;
+    @Value("${alphavantage.api.base-url:https://www.alphavantage.co/query}")
+    private String ALPHA_VANTAGE_API_URL;
+    
+    @Value("${newsapi.api.base-url:https://newsapi.org/v2}")
+    private String NEWS_API_URL;
+    
+    @Value("${cryptocompare.api.base-url:https://min-api.cryptocompare.com/data/v2}")
+    private String CRYPTO_COMPARE_API_URL;
+    
+    @Value("${coingecko.api.base-url:https://api.coingecko.com/api/v3}")
+    private String COINGECKO_API_URL;
+    
+    @Value("${alternative.api.base-url:https://api.alternative.me}")
+    private String ALTERNATIVE_API_URL;
     
     // 코인 이름과 실제 API에서 사용할 티커 매핑
     private final Map<String, String> coinApiNames = new HashMap<>();
@@ -78,118 +138,181 @@ public class ClaudeService {
     
     public String generateAnalysis(Map<String, Object> data) {
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("x-api-key", API_KEY);
-            headers.set("anthropic-version", "2023-06-01");
-            
-            // 프롬프트에 사용할 구조화된 데이터 생성
-            Map<String, Object> structuredData = prepareStructuredData(data);
-            
-            // JSON 문자열로 변환
-            String jsonData = objectMapper.writeValueAsString(structuredData);
-            
-            // 거래소 및 통화 단위 정보 확인
-            String exchange = (String) data.getOrDefault("exchange", "upbit");
-            String currencyUnit = "upbit".equalsIgnoreCase(exchange) ? "원" : "달러(USD)";
-            String currencySymbol = "upbit".equalsIgnoreCase(exchange) ? "원" : "$";
-            
-            // 프롬프트 구성
-            StringBuilder prompt = new StringBuilder();
-            prompt.append("다음 데이터를 기반으로 ")
-                .append(data.get("market"))
-                .append("에 대한 단기(24시간), 중기(1주일), 장기(1개월) 전망을 분석해주세요.\n\n");
-            
-            prompt.append("현재 사용 중인 거래소는 ").append(exchange.toUpperCase()).append("이며, 통화 단위는 ").append(currencyUnit).append("입니다. ");
-            prompt.append("모든 가격 정보는 ").append(currencySymbol).append(" 단위로 표시해주세요.\n\n");
-            
-            prompt.append("현재 포지션이 없는 상태에서 매수/매도 확률(%)과 그 이유, 주요 지지/저항선, 위험 요소를 포함해주세요.\n");
-            prompt.append("매수와 매도 확률의 합이 100%가 되어야 합니다. 매수나 매도가 70% 이상이면 해당 포지션을 추천하고, 둘 다 70% 미만이면 관망으로 추천해주세요.\n");
-            prompt.append("매수를 추천하는 경우, 현재 진입 시 적정 수익실현 목표가와 손절매 가격을 구체적으로 제시해주세요. 추세와 변동성을 고려하여 리스크 대비 보상 비율도 계산해주세요.\n");
-            prompt.append("신뢰도 점수(1-10)도 함께 제공해주세요.\n\n");
-            
-            prompt.append("데이터:\n").append(jsonData).append("\n\n");
-            
-            prompt.append("다음 형식으로 응답해주세요:\n");
-            prompt.append("```json\n");
-            prompt.append("{\n");
-            prompt.append("  \"통화단위\": \"").append(currencySymbol).append("\",\n");
-            prompt.append("  \"거래소\": \"").append(exchange.toUpperCase()).append("\",\n");
-            prompt.append("  \"분석_요약\": \"핵심 분석 내용을 3-4문장으로 요약\",\n");
-            prompt.append("  \"매수매도_추천\": {\n");
-            prompt.append("    \"매수_확률\": 60,\n");
-            prompt.append("    \"매도_확률\": 40,\n");
-            prompt.append("    \"추천\": \"매수\" | \"매도\" | \"관망\",\n");
-            prompt.append("    \"신뢰도\": 7.5,\n");
-            prompt.append("    \"근거\": \"추천의 주요 근거 설명\"\n");
-            prompt.append("  },\n");
-            prompt.append("  \"매매_전략\": {\n");
-            prompt.append("    \"수익실현_목표가\": [가격1, 가격2],\n");
-            prompt.append("    \"손절매_라인\": 가격,\n");
-            prompt.append("    \"리스크_보상_비율\": 2.5,\n");
-            prompt.append("    \"전략_설명\": \"매매 전략에 대한 상세 설명\"\n");
-            prompt.append("  },\n");
-            prompt.append("  \"시간별_전망\": {\n");
-            prompt.append("    \"단기_24시간\": \"상승/하락/횡보 예상과 이유\",\n");
-            prompt.append("    \"중기_1주일\": \"상승/하락/횡보 예상과 이유\",\n");
-            prompt.append("    \"장기_1개월\": \"상승/하락/횡보 예상과 이유\"\n");
-            prompt.append("  },\n");
-            prompt.append("  \"기술적_분석\": {\n");
-            prompt.append("    \"주요_지지선\": [가격1, 가격2],\n");
-            prompt.append("    \"주요_저항선\": [가격1, 가격2],\n");
-            prompt.append("    \"추세_강도\": \"강/중/약\",\n");
-            prompt.append("    \"주요_패턴\": \"설명\"\n");
-            prompt.append("  },\n");
-            prompt.append("  \"고급_지표_분석\": {\n");
-            prompt.append("    \"MACD\": \"분석 및 신호\",\n");
-            prompt.append("    \"볼린저밴드\": \"분석 및 신호\",\n");
-            prompt.append("    \"피보나치\": \"주요 지지/저항 레벨\",\n");
-            prompt.append("    \"ATR\": \"변동성 분석\",\n");
-            prompt.append("    \"OBV\": \"거래량 추세 분석\"\n");
-            prompt.append("  },\n");
-            prompt.append("  \"최근_뉴스_요약\": {\n");
-            prompt.append("    \"주요_뉴스\": [\"뉴스1 요약\", \"뉴스2 요약\"],\n");
-            prompt.append("    \"뉴스_영향\": \"뉴스가 가격에 미치는 영향 분석\"\n");
-            prompt.append("  },\n");
-            prompt.append("  \"위험_요소\": [\n");
-            prompt.append("    \"주요 위험 요소 1\",\n");
-            prompt.append("    \"주요 위험 요소 2\"\n");
-            prompt.append("  ]\n");
-            prompt.append("}\n```\n\n");
-            
-            prompt.append("매수_확률과 매도_확률의 합은 반드시 100%가 되어야 합니다. 추천은 매수_확률이 70% 이상이면 '매수', 매도_확률이 70% 이상이면 '매도', 둘 다 70% 미만이면 '관망'으로 설정해주세요.");
-            prompt.append("JSON 형식이 정확해야 합니다. 분석은 명확하고 구체적인 정보를 포함해야 하며, 두루뭉술한 표현은 피해주세요.");
-            prompt.append("반드시 통화 단위(").append(currencySymbol).append(")를 고려하여 가격 정보를 제공해 주세요.");
-                
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", "claude-3-7-sonnet-latest");
-            requestBody.put("max_tokens", 3000);
-            
-            List<Map<String, String>> messages = new ArrayList<>();
-            Map<String, String> message = new HashMap<>();
-            message.put("role", "user");
-            message.put("content", prompt.toString());
-            messages.add(message);
-            
-            requestBody.put("messages", messages);
-            
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            
-            Map<String, Object> response = restTemplate.postForObject(API_URL, request, Map.class);
-            Map<String, Object> responseContent = (Map<String, Object>) ((List<Object>) response.get("content")).get(0);
-            String rawResponse = (String) responseContent.get("text");
-            
-            // JSON 결과 추출 및 포맷팅
-            return formatJsonResponse(rawResponse);
+            return generateLlmAnalysis(data);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.warn("Claude 분석 요청 실패, 대체 분석 사용: {}", e.getMessage());
+            metrics.recordFallback("anthropic", "crypto_analysis");
             
             // 오류 시 대체 분석 결과 제공
-            String fallbackResult = generateFallbackAnalysis(data);
-            return formatJsonResponse(fallbackResult);
+            return generateRuleBasedAnalysis(data);
         }
     }
     
+    /**
+     * 규칙 기반 분석 (RSI, 공포/욕심 지수, 현재가만 사용하므로 외부 호출 없이 바로 반환)
+     */
+    public String generateRuleBasedAnalysis(Map<String, Object> data) {
+        return formatJsonResponse(generateFallbackAnalysis(data));
+    }
+    
+    /**
+     * Claude 분석 (실패하면 대체 분석 대신 예외를 던짐)
+     */
+    public String generateLlmAnalysis(Map<String, Object> data) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("x-api-key", API_KEY);
+        headers.set("anthropic-version", "2023-06-01");
+        
+        // 프롬프트에 사용할 구조화된 데이터 생성
+        Map<String, Object> structuredData = prepareStructuredData(data);
+        
+        // JSON 문자열로 변환
+        String jsonData = objectMapper.writeValueAsString(structuredData);
+        
+        // 거래소 및 통화 단위 정보 확인
+        String exchange = (String) data.getOrDefault("exchange", "upbit");
+        String currencyUnit = "upbit".equalsIgnoreCase(exchange) ? "원" : "달러(USD)";
+        String currencySymbol = "upbit".equalsIgnoreCase(exchange) ? "원" : "$";
+        
+        // 요청마다 바뀌는 부분만 user 메시지로 보냄 (고정 지시문/응답 형식은 CRYPTO_SYSTEM_PROMPT)
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("다음 데이터를 기반으로 ")
+            .append(data.get("market"))
+            .append("에 대한 단기(24시간), 중기(1주일), 장기(1개월) 전망을 분석해주세요.\n\n");
+        
+        prompt.append("현재 사용 중인 거래소는 ").append(exchange.toUpperCase()).append("이며, 통화 단위는 ").append(currencyUnit).append("입니다. ");
+        prompt.append("모든 가격 정보는 ").append(currencySymbol).append(" 단위로 표시하고, 응답의 통화단위는 \"")
+            .append(currencySymbol).append("\", 거래소는 \"").append(exchange.toUpperCase()).append("\"로 채워주세요.\n\n");
+        
+        prompt.append("데이터:\n").append(jsonData);
+        
+        Map<String, Object> requestBody = cachedPromptRequest(CRYPTO_SYSTEM_PROMPT, prompt.toString());
+        
+        String rawResponse = callClaude("crypto", requestBody, headers);
+        
+        // JSON 결과 추출 및 포맷팅
+        return formatJsonResponse(rawResponse);
+    }
+    
+    /**
+     * 코인 분석 고정 지시문과 응답 형식 (요청마다 같으므로 프롬프트 캐시 접두어로 사용)
+     */
+    private static String cryptoSystemPrompt() {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("가상화폐 시장 분석가로서 요청에 주어진 마켓과 데이터를 기반으로 분석해주세요.\n\n");
+        prompt.append("현재 포지션이 없는 상태에서 매수/매도 확률(%)과 그 이유, 주요 지지/저항선, 위험 요소를 포함해주세요.\n");
+        prompt.append("매수와 매도 확률의 합이 100%가 되어야 합니다. 매수나 매도가 70% 이상이면 해당 포지션을 추천하고, 둘 다 70% 미만이면 관망으로 추천해주세요.\n");
+        prompt.append("매수를 추천하는 경우, 현재 진입 시 적정 수익실현 목표가와 손절매 가격을 구체적으로 제시해주세요. 추세와 변동성을 고려하여 리스크 대비 보상 비율도 계산해주세요.\n");
+        prompt.append("신뢰도 점수(1-10)도 함께 제공해주세요.\n");
+        prompt.append("호가 데이터가 있으면 스프레드와 매수/매도 잔량 불균형을 단기 유동성 신호로 함께 고려해주세요.\n");
+        prompt.append("기술지표에 vwap, volumeDelta, cvd, volumePoc 가 있으면 최근 체결 윈도우의 거래량 가중 평균가, 매수-매도 체결량, 누적 체결량 차이, 최다 거래 가격대로 해석해주세요.\n\n");
+        
+        prompt.append("다음 형식으로 응답해주세요:\n");
+        prompt.append("```json\n");
+        prompt.append("{\n");
+        prompt.append("  \"통화단위\": \"원 또는 $\",\n");
+        prompt.append("  \"거래소\": \"UPBIT 또는 BINANCE\",\n");
+        prompt.append("  \"분석_요약\": \"핵심 분석 내용을 3-4문장으로 요약\",\n");
+        prompt.append("  \"매수매도_추천\": {\n");
+        prompt.append("    \"매수_확률\": 60,\n");
+        prompt.append("    \"매도_확률\": 40,\n");
+        prompt.append("    \"추천\": \"매수\" | \"매도\" | \"관망\",\n");
+        prompt.append("    \"신뢰도\": 7.5,\n");
+        prompt.append("    \"근거\": \"추천의 주요 근거 설명\"\n");
+        prompt.append("  },\n");
+        prompt.append("  \"매매_전략\": {\n");
+        prompt.append("    \"수익실현_목표가\": [가격1, 가격2],\n");
+        prompt.append("    \"손절매_라인\": 가격,\n");
+        prompt.append("    \"리스크_보상_비율\": 2.5,\n");
+        prompt.append("    \"전략_설명\": \"매매 전략에 대한 상세 설명\"\n");
+        prompt.append("  },\n");
+        prompt.append("  \"시간별_전망\": {\n");
+        prompt.append("    \"단기_24시간\": \"상승/하락/횡보 예상과 이유\",\n");
+        prompt.append("    \"중기_1주일\": \"상승/하락/횡보 예상과 이유\",\n");
+        prompt.append("    \"장기_1개월\": \"상승/하락/횡보 예상과 이유\"\n");
+        prompt.append("  },\n");
+        prompt.append("  \"기술적_분석\": {\n");
+        prompt.append("    \"주요_지지선\": [가격1, 가격2],\n");
+        prompt.append("    \"주요_저항선\": [가격1, 가격2],\n");
+        prompt.append("    \"추세_강도\": \"강/중/약\",\n");
+        prompt.append("    \"주요_패턴\": \"설명\"\n");
+        prompt.append("  },\n");
+        prompt.append("  \"고급_지표_분석\": {\n");
+        prompt.append("    \"MACD\": \"분석 및 신호\",\n");
+        prompt.append("    \"볼린저밴드\": \"분석 및 신호\",\n");
+        prompt.append("    \"피보나치\": \"주요 지지/저항 레벨\",\n");
+        prompt.append("    \"ATR\": \"변동성 분석\",\n");
+        prompt.append("    \"OBV\": \"거래량 추세 분석\"\n");
+        prompt.append("  },\n");
+        prompt.append("  \"최근_뉴스_요약\": {\n");
+        prompt.append("    \"주요_뉴스\": [\"뉴스1 요약\", \"뉴스2 요약\"],\n");
+        prompt.append("    \"뉴스_영향\": \"뉴스가 가격에 미치는 영향 분석\"\n");
+        prompt.append("  },\n");
+        prompt.append("  \"위험_요소\": [\n");
+        prompt.append("    \"주요 위험 요소 1\",\n");
+        prompt.append("    \"주요 위험 요소 2\"\n");
+        prompt.append("  ]\n");
+        prompt.append("}\n```\n\n");
+        
+        prompt.append("매수_확률과 매도_확률의 합은 반드시 100%가 되어야 합니다. 추천은 매수_확률이 70% 이상이면 '매수', 매도_확률이 70% 이상이면 '매도', 둘 다 70% 미만이면 '관망'으로 설정해주세요.");
+        prompt.append("JSON 형식이 정확해야 합니다. 분석은 명확하고 구체적인 정보를 포함해야 하며, 두루뭉술한 표현은 피해주세요.");
+        prompt.append("반드시 요청에 주어진 통화 단위를 고려하여 가격 정보를 제공해 주세요.");
+        return prompt.toString();
+    }
+    
+    /**
+     * 고정 지시문을 캐시 가능한 system 블록으로, 요청별 데이터를 user 메시지로 보내는 요청 본문
+     *
+     * system 블록이 요청마다 같아야 캐시가 맞으므로 요청별 값(마켓, 통화, 데이터)은 user 메시지에만 넣는다.
+     */
+    private Map<String, Object> cachedPromptRequest(String systemPrompt, String userPrompt) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", "claude-3-7-sonnet-latest");
+        requestBody.put("max_tokens", 3000);
+        
+        Map<String, Object> system = new HashMap<>();
+        system.put("type", "text");
+        system.put("text", systemPrompt);
+        system.put("cache_control", Map.of("type", "ephemeral"));
+        requestBody.put("system", List.of(system));
+        
+        List<Map<String, String>> messages = new ArrayList<>();
+        Map<String, String> message = new HashMap<>();
+        message.put("role", "user");
+        message.put("content", userPrompt);
+        messages.add(message);
+        
+        requestBody.put("messages", messages);
+        return requestBody;
+    }
+    
+    /**
+     * Claude API 호출 (지연 시간과 토큰 사용량 기록)
+     */
+    private String callClaude(String kind, Map<String, Object> requestBody, HttpHeaders headers) {
+        return callClaudeAsync(kind, requestBody, headers).block();
+    }
+    
+    public Mono<String> callClaudeAsync(String kind, Map<String, Object> requestBody, HttpHeaders headers) {
+        String model = String.valueOf(requestBody.get("model"));
+        ReactiveUpstreamClient.Policy policy = new ReactiveUpstreamClient.Policy(
+            Duration.ofMillis(CLAUDE_TIMEOUT_MS), CLAUDE_RETRIES, upstreamClient.defaultPolicy().backoff());
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return upstreamClient.post(API_URL, h -> h.addAll(headers), requestBody, policy)
+                .flatMap(body -> Mono.fromCallable(() -> {
+                    JsonNode response = objectMapper.readTree(body);
+                    JsonNode usage = response.path("usage");
+                    metrics.recordClaudeCall(kind, model, "success", System.nanoTime() - start,
+                        usage.path("input_tokens").asLong(), usage.path("output_tokens").asLong(),
+                        usage.path("cache_read_input_tokens").asLong(), usage.path("cache_creation_input_tokens").asLong());
+                    return response.path("content").path(0).path("text").asText();
+                }))
+                .doOnError(e -> metrics.recordClaudeCall(kind, model, "error", System.nanoTime() - start, 0, 0, 0, 0));
+        });
+    }
+    
     /**
      * 구조화된 입력 데이터 준비
      */
@@ -238,10 +361,17 @@ public class ClaudeService {
         Map<String, Object> advancedIndicators = getAdvancedIndicators(currentPrice, candleDataList);
         structuredData.put("고급기술지표", advancedIndicators);
         
-        // 코인 관련 뉴스 가져오기
-        Map<String, Object> newsData = getCoinNews(coinSymbol, coinName);
+        // 코인 관련 뉴스 가져오기 (분석 데이터 준비 단계에서 미리 받은 경우 재사용)
+        Map<String, Object> newsData = data.get("coinNews") instanceof Map<?, ?> prefetched
+            ? (Map<String, Object>) prefetched : getCoinNews(coinSymbol, coinName);
         structuredData.put("뉴스", newsData);
         
+        // 호가 요약 (실시간 구독 중인 마켓만)
+        Map<String, Object> orderBook = getOrderBookData(exchange, market);
+        if (orderBook != null) {
+            structuredData.put("호가", orderBook);
+        }
+        
         // 공포/욕심 지수 정보
         Map<String, Object> marketSentiment = getMarketSentiment(data);
         structuredData.put("시장감정", marketSentiment);
@@ -263,14 +393,14 @@ public class ClaudeService {
     private double getCurrentPrice(Map<String, Object> data, String coinSymbol, String exchange) {
         double currentPrice = 0.0;
         try {
-            JsonNode priceData = objectMapper.readTree((String) data.get("currentPrice"));
-            if (priceData.isArray() && priceData.size() > 0) {
-                currentPrice = priceData.get(0).get("trade_price").asDouble();
+            Object ticker = data.get("currentPrice");
+            if (ticker instanceof Ticker t && t.tradePrice() > 0) {
+                currentPrice = t.tradePrice();
             } else {
                 // API에서 현재가 가져오기
                 String coingeckoId = getCoingeckoName(coinSymbol);
                 String currency = "upbit".equalsIgnoreCase(exchange) ? "krw" : "usd";
-                String apiUrl = "https://api.coingecko.com/api/v3/simple/price?ids=" 
+                String apiUrl = COINGECKO_API_URL + "/simple/price?ids=" 
                     + coingeckoId + "&vs_currencies=" + currency;
                 
                 JsonNode response = objectMapper.readTree(
@@ -282,6 +412,7 @@ public class ClaudeService {
             }
         } catch (Exception e) {
             // 현재가 정보를 가져올 수 없는 경우 예상 가격 사용
+            metrics.recordFallback("coingecko", "price");
             currentPrice = getDefaultPrice(coinSymbol, exchange);
         }
         return currentPrice;
@@ -318,20 +449,20 @@ public class ClaudeService {
     private List<Map<String, Object>> getCandleData(Map<String, Object> data) {
         List<Map<String, Object>> candleDataList = new ArrayList<>();
         try {
-            JsonNode candles = objectMapper.readTree((String) data.get("candles"));
-            for (JsonNode candle : candles) {
+            List<Candle> candles = (List<Candle>) data.getOrDefault("candles", List.of());
+            for (Candle candle : candles) {
                 Map<String, Object> candleMap = new HashMap<>();
-                candleMap.put("시간", candle.get("candle_date_time_kst").asText());
-                candleMap.put("시가", candle.get("opening_price").asDouble());
-                candleMap.put("고가", candle.get("high_price").asDouble());
-                candleMap.put("저가", candle.get("low_price").asDouble());
-                candleMap.put("종가", candle.get("trade_price").asDouble());
-                candleMap.put("거래량", candle.get("candle_acc_trade_volume").asDouble());
+                candleMap.put("시간", candle.candleDateTimeKst().format(CANDLE_TIME_FORMAT));
+                candleMap.put("시가", candle.openingPrice());
+                candleMap.put("고가", candle.highPrice());
+                candleMap.put("저가", candle.lowPrice());
+                candleMap.put("종가", candle.tradePrice());
+                candleMap.put("거래량", candle.candleAccTradeVolume());
                 candleDataList.add(candleMap);
             }
         } catch (Exception e) {
             // 캔들 데이터를 가져올 수 없는 경우 빈 배열 사용
-            e.printStackTrace();
+            log.warn("캔들 데이터 변환 실패: {}", e.getMessage());
         }
         return candleDataList;
     }
@@ -471,83 +602,110 @@ public class ClaudeService {
      */
     @Cacheable(value = "newsCache", key = "#coinSymbol", unless = "#result == null")
     public Map<String, Object> getCoinNews(String coinSymbol, String coinName) {
-        Map<String, Object> newsData = new HashMap<>();
-        List<Map<String, String>> newsList = new ArrayList<>();
+        return getCoinNewsAsync(coinSymbol, coinName).block();
+    }
+    
+    /**
+     * 코인 관련 뉴스 (NewsAPI 결과가 3건 미만일 때만 CryptoCompare 추가 조회)
+     */
+    public Mono<Map<String, Object>> getCoinNewsAsync(String coinSymbol, String coinName) {
+        // NewsAPI를 사용하여 코인 관련 뉴스 가져오기
+        String apiUrl = NEWS_API_URL + "/everything?q=" + 
+            encodeQuery(coinName + " OR " + coinSymbol + " cryptocurrency") + 
+            "&language=en&sortBy=publishedAt&pageSize=5&apiKey=" + NEWS_API_KEY;
+        String cryptoCompareUrl = CRYPTO_COMPARE_API_URL + "/news/?categories=" +
+            getCoingeckoName(coinSymbol) + "&excludeCategories=Sponsored&lang=EN&api_key=" + CRYPTO_COMPARE_API_KEY;
         
-        try {
-            // NewsAPI를 사용하여 코인 관련 뉴스 가져오기
-            String apiUrl = "https://newsapi.org/v2/everything?q=" + 
-                encodeQuery(coinName + " OR " + coinSymbol + " cryptocurrency") + 
-                "&language=en&sortBy=publishedAt&pageSize=5&apiKey=" + NEWS_API_KEY;
-            
-            ResponseEntity<String> response = restTemplate.getForEntity(apiUrl, String.class);
-            JsonNode newsResponse = objectMapper.readTree(response.getBody());
-            
-            if (newsResponse.has("articles")) {
-                JsonNode articles = newsResponse.get("articles");
+        return upstreamClient.get(apiUrl)
+            .flatMap(body -> Mono.fromCallable(() -> {
+                List<Map<String, String>> newsList = new ArrayList<>();
+                JsonNode newsResponse = objectMapper.readTree(body);
                 
-                for (JsonNode article : articles) {
-                    if (newsList.size() >= 5) break; // 최대 5개만 가져오기
+                if (newsResponse.has("articles")) {
+                    JsonNode articles = newsResponse.get("articles");
                     
-                    Map<String, String> newsItem = new HashMap<>();
-                    newsItem.put("제목", article.get("title").asText());
-                    newsItem.put("내용요약", article.get("description").asText());
-                    newsItem.put("출처", article.get("source").get("name").asText());
-                    newsItem.put("게시일", article.get("publishedAt").asText());
-                    newsItem.put("URL", article.get("url").asText());
-                    
-                    newsList.add(newsItem);
-                }
-            }
-            
-            // 뉴스가 충분히 없으면 CryptoCompare API에서 추가로 가져오기
-            if (newsList.size() < 3) {
-                String cryptoCompareUrl = "https://min-api.cryptocompare.com/data/v2/news/?categories=" +
-                    getCoingeckoName(coinSymbol) + "&excludeCategories=Sponsored&lang=EN&api_key=" + CRYPTO_COMPARE_API_KEY;
-                
-                ResponseEntity<String> ccResponse = restTemplate.getForEntity(cryptoCompareUrl, String.class);
-                JsonNode ccNewsResponse = objectMapper.readTree(ccResponse.getBody());
-                
-                if (ccNewsResponse.has("Data")) {
-                    JsonNode ccArticles = ccNewsResponse.get("Data");
-                    
-                    for (JsonNode article : ccArticles) {
-                        if (newsList.size() >= 5) break;
+                    for (JsonNode article : articles) {
+                        if (newsList.size() >= 5) break; // 최대 5개만 가져오기
                         
                         Map<String, String> newsItem = new HashMap<>();
                         newsItem.put("제목", article.get("title").asText());
-                        newsItem.put("내용요약", article.get("body").asText().length() > 200 ? 
-                            article.get("body").asText().substring(0, 200) + "..." : 
-                            article.get("body").asText());
-                        newsItem.put("출처", article.get("source").asText());
-                        newsItem.put("게시일", article.get("published_on").asText());
+                        newsItem.put("내용요약", article.get("description").asText());
+                        newsItem.put("출처", article.get("source").get("name").asText());
+                        newsItem.put("게시일", article.get("publishedAt").asText());
                         newsItem.put("URL", article.get("url").asText());
                         
                         newsList.add(newsItem);
                     }
                 }
-            }
-            
-            // 뉴스 감성 분석 (간단한 구현)
-            double sentimentScore = analyzeSentiment(newsList);
-            String sentimentState = "중립적";
-            if (sentimentScore > 0.3) sentimentState = "긍정적";
-            else if (sentimentScore < -0.3) sentimentState = "부정적";
-            
-            newsData.put("뉴스목록", newsList);
-            newsData.put("뉴스감성점수", sentimentScore);
-            newsData.put("뉴스감성상태", sentimentState);
-            
-        } catch (Exception e) {
-            // 오류 시 빈 데이터 반환
-            newsData.put("뉴스목록", new ArrayList<>());
-            newsData.put("뉴스감성점수", 0.0);
-            newsData.put("뉴스감성상태", "중립적");
-        }
+                return newsList;
+            }))
+            // 뉴스가 충분히 없으면 CryptoCompare API에서 추가로 가져오기
+            .flatMap(newsList -> newsList.size() >= 3 ? Mono.just(newsList)
+                : upstreamClient.get(cryptoCompareUrl).flatMap(body -> Mono.fromCallable(() -> {
+                    JsonNode ccNewsResponse = objectMapper.readTree(body);
+                    
+                    if (ccNewsResponse.has("Data")) {
+                        JsonNode ccArticles = ccNewsResponse.get("Data");
+                        
+                        for (JsonNode article : ccArticles) {
+                            if (newsList.size() >= 5) break;
+                            
+                            Map<String, String> newsItem = new HashMap<>();
+                            newsItem.put("제목", article.get("title").asText());
+                            newsItem.put("내용요약", article.get("body").asText().length() > 200 ? 
+                                article.get("body").asText().substring(0, 200) + "..." : 
+                                article.get("body").asText());
+                            newsItem.put("출처", article.get("source").asText());
+                            newsItem.put("게시일", article.get("published_on").asText());
+                            newsItem.put("URL", article.get("url").asText());
+                            
+                            newsList.add(newsItem);
+                        }
+                    }
+                    return newsList;
+                })))
+            .map(this::newsData)
+            .onErrorResume(e -> {
+                // 오류 시 빈 데이터 반환
+                metrics.recordFallback("newsapi", "coin_news");
+                return Mono.just(newsData(new ArrayList<>()));
+            });
+    }
+    
+    private Map<String, Object> newsData(List<Map<String, String>> newsList) {
+        // 뉴스 감성 분석 (간단한 구현)
+        double sentimentScore = analyzeSentiment(newsList);
+        String sentimentState = "중립적";
+        if (sentimentScore > 0.3) sentimentState = "긍정적";
+        else if (sentimentScore < -0.3) sentimentState = "부정적";
         
+        Map<String, Object> newsData = new HashMap<>();
+        newsData.put("뉴스목록", newsList);
+        newsData.put("뉴스감성점수", sentimentScore);
+        newsData.put("뉴스감성상태", sentimentState);
         return newsData;
     }
     
+    /**
+     * 호가 요약 (구독하지 않았거나 오래된 경우 null)
+     */
+    private Map<String, Object> getOrderBookData(String exchange, String market) {
+        OrderBookSnapshot snapshot = orderBookService.getSnapshot(exchange, market);
+        if (snapshot == null) {
+            return null;
+        }
+        Map<String, Object> orderBook = new HashMap<>();
+        orderBook.put("최우선매수호가", snapshot.bestBid());
+        orderBook.put("최우선매도호가", snapshot.bestAsk());
+        orderBook.put("스프레드_bp", Math.round(snapshot.spreadBps() * 100) / 100.0);
+        orderBook.put("깊이_범위_퍼센트", snapshot.depthBandPct());
+        orderBook.put("매수잔량_금액", Math.round(snapshot.bidDepth()));
+        orderBook.put("매도잔량_금액", Math.round(snapshot.askDepth()));
+        // -1(매도 우위) ~ 1(매수 우위)
+        orderBook.put("매수매도_불균형", Math.round(snapshot.imbalance() * 1000) / 1000.0);
+        return orderBook;
+    }
+    
     /**
      * 간단한 뉴스 감성 분석 (키워드 기반)
      */
@@ -618,7 +776,7 @@ public class ClaudeService {
             } else {
                 // Alternative Fear & Greed Index API - 실제 구현 시 API 호출
                 try {
-                    String fearGreedUrl = "https://api.alternative.me/fng/";
+                    String fearGreedUrl = ALTERNATIVE_API_URL + "/fng/";
                     ResponseEntity<String> fgResponse = restTemplate.getForEntity(fearGreedUrl, String.class);
                     JsonNode fgData = objectMapper.readTree(fgResponse.getBody());
                     
@@ -634,6 +792,7 @@ public class ClaudeService {
                     }
                 } catch (Exception e) {
                     // 공포/욕심 지수를 가져올 수 없는 경우 기본값 사용
+                    metrics.recordFallback("alternative", "fear_greed");
                     marketSentiment.put("공포탐욕지수", 50);
                     marketSentiment.put("공포탐욕상태", "Neutral");
                 }
@@ -653,208 +812,17 @@ public class ClaudeService {
     }
     
     /**
-     * 거시경제 데이터 가져오기 - 실제 API 호출
+     * 거시경제 데이터 가져오기 - MacroDataService 가 주기적으로 갱신한 스냅샷 (외부 호출 없음)
      */
-    @Cacheable(value = "macroCache", unless = "#result == null")
     public Map<String, Object> getMacroEconomicData() {
-        Map<String, Object> macroEconomics = new HashMap<>();
-        
-        try {
-            // 1. FRED API를 통한 미국 금리 데이터
-            String fedFundsUrl = "https://api.stlouisfed.org/fred/series/observations" +
-                "?series_id=DFF&api_key=" + FRED_API_KEY +
-                "&file_type=json&sort_order=desc&limit=1";
-            
-            ResponseEntity<String> rateResponse = restTemplate.getForEntity(fedFundsUrl, String.class);
-            JsonNode rateData = objectMapper.readTree(rateResponse.getBody());
-            
-            double interestRate = 3.5; // 기본값
-            if (rateData.has("observations") && rateData.get("observations").size() > 0) {
-                interestRate = Double.parseDouble(
-                    rateData.get("observations").get(0).get("value").asText());
-            }
-            
-            // 2. FRED API를 통한 인플레이션 데이터 (CPI YoY)
-            String inflationUrl = "https://api.stlouisfed.org/fred/series/observations" +
-                "?series_id=CPIAUCSL&api_key=" + FRED_API_KEY +
-                "&file_type=json&sort_order=desc&limit=13"; // 13개월 데이터로 YoY 계산
-            
-            ResponseEntity<String> inflationResponse = restTemplate.getForEntity(inflationUrl, String.class);
-            JsonNode inflationData = objectMapper.readTree(inflationResponse.getBody());
-            
-            double inflation = 2.8; // 기본값
-            if (inflationData.has("observations") && inflationData.get("observations").size() >= 13) {
-                double currentCPI = Double.parseDouble(
-                    inflationData.get("observations").get(0).get("value").asText());
-                double lastYearCPI = Double.parseDouble(
-                    inflationData.get("observations").get(12).get("value").asText());
-                
-                inflation = ((currentCPI / lastYearCPI) - 1) * 100;
-                inflation = Math.round(inflation * 10) / 10.0; // 소수점 첫째자리까지
-            }
-            
-            // 3. Alpha Vantage API를 통한 달러 지수 (DXY)
-            String dxyUrl = "https://www.alphavantage.co/query" +
-                "?function=GLOBAL_QUOTE&symbol=DXY&apikey=" + ALPHA_VANTAGE_API_KEY;
-            
-            ResponseEntity<String> dxyResponse = restTemplate.getForEntity(dxyUrl, String.class);
-            JsonNode dxyData = objectMapper.readTree(dxyResponse.getBody());
-            
-            double dollarIndex = 102.5; // 기본값
-            if (dxyData.has("Global Quote") && dxyData.get("Global Quote").has("05. price")) {
-                dollarIndex = Double.parseDouble(
-                    dxyData.get("Global Quote").get("05. price").asText());
-            }
-            
-            // 4. Alpha Vantage API를 통한 S&P 500 지수
-            String spUrl = "https://www.alphavantage.co/query" +
-                "?function=GLOBAL_QUOTE&symbol=SPY&apikey=" + ALPHA_VANTAGE_API_KEY;
-            
-            ResponseEntity<String> spResponse = restTemplate.getForEntity(spUrl, String.class);
-            JsonNode spData = objectMapper.readTree(spResponse.getBody());
-            
-            double sp500 = 5100; // 기본값
-            if (spData.has("Global Quote") && spData.get("Global Quote").has("05. price")) {
-                sp500 = Double.parseDouble(
-                    spData.get("Global Quote").get("05. price").asText()) * 10; // SPY ETF 가격 * 10 (근사치)
-            }
-            
-            // 데이터 저장
-            macroEconomics.put("금리", interestRate);
-            macroEconomics.put("인플레이션", inflation);
-            macroEconomics.put("달러지수", dollarIndex);
-            macroEconomics.put("S&P500", sp500);
-            
-        } catch (Exception e) {
-            // API 호출 실패 시 기본값 사용
-            macroEconomics.put("금리", 3.5);
-            macroEconomics.put("인플레이션", 2.8);
-            macroEconomics.put("달러지수", 102.5);
-            macroEconomics.put("S&P500", 5100);
-        }
-        
-        return macroEconomics;
+        return macroDataService.getSnapshot().toPromptData();
     }
     
     /**
-     * 온체인 데이터 가져오기 - CoinGecko와 블록체인 익스플로러 활용
+     * 온체인 데이터 가져오기 - OnchainCollectorService 가 수집한 최신값과 변화율 (메모리 조회)
      */
-    @Cacheable(value = "onchainCache", key = "#coinSymbol", unless = "#result == null")
     public Map<String, Object> getOnchainData(String coinSymbol) {
-        Map<String, Object> onchainData = new HashMap<>();
-        
-        try {
-            if (coinSymbol.equals("BTC")) {
-                // Blockchain.com API로 비트코인 데이터 가져오기
-                String hashRateUrl = "https://api.blockchain.info/stats";
-                ResponseEntity<String> hashResponse = restTemplate.getForEntity(hashRateUrl, String.class);
-                JsonNode statsData = objectMapper.readTree(hashResponse.getBody());
-                
-                // 해시레이트 (TH/s)
-                double hashRate = 0;
-                if (statsData.has("hash_rate")) {
-                    hashRate = statsData.get("hash_rate").asDouble();
-                }
-                
-                // 트랜잭션 수수료
-                double avgFee = 0;
-                if (statsData.has("miners_revenue")) {
-                    avgFee = statsData.get("miners_revenue").asDouble() / 6.25; // 대략적인 계산
-                }
-                
-                // CoinGecko API로 활성 주소 수 추정 (거래량으로 추정)
-                String cgUrl = "https://api.coingecko.com/api/v3/coins/bitcoin?localization=false&tickers=false&market_data=true&community_data=true&developer_data=false";
-                ResponseEntity<String> cgResponse = restTemplate.getForEntity(cgUrl, String.class);
-                JsonNode cgData = objectMapper.readTree(cgResponse.getBody());
-                
-                int activeAddresses = 950000; // 기본값
-                if (cgData.has("community_data") && cgData.get("community_data").has("reddit_subscribers")) {
-                    // Reddit 구독자 수로 대략적인 활성 주소 추정 (매우 간단한 추정)
-                    activeAddresses = cgData.get("community_data").get("reddit_subscribers").asInt() / 10;
-                }
-                
-                onchainData.put("활성주소수", activeAddresses);
-                onchainData.put("해시레이트", hashRate);
-                onchainData.put("평균트랜잭션수수료", avgFee > 0 ? avgFee : 8.5);
-                
-            } else if (coinSymbol.equals("ETH")) {
-                // Etherscan에서 이더리움 데이터 (무료 API 키 필요)
-                // 여기서는 CoinGecko로 대체
-                String cgUrl = "https://api.coingecko.com/api/v3/coins/ethereum?localization=false&tickers=false&market_data=true&community_data=true&developer_data=false";
-                ResponseEntity<String> cgResponse = restTemplate.getForEntity(cgUrl, String.class);
-                JsonNode cgData = objectMapper.readTree(cgResponse.getBody());
-                
-                int activeAddresses = 620000; // 기본값
-                double stakingAmount = 25000000; // 기본값
-                double avgGas = 35.2; // 기본값
-                
-                if (cgData.has("market_data") && cgData.get("market_data").has("total_value_locked")) {
-                    JsonNode tvl = cgData.get("market_data").get("total_value_locked");
-                    if (tvl != null && !tvl.isNull()) {
-                        stakingAmount = tvl.asDouble() / cgData.get("market_data").get("current_price").get("usd").asDouble();
-                    }
-                }
-                
-                onchainData.put("활성주소수", activeAddresses);
-                onchainData.put("스테이킹량", stakingAmount);
-                onchainData.put("평균가스비", avgGas);
-                
-            } else {
-                // 다른 코인들은 CoinGecko 통계 활용
-                String cgUrl = "https://api.coingecko.com/api/v3/coins/" + getCoingeckoName(coinSymbol) + 
-                            "?localization=false&tickers=false&market_data=true&community_data=true&developer_data=false";
-                
-                ResponseEntity<String> cgResponse = restTemplate.getForEntity(cgUrl, String.class);
-                JsonNode cgData = objectMapper.readTree(cgResponse.getBody());
-                
-                int activeAddresses = getDefaultActiveAddresses(coinSymbol);
-                int txCount = 125000; // 기본값
-                
-                // 거래량으로 트랜잭션 수 대략 추정
-                if (cgData.has("market_data") && cgData.get("market_data").has("total_volume")) {
-                    JsonNode volume = cgData.get("market_data").get("total_volume");
-                    if (volume.has("usd")) {
-                        double volumeUsd = volume.get("usd").asDouble();
-                        // 평균 트랜잭션 크기를 1000 달러로 가정하여 대략적인 트랜잭션 수 추정
-                        txCount = (int)(volumeUsd / 1000);
-                    }
-                }
-                
-                onchainData.put("활성주소수", activeAddresses);
-                onchainData.put("일일트랜잭션수", txCount);
-            }
-            
-        } catch (Exception e) {
-            // API 호출 실패 시 기본값 설정
-            if (coinSymbol.equals("BTC")) {
-                onchainData.put("활성주소수", 950000);
-                onchainData.put("해시레이트", 525.3);
-                onchainData.put("평균트랜잭션수수료", 8.5);
-            } else if (coinSymbol.equals("ETH")) {
-                onchainData.put("활성주소수", 620000);
-                onchainData.put("스테이킹량", 25000000);
-                onchainData.put("평균가스비", 35.2);
-            } else {
-                onchainData.put("활성주소수", 150000);
-                onchainData.put("일일트랜잭션수", 125000);
-            }
-        }
-        
-        return onchainData;
-    }
-    
-    /**
-     * 코인별 기본 활성 주소 수 가져오기
-     */
-    private int getDefaultActiveAddresses(String coinSymbol) {
-        Map<String, Integer> defaultAddresses = new HashMap<>();
-        defaultAddresses.put("BTC", 950000);
-        defaultAddresses.put("ETH", 620000);
-        defaultAddresses.put("XRP", 150000);
-        defaultAddresses.put("ADA", 120000);
-        defaultAddresses.put("SOL", 180000);
-        
-        return defaultAddresses.getOrDefault(coinSymbol, 100000);
+        return onchainCollectorService.getOnchainData(coinSymbol);
     }
     
     /**
@@ -894,7 +862,7 @@ public class ClaudeService {
     /**
      * 코인 심볼에 해당하는 한글 이름 반환
      */
-    private String getCoinName(String market, String symbol) {
+    String getCoinName(String market, String symbol) {
         Map<String, String> coinNames = new HashMap<>();
         coinNames.put("BTC", "비트코인");
         coinNames.put("ETH", "이더리움");
@@ -960,17 +928,18 @@ public class ClaudeService {
             int sellProbability = 50;
             String recommendAction = "관망";
             
+            // 같은 입력이면 같은 결과가 나오도록 RSI 에 비례해 확률 결정
             if (rsi < 30) {
-                buyProbability = 70 + (int)(Math.random() * 20); // 70-90% 범위
+                buyProbability = 70 + (int) Math.round((30 - rsi) / 30 * 20); // 70-90% 범위
                 sellProbability = 100 - buyProbability;
                 recommendAction = "매수";
             } else if (rsi > 70) {
-                sellProbability = 70 + (int)(Math.random() * 20); // 70-90% 범위
+                sellProbability = 70 + (int) Math.round((rsi - 70) / 30 * 20); // 70-90% 범위
                 buyProbability = 100 - sellProbability;
                 recommendAction = "매도";
             } else {
-                // 50% 주변으로 확률 분배 (관망)
-                buyProbability = 40 + (int)(Math.random() * 20); // 40-60% 범위
+                // 50% 주변으로 확률 분배 (관망, RSI 30 이면 60%, 70 이면 40%)
+                buyProbability = 60 - (int) Math.round((rsi - 30) / 40 * 20); // 40-60% 범위
                 sellProbability = 100 - buyProbability;
             }
             
@@ -1138,7 +1107,7 @@ public class ClaudeService {
     }
 
     /**
-     * JSON 형식의 결과를 보기 좋게 포맷팅하여 반환
+     * JSON 형식의 결과를 보고서 HTML 로 변환 (AnalysisReportRenderer, 지문별 캐시)
      */
     private String formatJsonResponse(String response) {
         try {
@@ -1148,440 +1117,7 @@ public class ClaudeService {
                 jsonStr = response.substring(response.indexOf("```json") + 7);
                 jsonStr = jsonStr.substring(0, jsonStr.lastIndexOf("```")).trim();
             }
-            
-            // JSON 파싱
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode jsonNode = mapper.readTree(jsonStr);
-            
-            // 거래소 정보와 통화 단위 확인
-            String exchange = jsonNode.has("거래소") ? jsonNode.get("거래소").asText() : "upbit";
-            String currencySymbol = "upbit".equalsIgnoreCase(exchange) ? "원" : "$";
-            
-            // HTML 형식으로 포맷팅
-            StringBuilder html = new StringBuilder();
-            html.append("<html><head>");
-            html.append("<style>");
-            html.append("body { font-family: Arial, sans-serif; margin: 20px; }");
-            html.append("h1 { color: #333366; }");
-            html.append("h2 { color: #336699; margin-top: 20px; }");
-            html.append(".card { background-color: #f8f9fa; border-radius: 10px; padding: 15px; margin-bottom: 15px; box-shadow: 0 2px 5px rgba(0,0,0,0.1); }");
-            html.append(".highlight { color: #0066cc; font-weight: bold; }");
-            html.append(".recommend { font-size: 18px; font-weight: bold; }");
-            html.append(".recommend.buy { color: #00aa00; }");
-            html.append(".recommend.sell { color: #cc0000; }");
-            html.append(".recommend.wait { color: #ff9900; }");
-            html.append(".prob-bar { height: 25px; background-color: #e9ecef; border-radius: 10px; margin-top: 5px; position: relative; margin-bottom: 10px; }");
-            html.append(".prob-bar-buy { height: 100%; background-color: #4CAF50; border-radius: 10px 0 0 10px; float: left; }");
-            html.append(".prob-bar-sell { height: 100%; background-color: #f44336; border-radius: 0 10px 10px 0; float: left; }");
-            html.append(".prob-text { position: absolute; left: 50%; top: 0; transform: translateX(-50%); color: #fff; font-weight: bold; line-height: 25px; text-shadow: 1px 1px 2px rgba(0,0,0,0.5); }");
-            html.append(".strategy-box { border: 1px solid #ddd; padding: 12px; margin: 10px 0; border-radius: 8px; background-color: #f9f9f9; }");
-            html.append(".strategy-box h4 { margin-top: 0; color: #0066cc; margin-bottom: 10px; }");
-            html.append(".strategy-item { margin-bottom: 8px; }");
-            html.append(".allocation-table { width: 100%; border-collapse: collapse; margin: 10px 0; }");
-            html.append(".allocation-table th { background-color: #eef0f2; text-align: left; padding: 8px; }");
-            html.append(".allocation-table td { padding: 8px; border-bottom: 1px solid #ddd; }");
-            html.append("table { width: 100%; border-collapse: collapse; margin-top: 10px; }");
-            html.append("th { background-color: #eef0f2; text-align: left; padding: 8px; }");
-            html.append("td { padding: 8px; border-bottom: 1px solid #ddd; }");
-            html.append("ul { padding-left: 20px; }");
-            html.append("li { margin-bottom: 5px; }");
-            html.append(".tag { display: inline-block; padding: 2px 8px; border-radius: 12px; font-size: 0.8em; margin-right: 5px; }");
-            html.append(".tag-buy { background-color: #e8f5e9; color: #2e7d32; }");
-            html.append(".tag-sell { background-color: #ffebee; color: #c62828; }");
-            html.append(".tag-neutral { background-color: #fff8e1; color: #ff8f00; }");
-            html.append("</style>");
-            html.append("</head><body>");
-            
-            // 제목 및 분석 요약
-            html.append("<h1>").append(jsonNode.get("코인명") != null ? jsonNode.get("코인명").asText() : 
-                        (jsonNode.get("회사명") != null ? jsonNode.get("회사명").asText() : "암호화폐")).append(" 분석 보고서</h1>");
-            html.append("<div class='card'>");
-            html.append("<h2>📊 분석 요약</h2>");
-            html.append("<p>").append(jsonNode.get("분석_요약").asText()).append("</p>");
-            html.append("</div>");
-            
-            // 매수매도 추천
-            JsonNode recommendation = jsonNode.get("매수매도_추천");
-            html.append("<div class='card'>");
-            html.append("<h2>💹 매수/매도 추천</h2>");
-            
-            // 추천 정보
-            String recommendType = recommendation.get("추천").asText();
-            String recommendClass = "wait";
-            if (recommendType.equals("매수")) recommendClass = "buy";
-            else if (recommendType.equals("매도")) recommendClass = "sell";
-            
-            html.append("<div class='recommend ").append(recommendClass).append("'>");
-            if (recommendType.equals("매수")) html.append("🟢 매수 추천");
-            else if (recommendType.equals("매도")) html.append("🔴 매도 추천");
-            else html.append("🟠 관망 추천");
-            html.append("</div>");
-            
-            // 확률 바 표시 - 소수점 한 자리까지 표시하도록 수정
-            double buyProb = 50.0;
-            double sellProb = 50.0;
-            
-            if (recommendation.get("매수_확률").isNumber()) {
-                buyProb = recommendation.get("매수_확률").asDouble();
-            } else {
-                buyProb = Double.parseDouble(recommendation.get("매수_확률").asText());
-            }
-            
-            if (recommendation.get("매도_확률").isNumber()) {
-                sellProb = recommendation.get("매도_확률").asDouble();
-            } else {
-                sellProb = Double.parseDouble(recommendation.get("매도_확률").asText());
-            }
-            
-            html.append("<div class='prob-bar'>");
-            html.append("<div class='prob-bar-buy' style='width: ").append(buyProb).append("%;'></div>");
-            html.append("<div class='prob-bar-sell' style='width: ").append(sellProb).append("%;'></div>");
-            html.append("<span class='prob-text'>매수: ").append(String.format("%.1f", buyProb)).append("% / 매도: ").append(String.format("%.1f", sellProb)).append("%</span>");
-            html.append("</div>");
-            
-            html.append("<p><strong>신뢰도:</strong> ").append(recommendation.get("신뢰도").asText()).append("/10</p>");
-            html.append("<p><strong>근거:</strong> ").append(recommendation.get("근거").asText()).append("</p>");
-            html.append("</div>");
-            
-            // 매매 전략 - 분할 매수/매도 정보를 더 자세히 표시하도록 수정
-            if (jsonNode.has("매매_전략")) {
-                JsonNode strategy = jsonNode.get("매매_전략");
-                html.append("<div class='card'>");
-                html.append("<h2>📈 매매 전략</h2>");
-                
-                // 매매 구분 태그 추가
-                if (recommendType.equals("매수")) {
-                    html.append("<span class='tag tag-buy'>매수 전략</span>");
-                } else if (recommendType.equals("매도")) {
-                    html.append("<span class='tag tag-sell'>매도 전략</span>");
-                } else {
-                    html.append("<span class='tag tag-neutral'>관망 전략</span>");
-                }
-                
-                // 분할 매수/매도 전략 박스
-                html.append("<div class='strategy-box'>");
-                
-                // 매수 전략 테이블
-                if (recommendType.equals("매수")) {
-                    html.append("<h4>📊 분할 매수 전략</h4>");
-                    
-                    // 분할 매수 테이블 추가
-                    html.append("<table class='allocation-table'>");
-                    html.append("<tr><th>진입 가격</th><th>배분 비율</th><th>설명</th></tr>");
-                    
-                    // 매수 전략이 있는 경우
-                    if (strategy.has("매수_분할") && strategy.get("매수_분할").isArray()) {
-                        JsonNode buyAllocation = strategy.get("매수_분할");
-                        for (int i = 0; i < buyAllocation.size(); i++) {
-                            JsonNode entry = buyAllocation.get(i);
-                            html.append("<tr>");
-                            html.append("<td>").append(entry.get("가격").asText()).append(currencySymbol).append("</td>");
-                            html.append("<td>").append(entry.get("비율").asText()).append("%</td>");
-                            html.append("<td>").append(entry.has("설명") ? entry.get("설명").asText() : "").append("</td>");
-                            html.append("</tr>");
-                        }
-                    } else {
-                        // 구체적인 분할 매수 정보가 없는 경우 기본 내용 표시
-                        html.append("<tr><td>현재 가격</td><td>50%</td><td>첫 진입</td></tr>");
-                        
-                        JsonNode supports = jsonNode.get("기술적_분석").get("주요_지지선");
-                        if (supports.isArray() && supports.size() > 0) {
-                            html.append("<tr><td>").append(supports.get(0).asText()).append(currencySymbol).append("</td><td>50%</td><td>추가 매수</td></tr>");
-                        } else {
-                            html.append("<tr><td>추가 하락 시</td><td>50%</td><td>추가 매수</td></tr>");
-                        }
-                    }
-                    html.append("</table>");
-                    
-                    // 분할 매도 테이블 추가 (수익실현)
-                    html.append("<h4>🔔 수익실현 전략</h4>");
-                    html.append("<table class='allocation-table'>");
-                    html.append("<tr><th>매도 가격</th><th>매도 비율</th><th>설명</th></tr>");
-                    
-                    // 매도 전략이 있는 경우
-                    if (strategy.has("매도_분할") && strategy.get("매도_분할").isArray()) {
-                        JsonNode sellAllocation = strategy.get("매도_분할");
-                        for (int i = 0; i < sellAllocation.size(); i++) {
-                            JsonNode exit = sellAllocation.get(i);
-                            html.append("<tr>");
-                            html.append("<td>").append(exit.get("가격").asText()).append(currencySymbol).append("</td>");
-                            html.append("<td>").append(exit.get("비율").asText()).append("%</td>");
-                            html.append("<td>").append(exit.has("설명") ? exit.get("설명").asText() : "").append("</td>");
-                            html.append("</tr>");
-                        }
-                    } else {
-                        // 수익실현 목표가
-                        JsonNode targets = strategy.get("수익실현_목표가");
-                        if (targets.isArray()) {
-                            int numTargets = targets.size();
-                            int sellPercentage = 100 / numTargets;
-                            
-                            for (int i = 0; i < targets.size(); i++) {
-                                html.append("<tr>");
-                                html.append("<td>").append(targets.get(i).asText()).append(currencySymbol).append("</td>");
-                                if (i == targets.size() - 1) {
-                                    html.append("<td>").append(100 - (sellPercentage * (numTargets - 1))).append("%</td>");
-                                } else {
-                                    html.append("<td>").append(sellPercentage).append("%</td>");
-                                }
-                                html.append("<td>수익실현 ").append(i+1).append("차</td>");
-                                html.append("</tr>");
-                            }
-                        }
-                    }
-                    html.append("</table>");
-                    
-                } else if (recommendType.equals("매도")) {
-                    // 매도 전략 테이블
-                    html.append("<h4>📉 분할 매도 전략</h4>");
-                    
-                    // 분할 매도 테이블 추가
-                    html.append("<table class='allocation-table'>");
-                    html.append("<tr><th>매도 가격</th><th>매도 비율</th><th>설명</th></tr>");
-                    
-                    // 매도 전략이 있는 경우
-                    if (strategy.has("매도_분할") && strategy.get("매도_분할").isArray()) {
-                        JsonNode sellAllocation = strategy.get("매도_분할");
-                        for (int i = 0; i < sellAllocation.size(); i++) {
-                            JsonNode exit = sellAllocation.get(i);
-                            html.append("<tr>");
-                            html.append("<td>").append(exit.get("가격").asText()).append(currencySymbol).append("</td>");
-                            html.append("<td>").append(exit.get("비율").asText()).append("%</td>");
-                            html.append("<td>").append(exit.has("설명") ? exit.get("설명").asText() : "").append("</td>");
-                            html.append("</tr>");
-                        }
-                    } else {
-                        // 구체적인 분할 매도 정보가 없는 경우 기본 내용 표시
-                        html.append("<tr><td>현재 가격</td><td>60%</td><td>첫 매도</td></tr>");
-                        
-                        JsonNode resistances = jsonNode.get("기술적_분석").get("주요_저항선");
-                        if (resistances.isArray() && resistances.size() > 0) {
-                            html.append("<tr><td>").append(resistances.get(0).asText()).append(currencySymbol).append("</td><td>40%</td><td>추가 매도</td></tr>");
-                        } else {
-                            html.append("<tr><td>추가 상승 시</td><td>40%</td><td>추가 매도</td></tr>");
-                        }
-                    }
-                    html.append("</table>");
-                    
-                    // 매수 테이블 추가 (재진입)
-                    html.append("<h4>🔔 재진입 전략</h4>");
-                    html.append("<table class='allocation-table'>");
-                    html.append("<tr><th>매수 가격</th><th>매수 비율</th><th>설명</th></tr>");
-                    
-                    // 매수 전략이 있는 경우
-                    if (strategy.has("매수_분할") && strategy.get("매수_분할").isArray()) {
-                        JsonNode buyAllocation = strategy.get("매수_분할");
-                        for (int i = 0; i < buyAllocation.size(); i++) {
-                            JsonNode entry = buyAllocation.get(i);
-                            html.append("<tr>");
-                            html.append("<td>").append(entry.get("가격").asText()).append(currencySymbol).append("</td>");
-                            html.append("<td>").append(entry.get("비율").asText()).append("%</td>");
-                            html.append("<td>").append(entry.has("설명") ? entry.get("설명").asText() : "").append("</td>");
-                            html.append("</tr>");
-                        }
-                    } else {
-                        // 구체적인 재진입 정보가 없는 경우 수익실현 목표가 기반으로 표시
-                        JsonNode targets = strategy.get("수익실현_목표가");
-                        if (targets.isArray() && targets.size() > 0) {
-                            html.append("<tr><td>").append(targets.get(0).asText()).append(currencySymbol).append("</td><td>50%</td><td>첫 매수</td></tr>");
-                            if (targets.size() > 1) {
-                                html.append("<tr><td>").append(targets.get(1).asText()).append(currencySymbol).append("</td><td>50%</td><td>추가 매수</td></tr>");
-                            }
-                        }
-                    }
-                    html.append("</table>");
-                    
-                } else {
-                    // 관망 전략 테이블
-                    html.append("<h4>⚖️ 관망 후 진입 전략</h4>");
-                    
-                    // 매수 검토 테이블
-                    html.append("<table class='allocation-table'>");
-                    html.append("<tr><th colspan='3'>매수 검토 기준</th></tr>");
-                    html.append("<tr><th>진입 가격</th><th>배분 비율</th><th>조건</th></tr>");
-                    
-                    // 관망 후 매수 전략이 있는 경우
-                    if (strategy.has("관망_매수") && strategy.get("관망_매수").isArray()) {
-                        JsonNode waitBuyAllocation = strategy.get("관망_매수");
-                        for (int i = 0; i < waitBuyAllocation.size(); i++) {
-                            JsonNode entry = waitBuyAllocation.get(i);
-                            html.append("<tr>");
-                            html.append("<td>").append(entry.get("가격").asText()).append(currencySymbol).append("</td>");
-                            html.append("<td>").append(entry.get("비율").asText()).append("%</td>");
-                            html.append("<td>").append(entry.has("조건") ? entry.get("조건").asText() : "").append("</td>");
-                            html.append("</tr>");
-                        }
-                    } else {
-                        // 구체적인 관망 후 매수 정보가 없는 경우 기본 내용 표시
-                        JsonNode supports = jsonNode.get("기술적_분석").get("주요_지지선");
-                        if (supports.isArray() && supports.size() > 0) {
-                            html.append("<tr><td>").append(supports.get(0).asText()).append(currencySymbol).append("</td><td>60%</td><td>지지선 확인 후 반등</td></tr>");
-                            if (supports.size() > 1) {
-                                html.append("<tr><td>").append(supports.get(1).asText()).append(currencySymbol).append("</td><td>40%</td><td>2차 지지선 확인</td></tr>");
-                            }
-                        } else {
-                            html.append("<tr><td>추가 하락 시</td><td>100%</td><td>지지 확인 후</td></tr>");
-                        }
-                    }
-                    html.append("</table>");
-                    
-                    // 매도 검토 테이블
-                    html.append("<table class='allocation-table' style='margin-top: 15px;'>");
-                    html.append("<tr><th colspan='3'>매도 검토 기준</th></tr>");
-                    html.append("<tr><th>진입 가격</th><th>배분 비율</th><th>조건</th></tr>");
-                    
-                    // 관망 후 매도 전략이 있는 경우
-                    if (strategy.has("관망_매도") && strategy.get("관망_매도").isArray()) {
-                        JsonNode waitSellAllocation = strategy.get("관망_매도");
-                        for (int i = 0; i < waitSellAllocation.size(); i++) {
-                            JsonNode entry = waitSellAllocation.get(i);
-                            html.append("<tr>");
-                            html.append("<td>").append(entry.get("가격").asText()).append(currencySymbol).append("</td>");
-                            html.append("<td>").append(entry.get("비율").asText()).append("%</td>");
-                            html.append("<td>").append(entry.has("조건") ? entry.get("조건").asText() : "").append("</td>");
-                            html.append("</tr>");
-                        }
-                    } else {
-                        // 구체적인 관망 후 매도 정보가 없는 경우 기본 내용 표시
-                        JsonNode resistances = jsonNode.get("기술적_분석").get("주요_저항선");
-                        if (resistances.isArray() && resistances.size() > 0) {
-                            html.append("<tr><td>").append(resistances.get(0).asText()).append(currencySymbol).append("</td><td>60%</td><td>저항선 도달 후 반락</td></tr>");
-                            if (resistances.size() > 1) {
-                                html.append("<tr><td>").append(resistances.get(1).asText()).append(currencySymbol).append("</td><td>40%</td><td>2차 저항선 도달</td></tr>");
-                            }
-                        } else {
-                            html.append("<tr><td>추가 상승 시</td><td>100%</td><td>저항 확인 후</td></tr>");
-                        }
-                    }
-                    html.append("</table>");
-                }
-                
-                // 손절매 정보 테이블
-                html.append("<h4>⚠️ 손절매 라인</h4>");
-                html.append("<table class='allocation-table'>");
-                html.append("<tr><th>손절 가격</th><th>손절 비율</th><th>설명</th></tr>");
-                html.append("<tr>");
-                html.append("<td>").append(strategy.get("손절매_라인").asText()).append(currencySymbol).append("</td>");
-                html.append("<td>100%</td>");
-                html.append("<td>모든 포지션 청산</td>");
-                html.append("</tr>");
-                html.append("</table>");
-                
-                html.append("</div>"); // strategy-box 종료
-                
-                // 리스크 보상 비율
-                html.append("<p><strong>리스크 대비 보상 비율:</strong> ").append(strategy.get("리스크_보상_비율").asText()).append(":1</p>");
-                
-                // 전략 설명
-                html.append("<p><strong>전략 설명:</strong></p>");
-                html.append("<p>").append(strategy.get("전략_설명").asText()).append("</p>");
-                
-                html.append("</div>"); // card 종료
-            }
-            
-            // 시간별 전망
-            JsonNode outlooks = jsonNode.get("시간별_전망");
-            html.append("<div class='card'>");
-            html.append("<h2>⏱️ 시간별 전망</h2>");
-            html.append("<p><strong>단기 (").append(outlooks.has("단기_24시간") ? "24시간" : "1주일").append("):</strong> ").append(outlooks.has("단기_24시간") ? outlooks.get("단기_24시간").asText() : outlooks.get("단기_1주일").asText()).append("</p>");
-            html.append("<p><strong>중기 (1").append(outlooks.has("중기_1개월") ? "개월" : "주일").append("):</strong> ").append(outlooks.has("중기_1개월") ? outlooks.get("중기_1개월").asText() : outlooks.get("중기_1주일").asText()).append("</p>");
-            html.append("<p><strong>장기 (").append(outlooks.has("장기_1개월") ? "1개월" : "3개월").append("):</strong> ").append(outlooks.has("장기_1개월") ? outlooks.get("장기_1개월").asText() : outlooks.get("장기_3개월").asText()).append("</p>");
-            html.append("</div>");
-            
-            // 기술적 분석
-            JsonNode technical = jsonNode.get("기술적_분석");
-            html.append("<div class='card'>");
-            html.append("<h2>📊 기술적 분석</h2>");
-            
-            html.append("<p><strong>추세 강도:</strong> ").append(technical.get("추세_강도").asText()).append("</p>");
-            html.append("<p><strong>주요 패턴:</strong> ").append(technical.get("주요_패턴").asText()).append("</p>");
-            
-            html.append("<table>");
-            html.append("<tr><th>주요 지지선</th><td>");
-            JsonNode supports = technical.get("주요_지지선");
-            if (supports.isArray()) {
-                for (int i = 0; i < supports.size(); i++) {
-                    html.append(supports.get(i).asText()).append(currencySymbol);
-                    if (i < supports.size() - 1) html.append(", ");
-                }
-            }
-            html.append("</td></tr>");
-            
-            html.append("<tr><th>주요 저항선</th><td>");
-            JsonNode resistances = technical.get("주요_저항선");
-            if (resistances.isArray()) {
-                for (int i = 0; i < resistances.size(); i++) {
-                    html.append(resistances.get(i).asText()).append(currencySymbol);
-                    if (i < resistances.size() - 1) html.append(", ");
-                }
-            }
-            html.append("</td></tr>");
-            html.append("</table>");
-            html.append("</div>");
-            
-            // 고급 지표 분석
-            if (jsonNode.has("고급_지표_분석")) {
-                JsonNode advanced = jsonNode.get("고급_지표_분석");
-                html.append("<div class='card'>");
-                html.append("<h2>🔬 고급 지표 분석</h2>");
-                
-                html.append("<p><strong>MACD:</strong> ").append(advanced.get("MACD").asText()).append("</p>");
-                html.append("<p><strong>볼린저밴드:</strong> ").append(advanced.get("볼린저밴드").asText()).append("</p>");
-                html.append("<p><strong>피보나치:</strong> ").append(advanced.get("피보나치").asText()).append("</p>");
-                html.append("<p><strong>ATR:</strong> ").append(advanced.get("ATR").asText()).append("</p>");
-                html.append("<p><strong>OBV:</strong> ").append(advanced.get("OBV").asText()).append("</p>");
-                html.append("</div>");
-            }
-            
-            // 재무 분석 (주식용)
-            if (jsonNode.has("재무_분석")) {
-                JsonNode financialAnalysis = jsonNode.get("재무_분석");
-                html.append("<div class='card'>");
-                html.append("<h2>💰 재무 분석</h2>");
-                
-                html.append("<p><strong>PER:</strong> ").append(financialAnalysis.get("PER").asText()).append("</p>");
-                html.append("<p><strong>EPS:</strong> ").append(financialAnalysis.get("EPS").asText()).append("</p>");
-                html.append("<p><strong>배당수익률:</strong> ").append(financialAnalysis.get("배당수익률").asText()).append("</p>");
-                html.append("<p><strong>시가총액:</strong> ").append(financialAnalysis.get("시가총액").asText()).append("</p>");
-                html.append("<p><strong>기업가치 평가:</strong> ").append(financialAnalysis.get("기업가치_평가").asText()).append("</p>");
-                html.append("</div>");
-            }
-            
-            // 뉴스 요약
-            if (jsonNode.has("최근_뉴스_요약")) {
-                JsonNode newsNode = jsonNode.get("최근_뉴스_요약");
-                html.append("<div class='card'>");
-                html.append("<h2>📰 최근 뉴스 요약</h2>");
-                
-                html.append("<ul>");
-                JsonNode newsList = newsNode.get("주요_뉴스");
-                if (newsList.isArray()) {
-                    for (JsonNode news : newsList) {
-                        html.append("<li>").append(news.asText()).append("</li>");
-                    }
-                }
-                html.append("</ul>");
-                
-                html.append("<p><strong>뉴스 영향:</strong> ").append(newsNode.get("뉴스_영향").asText()).append("</p>");
-                html.append("</div>");
-            }
-            
-            // 위험 요소
-            JsonNode risks = jsonNode.get("위험_요소");
-            html.append("<div class='card'>");
-            html.append("<h2>⚠️ 위험 요소</h2>");
-            html.append("<ul>");
-            if (risks.isArray()) {
-                for (int i = 0; i < risks.size(); i++) {
-                    html.append("<li>").append(risks.get(i).asText()).append("</li>");
-                }
-            }
-            html.append("</ul>");
-            html.append("</div>");
-            
-            html.append("</body></html>");
-            
-            return html.toString();
+            return reportRenderer.render(jsonStr);
         } catch (Exception e) {
             // 포맷팅 실패 시 원본 응답 반환
             return response;
@@ -1604,7 +1140,7 @@ public class ClaudeService {
             // JSON 문자열로 변환
             String jsonData = objectMapper.writeValueAsString(structuredData);
             
-            // 프롬프트 구성
+            // 요청마다 바뀌는 부분만 user 메시지로 보냄 (고정 지시문/응답 형식은 STOCK_SYSTEM_PROMPT)
             StringBuilder prompt = new StringBuilder();
             
             String symbol = (String) data.get("symbol");
@@ -1614,102 +1150,20 @@ public class ClaudeService {
                 .append(companyName)
                 .append(" (")
                 .append(symbol)
-                .append(") 주식에 대한 단기(1주일), 중기(1개월), 장기(3개월) 전망을 분석해주세요.\n\n");
-            
-            prompt.append("현재 포지션이 없는 상태에서 매수/매도 확률(%)과 그 이유, 주요 지지/저항선, 위험 요소를 포함해주세요.\n");
-            prompt.append("매수와 매도 확률의 합이 100%가 되어야 합니다. 매수나 매도가 70% 이상이면 해당 포지션을 추천하고, 둘 다 70% 미만이면 관망으로 추천해주세요.\n");
-            prompt.append("매수/매도 확률은 소수점 첫째 자리까지 구체적으로 제공해주세요. (예: 65.3%, 34.7%)\n\n");
-            prompt.append("매수를 추천하는 경우, 현재 진입 시 적정 수익실현 목표가와 손절매 가격을 구체적으로 제시해주세요.\n");
-            prompt.append("분할 매수/매도 전략을 구체적으로 제시해주세요. 각 가격대별로 몇 %씩 배분할지 명확하게 설명해주세요.\n");
-            prompt.append("예를 들어, '현재 가격에서 자금의 40%로 매수, 5% 하락시 추가 30%, 10% 하락시 나머지 30% 매수' 와 같은 형식으로 구체적인 매매 전략을 제시해주세요.\n");
-            prompt.append("추세와 변동성을 고려하여 리스크 대비 보상 비율도 계산해주세요.\n");
-            prompt.append("신뢰도 점수(1-10)도 함께 제공해주세요.\n\n");
-            
-            prompt.append("데이터:\n").append(jsonData).append("\n\n");
-            
-            prompt.append("다음 형식으로 응답해주세요:\n");
-            prompt.append("```json\n");
-            prompt.append("{\n");
-            prompt.append("  \"심볼\": \"").append(symbol).append("\",\n");
-            prompt.append("  \"회사명\": \"").append(companyName).append("\",\n");
-            prompt.append("  \"분석_요약\": \"핵심 분석 내용을 3-4문장으로 요약\",\n");
-            prompt.append("  \"매수매도_추천\": {\n");
-            prompt.append("    \"매수_확률\": 65.3,\n");
-            prompt.append("    \"매도_확률\": 34.7,\n");
-            prompt.append("    \"추천\": \"매수\" | \"매도\" | \"관망\",\n");
-            prompt.append("    \"신뢰도\": 7.5,\n");
-            prompt.append("    \"근거\": \"추천의 주요 근거 설명\"\n");
-            prompt.append("  },\n");
-            prompt.append("  \"매매_전략\": {\n");
-            prompt.append("    \"수익실현_목표가\": [가격1, 가격2],\n");
-            prompt.append("    \"손절매_라인\": 가격,\n");
-            prompt.append("    \"리스크_보상_비율\": 2.5,\n");
-            prompt.append("    \"매수_분할\": [\n");
-            prompt.append("      {\"가격\": 현재가격, \"비율\": 40, \"설명\": \"첫 진입\"},\n");
-            prompt.append("      {\"가격\": 지지선1, \"비율\": 30, \"설명\": \"1차 추가 매수\"},\n");
-            prompt.append("      {\"가격\": 지지선2, \"비율\": 30, \"설명\": \"2차 추가 매수\"}\n");
-            prompt.append("    ],\n");
-            prompt.append("    \"매도_분할\": [\n");
-            prompt.append("      {\"가격\": 목표가1, \"비율\": 30, \"설명\": \"1차 이익실현\"},\n");
-            prompt.append("      {\"가격\": 목표가2, \"비율\": 40, \"설명\": \"2차 이익실현\"},\n");
-            prompt.append("      {\"가격\": 목표가3, \"비율\": 30, \"설명\": \"3차 이익실현\"}\n");
-            prompt.append("    ],\n");
-            prompt.append("    \"전략_설명\": \"매매 전략에 대한 상세 설명\"\n");
-            prompt.append("  },\n");
-            prompt.append("  \"시간별_전망\": {\n");
-            prompt.append("    \"단기_1주일\": \"상승/하락/횡보 예상과 이유\",\n");
-            prompt.append("    \"중기_1개월\": \"상승/하락/횡보 예상과 이유\",\n");
-            prompt.append("    \"장기_3개월\": \"상승/하락/횡보 예상과 이유\"\n");
-            prompt.append("  },\n");
-            prompt.append("  \"기술적_분석\": {\n");
-            prompt.append("    \"주요_지지선\": [가격1, 가격2],\n");
-            prompt.append("    \"주요_저항선\": [가격1, 가격2],\n");
-            prompt.append("    \"추세_강도\": \"강/중/약\",\n");
-            prompt.append("    \"주요_패턴\": \"설명\"\n");
-            prompt.append("  },\n");
-            prompt.append("  \"재무_분석\": {\n");
-            prompt.append("    \"PER\": \"분석\",\n");
-            prompt.append("    \"EPS\": \"분석\",\n");
-            prompt.append("    \"배당수익률\": \"분석\",\n");
-            prompt.append("    \"시가총액\": \"분석\",\n");
-            prompt.append("    \"기업가치_평가\": \"전반적인 기업가치 평가\"\n");
-            prompt.append("  },\n");
-            prompt.append("  \"최근_뉴스_요약\": {\n");
-            prompt.append("    \"주요_뉴스\": [\"뉴스1 요약\", \"뉴스2 요약\"],\n");
-            prompt.append("    \"뉴스_영향\": \"뉴스가 가격에 미치는 영향 분석\"\n");
-            prompt.append("  },\n");
-            prompt.append("  \"위험_요소\": [\n");
-            prompt.append("    \"주요 위험 요소 1\",\n");
-            prompt.append("    \"주요 위험 요소 2\"\n");
-            prompt.append("  ]\n");
-            prompt.append("}\n```\n\n");
-            
-            prompt.append("매수_확률과 매도_확률의 합은 반드시 100%가 되어야 합니다. 추천은 매수_확률이 70% 이상이면 '매수', 매도_확률이 70% 이상이면 '매도', 둘 다 70% 미만이면 '관망'으로 설정해주세요.");
-            prompt.append("JSON 형식이 정확해야 합니다. 분석은 명확하고 구체적인 정보를 포함해야 하며, 두루뭉술한 표현은 피해주세요.");
-            prompt.append("매수/매도 확률 값은 소수점 첫째 자리까지 정확하게 제공해주세요.");
-                
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", "claude-3-7-sonnet-latest");
-            requestBody.put("max_tokens", 3000);
+                .append(") 주식에 대한 단기(1주일), 중기(1개월), 장기(3개월) 전망을 분석해주세요.\n");
+            prompt.append("응답의 심볼은 \"").append(symbol).append("\", 회사명은 \"").append(companyName).append("\"로 채워주세요.\n\n");
             
-            List<Map<String, String>> messages = new ArrayList<>();
-            Map<String, String> message = new HashMap<>();
-            message.put("role", "user");
-            message.put("content", prompt.toString());
-            messages.add(message);
+            prompt.append("데이터:\n").append(jsonData);
             
-            requestBody.put("messages", messages);
+            Map<String, Object> requestBody = cachedPromptRequest(STOCK_SYSTEM_PROMPT, prompt.toString());
             
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            
-            Map<String, Object> response = restTemplate.postForObject(API_URL, request, Map.class);
-            Map<String, Object> responseContent = (Map<String, Object>) ((List<Object>) response.get("content")).get(0);
-            String rawResponse = (String) responseContent.get("text");
+            String rawResponse = callClaude("stock", requestBody, headers);
             
             // JSON 결과 추출 및 포맷팅
             return formatJsonResponse(rawResponse);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.warn("Claude 주식 분석 요청 실패, 대체 분석 사용: {}", e.getMessage());
+            metrics.recordFallback("anthropic", "stock_analysis");
             
             // 오류 시 대체 분석 결과 제공
             String fallbackResult = generateFallbackStockAnalysis(data);
@@ -1717,6 +1171,84 @@ public class ClaudeService {
         }
     }
     
+    /**
+     * 주식 분석 고정 지시문과 응답 형식 (요청마다 같으므로 프롬프트 캐시 접두어로 사용)
+     */
+    private static String stockSystemPrompt() {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("주식 시장 분석가로서 요청에 주어진 종목과 데이터를 기반으로 분석해주세요.\n\n");
+        prompt.append("현재 포지션이 없는 상태에서 매수/매도 확률(%)과 그 이유, 주요 지지/저항선, 위험 요소를 포함해주세요.\n");
+        prompt.append("매수와 매도 확률의 합이 100%가 되어야 합니다. 매수나 매도가 70% 이상이면 해당 포지션을 추천하고, 둘 다 70% 미만이면 관망으로 추천해주세요.\n");
+        prompt.append("매수/매도 확률은 소수점 첫째 자리까지 구체적으로 제공해주세요. (예: 65.3%, 34.7%)\n\n");
+        prompt.append("매수를 추천하는 경우, 현재 진입 시 적정 수익실현 목표가와 손절매 가격을 구체적으로 제시해주세요.\n");
+        prompt.append("분할 매수/매도 전략을 구체적으로 제시해주세요. 각 가격대별로 몇 %씩 배분할지 명확하게 설명해주세요.\n");
+        prompt.append("예를 들어, '현재 가격에서 자금의 40%로 매수, 5% 하락시 추가 30%, 10% 하락시 나머지 30% 매수' 와 같은 형식으로 구체적인 매매 전략을 제시해주세요.\n");
+        prompt.append("추세와 변동성을 고려하여 리스크 대비 보상 비율도 계산해주세요.\n");
+        prompt.append("신뢰도 점수(1-10)도 함께 제공해주세요.\n\n");
+        
+        prompt.append("다음 형식으로 응답해주세요:\n");
+        prompt.append("```json\n");
+        prompt.append("{\n");
+        prompt.append("  \"심볼\": \"종목 심볼\",\n");
+        prompt.append("  \"회사명\": \"회사 이름\",\n");
+        prompt.append("  \"분석_요약\": \"핵심 분석 내용을 3-4문장으로 요약\",\n");
+        prompt.append("  \"매수매도_추천\": {\n");
+        prompt.append("    \"매수_확률\": 65.3,\n");
+        prompt.append("    \"매도_확률\": 34.7,\n");
+        prompt.append("    \"추천\": \"매수\" | \"매도\" | \"관망\",\n");
+        prompt.append("    \"신뢰도\": 7.5,\n");
+        prompt.append("    \"근거\": \"추천의 주요 근거 설명\"\n");
+        prompt.append("  },\n");
+        prompt.append("  \"매매_전략\": {\n");
+        prompt.append("    \"수익실현_목표가\": [가격1, 가격2],\n");
+        prompt.append("    \"손절매_라인\": 가격,\n");
+        prompt.append("    \"리스크_보상_비율\": 2.5,\n");
+        prompt.append("    \"매수_분할\": [\n");
+        prompt.append("      {\"가격\": 현재가격, \"비율\": 40, \"설명\": \"첫 진입\"},\n");
+        prompt.append("      {\"가격\": 지지선1, \"비율\": 30, \"설명\": \"1차 추가 매수\"},\n");
+        prompt.append("      {\"가격\": 지지선2, \"비율\": 30, \"설명\": \"2차 추가 매수\"}\n");
+        prompt.append("    ],\n");
+        prompt.append("    \"매도_분할\": [\n");
+        prompt.append("      {\"가격\": 목표가1, \"비율\": 30, \"설명\": \"1차 이익실현\"},\n");
+        prompt.append("      {\"가격\": 목표가2, \"비율\": 40, \"설명\": \"2차 이익실현\"},\n");
+        prompt.append("      {\"가격\": 목표가3, \"비율\": 30, \"설명\": \"3차 이익실현\"}\n");
+        prompt.append("    ],\n");
+        prompt.append("    \"전략_설명\": \"매매 전략에 대한 상세 설명\"\n");
+        prompt.append("  },\n");
+        prompt.append("  \"시간별_전망\": {\n");
+        prompt.append("    \"단기_1주일\": \"상승/하락/횡보 예상과 이유\",\n");
+        prompt.append("    \"중기_1개월\": \"상승/하락/횡보 예상과 이유\",\n");
+        prompt.append("    \"장기_3개월\": \"상승/하락/횡보 예상과 이유\"\n");
+        prompt.append("  },\n");
+        prompt.append("  \"기술적_분석\": {\n");
+        prompt.append("    \"주요_지지선\": [가격1, 가격2],\n");
+        prompt.append("    \"주요_저항선\": [가격1, 가격2],\n");
+        prompt.append("    \"추세_강도\": \"강/중/약\",\n");
+        prompt.append("    \"주요_패턴\": \"설명\"\n");
+        prompt.append("  },\n");
+        prompt.append("  \"재무_분석\": {\n");
+        prompt.append("    \"PER\": \"분석\",\n");
+        prompt.append("    \"EPS\": \"분석\",\n");
+        prompt.append("    \"배당수익률\": \"분석\",\n");
+        prompt.append("    \"시가총액\": \"분석\",\n");
+        prompt.append("    \"기업가치_평가\": \"전반적인 기업가치 평가\"\n");
+        prompt.append("  },\n");
+        prompt.append("  \"최근_뉴스_요약\": {\n");
+        prompt.append("    \"주요_뉴스\": [\"뉴스1 요약\", \"뉴스2 요약\"],\n");
+        prompt.append("    \"뉴스_영향\": \"뉴스가 가격에 미치는 영향 분석\"\n");
+        prompt.append("  },\n");
+        prompt.append("  \"위험_요소\": [\n");
+        prompt.append("    \"주요 위험 요소 1\",\n");
+        prompt.append("    \"주요 위험 요소 2\"\n");
+        prompt.append("  ]\n");
+        prompt.append("}\n```\n\n");
+        
+        prompt.append("매수_확률과 매도_확률의 합은 반드시 100%가 되어야 합니다. 추천은 매수_확률이 70% 이상이면 '매수', 매도_확률이 70% 이상이면 '매도', 둘 다 70% 미만이면 '관망'으로 설정해주세요.");
+        prompt.append("JSON 형식이 정확해야 합니다. 분석은 명확하고 구체적인 정보를 포함해야 하며, 두루뭉술한 표현은 피해주세요.");
+        prompt.append("매수/매도 확률 값은 소수점 첫째 자리까지 정확하게 제공해주세요.");
+        return prompt.toString();
+    }
+    
     /**
      * 주식 데이터 준비
      */
@@ -1737,6 +1269,10 @@ public class ClaudeService {
         try {
             JsonNode candles = objectMapper.readTree((String) data.get("historicalData"));
             for (JsonNode candle : candles) {
+                // 지표 계산용으로 1년치를 받지만 프롬프트에는 최근 30일만 포함
+                if (priceDataList.size() >= 30) {
+                    break;
+                }
                 Map<String, Object> priceMap = new HashMap<>();
                 priceMap.put("날짜", candle.get("candle_date_time_utc").asText().split("T")[0]);
                 priceMap.put("시가", candle.get("opening_price").asDouble());
@@ -1747,7 +1283,7 @@ public class ClaudeService {
                 priceDataList.add(priceMap);
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            log.warn("가격 데이터 변환 실패: {}", e.getMessage());
         }
         structuredData.put("가격데이터", priceDataList);
         
@@ -1759,7 +1295,7 @@ public class ClaudeService {
                 indicators.putAll(techIndicators);
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            log.warn("기술 지표 변환 실패: {}", e.getMessage());
         }
         structuredData.put("기술지표", indicators);
         
@@ -1771,7 +1307,7 @@ public class ClaudeService {
                 financials.putAll(financialData);
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            log.warn("재무 데이터 변환 실패: {}", e.getMessage());
         }
         structuredData.put("재무정보", financials);
         
@@ -1797,7 +1333,7 @@ public class ClaudeService {
                 }
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            log.warn("뉴스 데이터 변환 실패: {}", e.getMessage());
         }
         newsData.put("뉴스목록", newsList);
         structuredData.put("뉴스", newsData);
@@ -1996,7 +1532,7 @@ public class ClaudeService {
             // JSON 형식으로 변환하여 반환
             return "```json\n" + objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(fallbackAnalysis) + "\n```";
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("대체 주식 분석 생성 실패", e);
             return "## " + data.get("symbol") + " 분석 결과\n\n" +
                 "시스템 오류로 인해 자세한 분석을 제공할 수 없습니다. 다시 시도해주세요.";
         }
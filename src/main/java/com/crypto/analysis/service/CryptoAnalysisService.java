@@ -0,0 +1,442 @@
+package com.crypto.analysis.service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.crypto.analysis.exchange.AdapterResult;
+import com.crypto.analysis.exchange.ExchangeAdapter;
+import com.crypto.analysis.exchange.ExchangeRegistry;
+import com.crypto.analysis.exchange.Ticker;
+import com.crypto.analysis.logging.MdcTaskDecorator;
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.model.Candle;
+import com.crypto.analysis.model.Timeframe;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.function.Tuple6;
+
+/**
+ * 코인 분석(/analyze) 파이프라인
+ *
+ * 데이터 준비(캔들, 현재가, 지표, 공포/욕심, 뉴스)와 Claude 분석 단계로 나뉜다.
+ * 데이터 준비의 외부 호출은 논블로킹으로 동시에 보내고 요청 스레드는 전체 결과를 한 번만 기다린다.
+ * AnalysisWarmerService 가 미리 만든 결과는 일봉 마감(UTC 자정) 전까지 그대로 재사용하고,
+ * Claude 결과 없이 데이터만 준비된 경우에는 현재가만 새로 받아 분석 단계만 실행한다.
+ * 캔들/현재가/공포·욕심 지수 중 하나라도 조회 실패로 만든 대체 데이터면 그 결과는 캐시하지 않는다.
+ *
+ * analysis.tiered.enabled 이면 분석 단계는 두 단계로 나뉜다. 규칙 기반 분석(RSI, 공포/욕심 지수)을 바로 응답하고
+ * Claude 분석은 백그라운드에서 실행해 끝나면 /topic/analysis/{analysisId} 로 보낸다.
+ * 같은 종목의 Claude 분석이 진행 중이면 새로 시작하지 않고 그 analysisId 를 함께 받는다.
+ * 구독 전에 전송이 끝났을 수 있으므로 끝난 결과는 analysis.tiered.result-ttl-ms 동안 보관해 /analyze/result/{analysisId} 로 다시 준다.
+ */
+@Service
+public class CryptoAnalysisService {
+
+    private static final Logger log = LoggerFactory.getLogger(CryptoAnalysisService.class);
+
+    private final ExchangeRegistry exchangeRegistry;
+    private final TechnicalIndicatorService technicalIndicatorService;
+    private final MarketSentimentService marketSentimentService;
+    private final ClaudeService claudeService;
+    private final AnalysisMetrics metrics;
+
+    // 지표 계산을 이벤트 루프 밖에서 실행 (가상 스레드 모드에서는 가상 스레드)
+    @Autowired
+    @Qualifier("analysisBlockingScheduler")
+    private Scheduler blockingScheduler;
+
+    // 예열된 결과 (키: exchange:market)
+    private final Map<String, Prepared> warmed = new ConcurrentHashMap<>();
+    // 요청 빈도 (핫 리스트 자동 선정용)
+    private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+    // 진행 중인 Claude 분석 (키: exchange:market, 값: analysisId)
+    private final Map<String, String> upgrading = new ConcurrentHashMap<>();
+    // 끝난 Claude 분석 결과 (키: analysisId, 구독 전에 끝난 결과를 다시 주기 위해 보관)
+    private final Map<String, FinishedUpgrade> finished = new ConcurrentHashMap<>();
+
+    @Value("${analysis.tiered.enabled:false}")
+    private boolean TIERED;
+
+    @Value("${analysis.tiered.parallelism:4}")
+    private int UPGRADE_PARALLELISM;
+
+    @Value("${analysis.tiered.result-ttl-ms:300000}")
+    private long RESULT_TTL_MS;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private MdcTaskDecorator mdcTaskDecorator;
+
+    // Claude 응답을 기다리는 동안 fan-out 실행기를 점유하지 않도록 별도 실행기 사용
+    private ThreadPoolTaskExecutor upgradeExecutor;
+
+    public CryptoAnalysisService(ExchangeRegistry exchangeRegistry, TechnicalIndicatorService technicalIndicatorService, MarketSentimentService marketSentimentService,
+            ClaudeService claudeService, AnalysisMetrics metrics) {
+        this.exchangeRegistry = exchangeRegistry;
+        this.technicalIndicatorService = technicalIndicatorService;
+        this.marketSentimentService = marketSentimentService;
+        this.claudeService = claudeService;
+        this.metrics = metrics;
+    }
+
+    @PostConstruct
+    public void init() {
+        upgradeExecutor = new ThreadPoolTaskExecutor();
+        upgradeExecutor.setCorePoolSize(Math.max(1, UPGRADE_PARALLELISM));
+        upgradeExecutor.setMaxPoolSize(Math.max(1, UPGRADE_PARALLELISM));
+        upgradeExecutor.setThreadNamePrefix("analysis-upgrade-");
+        upgradeExecutor.setTaskDecorator(mdcTaskDecorator);
+        upgradeExecutor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (upgradeExecutor != null) {
+            upgradeExecutor.shutdown();
+        }
+    }
+
+    /**
+     * /analyze 응답 생성 (예열된 결과가 있으면 캐시에서 읽음)
+     *
+     * 응답의 tier 는 llm(Claude 분석) 또는 rules(규칙 기반 분석, analysisId 로 Claude 결과를 기다림)
+     */
+    public Map<String, Object> analyze(String market, String exchange) {
+        Map<String, Object> result = new HashMap<>();
+        try {
+            if (!isSupported(exchange)) {
+                result.put("success", false);
+                result.put("error", "지원하지 않는 거래소입니다. 'upbit' 또는 'binance'를 선택하세요.");
+                return result;
+            }
+            String key = key(exchange, market);
+            requestCounts.computeIfAbsent(key, k -> new LongAdder()).increment();
+
+            Prepared prepared = warmed.get(key);
+            if (prepared != null && isFresh(prepared)) {
+                if (prepared.result() != null) {
+                    log.debug("예열된 분석 결과 사용: {}", key);
+                    // 호출 측이 응답 맵을 고쳐도 캐시된 결과가 바뀌지 않도록 복사 (체결 흐름은 지금 값으로)
+                    Map<String, Object> cached = new HashMap<>(prepared.result());
+                    cached.put("indicators", technicalIndicatorService.withTradeFlow(market, prepared.indicators()));
+                    return cached;
+                }
+                // 데이터만 예열된 경우 현재가만 갱신해 분석
+                Map<String, Object> analysisData = new HashMap<>(prepared.analysisData());
+                Ticker currentPrice = fetchCurrentPrice(market, exchange);
+                analysisData.put("currentPrice", currentPrice);
+                prepared = new Prepared(analysisData, prepared.indicators(), prepared.fearGreedIndex(),
+                    prepared.news(), prepared.preparedAt(), currentPrice.isEmpty(), null);
+            } else {
+                prepared = prepare(market, exchange);
+            }
+            prepared = withTradeFlow(prepared, market);
+            return TIERED ? completeTiered(key, prepared, exchange) : complete(prepared, exchange);
+        } catch (Exception e) {
+            log.error("분석 요청 처리 실패: market={}, exchange={}", market, exchange, e);
+            result.put("success", false);
+            result.put("error", e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * 분석 결과를 미리 만들어 캐시 (includeClaude 가 false 면 데이터 준비 단계까지만)
+     *
+     * 대체 데이터가 섞이면 일봉 마감까지 남지 않도록 캐시하지 않고 예외
+     */
+    public void warm(String market, String exchange, boolean includeClaude) throws Exception {
+        Prepared prepared = prepare(market, exchange);
+        if (prepared.degraded()) {
+            throw new IllegalStateException("대체 데이터가 포함되어 예열하지 않음: " + key(exchange, market));
+        }
+        if (includeClaude) {
+            Map<String, Object> result = complete(prepared, exchange);
+            if (!Boolean.TRUE.equals(result.get("success"))) {
+                throw new IllegalStateException(String.valueOf(result.get("error")));
+            }
+            prepared = new Prepared(prepared.analysisData(), prepared.indicators(), prepared.fearGreedIndex(),
+                prepared.news(), prepared.preparedAt(), false, result);
+        }
+        warmed.put(key(exchange, market), prepared);
+    }
+
+    /**
+     * 요청이 많은 순으로 상위 limit 개 (exchange:market) 를 반환하고 빈도를 절반으로 줄임
+     */
+    public List<String> topRequested(int limit) {
+        List<Map.Entry<String, LongAdder>> entries = new ArrayList<>(requestCounts.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()));
+        List<String> top = new ArrayList<>();
+        for (Map.Entry<String, LongAdder> entry : entries) {
+            if (top.size() >= limit) {
+                break;
+            }
+            if (entry.getValue().sum() > 0) {
+                top.add(entry.getKey());
+            }
+        }
+        // 오래된 인기 종목이 계속 남지 않도록 감쇠
+        for (Map.Entry<String, LongAdder> entry : entries) {
+            long half = entry.getValue().sum() / 2;
+            entry.getValue().reset();
+            if (half > 0) {
+                entry.getValue().add(half);
+            } else {
+                requestCounts.remove(entry.getKey());
+            }
+        }
+        return top;
+    }
+
+    /**
+     * 예열 목록에서 빠진 종목 캐시 제거
+     */
+    public void retainWarmed(List<String> keys) {
+        warmed.keySet().retainAll(keys);
+    }
+
+    public static String key(String exchange, String market) {
+        return exchange.toLowerCase() + ":" + market;
+    }
+
+    private Prepared prepare(String market, String exchange) throws Exception {
+        final boolean upbit = "upbit".equalsIgnoreCase(exchange);
+        ExchangeAdapter adapter = exchangeRegistry.get(exchange);
+
+        String coinSymbol;
+        if (upbit) {
+            coinSymbol = market.split("-")[1]; // KRW-BTC에서 BTC 추출
+        } else {
+            coinSymbol = market.replace("USDT", ""); // BTCUSDT에서 BTC 추출
+        }
+
+        // 서로 독립적인 외부 조회(캔들, 현재가, 공포/욕심 지수, 뉴스, Claude 프롬프트용 코인 뉴스)는 동시에 실행
+        // 각 호출은 실패 시 대체 데이터로 끝나므로 zip 이 중간에 취소되지 않는다
+        // 값 없이 끝난 소스가 있으면 zip 이 null 을 돌려주므로 각 소스에서 대체값 또는 어느 단계인지 밝힌 오류로 바꾼다
+        Mono<AdapterResult<Candle>> candlesMono = required("candles", metrics.timeStageAsync("crypto", "candles",
+                adapter.candlesAsync(market, Timeframe.ONE_DAY, 30))).cache();
+        // 기술적 지표 계산 (캔들만 기다림)
+        // 캔들 응답은 이벤트 루프 스레드에서 오므로 요청 스레드의 MDC(상관관계 ID)를 잡아 두었다가 붙임
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Mono<Map<String, Object>> indicatorsMono = candlesMono
+                .publishOn(blockingScheduler)
+                .flatMap(candles -> Mono.fromCallable(() -> MdcTaskDecorator.call(mdc, () -> metrics.timeStage("crypto",
+                        "indicators", () -> technicalIndicatorService.calculateAllIndicators(market, candles.items())))));
+
+        Tuple6<AdapterResult<Candle>, Map<String, Object>, Ticker, Map<String, Object>, Map<String, Object>, Map<String, Object>> fetched =
+                Mono.zip(candlesMono, required("indicators", indicatorsMono),
+                        metrics.timeStageAsync("crypto", "current_price", adapter.tickerAsync(market))
+                                .defaultIfEmpty(Ticker.empty(market)),
+                        required("fear_greed", metrics.timeStageAsync("crypto", "fear_greed",
+                                marketSentimentService.getFearAndGreedIndexAsync())),
+                        required("news", metrics.timeStageAsync("crypto", "news",
+                                marketSentimentService.getNewsForCoinAsync(coinSymbol))),
+                        required("coin_news", metrics.timeStageAsync("crypto", "coin_news",
+                                claudeService.getCoinNewsAsync(coinSymbol, claudeService.getCoinName(market, coinSymbol)))))
+                    .block();
+
+        AdapterResult<Candle> candles = fetched.getT1();
+        Map<String, Object> indicators = fetched.getT2();
+        Ticker currentPrice = fetched.getT3();
+        Map<String, Object> fearGreedIndex = fetched.getT4();
+        Map<String, Object> news = fetched.getT5();
+
+        // 데이터 통합
+        Map<String, Object> analysisData = new HashMap<>();
+        analysisData.put("market", market);
+        analysisData.put("exchange", exchange);
+        analysisData.put("currentPrice", currentPrice);
+        analysisData.put("candles", candles.items());
+        analysisData.put("technicalIndicators", indicators.get("latest"));
+        analysisData.put("fearGreedIndex", fearGreedIndex);
+        analysisData.put("news", news);
+        analysisData.put("coinNews", fetched.getT6());
+        analysisData.put("sentimentService", marketSentimentService); // 감성 분석을 위해 서비스 전달
+
+        // 어댑터/감성 서비스는 실패해도 대체 데이터로 끝나므로 여기서 구분
+        boolean degraded = candles.degraded() || currentPrice.isEmpty()
+                || Boolean.TRUE.equals(fearGreedIndex.get("fallback"));
+        return new Prepared(analysisData, indicators, fearGreedIndex, news, System.currentTimeMillis(), degraded, null);
+    }
+
+    private static <T> Mono<T> required(String stage, Mono<T> source) {
+        return source.switchIfEmpty(Mono.error(() -> new IllegalStateException("분석 데이터가 비어 있습니다: " + stage)));
+    }
+
+    // 체결 흐름은 캐시되는 지표에 두지 않고 분석 요청마다 지금 값으로 붙임
+    private Prepared withTradeFlow(Prepared prepared, String market) {
+        Map<String, Object> indicators = technicalIndicatorService.withTradeFlow(market, prepared.indicators());
+        Map<String, Object> analysisData = new HashMap<>(prepared.analysisData());
+        analysisData.put("technicalIndicators", indicators.get("latest"));
+        return new Prepared(analysisData, indicators, prepared.fearGreedIndex(), prepared.news(), prepared.preparedAt(),
+            prepared.degraded(), prepared.result());
+    }
+
+    private Map<String, Object> complete(Prepared prepared, String exchange) throws Exception {
+        // Claude API로 분석 요청 (내부의 뉴스/거시/온체인 조회 포함)
+        String analysisResult = metrics.timeStage("crypto", "claude",
+                () -> claudeService.generateAnalysis(prepared.analysisData()));
+
+        return result(prepared, exchange, analysisResult, "llm");
+    }
+
+    /**
+     * 규칙 기반 분석을 바로 반환하고 Claude 분석은 백그라운드에서 실행
+     */
+    private Map<String, Object> completeTiered(String key, Prepared prepared, String exchange) throws Exception {
+        String analysisResult = metrics.timeStage("crypto", "rules",
+                () -> claudeService.generateRuleBasedAnalysis(prepared.analysisData()));
+        Map<String, Object> result = result(prepared, exchange, analysisResult, "rules");
+
+        String analysisId = UUID.randomUUID().toString();
+        String running = upgrading.putIfAbsent(key, analysisId);
+        if (running != null) {
+            analysisId = running;
+        } else {
+            String id = analysisId;
+            try {
+                upgradeExecutor.execute(() -> upgrade(key, id, prepared, exchange));
+            } catch (TaskRejectedException e) {
+                upgrading.remove(key, id);
+                log.warn("Claude 분석 시작 실패, 규칙 기반 분석만 반환: {}", key);
+                return result;
+            }
+        }
+        result.put("analysisId", analysisId);
+        return result;
+    }
+
+    /**
+     * Claude 분석 후 /topic/analysis/{analysisId} 로 전송 (실패하면 success=false, 화면은 규칙 기반 분석 유지)
+     */
+    private void upgrade(String key, String analysisId, Prepared prepared, String exchange) {
+        Map<String, Object> message;
+        try {
+            String analysisResult = metrics.timeStage("crypto", "claude",
+                    () -> claudeService.generateLlmAnalysis(prepared.analysisData()));
+            message = result(prepared, exchange, analysisResult, "llm");
+            message.put("analysisId", analysisId);
+            // 다음 일봉 마감 전까지 같은 종목 요청은 Claude 결과를 바로 사용 (대체 데이터로 만든 결과는 제외)
+            if (!prepared.degraded()) {
+                warmed.put(key, new Prepared(prepared.analysisData(), prepared.indicators(), prepared.fearGreedIndex(),
+                    prepared.news(), prepared.preparedAt(), false, message));
+            }
+        } catch (Exception e) {
+            log.warn("Claude 분석 실패, 규칙 기반 분석 유지: {} ({})", key, e.getMessage());
+            metrics.recordFallback("anthropic", "crypto_analysis");
+            message = new HashMap<>();
+            message.put("success", false);
+            message.put("analysisId", analysisId);
+            message.put("error", e.getMessage());
+        } finally {
+            upgrading.remove(key, analysisId);
+        }
+        // 같은 analysisId 를 받은 요청이 아직 구독하지 않았을 수 있으므로 전송 전에 보관
+        long now = System.currentTimeMillis();
+        finished.values().removeIf(upgrade -> upgrade.expiresAt() <= now);
+        finished.put(analysisId, new FinishedUpgrade(message, now + RESULT_TTL_MS));
+        messagingTemplate.convertAndSend("/topic/analysis/" + analysisId, message);
+    }
+
+    /**
+     * 끝난 Claude 분석 결과 (/topic/analysis/{analysisId} 로 보낸 메시지, 진행 중이거나 보관 기간이 지났으면 null)
+     */
+    public Map<String, Object> upgradeResult(String analysisId) {
+        FinishedUpgrade upgrade = finished.get(analysisId);
+        if (upgrade == null || upgrade.expiresAt() <= System.currentTimeMillis()) {
+            return null;
+        }
+        return upgrade.message();
+    }
+
+    private Map<String, Object> result(Prepared prepared, String exchange, String analysisResult, String tier) {
+        // JSON 응답에서 추출
+        String jsonResponse = extractJsonFromResponse(analysisResult);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", true);
+        result.put("tier", tier);
+        result.put("analysis", jsonResponse);
+        result.put("rawAnalysis", analysisResult); // 원본 분석 텍스트도 함께 전달
+        result.put("indicators", prepared.indicators());
+        result.put("fearGreedIndex", prepared.fearGreedIndex());
+        result.put("news", prepared.news());
+        result.put("exchange", exchange); // 거래소 정보 추가
+        result.put("preparedAt", prepared.preparedAt());
+        return result;
+    }
+
+    private Ticker fetchCurrentPrice(String market, String exchange) throws Exception {
+        return metrics.timeStage("crypto", "current_price", () -> exchangeRegistry.get(exchange).ticker(market));
+    }
+
+    private boolean isSupported(String exchange) {
+        return exchangeRegistry.supports(exchange);
+    }
+
+    // 마지막 일봉 마감(UTC 자정) 이후에 만든 결과만 사용
+    private boolean isFresh(Prepared prepared) {
+        long lastDailyClose = LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        return prepared.preparedAt() >= lastDailyClose;
+    }
+
+    /**
+     * Claude 응답에서 JSON 부분만 추출
+     */
+    private String extractJsonFromResponse(String response) {
+        try {
+            int startIndex = response.indexOf("```json");
+            int endIndex = response.lastIndexOf("```");
+            
+            if (startIndex != -1 && endIndex != -1 && startIndex < endIndex) {
+                // json 블록 시작 부분 이후부터 추출
+                startIndex = response.indexOf("\n", startIndex) + 1;
+                return response.substring(startIndex, endIndex).trim();
+            }
+            
+            // JSON 형식이 아닌 경우 전체 응답 반환
+            return response;
+        } catch (Exception e) {
+            log.warn("JSON 추출 실패: {}", e.getMessage());
+            return response;
+        }
+    }
+
+    private record Prepared(
+            Map<String, Object> analysisData,
+            Map<String, Object> indicators,
+            Map<String, Object> fearGreedIndex,
+            Map<String, Object> news,
+            long preparedAt,
+            // 캔들/현재가/공포·욕심 지수 중 대체 데이터가 있음 (캐시하지 않음)
+            boolean degraded,
+            Map<String, Object> result) {
+    }
+
+    private record FinishedUpgrade(Map<String, Object> message, long expiresAt) {
+    }
+}
@@ -0,0 +1,217 @@
+package com.crypto.analysis.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import com.crypto.analysis.exchange.ExchangeJson;
+import com.crypto.analysis.journal.JournalRecord;
+import com.crypto.analysis.model.Candle;
+import com.crypto.analysis.trade.TradeEvent;
+import com.crypto.analysis.trade.TradeFlowSnapshot;
+import com.crypto.analysis.trade.TradeTape;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 저널 재생 (프로파일링용)
+ *
+ * 지난 구간의 저널을 speed 배속(0 이면 최대 속도)으로 다시 흘려보낸다.
+ * 현재가는 /topic/replay/ticker 로, 1분봉이 넘어갈 때마다 계산한 지표와 재생용 체결 테이프 요약은
+ * /topic/replay/indicators/{market} 로 발행해 실시간 구독자와 섞이지 않게 한다.
+ * 한 번에 하나의 재생만 실행한다.
+ */
+@Service
+public class JournalReplayService {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalReplayService.class);
+
+    // 지표 계산에 넘길 마켓별 최근 1분봉 수
+    private static final int CANDLE_WINDOW = 200;
+
+    private final JournalService journalService;
+    private final TechnicalIndicatorService technicalIndicatorService;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "journal-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private volatile Map<String, Object> lastResult = Map.of();
+
+    @Value("${trades.window-ms:3600000}")
+    private long TRADE_WINDOW_MS;
+
+    @Value("${trades.capacity:131072}")
+    private int TRADE_CAPACITY;
+
+    @Value("${trades.profile-bucket-pct:0.1}")
+    private double PROFILE_BUCKET_PCT;
+
+    @Value("${trades.profile-levels:24}")
+    private int PROFILE_LEVELS;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    public JournalReplayService(JournalService journalService, TechnicalIndicatorService technicalIndicatorService) {
+        this.journalService = journalService;
+        this.technicalIndicatorService = technicalIndicatorService;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cancelled = true;
+        executor.shutdownNow();
+    }
+
+    /**
+     * 재생 시작
+     *
+     * @return 이미 재생 중이면 false
+     */
+    public boolean start(long from, long to, double speed) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        cancelled = false;
+        executor.execute(() -> {
+            try {
+                lastResult = replay(from, to, speed);
+            } catch (Exception e) {
+                log.warn("저널 재생 실패: {}", e.getMessage());
+                lastResult = Map.of("error", String.valueOf(e.getMessage()));
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public void stop() {
+        cancelled = true;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("running", running.get());
+        status.put("written", journalService.getWritten());
+        status.put("lastResult", lastResult);
+        return status;
+    }
+
+    private Map<String, Object> replay(long from, long to, double speed) throws Exception {
+        Map<String, TradeTape> tapes = new HashMap<>();
+        Map<String, TreeMap<Long, Candle>> candles = new HashMap<>();
+        Map<String, Long> lastMinute = new HashMap<>();
+        TradeEvent trade = new TradeEvent();
+        long[] counts = new long[4];
+        long wallStart = System.nanoTime();
+        long[] firstTime = {Long.MIN_VALUE};
+
+        long total = journalService.replay(from, to, record -> {
+            if (cancelled) {
+                return false;
+            }
+            if (speed > 0) {
+                pace(record.getTime(), firstTime, wallStart, speed);
+            }
+            byte type = record.getType();
+            if (type < JournalRecord.TICK || type > JournalRecord.CANDLE) {
+                return true;
+            }
+            counts[type]++;
+            switch (type) {
+                case JournalRecord.TICK -> messagingTemplate.convertAndSend("/topic/replay/ticker",
+                    ExchangeJson.writeTicker(record.toTicker()));
+                case JournalRecord.TRADE -> tapes.computeIfAbsent(record.getMarket(), m -> new TradeTape(
+                    record.getExchange(), m, TRADE_WINDOW_MS, TRADE_CAPACITY, PROFILE_BUCKET_PCT))
+                    .add(record.toTrade(trade));
+                case JournalRecord.CANDLE -> onCandle(record, candles, lastMinute, tapes);
+                default -> { }
+            }
+            return true;
+        });
+
+        long elapsedMs = (System.nanoTime() - wallStart) / 1_000_000;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from);
+        result.put("to", to);
+        result.put("speed", speed);
+        result.put("records", total);
+        result.put("ticks", counts[JournalRecord.TICK]);
+        result.put("trades", counts[JournalRecord.TRADE]);
+        result.put("candles", counts[JournalRecord.CANDLE]);
+        result.put("elapsedMs", elapsedMs);
+        result.put("recordsPerSecond", elapsedMs > 0 ? total * 1000 / elapsedMs : total);
+        result.put("cancelled", cancelled);
+        log.info("저널 재생 완료: {}", result);
+        return result;
+    }
+
+    // 같은 1분봉이 여러 번 기록되므로 시각이 바뀔 때 직전까지의 봉으로 지표를 계산
+    private void onCandle(JournalRecord record, Map<String, TreeMap<Long, Candle>> candles,
+                          Map<String, Long> lastMinute, Map<String, TradeTape> tapes) {
+        String market = record.getMarket();
+        TreeMap<Long, Candle> bars = candles.computeIfAbsent(market, m -> new TreeMap<>());
+        Long previous = lastMinute.get(market);
+        if (previous != null && record.getTime() > previous && bars.size() > 1) {
+            publishIndicators(record.getExchange(), market, new ArrayList<>(bars.values()), tapes.get(market));
+        }
+        bars.put(record.getTime(), ExchangeJson.candle(market, record.getTime(), record.value(0), record.value(1),
+            record.value(2), record.value(3), record.value(4), record.value(5)));
+        while (bars.size() > CANDLE_WINDOW) {
+            bars.pollFirstEntry();
+        }
+        lastMinute.merge(market, record.getTime(), Math::max);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void publishIndicators(String exchange, String market, List<Candle> bars, TradeTape tape) {
+        Map<String, Object> indicators = technicalIndicatorService.calculateAllIndicators(market, bars);
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("exchange", exchange);
+        payload.put("market", market);
+        payload.put("time", bars.get(bars.size() - 1).candleDateTimeUtc().toInstant().toEpochMilli());
+        // 체결 지표는 실시간 테이프(withTradeFlow) 대신 재생 중인 테이프 값을 사용
+        Map<String, Double> latest = new HashMap<>((Map<String, Double>) indicators.get("latest"));
+        TradeFlowSnapshot flow = tape == null ? null : tape.snapshot(tape.getLastTime(), PROFILE_LEVELS);
+        if (flow != null) {
+            latest.put("vwap", flow.vwap());
+            latest.put("volumeDelta", flow.delta());
+            latest.put("cvd", flow.cvd());
+            latest.put("volumePoc", flow.poc());
+            payload.put("tradeFlow", flow);
+        }
+        payload.put("latest", latest);
+        messagingTemplate.convertAndSend("/topic/replay/indicators/" + market, payload);
+    }
+
+    // 기록 시각 간격을 speed 로 나눈 만큼 기다림
+    private static void pace(long recordTime, long[] firstTime, long wallStart, double speed)
+            throws InterruptedException {
+        if (firstTime[0] == Long.MIN_VALUE) {
+            firstTime[0] = recordTime;
+            return;
+        }
+        long targetNanos = (long) ((recordTime - firstTime[0]) * 1_000_000 / speed);
+        long aheadMillis = (targetNanos - (System.nanoTime() - wallStart)) / 1_000_000;
+        if (aheadMillis > 0) {
+            Thread.sleep(aheadMillis);
+        }
+    }
+}
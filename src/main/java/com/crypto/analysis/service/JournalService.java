@@ -0,0 +1,150 @@
+package com.crypto.analysis.service;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.crypto.analysis.exchange.Ticker;
+import com.crypto.analysis.journal.JournalReader;
+import com.crypto.analysis.journal.JournalRecord;
+import com.crypto.analysis.journal.TickJournal;
+import com.crypto.analysis.trade.TradeEvent;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 시세/체결/1분봉 저널
+ *
+ * RealTimeDataService 의 현재가, TradeTapeService 의 체결, CandleAggregationService 가 갱신한 1분봉을
+ * TickJournal 에 고정 길이 레코드로 남긴다. 재시작 시 체결 테이프 복원과 JournalReplayService 의 재생에 쓰인다.
+ * 저장에 실패해도 실시간 처리는 계속되고, 연속된 실패는 처음 한 번만 경고한다.
+ */
+@Service
+public class JournalService {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalService.class);
+
+    @Value("${journal.enabled:false}")
+    private boolean ENABLED;
+
+    @Value("${journal.dir:./data/journal}")
+    private String DIRECTORY;
+
+    @Value("${journal.segment-mb:64}")
+    private long SEGMENT_MB;
+
+    @Value("${journal.roll-minutes:60}")
+    private long ROLL_MINUTES;
+
+    @Value("${journal.retention-hours:72}")
+    private long RETENTION_HOURS;
+
+    // 생산자 스레드들이 함께 쓰므로 append 와 같은 락 안에서만 채움
+    private final JournalRecord record = new JournalRecord();
+
+    private TickJournal journal;
+    private boolean failing;
+
+    @PostConstruct
+    public void open() {
+        if (!ENABLED) {
+            return;
+        }
+        try {
+            journal = new TickJournal(Path.of(DIRECTORY), SEGMENT_MB * 1024 * 1024,
+                TimeUnit.MINUTES.toMillis(ROLL_MINUTES));
+            log.info("저널 디렉터리: {}", journal.getDirectory().toAbsolutePath());
+        } catch (Exception e) {
+            log.warn("저널을 열 수 없어 기록하지 않습니다: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (Exception e) {
+            log.warn("저널 닫기 실패: {}", e.getMessage());
+        }
+        journal = null;
+    }
+
+    public boolean isEnabled() {
+        return journal != null;
+    }
+
+    public synchronized void recordTicker(String exchange, Ticker ticker) {
+        if (journal != null) {
+            append(record.tick(exchange, ticker));
+        }
+    }
+
+    public synchronized void recordTrade(String exchange, TradeEvent trade) {
+        if (journal != null) {
+            append(record.trade(exchange, trade.getMarket(), trade.getTime(), trade.getTradeId(), trade.getPrice(),
+                trade.getSize(), trade.isBuy()));
+        }
+    }
+
+    public synchronized void recordCandle(String exchange, String market, long openTime, double open, double high,
+                                          double low, double close, double volume, double quoteVolume) {
+        if (journal != null) {
+            append(record.candle(exchange, market, openTime, open, high, low, close, volume, quoteVolume));
+        }
+    }
+
+    /**
+     * [from, to] 시각의 레코드를 오래된 순으로 재생
+     *
+     * @return handler 에 넘긴 레코드 수
+     */
+    public long replay(long from, long to, JournalReader.Handler handler) throws Exception {
+        if (!ENABLED) {
+            return 0;
+        }
+        return JournalReader.replay(Path.of(DIRECTORY), from, to, handler);
+    }
+
+    public synchronized long getWritten() {
+        return journal == null ? 0 : journal.getWritten();
+    }
+
+    /**
+     * 보관 기간이 지난 세그먼트 삭제
+     */
+    @Scheduled(fixedDelayString = "${journal.cleanup-ms:3600000}")
+    public synchronized void cleanup() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            int deleted = journal.deleteBefore(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(RETENTION_HOURS));
+            if (deleted > 0) {
+                log.info("오래된 저널 세그먼트 {}개 삭제", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("저널 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private void append(JournalRecord record) {
+        try {
+            journal.append(record);
+            failing = false;
+        } catch (Exception e) {
+            if (!failing) {
+                log.warn("저널 기록 실패: {}", e.getMessage());
+            }
+            failing = true;
+        }
+    }
+}
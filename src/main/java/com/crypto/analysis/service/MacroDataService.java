@@ -0,0 +1,233 @@
+package com.crypto.analysis.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.model.MacroObservation;
+import com.crypto.analysis.model.MacroSnapshot;
+import com.crypto.analysis.repository.MacroObservationRepository;
+import com.crypto.analysis.upstream.ReactiveUpstreamClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * 거시경제 지표 주기 갱신 서비스
+ *
+ * 금리(DFF), CPI(CPIAUCSL), 달러 지수, S&P500(SPY)을 논블로킹으로 동시에 받아 DB 에 저장하고
+ * 불변 스냅샷으로 교체한다. 분석 경로는 getSnapshot() 만 호출하므로 외부 호출이 없다.
+ * 시작 시 저장된 관측값으로 스냅샷을 먼저 만들어 첫 분석이 외부 API 를 기다리지 않는다.
+ */
+@Service
+public class MacroDataService {
+
+    private static final Logger log = LoggerFactory.getLogger(MacroDataService.class);
+
+    private static final String FED_FUNDS = "DFF";
+    private static final String CPI = "CPIAUCSL";
+    private static final String DOLLAR_INDEX = "DXY";
+    private static final String SP500_ETF = "SPY";
+
+    private final ReactiveUpstreamClient upstreamClient;
+    private final MacroObservationRepository repository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<MacroSnapshot> snapshot = new AtomicReference<>(MacroSnapshot.DEFAULT);
+
+    @Value("${fred.api.key}")
+    private String FRED_API_KEY;
+
+    @Value("${alphavantage.api.key}")
+    private String ALPHA_VANTAGE_API_KEY;
+
+    @Value("${fred.api.base-url:https://api.stlouisfed.org/fred}")
+    private String FRED_API_URL;
+
+    @Value("${alphavantage.api.base-url:https://www.alphavantage.co/query}")
+    private String ALPHA_VANTAGE_API_URL;
+
+    @Autowired
+    private AnalysisMetrics metrics;
+
+    // 응답 파싱 후 JPA 저장은 이벤트 루프 밖에서 실행
+    @Autowired
+    @Qualifier("analysisBlockingScheduler")
+    private Scheduler blockingScheduler;
+
+    public MacroDataService(ReactiveUpstreamClient upstreamClient, MacroObservationRepository repository) {
+        this.upstreamClient = upstreamClient;
+        this.repository = repository;
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            publishFromStore(false);
+            log.info("저장된 거시경제 지표로 스냅샷 초기화: {}", snapshot.get());
+        } catch (Exception e) {
+            log.warn("저장된 거시경제 지표 로드 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 현재 스냅샷 (외부 호출 없음)
+     */
+    public MacroSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * 모든 시리즈를 동시에 받아 저장 후 스냅샷 교체
+     *
+     * 실패한 시리즈는 저장된 이전 값을 그대로 사용한다.
+     */
+    @Scheduled(fixedDelayString = "${macro.refresh-ms:21600000}", initialDelayString = "${macro.initial-delay-ms:0}")
+    public void refresh() {
+        long start = System.nanoTime();
+        // 하나가 실패해도 나머지는 끝까지 받도록 all() 대신 reduce 로 합침
+        boolean allFresh = Flux.merge(
+                refreshFredSeries(FED_FUNDS, 1),
+                refreshFredSeries(CPI, 13),
+                refreshQuote(DOLLAR_INDEX),
+                refreshQuote(SP500_ETF))
+            .reduce(true, (a, b) -> a && b)
+            .block();
+        publishFromStore(!allFresh);
+        log.info("거시경제 지표 갱신 완료 ({}ms): {}", (System.nanoTime() - start) / 1_000_000, snapshot.get());
+    }
+
+    private Mono<Boolean> refreshFredSeries(String seriesId, int limit) {
+        String url = FRED_API_URL + "/series/observations" +
+            "?series_id=" + seriesId + "&api_key=" + FRED_API_KEY +
+            "&file_type=json&sort_order=desc&limit=" + limit;
+        return upstreamClient.get(url)
+            .publishOn(blockingScheduler)
+            .map(body -> saveFredSeries(seriesId, body))
+            .onErrorResume(e -> {
+                metrics.recordFallback("fred", "macro");
+                log.warn("FRED {} 갱신 실패: {}", seriesId, e.getMessage());
+                return Mono.just(false);
+            });
+    }
+
+    private boolean saveFredSeries(String seriesId, String body) {
+        try {
+            JsonNode data = objectMapper.readTree(body);
+
+            List<MacroObservation> observations = new ArrayList<>();
+            for (JsonNode observation : data.path("observations")) {
+                String value = observation.path("value").asText();
+                // 값이 없는 날은 "." 로 내려옴
+                if (!value.isEmpty() && !".".equals(value)) {
+                    observations.add(new MacroObservation(seriesId,
+                        LocalDate.parse(observation.get("date").asText()), Double.parseDouble(value), Instant.now()));
+                }
+            }
+            if (observations.isEmpty()) {
+                throw new IllegalStateException("관측값 없음");
+            }
+            save(observations);
+            return true;
+        } catch (Exception e) {
+            metrics.recordFallback("fred", "macro");
+            log.warn("FRED {} 갱신 실패: {}", seriesId, e.getMessage());
+            return false;
+        }
+    }
+
+    private Mono<Boolean> refreshQuote(String symbol) {
+        String url = ALPHA_VANTAGE_API_URL + "?function=GLOBAL_QUOTE&symbol=" + symbol + "&apikey=" + ALPHA_VANTAGE_API_KEY;
+        return upstreamClient.get(url)
+            .publishOn(blockingScheduler)
+            .map(body -> saveQuote(symbol, body))
+            .onErrorResume(e -> {
+                metrics.recordFallback("alphavantage", "macro");
+                log.warn("{} 시세 갱신 실패: {}", symbol, e.getMessage());
+                return Mono.just(false);
+            });
+    }
+
+    private boolean saveQuote(String symbol, String body) {
+        try {
+            JsonNode quote = objectMapper.readTree(body).path("Global Quote");
+            if (!quote.has("05. price")) {
+                throw new IllegalStateException("시세 없음");
+            }
+            LocalDate tradingDay = quote.has("07. latest trading day")
+                ? LocalDate.parse(quote.get("07. latest trading day").asText())
+                : LocalDate.now();
+            save(List.of(new MacroObservation(symbol, tradingDay, quote.get("05. price").asDouble(), Instant.now())));
+            return true;
+        } catch (Exception e) {
+            metrics.recordFallback("alphavantage", "macro");
+            log.warn("{} 시세 갱신 실패: {}", symbol, e.getMessage());
+            return false;
+        }
+    }
+
+    // 같은 날짜 관측값은 값만 갱신 (당일 시세, 수정된 FRED 값)
+    private synchronized void save(List<MacroObservation> observations) {
+        for (MacroObservation observation : observations) {
+            MacroObservation target = repository
+                .findBySeriesIdAndObservationDate(observation.getSeriesId(), observation.getObservationDate())
+                .orElse(observation);
+            target.setValue(observation.getValue());
+            target.setFetchedAt(observation.getFetchedAt());
+            repository.save(target);
+        }
+    }
+
+    /**
+     * 저장된 관측값으로 새 스냅샷을 만들어 교체 (저장된 값이 없는 지표는 현재 값 유지)
+     */
+    private void publishFromStore(boolean usedFallback) {
+        MacroSnapshot next = snapshot.get();
+        boolean missing = false;
+
+        List<MacroObservation> rates = repository.findTop13BySeriesIdOrderByObservationDateDesc(FED_FUNDS);
+        if (!rates.isEmpty()) {
+            next = next.withInterestRate(rates.get(0).getValue());
+        } else {
+            missing = true;
+        }
+
+        List<MacroObservation> cpi = repository.findTop13BySeriesIdOrderByObservationDateDesc(CPI);
+        if (cpi.size() >= 13) {
+            double inflation = ((cpi.get(0).getValue() / cpi.get(12).getValue()) - 1) * 100;
+            next = next.withInflation(Math.round(inflation * 10) / 10.0); // 소수점 첫째자리까지
+        } else {
+            missing = true;
+        }
+
+        List<MacroObservation> dollar = repository.findTop13BySeriesIdOrderByObservationDateDesc(DOLLAR_INDEX);
+        if (!dollar.isEmpty()) {
+            next = next.withDollarIndex(dollar.get(0).getValue());
+        } else {
+            missing = true;
+        }
+
+        List<MacroObservation> spy = repository.findTop13BySeriesIdOrderByObservationDateDesc(SP500_ETF);
+        if (!spy.isEmpty()) {
+            next = next.withSp500(spy.get(0).getValue() * 10); // SPY ETF 가격 * 10 (근사치)
+        } else {
+            missing = true;
+        }
+
+        snapshot.set(next.stamped(Instant.now(), usedFallback || missing));
+    }
+}
@@ -0,0 +1,205 @@
+package com.crypto.analysis.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.crypto.analysis.candle.CandleBars;
+import com.crypto.analysis.exchange.ExchangeRegistry;
+import com.crypto.analysis.exchange.MarketInfo;
+import com.crypto.analysis.logging.MdcTaskDecorator;
+import com.crypto.analysis.model.Timeframe;
+import com.crypto.analysis.screener.MarketSignals;
+import com.crypto.analysis.screener.ScanTarget;
+import com.crypto.analysis.screener.ScanTask;
+import com.crypto.analysis.screener.ScreenerRanking;
+import com.crypto.analysis.screener.ScreenerSnapshot;
+import com.crypto.analysis.screener.SignalCalculator;
+import com.crypto.analysis.screener.TopK;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 전체 마켓 스크리너
+ *
+ * 1) 거래소별 스레드 하나씩 저장된 캔들을 최신 봉까지만 백필해 읽는다 (요청 한도가 병목이므로 거래소당 순차).
+ * 2) 고정 병렬도의 ForkJoinPool 에서 종목을 샤딩해 지표를 계산하고 순위별 상위 K 만 남긴다.
+ * 계산 단계는 screener.cpu-budget-ms 를 넘기면 남은 종목을 건너뛴다.
+ * 결과는 /api/screener 와 /topic/screener 로 제공되며, 봉 마감마다(screener.cron) 갱신된다.
+ */
+@Service
+public class MarketScannerService {
+
+    private static final Logger log = LoggerFactory.getLogger(MarketScannerService.class);
+
+    private final ExchangeRegistry exchangeRegistry;
+    private final CandleBackfillService candleBackfillService;
+    private final AtomicReference<ScreenerSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean scanning = new AtomicBoolean();
+
+    @Value("${screener.timeframe:1h}")
+    private String TIMEFRAME;
+
+    @Value("${screener.lookback:120}")
+    private int LOOKBACK;
+
+    @Value("${screener.top-k:20}")
+    private int TOP_K;
+
+    @Value("${screener.cpu-parallelism:2}")
+    private int CPU_PARALLELISM;
+
+    @Value("${screener.cpu-budget-ms:2000}")
+    private long CPU_BUDGET_MS;
+
+    @Value("${screener.max-markets-per-exchange:0}")
+    private int MAX_MARKETS_PER_EXCHANGE;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private MdcTaskDecorator mdcTaskDecorator;
+
+    @Autowired
+    private AlertService alertService;
+
+    private ForkJoinPool cpuPool;
+    private ThreadPoolTaskExecutor ioExecutor;
+
+    public MarketScannerService(ExchangeRegistry exchangeRegistry, CandleBackfillService candleBackfillService) {
+        this.exchangeRegistry = exchangeRegistry;
+        this.candleBackfillService = candleBackfillService;
+    }
+
+    @PostConstruct
+    public void init() {
+        cpuPool = new ForkJoinPool(Math.max(1, CPU_PARALLELISM));
+        ioExecutor = new ThreadPoolTaskExecutor();
+        ioExecutor.setCorePoolSize(2);
+        ioExecutor.setMaxPoolSize(2);
+        ioExecutor.setThreadNamePrefix("screener-io-");
+        ioExecutor.setTaskDecorator(mdcTaskDecorator);
+        ioExecutor.initialize();
+        snapshot.set(ScreenerSnapshot.empty(TIMEFRAME));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cpuPool.shutdownNow();
+        ioExecutor.shutdown();
+    }
+
+    public ScreenerSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * 시작 직후 한 번 백그라운드로 스캔 (첫 봉 마감까지 빈 결과가 되지 않도록)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scanOnStartup() {
+        // 스캔 자체가 ioExecutor 의 두 스레드를 쓰므로 별도 스레드에서 시작
+        Thread thread = new Thread(this::scheduledScan, "screener-startup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Scheduled(cron = "${screener.cron:10 0 * * * *}")
+    public void scheduledScan() {
+        if (!scanning.compareAndSet(false, true)) {
+            log.info("이전 스크리너 스캔이 진행 중이라 건너뜁니다");
+            return;
+        }
+        try {
+            scan();
+        } catch (Exception e) {
+            log.warn("스크리너 스캔 실패: {}", e.getMessage());
+        } finally {
+            scanning.set(false);
+        }
+    }
+
+    private void scan() throws Exception {
+        long start = System.nanoTime();
+        Timeframe timeframe = Timeframe.parse(TIMEFRAME);
+        int count = Math.max(LOOKBACK, SignalCalculator.MIN_BARS);
+
+        // 1) 캔들 준비 (거래소별 병렬)
+        CompletableFuture<List<ScanTarget>> upbit = CompletableFuture.supplyAsync(
+            () -> loadTargets("upbit", marketsOf("upbit", "KRW"), timeframe, count), ioExecutor);
+        CompletableFuture<List<ScanTarget>> binance = CompletableFuture.supplyAsync(
+            () -> loadTargets("binance", marketsOf("binance", null), timeframe, count), ioExecutor);
+        List<ScanTarget> targets = new ArrayList<>(upbit.join());
+        targets.addAll(binance.join());
+        long loaded = System.nanoTime();
+
+        // 2) 지표 계산 및 순위 선택 (CPU 예산 내), 계산한 지표로 RSI/%B 알림 평가
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CPU_BUDGET_MS);
+        ScanTask.Result result = cpuPool.invoke(new ScanTask(targets, TOP_K, deadline, alertService::onSignals));
+
+        Map<ScreenerRanking, List<MarketSignals>> rankings = new EnumMap<>(ScreenerRanking.class);
+        for (Map.Entry<ScreenerRanking, TopK<MarketSignals>> entry : result.getRankings().entrySet()) {
+            rankings.put(entry.getKey(), entry.getValue().toSortedList());
+        }
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        ScreenerSnapshot next = new ScreenerSnapshot(Instant.now(), timeframe.toString(),
+            result.getScanned(), result.getSkipped(), durationMillis, rankings);
+        snapshot.set(next);
+        messagingTemplate.convertAndSend("/topic/screener", next);
+
+        log.info("스크리너 스캔 완료: 종목 {}개, 제외 {}개, 캔들 {}ms, 계산 {}ms", result.getScanned(), result.getSkipped(),
+            (loaded - start) / 1_000_000, (System.nanoTime() - loaded) / 1_000_000);
+    }
+
+    private List<ScanTarget> loadTargets(String exchange, List<String> markets, Timeframe timeframe, int count) {
+        List<ScanTarget> targets = new ArrayList<>(markets.size());
+        int failed = 0;
+        for (String market : markets) {
+            try {
+                // 저장된 구간 이후의 새 봉만 받음
+                CandleBars bars = candleBackfillService.loadBars(exchange, market, timeframe, count);
+                targets.add(new ScanTarget(exchange, market, bars));
+            } catch (Exception e) {
+                failed++;
+                log.debug("스크리너 캔들 로드 실패 {} {}: {}", exchange, market, e.getMessage());
+            }
+        }
+        if (failed > 0) {
+            log.warn("스크리너 캔들 로드 실패 {}: {}개", exchange, failed);
+        }
+        return targets;
+    }
+
+    private List<String> marketsOf(String exchange, String quoteAsset) {
+        List<String> markets = new ArrayList<>();
+        for (MarketInfo info : exchangeRegistry.get(exchange).markets().items()) {
+            if (quoteAsset == null || quoteAsset.equals(info.quoteAsset())) {
+                markets.add(info.market());
+            }
+            if (MAX_MARKETS_PER_EXCHANGE > 0 && markets.size() >= MAX_MARKETS_PER_EXCHANGE) {
+                break;
+            }
+        }
+        return markets;
+    }
+}
@@ -4,108 +4,139 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.springframework.http.ResponseEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.upstream.ReactiveUpstreamClient;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import reactor.core.publisher.Mono;
+
 @Service
 public class MarketSentimentService {
     
-    private final RestTemplate restTemplate;
+    private static final Logger log = LoggerFactory.getLogger(MarketSentimentService.class);
+    
+    private final ReactiveUpstreamClient upstreamClient;
     private final ObjectMapper objectMapper;
     
-    public MarketSentimentService(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    @Value("${alternative.api.base-url:https://api.alternative.me}")
+    private String ALTERNATIVE_API_URL;
+    
+    @Value("${cryptocompare.api.base-url:https://min-api.cryptocompare.com/data/v2}")
+    private String CRYPTO_COMPARE_API_URL;
+    
+    @Autowired
+    private AnalysisMetrics metrics;
+    
+    public MarketSentimentService(ReactiveUpstreamClient upstreamClient) {
+        this.upstreamClient = upstreamClient;
         this.objectMapper = new ObjectMapper();
     }
     
     // 공포/욕심 지수 가져오기 (Alternative.me API 사용)
     public Map<String, Object> getFearAndGreedIndex() throws Exception {
-        try {
-            String url = "https://api.alternative.me/fng/";
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-            JsonNode responseData = objectMapper.readTree(response.getBody());
-            
-            Map<String, Object> sentimentData = new HashMap<>();
-            sentimentData.put("value", responseData.get("data").get(0).get("value").asInt());
-            sentimentData.put("valueClassification", responseData.get("data").get(0).get("value_classification").asText());
-            
-            return sentimentData;
-        } catch (Exception e) {
-            System.err.println("공포/욕심 지수 가져오기 실패: " + e.getMessage());
-            
-            // 대체 데이터 반환
-            Map<String, Object> fallbackData = new HashMap<>();
-            fallbackData.put("value", 50);
-            fallbackData.put("valueClassification", "Neutral");
-            
-            return fallbackData;
-        }
+        return getFearAndGreedIndexAsync().block();
+    }
+    
+    public Mono<Map<String, Object>> getFearAndGreedIndexAsync() {
+        return upstreamClient.get(ALTERNATIVE_API_URL + "/fng/")
+            .flatMap(body -> Mono.fromCallable(() -> {
+                JsonNode responseData = objectMapper.readTree(body);
+                
+                Map<String, Object> sentimentData = new HashMap<>();
+                sentimentData.put("value", responseData.get("data").get(0).get("value").asInt());
+                sentimentData.put("valueClassification", responseData.get("data").get(0).get("value_classification").asText());
+                
+                return sentimentData;
+            }))
+            .onErrorResume(e -> {
+                metrics.recordFallback("alternative", "fear_greed");
+                log.warn("공포/욕심 지수 가져오기 실패: {}", e.getMessage());
+                
+                // 대체 데이터 반환
+                Map<String, Object> fallbackData = new HashMap<>();
+                fallbackData.put("value", 50);
+                fallbackData.put("valueClassification", "Neutral");
+                fallbackData.put("fallback", true);
+                
+                return Mono.just(fallbackData);
+            });
     }
     
     // 가상화폐 뉴스 가져오기 (CryptoCompare API 사용)
     public Map<String, Object> getCryptoNews() throws Exception {
-        try {
-            String url = "https://min-api.cryptocompare.com/data/v2/news/?lang=EN";
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-            JsonNode newsData = objectMapper.readTree(response.getBody());
-            
-            Map<String, Object> result = new HashMap<>();
-            result.put("data", newsData.get("Data"));
-            
-            return result;
-        } catch (Exception e) {
-            System.err.println("뉴스 가져오기 실패: " + e.getMessage());
-            
-            // 빈 뉴스 데이터 반환
-            Map<String, Object> emptyResult = new HashMap<>();
-            emptyResult.put("data", objectMapper.createArrayNode());
-            
-            return emptyResult;
-        }
+        return getCryptoNewsAsync().block();
+    }
+    
+    public Mono<Map<String, Object>> getCryptoNewsAsync() {
+        return upstreamClient.get(CRYPTO_COMPARE_API_URL + "/news/?lang=EN")
+            .flatMap(body -> Mono.fromCallable(() -> {
+                Map<String, Object> result = new HashMap<>();
+                result.put("data", objectMapper.readTree(body).get("Data"));
+                return result;
+            }))
+            .onErrorResume(e -> {
+                metrics.recordFallback("cryptocompare", "news");
+                log.warn("뉴스 가져오기 실패: {}", e.getMessage());
+                
+                // 빈 뉴스 데이터 반환
+                Map<String, Object> emptyResult = new HashMap<>();
+                emptyResult.put("data", objectMapper.createArrayNode());
+                
+                return Mono.just(emptyResult);
+            });
     }
     
     // 특정 코인에 대한 뉴스 필터링
     public Map<String, Object> getNewsForCoin(String coinSymbol) throws Exception {
-        try {
-            Map<String, Object> allNews = getCryptoNews();
-            JsonNode newsData = (JsonNode) allNews.get("data");
-            
-            List<JsonNode> filteredNews = new java.util.ArrayList<>();
-            
-            for (JsonNode news : newsData) {
-                String categories = news.get("categories").asText();
-                String title = news.get("title").asText();
-                String body = news.get("body").asText();
+        return getNewsForCoinAsync(coinSymbol).block();
+    }
+    
+    public Mono<Map<String, Object>> getNewsForCoinAsync(String coinSymbol) {
+        return getCryptoNewsAsync()
+            .map(allNews -> filterNews(coinSymbol, (JsonNode) allNews.get("data")))
+            .onErrorResume(e -> {
+                metrics.recordFallback("cryptocompare", "coin_news");
+                log.warn("코인 뉴스 필터링 실패: {}", e.getMessage());
                 
-                // 코인 심볼이 카테고리, 제목 또는 본문에 포함되어 있는지 확인
-                if (categories.contains(coinSymbol) || 
-                    title.contains(coinSymbol) || 
-                    body.contains(coinSymbol)) {
-                    filteredNews.add(news);
-                }
+                // 빈 결과 반환
+                Map<String, Object> emptyResult = new HashMap<>();
+                emptyResult.put("coin", coinSymbol);
+                emptyResult.put("newsCount", 0);
+                emptyResult.put("news", new java.util.ArrayList<>());
+                
+                return Mono.just(emptyResult);
+            });
+    }
+    
+    private Map<String, Object> filterNews(String coinSymbol, JsonNode newsData) {
+        List<JsonNode> filteredNews = new java.util.ArrayList<>();
+        
+        for (JsonNode news : newsData) {
+            String categories = news.get("categories").asText();
+            String title = news.get("title").asText();
+            String body = news.get("body").asText();
+            
+            // 코인 심볼이 카테고리, 제목 또는 본문에 포함되어 있는지 확인
+            if (categories.contains(coinSymbol) || 
+                title.contains(coinSymbol) || 
+                body.contains(coinSymbol)) {
+                filteredNews.add(news);
             }
-            
-            Map<String, Object> result = new HashMap<>();
-            result.put("coin", coinSymbol);
-            result.put("newsCount", filteredNews.size());
-            result.put("news", filteredNews);
-            
-            return result;
-        } catch (Exception e) {
-            System.err.println("코인 뉴스 필터링 실패: " + e.getMessage());
-            
-            // 빈 결과 반환
-            Map<String, Object> emptyResult = new HashMap<>();
-            emptyResult.put("coin", coinSymbol);
-            emptyResult.put("newsCount", 0);
-            emptyResult.put("news", new java.util.ArrayList<>());
-            
-            return emptyResult;
         }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("coin", coinSymbol);
+        result.put("newsCount", filteredNews.size());
+        result.put("news", filteredNews);
+        
+        return result;
     }
     
     // 감성 분석 점수 계산 (간단한 키워드 기반 구현)
@@ -152,7 +183,7 @@ public class MarketSentimentService {
                 return 0;
             }
         } catch (Exception e) {
-            System.err.println("감성 분석 점수 계산 실패: " + e.getMessage());
+            log.warn("감성 분석 점수 계산 실패: {}", e.getMessage());
             return 0;
         }
     }
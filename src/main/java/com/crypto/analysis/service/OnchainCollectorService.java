@@ -0,0 +1,193 @@
+package com.crypto.analysis.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.crypto.analysis.logging.MdcTaskDecorator;
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.onchain.MetricSeries;
+import com.crypto.analysis.onchain.OnchainAdapter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 온체인 지표 수집 서비스
+ *
+ * 분석 요청이 들어온 코인을 관심 목록에 올리고 주기적으로 체인별 어댑터로 지표를 받아
+ * 지표별 시계열에 쌓는다. 분석 경로는 메모리의 최신값과 변화율만 읽는다.
+ * 처음 보는 코인은 첫 수집을 잠깐(onchain.first-wait-ms) 기다린 뒤 기본값으로 응답한다.
+ */
+@Service
+public class OnchainCollectorService {
+
+    private static final Logger log = LoggerFactory.getLogger(OnchainCollectorService.class);
+
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    private final List<OnchainAdapter> adapters;
+    private final Map<String, WatchedCoin> coins = new ConcurrentHashMap<>();
+
+    @Value("${onchain.history-size:288}")
+    private int HISTORY_SIZE;
+
+    @Value("${onchain.idle-minutes:60}")
+    private long IDLE_MINUTES;
+
+    @Value("${onchain.first-wait-ms:1500}")
+    private long FIRST_WAIT_MS;
+
+    @Autowired
+    private AnalysisMetrics metrics;
+
+    @Autowired
+    private MdcTaskDecorator mdcTaskDecorator;
+
+    private ThreadPoolTaskExecutor executor;
+
+    public OnchainCollectorService(List<OnchainAdapter> adapters) {
+        // 스프링이 @Order 순서로 주입
+        this.adapters = adapters;
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setThreadNamePrefix("onchain-");
+        executor.setTaskDecorator(mdcTaskDecorator);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 코인의 최신 온체인 지표와 24시간 변화율/추세
+     */
+    public Map<String, Object> getOnchainData(String coinSymbol) {
+        WatchedCoin coin = coins.computeIfAbsent(coinSymbol, WatchedCoin::new);
+        coin.lastAccess = System.currentTimeMillis();
+
+        if (!coin.attempted) {
+            try {
+                collectAsync(coin).get(FIRST_WAIT_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                log.debug("온체인 첫 수집 대기 시간 초과: {}", coinSymbol);
+            } catch (Exception e) {
+                log.debug("온체인 첫 수집 실패: {}", coinSymbol);
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>(adapterFor(coinSymbol).defaults(coinSymbol));
+        Map<String, Object> changes = new HashMap<>();
+        for (Map.Entry<String, MetricSeries> entry : coin.series.entrySet()) {
+            MetricSeries series = entry.getValue();
+            if (series.size() == 0) {
+                continue;
+            }
+            result.put(entry.getKey(), series.latest());
+
+            double change = series.changePercent(DAY_MILLIS);
+            double trend = series.trendPercentPerHour();
+            if (!Double.isNaN(change) || !Double.isNaN(trend)) {
+                Map<String, Object> change24h = new HashMap<>();
+                if (!Double.isNaN(change)) {
+                    change24h.put("24시간변화율", Math.round(change * 100) / 100.0);
+                }
+                if (!Double.isNaN(trend)) {
+                    change24h.put("추세", trend > 0.05 ? "상승" : trend < -0.05 ? "하락" : "횡보");
+                }
+                changes.put(entry.getKey(), change24h);
+            }
+        }
+        if (!changes.isEmpty()) {
+            result.put("지표변화", changes);
+        }
+        return result;
+    }
+
+    /**
+     * 관심 코인 지표 갱신 및 오래 조회되지 않은 코인 정리
+     */
+    @Scheduled(fixedDelayString = "${onchain.refresh-ms:300000}")
+    public void refreshWatchedCoins() {
+        long now = System.currentTimeMillis();
+        for (WatchedCoin coin : coins.values()) {
+            if (now - coin.lastAccess > IDLE_MINUTES * 60_000L) {
+                coins.remove(coin.symbol);
+                log.debug("온체인 수집 대상에서 제외: {}", coin.symbol);
+            } else {
+                collectAsync(coin);
+            }
+        }
+    }
+
+    private synchronized CompletableFuture<Void> collectAsync(WatchedCoin coin) {
+        // 진행 중인 수집이 있으면 합류
+        if (coin.inflight != null && !coin.inflight.isDone()) {
+            return coin.inflight;
+        }
+        coin.inflight = CompletableFuture.runAsync(() -> collect(coin), executor);
+        return coin.inflight;
+    }
+
+    private void collect(WatchedCoin coin) {
+        OnchainAdapter adapter = adapterFor(coin.symbol);
+        try {
+            Map<String, Double> collected = adapter.collect(coin.symbol);
+            long now = System.currentTimeMillis();
+            for (Map.Entry<String, Double> entry : collected.entrySet()) {
+                coin.series.computeIfAbsent(entry.getKey(), k -> new MetricSeries(HISTORY_SIZE))
+                    .add(now, entry.getValue());
+            }
+            coin.lastCollected = now;
+        } catch (Exception e) {
+            metrics.recordFallback(adapter.provider(), "onchain");
+            log.warn("온체인 지표 수집 실패 {} ({}): {}", coin.symbol, adapter.provider(), e.getMessage());
+        } finally {
+            coin.attempted = true;
+        }
+    }
+
+    private OnchainAdapter adapterFor(String coinSymbol) {
+        for (OnchainAdapter adapter : adapters) {
+            if (adapter.supports(coinSymbol)) {
+                return adapter;
+            }
+        }
+        throw new IllegalStateException("온체인 어댑터가 없습니다: " + coinSymbol);
+    }
+
+    private static class WatchedCoin {
+        final String symbol;
+        final Map<String, MetricSeries> series = new ConcurrentHashMap<>();
+        volatile long lastAccess;
+        volatile long lastCollected;
+        // 첫 수집 시도 여부 (실패한 코인에 매 요청마다 대기하지 않도록)
+        volatile boolean attempted;
+        CompletableFuture<Void> inflight;
+
+        WatchedCoin(String symbol) {
+            this.symbol = symbol;
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package com.crypto.analysis.service;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.handshake.ServerHandshake;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.orderbook.DepthMessageParser;
+import com.crypto.analysis.orderbook.DepthUpdate;
+import com.crypto.analysis.orderbook.OrderBook;
+import com.crypto.analysis.orderbook.OrderBookSnapshot;
+import com.crypto.analysis.upstream.ReactiveUpstreamClient;
+
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Mono;
+
+/**
+ * 실시간 호가창 서비스
+ *
+ * orderbook.markets 의 마켓을 거래소별 WebSocket 하나로 구독해 OrderBook 을 유지하고,
+ * 바뀐 호가창만 orderbook.publish-ms 마다 /topic/orderbook/{exchange}/{market} 으로 발행한다.
+ * 바이낸스는 변경분이 끊기면 REST 스냅샷으로 재동기화하고, 연결이 끊기면 reconnect-delay-ms 후 다시 연결한다.
+ * Claude 프롬프트는 getSnapshot() 으로 최근 요약(스프레드, 깊이, 불균형)을 읽는다.
+ */
+@Service
+public class OrderBookService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderBookService.class);
+
+    // 재동기화 스냅샷이 또 어긋났을 때 다시 요청하기까지 대기
+    private static final long RESYNC_DELAY_MS = 1000;
+
+    private final ReactiveUpstreamClient upstreamClient;
+
+    // 키: exchange:market
+    private final Map<String, OrderBook> books = new ConcurrentHashMap<>();
+    private final Set<String> resyncing = ConcurrentHashMap.newKeySet();
+    // 발행 스레드만 접근
+    private final Map<String, Long> publishedVersions = new HashMap<>();
+    private final List<WebSocketClient> feeds = new CopyOnWriteArrayList<>();
+
+    @Value("${orderbook.enabled:false}")
+    private boolean ENABLED;
+
+    @Value("${orderbook.markets:upbit:KRW-BTC,binance:BTCUSDT}")
+    private String MARKETS;
+
+    @Value("${orderbook.publish-levels:20}")
+    private int PUBLISH_LEVELS;
+
+    @Value("${orderbook.depth-band-pct:1.0}")
+    private double DEPTH_BAND_PCT;
+
+    @Value("${orderbook.max-age-ms:30000}")
+    private long MAX_AGE_MS;
+
+    @Value("${orderbook.reconnect-delay-ms:5000}")
+    private long RECONNECT_DELAY_MS;
+
+    @Value("${orderbook.binance.snapshot-limit:1000}")
+    private int BINANCE_SNAPSHOT_LIMIT;
+
+    @Value("${upbit.ws.url:wss://api.upbit.com/websocket/v1}")
+    private String UPBIT_WS_URL;
+
+    @Value("${binance.ws.url:wss://stream.binance.com:9443/stream}")
+    private String BINANCE_WS_URL;
+
+    @Value("${binance.api.base-url:https://api.binance.com/api/v3}")
+    private String BINANCE_API_URL;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private AnalysisMetrics metrics;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public OrderBookService(ReactiveUpstreamClient upstreamClient) {
+        this.upstreamClient = upstreamClient;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!ENABLED) {
+            return;
+        }
+        List<String> upbitMarkets = new ArrayList<>();
+        List<String> binanceMarkets = new ArrayList<>();
+        for (String entry : MARKETS.split(",")) {
+            String[] parts = entry.trim().split(":", 2);
+            if (parts.length != 2) {
+                continue;
+            }
+            String exchange = parts[0].toLowerCase();
+            String market = parts[1];
+            if ("upbit".equals(exchange)) {
+                upbitMarkets.add(market);
+            } else if ("binance".equals(exchange)) {
+                market = market.toUpperCase();
+                binanceMarkets.add(market);
+            } else {
+                log.warn("호가창을 지원하지 않는 거래소: {}", entry);
+                continue;
+            }
+            books.put(key(exchange, market), new OrderBook(exchange, market,
+                "binance".equals(exchange) ? BINANCE_SNAPSHOT_LIMIT : 32));
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "orderbook-reconnect");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        if (!upbitMarkets.isEmpty()) {
+            connect(new UpbitFeed(URI.create(UPBIT_WS_URL), upbitMarkets));
+        }
+        if (!binanceMarkets.isEmpty()) {
+            List<String> streams = new ArrayList<>();
+            for (String symbol : binanceMarkets) {
+                streams.add(symbol.toLowerCase() + "@depth@100ms");
+            }
+            connect(new BinanceFeed(URI.create(BINANCE_WS_URL + "?streams=" + String.join("/", streams))));
+        }
+        log.info("호가창 구독 시작: 업비트 {}, 바이낸스 {}", upbitMarkets, binanceMarkets);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (WebSocketClient feed : feeds) {
+            feed.close();
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 최근 호가 요약 (구독하지 않았거나, 동기화 전이거나, max-age-ms 보다 오래됐으면 null)
+     */
+    public OrderBookSnapshot getSnapshot(String exchange, String market) {
+        OrderBook book = books.get(key(exchange, market));
+        if (book == null || System.currentTimeMillis() - book.getUpdatedAt() > MAX_AGE_MS) {
+            return null;
+        }
+        return book.snapshot(PUBLISH_LEVELS, DEPTH_BAND_PCT);
+    }
+
+    @Scheduled(fixedDelayString = "${orderbook.publish-ms:1000}")
+    public void publish() {
+        if (!running) {
+            return;
+        }
+        for (Map.Entry<String, OrderBook> entry : books.entrySet()) {
+            OrderBook book = entry.getValue();
+            long version = book.getVersion();
+            Long published = publishedVersions.get(entry.getKey());
+            if (published != null && published == version) {
+                continue;
+            }
+            OrderBookSnapshot snapshot = book.snapshot(PUBLISH_LEVELS, DEPTH_BAND_PCT);
+            if (snapshot == null) {
+                continue;
+            }
+            publishedVersions.put(entry.getKey(), version);
+            messagingTemplate.convertAndSend("/topic/orderbook/" + book.getExchange() + "/" + book.getMarket(), snapshot);
+        }
+    }
+
+    private void connect(WebSocketClient feed) {
+        feeds.add(feed);
+        feed.setConnectionLostTimeout(60);
+        feed.connect();
+    }
+
+    // 수신 스레드에서 reconnect 를 호출할 수 없으므로 별도 스레드에서 재연결
+    private void scheduleReconnect(String exchange, WebSocketClient feed) {
+        metrics.recordOrderBookEvent(exchange, "disconnect");
+        for (OrderBook book : books.values()) {
+            if (book.getExchange().equals(exchange)) {
+                book.invalidate();
+            }
+        }
+        if (!running) {
+            return;
+        }
+        scheduler.schedule(() -> {
+            if (running) {
+                log.info("{} 호가 WebSocket 재연결", exchange);
+                feed.reconnect();
+            }
+        }, RECONNECT_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void onBinanceDiff(DepthUpdate update) {
+        OrderBook book = books.get(key("binance", update.getMarket()));
+        if (book == null) {
+            return;
+        }
+        OrderBook.Result result = book.applyDiff(update);
+        switch (result) {
+            case GAP, CROSSED -> {
+                metrics.recordOrderBookEvent("binance", result.name().toLowerCase());
+                log.debug("바이낸스 호가 재동기화 필요 {}: {}", update.getMarket(), result);
+                requestSnapshot(book, 0);
+            }
+            case BUFFERED -> requestSnapshot(book, 0);
+            default -> { }
+        }
+    }
+
+    /**
+     * 바이낸스 REST 스냅샷 요청 (마켓당 동시에 하나만)
+     */
+    private void requestSnapshot(OrderBook book, long delayMillis) {
+        String key = key(book.getExchange(), book.getMarket());
+        if (!running || !resyncing.add(key)) {
+            return;
+        }
+        metrics.recordOrderBookEvent("binance", "resync");
+        String url = BINANCE_API_URL + "/depth?symbol=" + book.getMarket() + "&limit=" + BINANCE_SNAPSHOT_LIMIT;
+        Mono.delay(Duration.ofMillis(delayMillis))
+            .then(upstreamClient.get(url))
+            .flatMap(body -> Mono.fromCallable(() -> {
+                DepthUpdate snapshot = new DepthUpdate(BINANCE_SNAPSHOT_LIMIT);
+                DepthMessageParser.parseBinanceSnapshot(book.getMarket(), body, snapshot);
+                return snapshot;
+            }))
+            .subscribe(snapshot -> {
+                resyncing.remove(key);
+                // 스냅샷이 대기 중인 변경분보다 오래됐으면 다시 요청
+                if (book.applySnapshot(snapshot) == OrderBook.Result.GAP) {
+                    requestSnapshot(book, RESYNC_DELAY_MS);
+                }
+            }, e -> {
+                resyncing.remove(key);
+                log.warn("바이낸스 호가 스냅샷 조회 실패 {}: {}", book.getMarket(), e.getMessage());
+                requestSnapshot(book, RECONNECT_DELAY_MS);
+            });
+    }
+
+    private static String key(String exchange, String market) {
+        return exchange.toLowerCase() + ":" + market;
+    }
+
+    /**
+     * 업비트 호가 WebSocket (메시지마다 전체 호가, 바이너리 프레임)
+     */
+    private final class UpbitFeed extends WebSocketClient {
+
+        private final List<String> markets;
+        // 수신 스레드 하나만 사용하므로 재사용
+        private final DepthUpdate update = new DepthUpdate(32);
+
+        UpbitFeed(URI uri, List<String> markets) {
+            super(uri);
+            this.markets = markets;
+        }
+
+        @Override
+        public void onOpen(ServerHandshake handshake) {
+            StringBuilder codes = new StringBuilder();
+            for (String market : markets) {
+                if (codes.length() > 0) {
+                    codes.append(',');
+                }
+                codes.append('"').append(market).append('"');
+            }
+            send("[{\"ticket\":\"" + UUID.randomUUID() + "\"},{\"type\":\"orderbook\",\"codes\":[" + codes + "]}]");
+            log.info("업비트 호가 WebSocket 연결: {}", markets);
+        }
+
+        @Override
+        public void onMessage(ByteBuffer bytes) {
+            try {
+                boolean parsed;
+                if (bytes.hasArray()) {
+                    parsed = DepthMessageParser.parseUpbit(bytes.array(), bytes.arrayOffset() + bytes.position(),
+                        bytes.remaining(), update);
+                } else {
+                    byte[] copy = new byte[bytes.remaining()];
+                    bytes.get(copy);
+                    parsed = DepthMessageParser.parseUpbit(copy, 0, copy.length, update);
+                }
+                if (parsed) {
+                    apply();
+                }
+            } catch (Exception e) {
+                log.warn("업비트 호가 메시지 처리 실패: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void onMessage(String message) {
+            try {
+                if (DepthMessageParser.parseUpbit(message, update)) {
+                    apply();
+                }
+            } catch (Exception e) {
+                log.warn("업비트 호가 메시지 처리 실패: {}", e.getMessage());
+            }
+        }
+
+        private void apply() {
+            OrderBook book = books.get(key("upbit", update.getMarket()));
+            if (book != null) {
+                book.replace(update);
+            }
+        }
+
+        @Override
+        public void onClose(int code, String reason, boolean remote) {
+            log.warn("업비트 호가 WebSocket 종료: code={}, reason={}", code, reason);
+            scheduleReconnect("upbit", this);
+        }
+
+        @Override
+        public void onError(Exception ex) {
+            log.warn("업비트 호가 WebSocket 오류: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 바이낸스 combined stream (100ms 변경분)
+     */
+    private final class BinanceFeed extends WebSocketClient {
+
+        private final DepthUpdate update = new DepthUpdate(64);
+
+        BinanceFeed(URI uri) {
+            super(uri);
+        }
+
+        @Override
+        public void onOpen(ServerHandshake handshake) {
+            // 첫 변경분이 대기열에 쌓이면 스냅샷을 요청해 동기화
+            log.info("바이낸스 호가 WebSocket 연결: {}", getURI());
+        }
+
+        @Override
+        public void onMessage(String message) {
+            try {
+                if (DepthMessageParser.parseBinanceDiff(message, update)) {
+                    onBinanceDiff(update);
+                }
+            } catch (Exception e) {
+                log.warn("바이낸스 호가 메시지 처리 실패: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void onClose(int code, String reason, boolean remote) {
+            log.warn("바이낸스 호가 WebSocket 종료: code={}, reason={}", code, reason);
+            scheduleReconnect("binance", this);
+        }
+
+        @Override
+        public void onError(Exception ex) {
+            log.warn("바이낸스 호가 WebSocket 오류: {}", ex.getMessage());
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.crypto.analysis.service;
 
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -12,17 +15,34 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.crypto.analysis.exchange.Ticker;
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
 public class RealTimeDataService {
     
+    private static final Logger log = LoggerFactory.getLogger(RealTimeDataService.class);
+    
     private final ObjectMapper objectMapper;
     private final RestTemplate restTemplate;
     
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
     
+    @Autowired
+    private AnalysisMetrics metrics;
+    
+    @Autowired
+    private JournalService journalService;
+    
+    @Autowired
+    private AlertService alertService;
+    
+    @Value("${upbit.api.base-url:https://api.upbit.com/v1}")
+    private String UPBIT_API_URL;
+    
     public RealTimeDataService(RestTemplate restTemplate) {
         this.objectMapper = new ObjectMapper();
         this.restTemplate = restTemplate;
@@ -34,7 +54,7 @@ public class RealTimeDataService {
             String marketsParam = String.join(",", markets);
             
             // 업비트 API로 현재가 정보 요청
-            String url = "https://api.upbit.com/v1/ticker?markets=" + marketsParam;
+            String url = UPBIT_API_URL + "/ticker?markets=" + marketsParam;
             
             // HTTP 헤더 설정
             HttpHeaders headers = new HttpHeaders();
@@ -54,8 +74,8 @@ public class RealTimeDataService {
             // 응답 데이터 반환
             return response.getBody();
         } catch (Exception e) {
-            System.err.println("티커 데이터 조회 실패: " + e.getMessage());
-            e.printStackTrace();
+            metrics.recordFallback("upbit", "ticker");
+            log.warn("티커 데이터 조회 실패: {}", e.getMessage());
             return "[]"; // 오류 시 빈 배열 반환
         }
     }
@@ -75,11 +95,38 @@ public class RealTimeDataService {
             
             // 클라이언트에 데이터 전송
             messagingTemplate.convertAndSend("/topic/ticker", tickerData);
+            recordTickers(tickerData);
             
-            System.out.println("티커 데이터 전송 완료");
+            log.debug("티커 데이터 전송 완료: {}", markets);
+        } catch (Exception e) {
+            log.warn("티커 데이터 전송 실패: {}", e.getMessage());
+        }
+    }
+    
+    // 보낸 현재가를 저널에 기록(재생용)하고 알림 규칙 평가
+    private void recordTickers(String tickerData) {
+        boolean journal = journalService.isEnabled();
+        if (!journal && alertService.getActiveRules() == 0) {
+            return;
+        }
+        try {
+            for (JsonNode node : objectMapper.readTree(tickerData)) {
+                Ticker ticker = new Ticker(
+                    node.path("market").asText(),
+                    node.path("trade_price").asDouble(),
+                    node.path("signed_change_rate").asDouble(),
+                    node.path("high_price").asDouble(),
+                    node.path("low_price").asDouble(),
+                    node.path("acc_trade_volume_24h").asDouble(),
+                    node.path("acc_trade_price_24h").asDouble(),
+                    node.path("timestamp").asLong(System.currentTimeMillis()));
+                if (journal) {
+                    journalService.recordTicker("upbit", ticker);
+                }
+                alertService.onTicker("upbit", ticker);
+            }
         } catch (Exception e) {
-            System.err.println("티커 데이터 전송 실패: " + e.getMessage());
-            e.printStackTrace();
+            log.debug("티커 기록 실패: {}", e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,426 @@
+package com.crypto.analysis.service;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.handshake.ServerHandshake;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.crypto.analysis.exchange.AdapterResult;
+import com.crypto.analysis.exchange.ExchangeRegistry;
+import com.crypto.analysis.exchange.MarketInfo;
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.spread.PriceTick;
+import com.crypto.analysis.spread.SpreadBook;
+import com.crypto.analysis.spread.SpreadSnapshot;
+import com.crypto.analysis.spread.TickerMessageParser;
+import com.crypto.analysis.upstream.ReactiveUpstreamClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 거래소 간 가격 차이(김치 프리미엄) 서비스
+ *
+ * 업비트 원화 마켓과 바이낸스 USDT 마켓에 모두 있는 자산의 현재가를 WebSocket 으로 받아 SpreadBook 에 조인하고,
+ * spread.sample-ms 마다 USD/KRW 환율로 환산한 프리미엄을 기록해 /topic/spread 로 발행한다.
+ * 환율은 Alpha Vantage 에서 spread.fx.refresh-ms 마다 받아 캐시하고, 받지 못했거나 오래됐으면
+ * 업비트 KRW-USDT 가격으로 대신한다.
+ * 시작 시 거래소 마켓 목록을 받지 못하면 재연결 스케줄러에서 spread.reconnect-delay-ms 마다 다시 시도한다.
+ */
+@Service
+public class SpreadService {
+
+    private static final Logger log = LoggerFactory.getLogger(SpreadService.class);
+
+    private static final String USDT_MARKET = "KRW-USDT";
+
+    private final ReactiveUpstreamClient upstreamClient;
+    private final ExchangeRegistry exchangeRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<WebSocketClient> feeds = new CopyOnWriteArrayList<>();
+
+    @Value("${spread.enabled:false}")
+    private boolean ENABLED;
+
+    // 비우면 두 거래소에 모두 상장된 자산 전체 (max-assets 개까지)
+    @Value("${spread.assets:}")
+    private String ASSETS;
+
+    @Value("${spread.max-assets:100}")
+    private int MAX_ASSETS;
+
+    @Value("${spread.history-size:3600}")
+    private int HISTORY_SIZE;
+
+    @Value("${spread.max-age-ms:300000}")
+    private long MAX_AGE_MS;
+
+    @Value("${spread.fx.max-age-ms:86400000}")
+    private long FX_MAX_AGE_MS;
+
+    @Value("${spread.reconnect-delay-ms:5000}")
+    private long RECONNECT_DELAY_MS;
+
+    @Value("${alphavantage.api.key}")
+    private String ALPHA_VANTAGE_API_KEY;
+
+    @Value("${alphavantage.api.base-url:https://www.alphavantage.co/query}")
+    private String ALPHA_VANTAGE_API_URL;
+
+    @Value("${upbit.ws.url:wss://api.upbit.com/websocket/v1}")
+    private String UPBIT_WS_URL;
+
+    @Value("${binance.ws.url:wss://stream.binance.com:9443/stream}")
+    private String BINANCE_WS_URL;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private AnalysisMetrics metrics;
+
+    private volatile SpreadBook book;
+    private volatile SpreadSnapshot snapshot;
+    private volatile Fx fx;
+    private volatile Fx usdtFx;
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public SpreadService(ReactiveUpstreamClient upstreamClient, ExchangeRegistry exchangeRegistry) {
+        this.upstreamClient = upstreamClient;
+        this.exchangeRegistry = exchangeRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!ENABLED) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "spread-reconnect");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        connectFeeds();
+    }
+
+    // 자산을 정하지 못하면 (마켓 목록 조회 실패 등) 재연결 스케줄러에서 성공할 때까지 다시 시도
+    private void connectFeeds() {
+        if (!running) {
+            return;
+        }
+        List<String> assets;
+        try {
+            assets = resolveAssets();
+        } catch (Exception e) {
+            log.warn("프리미엄 자산 목록 조회 실패: {}", e.getMessage());
+            assets = List.of();
+        }
+        if (assets.isEmpty()) {
+            log.warn("두 거래소에 모두 있는 자산을 정하지 못해 {}ms 후 다시 시도합니다", RECONNECT_DELAY_MS);
+            scheduler.schedule(this::connectFeeds, RECONNECT_DELAY_MS, TimeUnit.MILLISECONDS);
+            return;
+        }
+        book = new SpreadBook(assets, HISTORY_SIZE);
+        refreshFx();
+
+        List<String> upbitMarkets = new ArrayList<>();
+        List<String> streams = new ArrayList<>();
+        for (String asset : assets) {
+            upbitMarkets.add(SpreadBook.upbitMarket(asset));
+            streams.add(SpreadBook.binanceMarket(asset).toLowerCase() + "@miniTicker");
+        }
+        upbitMarkets.add(USDT_MARKET);
+        connect(new UpbitFeed(URI.create(UPBIT_WS_URL), upbitMarkets));
+        connect(new BinanceFeed(URI.create(BINANCE_WS_URL + "?streams=" + String.join("/", streams))));
+        log.info("프리미엄 계산 시작: 자산 {}개 {}", assets.size(), assets);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (WebSocketClient feed : feeds) {
+            feed.close();
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 최근 프리미엄 요약 (비활성화됐거나 아직 표본이 없으면 null)
+     */
+    public SpreadSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 자산의 최근 프리미엄 기록 (오래된 순)
+     */
+    public List<SpreadSnapshot.SpreadPoint> getHistory(String asset, int limit) {
+        SpreadBook current = book;
+        return current == null ? List.of() : current.history(asset.toUpperCase(), limit);
+    }
+
+    /**
+     * 프리미엄 표본 추출 및 발행
+     */
+    @Scheduled(fixedDelayString = "${spread.sample-ms:1000}")
+    public void sample() {
+        SpreadBook current = book;
+        if (!running || current == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Fx rate = currentFx(now);
+        if (rate == null) {
+            return;
+        }
+        current.sample(now, rate.rate(), MAX_AGE_MS);
+        List<SpreadSnapshot.AssetSpread> spreads = current.spreads();
+        double average = 0;
+        for (SpreadSnapshot.AssetSpread spread : spreads) {
+            average += spread.premium();
+        }
+        SpreadSnapshot next = new SpreadSnapshot(now, rate.rate(), rate.source(), rate.updatedAt(),
+            spreads.isEmpty() ? 0 : average / spreads.size(), spreads);
+        snapshot = next;
+        messagingTemplate.convertAndSend("/topic/spread", next);
+    }
+
+    /**
+     * USD/KRW 환율 갱신 (Alpha Vantage 무료 한도를 고려해 기본 1시간마다)
+     */
+    @Scheduled(fixedDelayString = "${spread.fx.refresh-ms:3600000}", initialDelayString = "${spread.fx.refresh-ms:3600000}")
+    public void refreshFx() {
+        if (!running || book == null) {
+            return;
+        }
+        String url = ALPHA_VANTAGE_API_URL + "?function=CURRENCY_EXCHANGE_RATE&from_currency=USD&to_currency=KRW" +
+            "&apikey=" + ALPHA_VANTAGE_API_KEY;
+        upstreamClient.get(url).subscribe(body -> {
+            try {
+                JsonNode rate = objectMapper.readTree(body).path("Realtime Currency Exchange Rate").path("5. Exchange Rate");
+                double value = rate.asDouble();
+                if (value <= 0) {
+                    // 호출 한도를 넘으면 200 응답에 Note/Information 만 내려옴
+                    throw new IllegalStateException("환율 값이 없습니다");
+                }
+                fx = new Fx(value, "alphavantage", System.currentTimeMillis());
+                log.debug("USD/KRW 환율 갱신: {}", value);
+            } catch (Exception e) {
+                onFxFailure(e);
+            }
+        }, this::onFxFailure);
+    }
+
+    private void onFxFailure(Throwable e) {
+        metrics.recordFallback("alphavantage", "fx");
+        log.warn("USD/KRW 환율 조회 실패, 업비트 USDT 가격 사용: {}", e.getMessage());
+    }
+
+    // 캐시한 환율이 오래됐으면 업비트 USDT 가격
+    private Fx currentFx(long now) {
+        Fx cached = fx;
+        if (cached != null && now - cached.updatedAt() <= FX_MAX_AGE_MS) {
+            return cached;
+        }
+        Fx usdt = usdtFx;
+        if (usdt != null && now - usdt.updatedAt() <= MAX_AGE_MS) {
+            return usdt;
+        }
+        return null;
+    }
+
+    private List<String> resolveAssets() {
+        List<String> assets = new ArrayList<>();
+        if (!ASSETS.isBlank()) {
+            for (String asset : ASSETS.split(",")) {
+                if (!asset.isBlank()) {
+                    assets.add(asset.trim().toUpperCase());
+                }
+            }
+            return assets;
+        }
+        AdapterResult<MarketInfo> binanceMarkets = exchangeRegistry.get("binance").markets();
+        AdapterResult<MarketInfo> upbitMarkets = exchangeRegistry.get("upbit").markets();
+        // 조회 실패 시의 임시 목록으로 자산을 고정하지 않음
+        if (binanceMarkets.degraded() || upbitMarkets.degraded()) {
+            return assets;
+        }
+        Set<String> binanceAssets = new HashSet<>();
+        for (MarketInfo info : binanceMarkets.items()) {
+            binanceAssets.add(info.baseAsset());
+        }
+        for (MarketInfo info : upbitMarkets.items()) {
+            if ("KRW".equals(info.quoteAsset()) && !"USDT".equals(info.baseAsset())
+                    && binanceAssets.contains(info.baseAsset()) && !assets.contains(info.baseAsset())) {
+                assets.add(info.baseAsset());
+                if (assets.size() >= MAX_ASSETS) {
+                    break;
+                }
+            }
+        }
+        return assets;
+    }
+
+    private void connect(WebSocketClient feed) {
+        feeds.add(feed);
+        feed.setConnectionLostTimeout(60);
+        feed.connect();
+    }
+
+    // 수신 스레드에서 reconnect 를 호출할 수 없으므로 별도 스레드에서 재연결
+    private void scheduleReconnect(String exchange, WebSocketClient feed) {
+        if (!running) {
+            return;
+        }
+        scheduler.schedule(() -> {
+            if (running) {
+                log.info("{} 현재가 WebSocket 재연결", exchange);
+                feed.reconnect();
+            }
+        }, RECONNECT_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void onUpbit(PriceTick tick) {
+        long time = tick.getTime() > 0 ? tick.getTime() : System.currentTimeMillis();
+        if (!book.onUpbit(tick.getMarket(), tick.getPrice(), time) && USDT_MARKET.equals(tick.getMarket())) {
+            usdtFx = new Fx(tick.getPrice(), "upbit-usdt", time);
+        }
+    }
+
+    private record Fx(double rate, String source, long updatedAt) {
+    }
+
+    /**
+     * 업비트 현재가 WebSocket (체결될 때마다, 바이너리 프레임)
+     */
+    private final class UpbitFeed extends WebSocketClient {
+
+        private final List<String> markets;
+        // 수신 스레드 하나만 사용하므로 재사용
+        private final PriceTick tick = new PriceTick();
+
+        UpbitFeed(URI uri, List<String> markets) {
+            super(uri);
+            this.markets = markets;
+        }
+
+        @Override
+        public void onOpen(ServerHandshake handshake) {
+            StringBuilder codes = new StringBuilder();
+            for (String market : markets) {
+                if (codes.length() > 0) {
+                    codes.append(',');
+                }
+                codes.append('"').append(market).append('"');
+            }
+            send("[{\"ticket\":\"" + UUID.randomUUID() + "\"},{\"type\":\"ticker\",\"codes\":[" + codes + "]}]");
+            log.info("업비트 현재가 WebSocket 연결: {}개 마켓", markets.size());
+        }
+
+        @Override
+        public void onMessage(ByteBuffer bytes) {
+            try {
+                boolean parsed;
+                if (bytes.hasArray()) {
+                    parsed = TickerMessageParser.parseUpbit(bytes.array(), bytes.arrayOffset() + bytes.position(),
+                        bytes.remaining(), tick);
+                } else {
+                    byte[] copy = new byte[bytes.remaining()];
+                    bytes.get(copy);
+                    parsed = TickerMessageParser.parseUpbit(copy, 0, copy.length, tick);
+                }
+                if (parsed) {
+                    onUpbit(tick);
+                }
+            } catch (Exception e) {
+                log.warn("업비트 현재가 메시지 처리 실패: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void onMessage(String message) {
+            try {
+                if (TickerMessageParser.parseUpbit(message, tick)) {
+                    onUpbit(tick);
+                }
+            } catch (Exception e) {
+                log.warn("업비트 현재가 메시지 처리 실패: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void onClose(int code, String reason, boolean remote) {
+            log.warn("업비트 현재가 WebSocket 종료: code={}, reason={}", code, reason);
+            scheduleReconnect("upbit", this);
+        }
+
+        @Override
+        public void onError(Exception ex) {
+            log.warn("업비트 현재가 WebSocket 오류: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 바이낸스 combined stream (마켓별 miniTicker, 1초마다)
+     */
+    private final class BinanceFeed extends WebSocketClient {
+
+        private final PriceTick tick = new PriceTick();
+
+        BinanceFeed(URI uri) {
+            super(uri);
+        }
+
+        @Override
+        public void onOpen(ServerHandshake handshake) {
+            log.info("바이낸스 현재가 WebSocket 연결");
+        }
+
+        @Override
+        public void onMessage(String message) {
+            try {
+                if (TickerMessageParser.parseBinanceMiniTicker(message, tick)) {
+                    long time = tick.getTime() > 0 ? tick.getTime() : System.currentTimeMillis();
+                    book.onBinance(tick.getMarket(), tick.getPrice(), time);
+                }
+            } catch (Exception e) {
+                log.warn("바이낸스 현재가 메시지 처리 실패: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void onClose(int code, String reason, boolean remote) {
+            log.warn("바이낸스 현재가 WebSocket 종료: code={}, reason={}", code, reason);
+            scheduleReconnect("binance", this);
+        }
+
+        @Override
+        public void onError(Exception ex) {
+            log.warn("바이낸스 현재가 WebSocket 오류: {}", ex.getMessage());
+        }
+    }
+}
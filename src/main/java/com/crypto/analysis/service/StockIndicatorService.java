@@ -4,37 +4,39 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.BaseBarSeries;
-import org.ta4j.core.indicators.EMAIndicator;
-import org.ta4j.core.indicators.MACDIndicator;
 import org.ta4j.core.indicators.RSIIndicator;
-import org.ta4j.core.indicators.SMAIndicator;
-import org.ta4j.core.indicators.bollinger.BollingerBandsLowerIndicator;
-import org.ta4j.core.indicators.bollinger.BollingerBandsMiddleIndicator;
-import org.ta4j.core.indicators.bollinger.BollingerBandsUpperIndicator;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
-import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
-import org.ta4j.core.num.Num;
 
+import com.crypto.analysis.indicator.IndicatorKernels;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * 주식 기술적 지표 계산 서비스
+ *
+ * SMA/EMA/MACD/볼린저 밴드는 종가 배열에 IndicatorKernels 를 적용하고, RSI 는 ta4j 를 사용한다.
  */
 @Service
 public class StockIndicatorService {
     
+    private static final Logger log = LoggerFactory.getLogger(StockIndicatorService.class);
+    
     private final ObjectMapper objectMapper;
+    private final IndicatorKernels kernels;
     
     public StockIndicatorService() {
         this.objectMapper = new ObjectMapper();
+        this.kernels = IndicatorKernels.get();
     }
     
     /**
@@ -51,30 +53,31 @@ public class StockIndicatorService {
             List<Double> prices = extractPrices(series);
             List<Double> volumes = extractVolumes(series);
             List<String> dates = extractDates(series);
+            double[] closes = extractCloses(series);
             
             indicators.put("prices", prices);
             indicators.put("volumes", volumes);
             indicators.put("dates", dates);
             
             // SMA 계산
-            indicators.put("sma20", calculateSMA(series, 20));
-            indicators.put("sma50", calculateSMA(series, 50));
-            indicators.put("sma200", calculateSMA(series, 200));
+            indicators.put("sma20", calculateSMA(closes, 20));
+            indicators.put("sma50", calculateSMA(closes, 50));
+            indicators.put("sma200", calculateSMA(closes, 200));
             
             // EMA 계산
-            indicators.put("ema20", calculateEMA(series, 20));
+            indicators.put("ema20", calculateEMA(closes, 20));
             
             // RSI 계산
             indicators.put("rsi", calculateRSI(series, 14));
             
             // MACD 계산
-            Map<String, List<Double>> macdData = calculateMACD(series);
+            Map<String, List<Double>> macdData = calculateMACD(closes);
             indicators.put("macd", macdData.get("macd"));
             indicators.put("macdSignal", macdData.get("signal"));
             indicators.put("macdHist", macdData.get("histogram"));
             
             // 볼린저 밴드 계산
-            Map<String, List<Double>> bbData = calculateBollingerBands(series);
+            Map<String, List<Double>> bbData = calculateBollingerBands(closes);
             indicators.put("bbUpper", bbData.get("upper"));
             indicators.put("bbMiddle", bbData.get("middle"));
             indicators.put("bbLower", bbData.get("lower"));
@@ -85,7 +88,7 @@ public class StockIndicatorService {
             
             return indicators;
         } catch (Exception e) {
-            System.err.println("주식 지표 계산 중 오류: " + e.getMessage());
+            log.warn("주식 지표 계산 중 오류: {}", e.getMessage());
             throw e;
         }
     }
@@ -95,7 +98,10 @@ public class StockIndicatorService {
      */
     private BarSeries createSeriesFromStockData(String candleData) throws Exception {
         try {
-            JsonNode candles = objectMapper.readTree(candleData);
+            // 응답은 최신순이므로 시간순으로 정렬 (ta4j 는 시간이 증가하는 순서로만 추가 가능)
+            List<JsonNode> candles = new ArrayList<>();
+            objectMapper.readTree(candleData).forEach(candles::add);
+            candles.sort(Comparator.comparing(candle -> candle.get("candle_date_time_utc").asText()));
             BarSeries series = new BaseBarSeries();
             
             for (JsonNode candle : candles) {
@@ -115,7 +121,7 @@ public class StockIndicatorService {
             
             return series;
         } catch (Exception e) {
-            System.err.println("TA4J 시리즈 생성 실패: " + e.getMessage());
+            log.warn("TA4J 시리즈 생성 실패: {}", e.getMessage());
             throw e;
         }
     }
@@ -131,6 +137,17 @@ public class StockIndicatorService {
         return prices;
     }
     
+    /**
+     * 시리즈에서 종가 배열 추출 (커널 입력)
+     */
+    private double[] extractCloses(BarSeries series) {
+        double[] closes = new double[series.getBarCount()];
+        for (int i = 0; i < closes.length; i++) {
+            closes[i] = series.getBar(i).getClosePrice().doubleValue();
+        }
+        return closes;
+    }
+    
     /**
      * 시리즈에서 거래량 추출
      */
@@ -161,17 +178,13 @@ public class StockIndicatorService {
     /**
      * SMA 계산
      */
-    private List<Double> calculateSMA(BarSeries series, int period) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, period);
+    private List<Double> calculateSMA(double[] closes, int period) {
+        double[] sma = kernels.sma(closes, period);
         
         List<Double> smaValues = new ArrayList<>();
-        for (int i = 0; i < series.getBarCount(); i++) {
+        for (int i = 0; i < closes.length; i++) {
             // 데이터가 충분하지 않은 초기 구간은 종가로 대체
-            double smaValue = i < period - 1 ? 
-                closePrice.getValue(i).doubleValue() :
-                sma.getValue(i).doubleValue();
-            smaValues.add(smaValue);
+            smaValues.add(i < period - 1 ? closes[i] : sma[i]);
         }
         
         return smaValues;
@@ -180,17 +193,13 @@ public class StockIndicatorService {
     /**
      * EMA 계산
      */
-    private List<Double> calculateEMA(BarSeries series, int period) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        EMAIndicator ema = new EMAIndicator(closePrice, period);
+    private List<Double> calculateEMA(double[] closes, int period) {
+        double[] ema = kernels.ema(closes, period);
         
         List<Double> emaValues = new ArrayList<>();
-        for (int i = 0; i < series.getBarCount(); i++) {
+        for (int i = 0; i < closes.length; i++) {
             // 데이터가 충분하지 않은 초기 구간은 종가로 대체
-            double emaValue = i < period - 1 ? 
-                closePrice.getValue(i).doubleValue() :
-                ema.getValue(i).doubleValue();
-            emaValues.add(emaValue);
+            emaValues.add(i < period - 1 ? closes[i] : ema[i]);
         }
         
         return emaValues;
@@ -216,29 +225,15 @@ public class StockIndicatorService {
     /**
      * MACD 계산
      */
-    private Map<String, List<Double>> calculateMACD(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        MACDIndicator macd = new MACDIndicator(closePrice, 12, 26);
-        EMAIndicator signal = new EMAIndicator(macd, 9);
-        
-        List<Double> macdValues = new ArrayList<>();
-        List<Double> signalValues = new ArrayList<>();
-        List<Double> histogramValues = new ArrayList<>();
-        
-        for (int i = 0; i < series.getBarCount(); i++) {
-            double macdValue = macd.getValue(i).doubleValue();
-            double signalValue = signal.getValue(i).doubleValue();
-            double histValue = macdValue - signalValue;
-            
-            macdValues.add(macdValue);
-            signalValues.add(signalValue);
-            histogramValues.add(histValue);
-        }
+    private Map<String, List<Double>> calculateMACD(double[] closes) {
+        double[] macd = kernels.subtract(kernels.ema(closes, 12), kernels.ema(closes, 26));
+        double[] signal = kernels.ema(macd, 9);
+        double[] histogram = kernels.subtract(macd, signal);
         
         Map<String, List<Double>> macdData = new HashMap<>();
-        macdData.put("macd", macdValues);
-        macdData.put("signal", signalValues);
-        macdData.put("histogram", histogramValues);
+        macdData.put("macd", toList(macd));
+        macdData.put("signal", toList(signal));
+        macdData.put("histogram", toList(histogram));
         
         return macdData;
     }
@@ -246,32 +241,27 @@ public class StockIndicatorService {
     /**
      * 볼린저 밴드 계산
      */
-    private Map<String, List<Double>> calculateBollingerBands(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+    private Map<String, List<Double>> calculateBollingerBands(double[] closes) {
         int period = 20;
-        Num k = series.numOf(2.0);
+        double k = 2.0;
         
-        SMAIndicator sma = new SMAIndicator(closePrice, period);
-        StandardDeviationIndicator sd = new StandardDeviationIndicator(closePrice, period);
-        
-        BollingerBandsMiddleIndicator bbm = new BollingerBandsMiddleIndicator(sma);
-        BollingerBandsUpperIndicator bbu = new BollingerBandsUpperIndicator(bbm, sd, k);
-        BollingerBandsLowerIndicator bbl = new BollingerBandsLowerIndicator(bbm, sd, k);
+        double[] sma = kernels.sma(closes, period);
+        double[] sd = kernels.rollingStdDev(closes, period);
         
         List<Double> upperValues = new ArrayList<>();
         List<Double> middleValues = new ArrayList<>();
         List<Double> lowerValues = new ArrayList<>();
         
-        for (int i = 0; i < series.getBarCount(); i++) {
+        for (int i = 0; i < closes.length; i++) {
             // 초기 데이터가 부족한 구간
             if (i < period - 1) {
-                upperValues.add(closePrice.getValue(i).doubleValue() * 1.05);
-                middleValues.add(closePrice.getValue(i).doubleValue());
-                lowerValues.add(closePrice.getValue(i).doubleValue() * 0.95);
+                upperValues.add(closes[i] * 1.05);
+                middleValues.add(closes[i]);
+                lowerValues.add(closes[i] * 0.95);
             } else {
-                upperValues.add(bbu.getValue(i).doubleValue());
-                middleValues.add(bbm.getValue(i).doubleValue());
-                lowerValues.add(bbl.getValue(i).doubleValue());
+                upperValues.add(sma[i] + k * sd[i]);
+                middleValues.add(sma[i]);
+                lowerValues.add(sma[i] - k * sd[i]);
             }
         }
         
@@ -283,6 +273,14 @@ public class StockIndicatorService {
         return bbData;
     }
     
+    private List<Double> toList(double[] values) {
+        List<Double> list = new ArrayList<>(values.length);
+        for (double value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+    
     /**
      * 최신 지표 값 추출
      */
@@ -8,12 +8,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.crypto.analysis.candle.CandleBars;
+import com.crypto.analysis.metrics.AnalysisMetrics;
 import com.crypto.analysis.model.Stock;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -22,6 +27,11 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 @Service
 public class StockService {
     
+    private static final Logger log = LoggerFactory.getLogger(StockService.class);
+    
+    // 저장된 일봉 구분값 (candle_history.source)
+    private static final String HISTORY_SOURCE = "alphavantage";
+    
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
     
@@ -34,6 +44,21 @@ public class StockService {
     @Value("${finnhub.api.key:}")
     private String FINNHUB_API_KEY;
     
+    @Value("${alphavantage.api.base-url:https://www.alphavantage.co/query}")
+    private String ALPHA_VANTAGE_API_URL;
+    
+    @Value("${newsapi.api.base-url:https://newsapi.org/v2}")
+    private String NEWS_API_URL;
+    
+    @Value("${finnhub.api.base-url:https://finnhub.io/api/v1}")
+    private String FINNHUB_API_URL;
+    
+    @Autowired
+    private AnalysisMetrics metrics;
+    
+    @Autowired
+    private CandleBackfillService candleBackfillService;
+    
     public StockService(RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
         this.objectMapper = new ObjectMapper();
@@ -47,7 +72,7 @@ public class StockService {
         try {
             // Alpha Vantage API는 상위 거래량 API가 없어서 Finnhub API 사용
             if (!FINNHUB_API_KEY.isEmpty()) {
-                String url = "https://finnhub.io/api/v1/stock/symbol?exchange=US&token=" + FINNHUB_API_KEY;
+                String url = FINNHUB_API_URL + "/stock/symbol?exchange=US&token=" + FINNHUB_API_KEY;
                 ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
                 JsonNode data = objectMapper.readTree(response.getBody());
                 
@@ -81,7 +106,8 @@ public class StockService {
                 return getDefaultStocks();
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            metrics.recordFallback("stock", "top_volume");
+            log.warn("상위 거래량 종목 조회 실패, 기본 종목 사용: {}", e.getMessage());
             return getDefaultStocks();
         }
     }
@@ -91,7 +117,7 @@ public class StockService {
      */
     public List<Stock> searchStocks(String query, String market) {
         try {
-            String url = "https://www.alphavantage.co/query?function=SYMBOL_SEARCH&keywords=" + query
+            String url = ALPHA_VANTAGE_API_URL + "?function=SYMBOL_SEARCH&keywords=" + query
                 + "&apikey=" + ALPHA_VANTAGE_API_KEY;
             
             ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
@@ -116,11 +142,73 @@ public class StockService {
             
             return searchResults;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.warn("종목 검색 실패: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
-    
+
+    /**
+     * 미국 상장 종목 전체 목록 (검색 색인용, Alpha Vantage LISTING_STATUS CSV)
+     *
+     * 실패하면 기본 종목 목록을 돌려준다.
+     */
+    public List<Stock> getListedStocks() {
+        try {
+            String url = ALPHA_VANTAGE_API_URL + "?function=LISTING_STATUS&apikey=" + ALPHA_VANTAGE_API_KEY;
+            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+            String body = response.getBody();
+
+            // symbol,name,exchange,assetType,ipoDate,delistingDate,status
+            List<Stock> stocks = new ArrayList<>();
+            String[] lines = body == null ? new String[0] : body.split("\r?\n");
+            for (int i = 1; i < lines.length; i++) {
+                List<String> fields = splitCsv(lines[i]);
+                if (fields.size() < 4 || fields.get(0).isEmpty()) {
+                    continue;
+                }
+                Stock stock = new Stock();
+                stock.setSymbol(fields.get(0));
+                stock.setName(fields.get(1));
+                stock.setExchange(fields.get(2));
+                stocks.add(stock);
+            }
+            if (stocks.isEmpty()) {
+                // 호출 한도를 넘으면 CSV 대신 안내 JSON 이 내려옴
+                throw new IllegalStateException("상장 종목 목록이 비어 있습니다");
+            }
+            return stocks;
+        } catch (Exception e) {
+            metrics.recordFallback("stock", "listing");
+            log.warn("상장 종목 목록 조회 실패, 기본 종목 사용: {}", e.getMessage());
+            return getDefaultStocks();
+        }
+    }
+
+    // 따옴표로 감싼 필드(쉼표 포함 이름)를 고려한 CSV 한 줄 분리
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
     /**
      * 종목 시세 정보 가져오기
      */
@@ -129,7 +217,7 @@ public class StockService {
         
         try {
             // Global Quote API 사용
-            String url = "https://www.alphavantage.co/query?function=GLOBAL_QUOTE&symbol=" + symbol
+            String url = ALPHA_VANTAGE_API_URL + "?function=GLOBAL_QUOTE&symbol=" + symbol
                 + "&apikey=" + ALPHA_VANTAGE_API_KEY;
             
             ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
@@ -167,6 +255,7 @@ public class StockService {
                 throw new Exception("시세 정보를 가져올 수 없습니다.");
             }
         } catch (Exception e) {
+            metrics.recordFallback("stock", "quote");
             // 기본 데이터 반환
             result.put("symbol", symbol);
             result.put("companyName", getDefaultCompanyName(symbol));
@@ -186,7 +275,7 @@ public class StockService {
     @Cacheable(value = "companyOverview", key = "#symbol")
     public Map<String, Object> getCompanyOverview(String symbol) {
         try {
-            String url = "https://www.alphavantage.co/query?function=OVERVIEW&symbol=" + symbol
+            String url = ALPHA_VANTAGE_API_URL + "?function=OVERVIEW&symbol=" + symbol
                 + "&apikey=" + ALPHA_VANTAGE_API_KEY;
             
             ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
@@ -199,6 +288,7 @@ public class StockService {
             
             return overview;
         } catch (Exception e) {
+            metrics.recordFallback("stock", "overview");
             // 기본 데이터 반환
             Map<String, Object> defaultOverview = new HashMap<>();
             defaultOverview.put("Name", getDefaultCompanyName(symbol));
@@ -216,15 +306,18 @@ public class StockService {
     
     /**
      * 과거 데이터 가져오기
+     *
+     * 받은 일봉은 DB 에 쌓아 두고, 저장된 기록이 부족할 때만 전체 기록(outputsize=full)을 요청한다.
      */
     public String getHistoricalData(String symbol, String market, int days) {
         try {
-            // Daily API 사용
-            String url = "https://www.alphavantage.co/query?function=TIME_SERIES_DAILY&symbol=" + symbol
-                + "&outputsize=compact&apikey=" + ALPHA_VANTAGE_API_KEY;
-            
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-            JsonNode data = objectMapper.readTree(response.getBody());
+            long stored = candleBackfillService.countStored(HISTORY_SOURCE, symbol, "1d");
+            String outputSize = days > 100 && stored < days ? "full" : "compact";
+            JsonNode data = fetchDailySeries(symbol, outputSize);
+            if (!data.has("Time Series (Daily)") && "full".equals(outputSize)) {
+                // full 을 지원하지 않는 API 키는 최근 100일(compact)로 재시도
+                data = fetchDailySeries(symbol, "compact");
+            }
             
             if (data.has("Time Series (Daily)")) {
                 JsonNode timeSeries = data.get("Time Series (Daily)");
@@ -236,10 +329,11 @@ public class StockService {
                 timeSeries.fieldNames().forEachRemaining(dates::add);
                 dates.sort((d1, d2) -> d2.compareTo(d1));
                 
-                // 지정된 일수만큼만 데이터 추출
-                for (int i = 0; i < Math.min(days, dates.size()); i++) {
-                    String date = dates.get(i);
+                // 전체 응답을 변환 (저장용), 반환은 지정된 일수만큼
+                for (String date : dates) {
                     JsonNode dayData = timeSeries.get(date);
+                    double close = Double.parseDouble(dayData.get("4. close").asText());
+                    double volume = Double.parseDouble(dayData.get("5. volume").asText());
                     
                     // 업비트 형식과 유사하게 변환
                     resultArray.add(objectMapper.createObjectNode()
@@ -249,10 +343,25 @@ public class StockService {
                         .put("opening_price", Double.parseDouble(dayData.get("1. open").asText()))
                         .put("high_price", Double.parseDouble(dayData.get("2. high").asText()))
                         .put("low_price", Double.parseDouble(dayData.get("3. low").asText()))
-                        .put("trade_price", Double.parseDouble(dayData.get("4. close").asText()))
-                        .put("candle_acc_trade_price", Double.parseDouble(dayData.get("5. volume").asText()) * 
-                                                      Double.parseDouble(dayData.get("4. close").asText()))
-                        .put("candle_acc_trade_volume", Double.parseDouble(dayData.get("5. volume").asText())));
+                        .put("trade_price", close)
+                        .put("candle_acc_trade_price", volume * close)
+                        .put("candle_acc_trade_volume", volume));
+                }
+                
+                // 가장 최근 일봉은 장중일 수 있으므로 다음 조회 때 저장
+                if (resultArray.size() > 1) {
+                    ArrayNode closed = objectMapper.createArrayNode();
+                    for (int i = 1; i < resultArray.size(); i++) {
+                        closed.add(resultArray.get(i));
+                    }
+                    candleBackfillService.storeCandles(HISTORY_SOURCE, symbol, "1d", objectMapper.writeValueAsString(closed));
+                }
+                
+                while (resultArray.size() > days) {
+                    resultArray.remove(resultArray.size() - 1);
+                }
+                if (resultArray.size() < days && !dates.isEmpty()) {
+                    appendStoredHistory(resultArray, symbol, dates.get(dates.size() - 1), days);
                 }
                 
                 return objectMapper.writeValueAsString(resultArray);
@@ -261,13 +370,45 @@ public class StockService {
                 throw new Exception("과거 데이터를 가져올 수 없습니다.");
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            metrics.recordFallback("stock", "history");
+            log.warn("과거 시세 조회 실패, 임시 데이터 사용: {}", e.getMessage());
             
             // 기본 데이터 생성
             return generateDefaultHistoricalData(symbol, days);
         }
     }
     
+    private JsonNode fetchDailySeries(String symbol, String outputSize) throws Exception {
+        String url = ALPHA_VANTAGE_API_URL + "?function=TIME_SERIES_DAILY&symbol=" + symbol
+            + "&outputsize=" + outputSize + "&apikey=" + ALPHA_VANTAGE_API_KEY;
+        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+        return objectMapper.readTree(response.getBody());
+    }
+    
+    /**
+     * 응답(compact)보다 오래된 일봉을 저장된 기록에서 이어 붙임
+     */
+    private void appendStoredHistory(ArrayNode resultArray, String symbol, String oldestDate, int days) {
+        long oldest = LocalDate.parse(oldestDate).atStartOfDay(java.time.ZoneOffset.UTC).toInstant().toEpochMilli();
+        CandleBars stored = candleBackfillService.loadStoredBars(HISTORY_SOURCE, symbol, "1d", days + resultArray.size());
+        for (int i = stored.size() - 1; i >= 0 && resultArray.size() < days; i--) {
+            if (stored.openTime(i) >= oldest) {
+                continue;
+            }
+            String date = java.time.Instant.ofEpochMilli(stored.openTime(i)).toString().substring(0, 10);
+            resultArray.add(objectMapper.createObjectNode()
+                .put("market", symbol)
+                .put("candle_date_time_utc", date + "T00:00:00")
+                .put("candle_date_time_kst", date + "T09:00:00")
+                .put("opening_price", stored.open(i))
+                .put("high_price", stored.high(i))
+                .put("low_price", stored.low(i))
+                .put("trade_price", stored.close(i))
+                .put("candle_acc_trade_price", stored.quoteVolume(i))
+                .put("candle_acc_trade_volume", stored.volume(i)));
+        }
+    }
+    
     /**
      * 뉴스 데이터 가져오기
      */
@@ -278,7 +419,7 @@ public class StockService {
         
         try {
             // Alpha Vantage News API 사용
-            String url = "https://www.alphavantage.co/query?function=NEWS_SENTIMENT&tickers=" + symbol
+            String url = ALPHA_VANTAGE_API_URL + "?function=NEWS_SENTIMENT&tickers=" + symbol
                 + "&apikey=" + ALPHA_VANTAGE_API_KEY;
             
             ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
@@ -311,7 +452,7 @@ public class StockService {
             
             // NewsAPI 사용 (추가 뉴스)
             if (articles.size() < 5 && !NEWS_API_KEY.isEmpty()) {
-                String newsApiUrl = "https://newsapi.org/v2/everything?q=" + symbol +
+                String newsApiUrl = NEWS_API_URL + "/everything?q=" + symbol +
                     "&language=en&sortBy=publishedAt&pageSize=5&apiKey=" + NEWS_API_KEY;
                 
                 ResponseEntity<String> newsResponse = restTemplate.getForEntity(newsApiUrl, String.class);
@@ -341,7 +482,8 @@ public class StockService {
             
             return result;
         } catch (Exception e) {
-            e.printStackTrace();
+            metrics.recordFallback("stock", "news");
+            log.warn("뉴스 조회 실패, 기본 뉴스 사용: {}", e.getMessage());
             
             // 기본 뉴스 생성
             result.put("symbol", symbol);
@@ -409,7 +551,8 @@ public class StockService {
             
             return result;
         } catch (Exception e) {
-            e.printStackTrace();
+            metrics.recordFallback("stock", "financials");
+            log.warn("재무 데이터 조회 실패, 기본값 사용: {}", e.getMessage());
             
             // 기본 재무 데이터
             result.put("marketCap", 50000000000.0);  // 500억 달러
@@ -521,7 +664,7 @@ public class StockService {
             
             return objectMapper.writeValueAsString(candles);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("임시 시세 데이터 생성 실패", e);
             return "[]";
         }
     }
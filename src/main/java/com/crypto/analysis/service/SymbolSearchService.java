@@ -0,0 +1,135 @@
+package com.crypto.analysis.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.crypto.analysis.exchange.AdapterResult;
+import com.crypto.analysis.exchange.ExchangeRegistry;
+import com.crypto.analysis.exchange.MarketInfo;
+import com.crypto.analysis.model.Stock;
+import com.crypto.analysis.search.SearchEntry;
+import com.crypto.analysis.search.SymbolSearchIndex;
+
+/**
+ * 종목 검색 서비스
+ *
+ * 업비트/바이낸스 마켓 목록과 미국 상장 종목 목록으로 SymbolSearchIndex 를 만들어 search.refresh-ms 마다 교체한다.
+ * 검색은 메모리 색인만 읽으므로 외부 호출이 없고, 색인을 만들기 전에는 주식 검색만 Alpha Vantage 로 대신한다.
+ */
+@Service
+public class SymbolSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SymbolSearchService.class);
+
+    private static final String COIN = "coin";
+    private static final String STOCK = "stock";
+
+    private final ExchangeRegistry exchangeRegistry;
+    private final StockService stockService;
+    private final AtomicReference<SymbolSearchIndex> index = new AtomicReference<>(SymbolSearchIndex.EMPTY);
+
+    // 거래소별 마지막 정상 마켓 목록 (조회 실패로 빈 목록/대체 목록이 오면 이걸로 색인)
+    private volatile List<MarketInfo> upbitMarkets = List.of();
+    private volatile List<MarketInfo> binanceMarkets = List.of();
+
+    @Value("${search.max-limit:50}")
+    private int MAX_LIMIT;
+
+    public SymbolSearchService(ExchangeRegistry exchangeRegistry, StockService stockService) {
+        this.exchangeRegistry = exchangeRegistry;
+        this.stockService = stockService;
+    }
+
+    /**
+     * 자동완성 검색 (type: coin/stock, exchange: upbit/binance/NASDAQ 등, 생략하면 전체)
+     */
+    public List<SearchEntry> search(String query, String type, String exchange, int limit) {
+        return index.get().search(query, type, exchange, Math.min(Math.max(limit, 1), MAX_LIMIT));
+    }
+
+    /**
+     * 주식 검색 (/api/stock/search, 미국 외 시장이나 색인 전에는 Alpha Vantage 검색)
+     */
+    public List<Stock> searchStocks(String query, String market) {
+        SymbolSearchIndex current = index.get();
+        if (!"US".equals(market) || current.count(STOCK) == 0) {
+            return stockService.searchStocks(query, market);
+        }
+        List<Stock> stocks = new ArrayList<>();
+        for (SearchEntry entry : current.search(query, STOCK, null, 10)) {
+            Stock stock = new Stock();
+            stock.setSymbol(entry.symbol());
+            stock.setName(entry.name());
+            stock.setExchange(entry.exchange());
+            stocks.add(stock);
+        }
+        return stocks;
+    }
+
+    public int size() {
+        return index.get().size();
+    }
+
+    /**
+     * 종목 목록을 다시 받아 색인 교체 (시작 직후 한 번, 이후 주기적으로)
+     *
+     * 같은 점수에서는 먼저 넣은 종목이 앞서므로 업비트 원화 마켓, 바이낸스, 기본 주식 순으로 넣는다.
+     * 거래소 마켓 조회가 실패하면(빈 목록 또는 대체 목록) 그 거래소는 이전에 받은 목록을 그대로 쓴다.
+     */
+    @Scheduled(fixedDelayString = "${search.refresh-ms:21600000}", initialDelayString = "${search.initial-delay-ms:0}")
+    public void refresh() {
+        long start = System.nanoTime();
+        SymbolSearchIndex.Builder builder = SymbolSearchIndex.builder();
+        try {
+            List<MarketInfo> upbit = upbitMarkets = marketsOrPrevious("upbit", upbitMarkets);
+            List<MarketInfo> binance = binanceMarkets = marketsOrPrevious("binance", binanceMarkets);
+            for (MarketInfo info : upbit) {
+                if ("KRW".equals(info.quoteAsset())) {
+                    builder.add(coin("upbit", info));
+                }
+            }
+            for (MarketInfo info : binance) {
+                builder.add(coin("binance", info));
+            }
+            for (MarketInfo info : upbit) {
+                builder.add(coin("upbit", info));
+            }
+            for (Stock stock : stockService.getDefaultStocks()) {
+                builder.add(stock(stock));
+            }
+            for (Stock stock : stockService.getListedStocks()) {
+                builder.add(stock(stock));
+            }
+            SymbolSearchIndex next = builder.build();
+            index.set(next);
+            log.info("종목 검색 색인 갱신 ({}ms): 코인 {}개, 주식 {}개", (System.nanoTime() - start) / 1_000_000,
+                next.count(COIN), next.count(STOCK));
+        } catch (Exception e) {
+            log.warn("종목 검색 색인 갱신 실패, 이전 색인 유지: {}", e.getMessage());
+        }
+    }
+
+    private List<MarketInfo> marketsOrPrevious(String exchange, List<MarketInfo> previous) {
+        AdapterResult<MarketInfo> markets = exchangeRegistry.get(exchange).markets();
+        if (markets.items().isEmpty() || markets.degraded()) {
+            log.warn("{} 마켓 목록 조회 실패, 이전 목록 {}개로 색인", exchange, previous.size());
+            return previous;
+        }
+        return markets.items();
+    }
+
+    private static SearchEntry coin(String exchange, MarketInfo info) {
+        return new SearchEntry(COIN, exchange, info.market(), info.baseAsset(), info.englishName(), info.koreanName());
+    }
+
+    private static SearchEntry stock(Stock stock) {
+        return new SearchEntry(STOCK, stock.getExchange(), stock.getSymbol(), stock.getSymbol(), stock.getName(), null);
+    }
+}
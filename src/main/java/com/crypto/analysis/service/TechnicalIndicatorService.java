@@ -1,6 +1,5 @@
 package com.crypto.analysis.service;
 
-import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -9,6 +8,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.BaseBarSeries;
@@ -17,57 +19,33 @@ import org.ta4j.core.indicators.RSIIndicator;
 import org.ta4j.core.indicators.SMAIndicator;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.model.Candle;
+import com.crypto.analysis.trade.TradeFlowSnapshot;
 
 @Service
 public class TechnicalIndicatorService {
     
-    private final ObjectMapper objectMapper;
+    private static final Logger log = LoggerFactory.getLogger(TechnicalIndicatorService.class);
     
-    public TechnicalIndicatorService() {
-        this.objectMapper = new ObjectMapper();
-    }
+    @Autowired
+    private AnalysisMetrics metrics;
     
-    // 업비트 캔들 데이터를 TA4J 시리즈로 변환
-    public BarSeries createSeries(String candleData) throws Exception {
-        try {
-            JsonNode candles = objectMapper.readTree(candleData);
-            BarSeries series = new BaseBarSeries();
-            
-            // 날짜 기준으로 정렬 (과거 → 최신)
-            List<JsonNode> candleList = new ArrayList<>();
-            candles.forEach(candleList::add);
-            
-            // 날짜 기준 오름차순 정렬
-            candleList.sort(Comparator.comparing(a -> 
-                ZonedDateTime.ofInstant(
-                    Instant.parse(a.get("candle_date_time_utc").asText() + "Z"),
-                    ZoneId.systemDefault()
-                )
-            ));
-            
-            // 정렬된 데이터로 시리즈 생성
-            for (JsonNode candle : candleList) {
-                ZonedDateTime dateTime = ZonedDateTime.ofInstant(
-                    Instant.parse(candle.get("candle_date_time_utc").asText() + "Z"),
-                    ZoneId.systemDefault()
-                );
-                
-                double openPrice = candle.get("opening_price").asDouble();
-                double highPrice = candle.get("high_price").asDouble();
-                double lowPrice = candle.get("low_price").asDouble();
-                double closePrice = candle.get("trade_price").asDouble();
-                double volume = candle.get("candle_acc_trade_volume").asDouble();
-                
-                series.addBar(dateTime, openPrice, highPrice, lowPrice, closePrice, volume);
-            }
-            
-            return series;
-        } catch (Exception e) {
-            System.err.println("TA4J 시리즈 생성 실패: " + e.getMessage());
-            throw e;
+    @Autowired
+    private TradeTapeService tradeTapeService;
+    
+    // 캔들을 TA4J 시리즈로 변환 (거래소마다 순서가 다를 수 있어 시각 오름차순으로 정렬)
+    public BarSeries createSeries(List<Candle> candles) {
+        List<Candle> sorted = new ArrayList<>(candles);
+        sorted.sort(Comparator.comparing(Candle::candleDateTimeUtc));
+        
+        BarSeries series = new BaseBarSeries();
+        for (Candle candle : sorted) {
+            ZonedDateTime dateTime = candle.candleDateTimeUtc().withZoneSameInstant(ZoneId.systemDefault());
+            series.addBar(dateTime, candle.openingPrice(), candle.highPrice(), candle.lowPrice(),
+                candle.tradePrice(), candle.candleAccTradeVolume());
         }
+        return series;
     }
     
     // SMA 계산
@@ -83,7 +61,7 @@ public class TechnicalIndicatorService {
             
             return smaValues;
         } catch (Exception e) {
-            System.err.println("SMA 계산 실패: " + e.getMessage());
+            log.warn("SMA 계산 실패: {}", e.getMessage());
             return createDefaultIndicatorValues(series.getBarCount());
         }
     }
@@ -101,7 +79,7 @@ public class TechnicalIndicatorService {
             
             return emaValues;
         } catch (Exception e) {
-            System.err.println("EMA 계산 실패: " + e.getMessage());
+            log.warn("EMA 계산 실패: {}", e.getMessage());
             return createDefaultIndicatorValues(series.getBarCount());
         }
     }
@@ -119,7 +97,7 @@ public class TechnicalIndicatorService {
             
             return rsiValues;
         } catch (Exception e) {
-            System.err.println("RSI 계산 실패: " + e.getMessage());
+            log.warn("RSI 계산 실패: {}", e.getMessage());
             return createDefaultRsiValues(series.getBarCount());
         }
     }
@@ -147,10 +125,38 @@ public class TechnicalIndicatorService {
         return values;
     }
     
+    /**
+     * 지표에 현재 체결 흐름(VWAP, 델타, CVD, POC)을 붙인 사본
+     *
+     * 체결 흐름은 계속 바뀌므로 calculateAllIndicators 결과(예열 캐시에 남음)에는 넣지 않고 분석 요청마다 붙인다.
+     * 이전에 붙인 값은 지우고 다시 붙이므로 이미 붙은 지표를 넘겨도 된다.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> withTradeFlow(String market, Map<String, Object> indicators) {
+        Map<String, Object> merged = new HashMap<>(indicators);
+        Object latest = indicators.get("latest");
+        Map<String, Double> latestValues = latest == null ? new HashMap<>() : new HashMap<>((Map<String, Double>) latest);
+        merged.remove("tradeFlow");
+        latestValues.keySet().removeAll(List.of("vwap", "volumeDelta", "cvd", "volumePoc"));
+
+        // 실시간 체결 흐름 (구독 중인 마켓만)
+        TradeFlowSnapshot tradeFlow = tradeTapeService.getSnapshot(market);
+        if (tradeFlow != null) {
+            merged.put("tradeFlow", tradeFlow);
+            latestValues.put("vwap", tradeFlow.vwap());
+            latestValues.put("volumeDelta", tradeFlow.delta());
+            latestValues.put("cvd", tradeFlow.cvd());
+            latestValues.put("volumePoc", tradeFlow.poc());
+        }
+        merged.put("latest", latestValues);
+        return merged;
+    }
+    
     // 모든 지표 계산 및 MAP 반환
-    public Map<String, Object> calculateAllIndicators(String market, String candleData) throws Exception {
+    public Map<String, Object> calculateAllIndicators(String market, List<Candle> candles) {
+        long start = System.nanoTime();
         try {
-            BarSeries series = createSeries(candleData);
+            BarSeries series = createSeries(candles);
             
             Map<String, Object> indicators = new HashMap<>();
             indicators.put("market", market);
@@ -183,7 +189,8 @@ public class TechnicalIndicatorService {
             indicators.put("latest", latestValues);
             return indicators;
         } catch (Exception e) {
-            System.err.println("지표 계산 중 오류: " + e.getMessage());
+            log.warn("지표 계산 중 오류: {}", e.getMessage());
+            metrics.recordFallback("indicators", "crypto");
             
             // 오류 시 기본 지표 데이터 생성
             Map<String, Object> defaultIndicators = new HashMap<>();
@@ -217,6 +224,8 @@ public class TechnicalIndicatorService {
             
             defaultIndicators.put("latest", latestValues);
             return defaultIndicators;
+        } finally {
+            metrics.recordIndicators("crypto", System.nanoTime() - start);
         }
     }
 
@@ -229,6 +238,11 @@ public class TechnicalIndicatorService {
         StockIndicatorService stockIndicatorService = new StockIndicatorService();
         
         // StockIndicatorService의 메서드 호출하여 결과 반환
-        return stockIndicatorService.calculateStockIndicators(symbol, candleData);
+        long start = System.nanoTime();
+        try {
+            return stockIndicatorService.calculateStockIndicators(symbol, candleData);
+        } finally {
+            metrics.recordIndicators("stock", System.nanoTime() - start);
+        }
     }
 }
\ No newline at end of file
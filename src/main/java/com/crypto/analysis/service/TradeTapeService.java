@@ -0,0 +1,384 @@
+package com.crypto.analysis.service;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.handshake.ServerHandshake;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.crypto.analysis.journal.JournalRecord;
+import com.crypto.analysis.trade.TradeEvent;
+import com.crypto.analysis.trade.TradeFlowSnapshot;
+import com.crypto.analysis.trade.TradeMessageParser;
+import com.crypto.analysis.trade.TradeTape;
+import com.crypto.analysis.upstream.ReactiveUpstreamClient;
+
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 실시간 체결 테이프 서비스
+ *
+ * trades.markets 의 마켓을 REST 최근 체결(업비트 /trades/ticks, 바이낸스 /aggTrades)로 채운 뒤
+ * 거래소별 WebSocket 하나(업비트 trade, 바이낸스 aggTrade)로 이어 받아 TradeTape 에 반영한다.
+ * 마켓마다 수신 스레드 하나가 파싱부터 집계까지 처리하고, 체결당 할당 없이 배열만 갱신한다.
+ * 반영한 체결은 저널에 남기고, 재시작 시에는 REST 조회 전에 저널에서 윈도우만큼 먼저 복원한다.
+ * TechnicalIndicatorService 는 getSnapshot() 으로 VWAP, 거래량 프로파일, CVD 를 읽는다.
+ * 실시간 체결은 CandleAggregationService 에도 넘겨 진행 중인 1분봉을 갱신한다 (백필/복원한 체결은 REST 1분봉에 이미 포함).
+ */
+@Service
+public class TradeTapeService {
+
+    private static final Logger log = LoggerFactory.getLogger(TradeTapeService.class);
+
+    private final ReactiveUpstreamClient upstreamClient;
+
+    // 키: market (업비트 KRW-BTC, 바이낸스 BTCUSDT 로 형식이 달라 겹치지 않음)
+    private final Map<String, TradeTape> tapes = new ConcurrentHashMap<>();
+    private final List<WebSocketClient> feeds = new CopyOnWriteArrayList<>();
+
+    @Value("${trades.enabled:false}")
+    private boolean ENABLED;
+
+    @Value("${trades.markets:upbit:KRW-BTC,binance:BTCUSDT}")
+    private String MARKETS;
+
+    @Value("${trades.window-ms:3600000}")
+    private long WINDOW_MS;
+
+    @Value("${trades.capacity:131072}")
+    private int CAPACITY;
+
+    @Value("${trades.profile-bucket-pct:0.1}")
+    private double PROFILE_BUCKET_PCT;
+
+    @Value("${trades.profile-levels:24}")
+    private int PROFILE_LEVELS;
+
+    @Value("${trades.max-age-ms:300000}")
+    private long MAX_AGE_MS;
+
+    @Value("${trades.backfill-count:500}")
+    private int BACKFILL_COUNT;
+
+    @Value("${trades.reconnect-delay-ms:5000}")
+    private long RECONNECT_DELAY_MS;
+
+    @Value("${upbit.api.base-url:https://api.upbit.com/v1}")
+    private String UPBIT_API_URL;
+
+    @Value("${binance.api.base-url:https://api.binance.com/api/v3}")
+    private String BINANCE_API_URL;
+
+    @Value("${upbit.ws.url:wss://api.upbit.com/websocket/v1}")
+    private String UPBIT_WS_URL;
+
+    @Value("${binance.ws.url:wss://stream.binance.com:9443/stream}")
+    private String BINANCE_WS_URL;
+
+    @Autowired
+    private JournalService journalService;
+
+    @Autowired
+    private AlertService alertService;
+
+    @Autowired
+    private CandleAggregationService candleAggregationService;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public TradeTapeService(ReactiveUpstreamClient upstreamClient) {
+        this.upstreamClient = upstreamClient;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!ENABLED) {
+            return;
+        }
+        List<String> upbitMarkets = new ArrayList<>();
+        List<String> binanceMarkets = new ArrayList<>();
+        for (String entry : MARKETS.split(",")) {
+            String[] parts = entry.trim().split(":", 2);
+            if (parts.length != 2) {
+                continue;
+            }
+            String exchange = parts[0].toLowerCase();
+            String market = parts[1];
+            if ("upbit".equals(exchange)) {
+                upbitMarkets.add(market);
+            } else if ("binance".equals(exchange)) {
+                market = market.toUpperCase();
+                binanceMarkets.add(market);
+            } else {
+                log.warn("체결 수집을 지원하지 않는 거래소: {}", entry);
+                continue;
+            }
+            tapes.put(market, new TradeTape(exchange, market, WINDOW_MS, CAPACITY, PROFILE_BUCKET_PCT));
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "trades-reconnect");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+
+        restore();
+
+        // 백필이 끝난 뒤 연결해야 이미 반영된 체결 id 보다 오래된 백필이 버려지지 않음
+        Flux.fromIterable(tapes.values())
+            .flatMap(this::backfill, 4)
+            .then()
+            .subscribe(null, e -> connectFeeds(upbitMarkets, binanceMarkets),
+                () -> connectFeeds(upbitMarkets, binanceMarkets));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (WebSocketClient feed : feeds) {
+            feed.close();
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 최근 체결 흐름 요약 (구독하지 않았거나 max-age-ms 동안 체결이 없었으면 null)
+     */
+    public TradeFlowSnapshot getSnapshot(String market) {
+        TradeTape tape = tapes.get(market);
+        long now = System.currentTimeMillis();
+        if (tape == null || now - tape.getLastTime() > MAX_AGE_MS) {
+            return null;
+        }
+        return tape.snapshot(now, PROFILE_LEVELS);
+    }
+
+    /**
+     * 저널에 남은 최근 윈도우의 체결로 테이프 복원
+     */
+    private void restore() {
+        long start = System.currentTimeMillis();
+        TradeEvent trade = new TradeEvent();
+        long[] restored = new long[1];
+        try {
+            journalService.replay(start - WINDOW_MS, start, record -> {
+                TradeTape tape = record.getType() == JournalRecord.TRADE ? tapes.get(record.getMarket()) : null;
+                if (tape != null && tape.add(record.toTrade(trade))) {
+                    restored[0]++;
+                }
+                return true;
+            });
+            if (restored[0] > 0) {
+                log.info("저널에서 체결 {}건 복원 ({}ms)", restored[0], System.currentTimeMillis() - start);
+            }
+        } catch (Exception e) {
+            log.warn("저널 체결 복원 실패: {}", e.getMessage());
+        }
+    }
+
+    private Mono<Void> backfill(TradeTape tape) {
+        boolean upbit = "upbit".equals(tape.getExchange());
+        String url = upbit
+            ? UPBIT_API_URL + "/trades/ticks?market=" + tape.getMarket() + "&count=" + Math.min(BACKFILL_COUNT, 500)
+            : BINANCE_API_URL + "/aggTrades?symbol=" + tape.getMarket() + "&limit=" + Math.min(BACKFILL_COUNT, 1000);
+        return upstreamClient.get(url)
+            .map(body -> {
+                try {
+                    return upbit ? TradeMessageParser.parseUpbitTicks(body)
+                        : TradeMessageParser.parseBinanceAggTrades(tape.getMarket(), body);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            })
+            .doOnNext(trades -> {
+                for (TradeEvent trade : trades) {
+                    if (tape.add(trade)) {
+                        journalService.recordTrade(tape.getExchange(), trade);
+                    }
+                }
+                log.debug("{} 체결 백필 {}건", tape.getMarket(), trades.size());
+            })
+            .onErrorResume(e -> {
+                log.warn("{} 최근 체결 조회 실패: {}", tape.getMarket(), e.getMessage());
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    private void connectFeeds(List<String> upbitMarkets, List<String> binanceMarkets) {
+        if (!running) {
+            return;
+        }
+        if (!upbitMarkets.isEmpty()) {
+            connect(new UpbitFeed(URI.create(UPBIT_WS_URL), upbitMarkets));
+        }
+        if (!binanceMarkets.isEmpty()) {
+            List<String> streams = new ArrayList<>();
+            for (String symbol : binanceMarkets) {
+                streams.add(symbol.toLowerCase() + "@aggTrade");
+            }
+            connect(new BinanceFeed(URI.create(BINANCE_WS_URL + "?streams=" + String.join("/", streams))));
+        }
+        log.info("체결 구독 시작: 업비트 {}, 바이낸스 {}", upbitMarkets, binanceMarkets);
+    }
+
+    private void connect(WebSocketClient feed) {
+        feeds.add(feed);
+        feed.setConnectionLostTimeout(60);
+        feed.connect();
+    }
+
+    // 수신 스레드에서 reconnect 를 호출할 수 없으므로 별도 스레드에서 재연결
+    private void scheduleReconnect(String exchange, WebSocketClient feed) {
+        if (!running) {
+            return;
+        }
+        scheduler.schedule(() -> {
+            if (running) {
+                log.info("{} 체결 WebSocket 재연결", exchange);
+                feed.reconnect();
+            }
+        }, RECONNECT_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void apply(TradeEvent trade) {
+        TradeTape tape = tapes.get(trade.getMarket());
+        if (tape != null && tape.add(trade)) {
+            journalService.recordTrade(tape.getExchange(), trade);
+            alertService.onPrice(tape.getExchange(), trade.getMarket(), trade.getPrice());
+            candleAggregationService.ingestTrade(tape.getExchange(), trade.getMarket(), trade.getTime(),
+                trade.getPrice(), trade.getSize());
+        }
+    }
+
+    /**
+     * 업비트 체결 WebSocket (바이너리 프레임)
+     */
+    private final class UpbitFeed extends WebSocketClient {
+
+        private final List<String> markets;
+        // 수신 스레드 하나만 사용하므로 재사용
+        private final TradeEvent trade = new TradeEvent();
+
+        UpbitFeed(URI uri, List<String> markets) {
+            super(uri);
+            this.markets = markets;
+        }
+
+        @Override
+        public void onOpen(ServerHandshake handshake) {
+            StringBuilder codes = new StringBuilder();
+            for (String market : markets) {
+                if (codes.length() > 0) {
+                    codes.append(',');
+                }
+                codes.append('"').append(market).append('"');
+            }
+            send("[{\"ticket\":\"" + UUID.randomUUID() + "\"},{\"type\":\"trade\",\"codes\":[" + codes + "]}]");
+            log.info("업비트 체결 WebSocket 연결: {}", markets);
+        }
+
+        @Override
+        public void onMessage(ByteBuffer bytes) {
+            try {
+                boolean parsed;
+                if (bytes.hasArray()) {
+                    parsed = TradeMessageParser.parseUpbit(bytes.array(), bytes.arrayOffset() + bytes.position(),
+                        bytes.remaining(), trade);
+                } else {
+                    byte[] copy = new byte[bytes.remaining()];
+                    bytes.get(copy);
+                    parsed = TradeMessageParser.parseUpbit(copy, 0, copy.length, trade);
+                }
+                if (parsed) {
+                    apply(trade);
+                }
+            } catch (Exception e) {
+                log.warn("업비트 체결 메시지 처리 실패: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void onMessage(String message) {
+            try {
+                if (TradeMessageParser.parseUpbit(message, trade)) {
+                    apply(trade);
+                }
+            } catch (Exception e) {
+                log.warn("업비트 체결 메시지 처리 실패: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void onClose(int code, String reason, boolean remote) {
+            log.warn("업비트 체결 WebSocket 종료: code={}, reason={}", code, reason);
+            scheduleReconnect("upbit", this);
+        }
+
+        @Override
+        public void onError(Exception ex) {
+            log.warn("업비트 체결 WebSocket 오류: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 바이낸스 combined stream (aggTrade)
+     */
+    private final class BinanceFeed extends WebSocketClient {
+
+        private final TradeEvent trade = new TradeEvent();
+
+        BinanceFeed(URI uri) {
+            super(uri);
+        }
+
+        @Override
+        public void onOpen(ServerHandshake handshake) {
+            log.info("바이낸스 체결 WebSocket 연결: {}", getURI());
+        }
+
+        @Override
+        public void onMessage(String message) {
+            try {
+                if (TradeMessageParser.parseBinanceAggTrade(message, trade)) {
+                    apply(trade);
+                }
+            } catch (Exception e) {
+                log.warn("바이낸스 체결 메시지 처리 실패: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void onClose(int code, String reason, boolean remote) {
+            log.warn("바이낸스 체결 WebSocket 종료: code={}, reason={}", code, reason);
+            scheduleReconnect("binance", this);
+        }
+
+        @Override
+        public void onError(Exception ex) {
+            log.warn("바이낸스 체결 WebSocket 오류: {}", ex.getMessage());
+        }
+    }
+}
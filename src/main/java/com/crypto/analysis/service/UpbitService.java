@@ -1,12 +1,18 @@
 package com.crypto.analysis.service;
 
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -17,11 +23,36 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import com.crypto.analysis.exchange.AdapterResult;
+import com.crypto.analysis.exchange.ExchangeAdapter;
+import com.crypto.analysis.exchange.ExchangeJson;
+import com.crypto.analysis.exchange.MarketInfo;
+import com.crypto.analysis.exchange.Ticker;
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.model.Candle;
+import com.crypto.analysis.model.Timeframe;
+import com.crypto.analysis.upstream.ReactiveUpstreamClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+
 @Service
-public class UpbitService {
+public class UpbitService implements ExchangeAdapter {
+    
+    private static final Logger log = LoggerFactory.getLogger(UpbitService.class);
+    
+    // 업비트 분봉 API 가 지원하는 단위
+    private static final Set<Integer> SUPPORTED_MINUTE_UNITS = Set.of(1, 3, 5, 10, 15, 30, 60, 240);
+    
+    // 캔들 API 한 번에 받을 수 있는 최대 개수
+    private static final int MAX_CANDLES_PER_REQUEST = 200;
     
     private final RestTemplate restTemplate;
-    private final String API_URL = "https://api.upbit.com/v1";
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    @Value("${upbit.api.base-url:https://api.upbit.com/v1}")
+    private String API_URL;
     
     @Value("${upbit.api.access-key:}")
     private String ACCESS_KEY;
@@ -29,6 +60,12 @@ public class UpbitService {
     @Value("${upbit.api.secret-key:}")
     private String SECRET_KEY;
     
+    @Autowired
+    private AnalysisMetrics metrics;
+    
+    @Autowired
+    private ReactiveUpstreamClient upstreamClient;
+    
     public UpbitService(RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
     }
@@ -36,44 +73,48 @@ public class UpbitService {
     // 시장 코인 목록 조회
     public String getMarkets() {
         try {
-            String url = API_URL + "/market/all";
-            System.out.println("Requesting URL: " + url);  // 로깅 추가
-            
-            // HTTP 헤더 설정
-            HttpHeaders headers = new HttpHeaders();
-            headers.setAccept(java.util.Collections.singletonList(MediaType.APPLICATION_JSON));
-            headers.set("User-Agent", "Crypto-Analysis-Application");
-            
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            
-            ResponseEntity<String> response = restTemplate.exchange(
-                url, 
-                HttpMethod.GET, 
-                entity,
-                String.class
-            );
-            
-            System.out.println("Response status: " + response.getStatusCode());  // 응답 상태 로깅
-            System.out.println("Response body length: " + (response.getBody() != null ? response.getBody().length() : 0));  // 응답 길이 로깅
-            
-            // 응답 내용 확인
-            if (response.getBody() == null || response.getBody().trim().isEmpty()) {
-                System.err.println("Empty response from Upbit API");
-                return getFallbackMarkets();
-            }
-            
-            return response.getBody();
+            return fetchMarkets();
         } catch (RestClientException e) {
-            System.err.println("업비트 API 연결 실패, 임시 데이터를 사용합니다: " + e.getMessage());
-            e.printStackTrace();
+            metrics.recordFallback("upbit", "markets");
+            log.warn("업비트 API 연결 실패, 임시 데이터를 사용합니다: {}", e.getMessage());
             return getFallbackMarkets();  // 실패 시 임시 데이터 반환
         } catch (Exception e) {
-            System.err.println("Unknown error: " + e.getMessage());
-            e.printStackTrace();
+            metrics.recordFallback("upbit", "markets");
+            log.warn("업비트 마켓 목록 조회 실패, 임시 데이터를 사용합니다: {}", e.getMessage());
             return getFallbackMarkets();
         }
     }
     
+    // 마켓 목록 원본 응답 (비어 있으면 예외)
+    private String fetchMarkets() {
+        String url = API_URL + "/market/all";
+        log.debug("업비트 마켓 목록 요청: {}", url);
+        
+        // HTTP 헤더 설정
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(java.util.Collections.singletonList(MediaType.APPLICATION_JSON));
+        headers.set("User-Agent", "Crypto-Analysis-Application");
+        
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+        
+        ResponseEntity<String> response = restTemplate.exchange(
+            url, 
+            HttpMethod.GET, 
+            entity,
+            String.class
+        );
+        
+        log.debug("업비트 마켓 목록 응답: status={}, length={}", response.getStatusCode(),
+                response.getBody() != null ? response.getBody().length() : 0);
+        
+        // 응답 내용 확인
+        if (response.getBody() == null || response.getBody().trim().isEmpty()) {
+            throw new IllegalStateException("업비트 마켓 목록 응답이 비어 있습니다");
+        }
+        
+        return response.getBody();
+    }
+    
     // 업비트 API 호출에 실패했을 때 사용할 임시 데이터
     private String getFallbackMarkets() {
         return "[" +
@@ -121,8 +162,8 @@ public class UpbitService {
             
             return response.getBody();
         } catch (Exception e) {
-            System.err.println("현재가 조회 실패: " + e.getMessage());
-            e.printStackTrace();
+            metrics.recordFallback("upbit", "price");
+            log.warn("현재가 조회 실패: {}", e.getMessage());
             return "[{\"market\":\"" + market + "\",\"trade_price\":0,\"change_rate\":0}]";
         }
     }
@@ -130,34 +171,54 @@ public class UpbitService {
     // 캔들 데이터 조회 (차트 데이터)
     public String getCandles(String market, String interval, int count) {
         try {
-            String url = API_URL + "/candles/" + interval + "?market=" + market + "&count=" + count;
-            
-            // HTTP 헤더 설정
-            HttpHeaders headers = new HttpHeaders();
-            headers.setAccept(java.util.Collections.singletonList(MediaType.APPLICATION_JSON));
-            headers.set("User-Agent", "Crypto-Analysis-Application");
-            
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            
-            ResponseEntity<String> response = restTemplate.exchange(
-                url, 
-                HttpMethod.GET, 
-                entity,
-                String.class
-            );
-            
-            return response.getBody();
+            return fetchCandlesBefore(market, interval, count, null);
         } catch (Exception e) {
-            System.err.println("캔들 데이터 조회 실패: " + e.getMessage());
-            e.printStackTrace();
+            metrics.recordFallback("upbit", "candles");
+            log.warn("캔들 데이터 조회 실패: {}", e.getMessage());
             // 임시 캔들 데이터 생성 (실패 시)
-            return generateFallbackCandles(market, count);
+            return ExchangeJson.writeCandles(generateFallbackCandles(market, count));
+        }
+    }
+    
+    // beforeMillis 이전(미포함) 캔들 조회 (과거 데이터 페이지 조회용, 최대 200개)
+    public String fetchCandlesBefore(String market, String interval, int count, Long beforeMillis) {
+        HttpHeaders headers = new HttpHeaders();
+        jsonHeaders(headers);
+        
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+        
+        ResponseEntity<String> response = restTemplate.exchange(
+            candlesUrl(market, interval, count, beforeMillis), 
+            HttpMethod.GET, 
+            entity,
+            String.class
+        );
+        
+        return response.getBody();
+    }
+    
+    private String candlesUrl(String market, String interval, int count, Long beforeMillis) {
+        String url = API_URL + "/candles/" + interval + "?market=" + market + "&count=" + count;
+        if (beforeMillis != null) {
+            // to 는 마지막 캔들 시각(미포함), UTC ISO 8601 형식
+            url += "&to=" + java.time.Instant.ofEpochMilli(beforeMillis).truncatedTo(java.time.temporal.ChronoUnit.SECONDS);
         }
+        return url;
+    }
+    
+    private static void jsonHeaders(HttpHeaders headers) {
+        headers.setAccept(java.util.Collections.singletonList(MediaType.APPLICATION_JSON));
+        headers.set("User-Agent", "Crypto-Analysis-Application");
     }
     
-    // 임시 캔들 데이터 생성
-    private String generateFallbackCandles(String market, int count) {
-        StringBuilder sb = new StringBuilder("[");
+    // 업비트가 직접 제공하는 분봉 단위인지 확인
+    public static boolean supportsMinuteUnit(int minutes) {
+        return SUPPORTED_MINUTE_UNITS.contains(minutes);
+    }
+    
+    // 임시 캔들 데이터 생성 (최신순, 업비트 캔들 API 와 같은 순서)
+    private List<Candle> generateFallbackCandles(String market, int count) {
+        List<Candle> candles = new ArrayList<>(count);
         long now = System.currentTimeMillis();
         double basePrice = 50000000; // 기본 가격 (예: 비트코인)
         
@@ -168,37 +229,140 @@ public class UpbitService {
         for (int i = 0; i < count; i++) {
             double fluctuation = 0.02 * Math.random() - 0.01; // -1% ~ +1% 변동
             double price = basePrice * (1 + fluctuation);
+            long timestamp = now - (i * 86400000L); // 하루 간격
             
-            if (i > 0) sb.append(",");
-            sb.append("{");
-            sb.append("\"market\":\"").append(market).append("\",");
-            sb.append("\"candle_date_time_utc\":\"").append(java.time.Instant.ofEpochMilli(now - (i * 86400000)).toString().replace("Z", "")).append("\",");
-            sb.append("\"candle_date_time_kst\":\"").append(java.time.Instant.ofEpochMilli(now - (i * 86400000) + 32400000).toString().replace("Z", "")).append("\",");
-            sb.append("\"opening_price\":").append(price * 0.99).append(",");
-            sb.append("\"high_price\":").append(price * 1.02).append(",");
-            sb.append("\"low_price\":").append(price * 0.98).append(",");
-            sb.append("\"trade_price\":").append(price).append(",");
-            sb.append("\"candle_acc_trade_price\":").append(price * 100).append(",");
-            sb.append("\"candle_acc_trade_volume\":").append(100 + Math.random() * 50);
-            sb.append("}");
+            candles.add(ExchangeJson.candle(market, timestamp, price * 0.99, price * 1.02, price * 0.98, price,
+                100 + Math.random() * 50, price * 100));
         }
-        sb.append("]");
-        return sb.toString();
+        
+        return candles;
     }
     
-    // 일봉 캔들 조회
-    public String getDayCandles(String market, int count) {
-        return getCandles(market, "days", count);
+    @Override
+    public String id() {
+        return "upbit";
     }
     
-    // 시간봉 캔들 조회
-    public String getHourCandles(String market, int count) {
-        return getCandles(market, "minutes/60", count);
+    @Override
+    public int maxCandlesPerRequest() {
+        return MAX_CANDLES_PER_REQUEST;
     }
     
-    // 분봉 캔들 조회
-    public String getMinuteCandles(String market, int minutes, int count) {
-        return getCandles(market, "minutes/" + minutes, count);
+    @Override
+    public String nativeInterval(Timeframe timeframe) {
+        switch (timeframe.unit()) {
+            case MINUTE:
+                return supportsMinuteUnit(timeframe.amount()) ? "minutes/" + timeframe.amount() : null;
+            case DAY:
+                return timeframe.amount() == 1 ? "days" : null;
+            default:
+                return timeframe.amount() == 1 ? "weeks" : null;
+        }
+    }
+    
+    @Override
+    public AdapterResult<MarketInfo> markets() {
+        List<MarketInfo> markets = new ArrayList<>();
+        String body;
+        boolean fallback = false;
+        try {
+            body = fetchMarkets();
+        } catch (Exception e) {
+            metrics.recordFallback("upbit", "markets");
+            log.warn("업비트 마켓 목록 조회 실패, 임시 데이터를 사용합니다: {}", e.getMessage());
+            body = getFallbackMarkets();
+            fallback = true;
+        }
+        try {
+            for (JsonNode node : objectMapper.readTree(body)) {
+                String market = node.path("market").asText();
+                String[] parts = market.split("-", 2);
+                markets.add(new MarketInfo(market,
+                    parts.length > 1 ? parts[1] : market,
+                    parts[0],
+                    node.path("korean_name").asText(market),
+                    node.path("english_name").asText(market)));
+            }
+        } catch (Exception e) {
+            log.warn("업비트 마켓 목록 파싱 실패: {}", e.getMessage());
+        }
+        // 임시 목록은 표시용으로만 쓰도록 구분 (검색 색인/프리미엄 자산 선정은 실패로 취급)
+        return fallback ? AdapterResult.fallback(markets) : AdapterResult.of(markets);
+    }
+    
+    @Override
+    public Ticker ticker(String market) {
+        try {
+            return parseTicker(market, getCurrentPrice(market));
+        } catch (Exception e) {
+            log.warn("업비트 현재가 파싱 실패: {}", e.getMessage());
+            return Ticker.empty(market);
+        }
+    }
+    
+    @Override
+    public Mono<Ticker> tickerAsync(String market) {
+        return upstreamClient.get(API_URL + "/ticker?markets=" + market, UpbitService::jsonHeaders)
+            .flatMap(body -> Mono.fromCallable(() -> parseTicker(market, body)))
+            .onErrorResume(e -> {
+                metrics.recordFallback("upbit", "price");
+                log.warn("현재가 조회 실패: {}", e.getMessage());
+                return Mono.just(Ticker.empty(market));
+            });
+    }
+    
+    private Ticker parseTicker(String market, String json) throws Exception {
+        JsonNode ticker = objectMapper.readTree(json).path(0);
+        return new Ticker(market,
+            ticker.path("trade_price").asDouble(),
+            // change_rate 는 부호가 없으므로 signed_change_rate 사용 (임시 데이터에는 없음)
+            ticker.has("signed_change_rate") ? ticker.path("signed_change_rate").asDouble()
+                : ticker.path("change_rate").asDouble(),
+            ticker.path("high_price").asDouble(),
+            ticker.path("low_price").asDouble(),
+            ticker.path("acc_trade_volume_24h").asDouble(),
+            ticker.path("acc_trade_price_24h").asDouble(),
+            ticker.path("timestamp").asLong(System.currentTimeMillis()));
+    }
+    
+    @Override
+    public AdapterResult<Candle> candles(String market, Timeframe timeframe, int count) {
+        String interval = requireNativeInterval(timeframe);
+        try {
+            return AdapterResult.of(ExchangeJson.parseCandles(fetchCandlesBefore(market, interval, count, null)));
+        } catch (Exception e) {
+            metrics.recordFallback("upbit", "candles");
+            log.warn("캔들 데이터 조회 실패: {}", e.getMessage());
+            return AdapterResult.fallback(generateFallbackCandles(market, count));
+        }
+    }
+    
+    @Override
+    public Mono<AdapterResult<Candle>> candlesAsync(String market, Timeframe timeframe, int count) {
+        // 지원하지 않는 단위는 조립 시점에 던지지 않고 구독자에게 IllegalArgumentException 으로 전달 (대체 데이터로 바꾸지 않음)
+        return Mono.defer(() -> {
+            String url = candlesUrl(market, requireNativeInterval(timeframe), count, null);
+            return upstreamClient.get(url, UpbitService::jsonHeaders)
+                .flatMap(body -> Mono.fromCallable(() -> AdapterResult.of(ExchangeJson.parseCandles(body))))
+                .onErrorResume(e -> {
+                    metrics.recordFallback("upbit", "candles");
+                    log.warn("캔들 데이터 조회 실패: {}", e.getMessage());
+                    return Mono.just(AdapterResult.fallback(generateFallbackCandles(market, count)));
+                });
+        });
+    }
+    
+    @Override
+    public List<Candle> candlesBefore(String market, Timeframe timeframe, int count, Long beforeMillis) throws Exception {
+        return ExchangeJson.parseCandles(fetchCandlesBefore(market, requireNativeInterval(timeframe), count, beforeMillis));
+    }
+    
+    private String requireNativeInterval(Timeframe timeframe) {
+        String interval = nativeInterval(timeframe);
+        if (interval == null) {
+            throw new IllegalArgumentException("업비트가 지원하지 않는 캔들 단위입니다: " + timeframe);
+        }
+        return interval;
     }
     
     // JWT 인증이 필요한 API 요청용 (입출금 내역 등)
@@ -0,0 +1,41 @@
+package com.crypto.analysis.spread;
+
+/**
+ * 현재가 메시지 한 건 (수신 스레드마다 하나를 재사용)
+ */
+public final class PriceTick {
+
+    private String market;
+    private double price;
+    private long time;
+
+    void reset() {
+        market = null;
+        price = 0;
+        time = 0;
+    }
+
+    public String getMarket() {
+        return market;
+    }
+
+    void setMarket(String market) {
+        this.market = market;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    void setPrice(double price) {
+        this.price = price;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    void setTime(long time) {
+        this.time = time;
+    }
+}
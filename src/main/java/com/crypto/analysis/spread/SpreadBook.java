@@ -0,0 +1,210 @@
+package com.crypto.analysis.spread;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 업비트(KRW)와 바이낸스(USDT) 현재가 조인 상태
+ *
+ * 자산마다 시작 시 정한 id 로 기본형 배열을 인덱싱하므로 현재가 한 건은 마켓 조회 한 번과 배열 쓰기 두 번으로 끝난다.
+ * 가격 배열은 거래소별 수신 스레드 하나만 쓰고, 표본 추출은 약간 늦은 값을 읽어도 괜찮으므로 잠그지 않는다.
+ * 대신 가격을 쓴 뒤 시각을 release 로 쓰고 시각을 acquire 로 읽은 뒤 가격을 읽어, 읽은 가격이 읽은 시각보다 오래되지 않게 한다.
+ * (가격은 opaque 접근이라 64비트 값이 찢어져 보이지 않는다)
+ * sample() 은 주기마다 자산별 프리미엄을 계산해 자산당 historySize 칸 링 버퍼에 넣고,
+ * 합계/제곱합을 함께 갱신해 평균, 표준편차, z-score 를 표본 수와 무관하게 바로 구한다.
+ */
+public final class SpreadBook {
+
+    // 더하고 빼기를 반복한 합계의 오차가 쌓이지 않도록 이 횟수마다 다시 계산
+    private static final int REBUILD_INTERVAL = 1 << 16;
+    private static final int MIN_Z_SAMPLES = 30;
+
+    private static final VarHandle PRICES = MethodHandles.arrayElementVarHandle(double[].class);
+    private static final VarHandle TIMES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final String[] assets;
+    private final Map<String, Integer> assetIds = new HashMap<>();
+    private final Map<String, Integer> upbitIds = new HashMap<>();
+    private final Map<String, Integer> binanceIds = new HashMap<>();
+
+    private final double[] krwPrices;
+    private final long[] krwTimes;
+    private final double[] usdPrices;
+    private final long[] usdTimes;
+
+    private final int historySize;
+    // 자산 id * historySize 부터 자산별 링 버퍼
+    private final double[] history;
+    private final long[] historyTimes;
+    private final int[] heads;
+    private final int[] counts;
+    private final double[] sums;
+    private final double[] sumSquares;
+    private final double[] premiums;
+    private int sampled;
+
+    public SpreadBook(List<String> assets, int historySize) {
+        this.assets = assets.toArray(new String[0]);
+        for (int id = 0; id < this.assets.length; id++) {
+            assetIds.put(this.assets[id], id);
+            upbitIds.put(upbitMarket(this.assets[id]), id);
+            binanceIds.put(binanceMarket(this.assets[id]), id);
+        }
+        int n = this.assets.length;
+        this.historySize = Math.max(historySize, 2);
+        krwPrices = new double[n];
+        krwTimes = new long[n];
+        usdPrices = new double[n];
+        usdTimes = new long[n];
+        history = new double[n * this.historySize];
+        historyTimes = new long[n * this.historySize];
+        heads = new int[n];
+        counts = new int[n];
+        sums = new double[n];
+        sumSquares = new double[n];
+        premiums = new double[n];
+    }
+
+    public static String upbitMarket(String asset) {
+        return "KRW-" + asset;
+    }
+
+    public static String binanceMarket(String asset) {
+        return asset + "USDT";
+    }
+
+    public int size() {
+        return assets.length;
+    }
+
+    public List<String> getAssets() {
+        return List.of(assets);
+    }
+
+    /**
+     * 업비트 원화 현재가 (구독하지 않은 마켓이면 false)
+     */
+    public boolean onUpbit(String market, double price, long time) {
+        Integer id = upbitIds.get(market);
+        if (id == null) {
+            return false;
+        }
+        PRICES.setOpaque(krwPrices, (int) id, price);
+        TIMES.setRelease(krwTimes, (int) id, time);
+        return true;
+    }
+
+    /**
+     * 바이낸스 USDT 현재가 (구독하지 않은 마켓이면 false)
+     */
+    public boolean onBinance(String market, double price, long time) {
+        Integer id = binanceIds.get(market);
+        if (id == null) {
+            return false;
+        }
+        PRICES.setOpaque(usdPrices, (int) id, price);
+        TIMES.setRelease(usdTimes, (int) id, time);
+        return true;
+    }
+
+    /**
+     * 현재 프리미엄을 자산별 기록에 추가 (어느 한쪽 가격이 maxAgeMs 보다 오래됐으면 건너뜀)
+     */
+    public synchronized void sample(long now, double fxRate, long maxAgeMs) {
+        for (int id = 0; id < assets.length; id++) {
+            double premium = premium(id, now, fxRate, maxAgeMs);
+            premiums[id] = premium;
+            if (Double.isNaN(premium)) {
+                continue;
+            }
+            int slot = id * historySize + heads[id];
+            if (counts[id] == historySize) {
+                double old = history[slot];
+                sums[id] -= old;
+                sumSquares[id] -= old * old;
+            } else {
+                counts[id]++;
+            }
+            history[slot] = premium;
+            historyTimes[slot] = now;
+            sums[id] += premium;
+            sumSquares[id] += premium * premium;
+            heads[id] = heads[id] + 1 == historySize ? 0 : heads[id] + 1;
+        }
+        if (++sampled % REBUILD_INTERVAL == 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 마지막 표본 기준 자산별 프리미엄 (표본이 없거나 가격이 오래된 자산은 제외)
+     */
+    public synchronized List<SpreadSnapshot.AssetSpread> spreads() {
+        List<SpreadSnapshot.AssetSpread> spreads = new ArrayList<>(assets.length);
+        for (int id = 0; id < assets.length; id++) {
+            double premium = premiums[id];
+            int n = counts[id];
+            if (Double.isNaN(premium) || n == 0) {
+                continue;
+            }
+            double mean = sums[id] / n;
+            double std = Math.sqrt(Math.max(0, sumSquares[id] / n - mean * mean));
+            double z = n >= MIN_Z_SAMPLES && std > 1e-9 ? (premium - mean) / std : 0;
+            spreads.add(new SpreadSnapshot.AssetSpread(assets[id], price(krwPrices, id), price(usdPrices, id),
+                premium, mean, std, z, n));
+        }
+        return spreads;
+    }
+
+    /**
+     * 자산의 최근 프리미엄 기록 (오래된 순, 없는 자산이면 빈 목록)
+     */
+    public synchronized List<SpreadSnapshot.SpreadPoint> history(String asset, int limit) {
+        Integer id = assetIds.get(asset);
+        if (id == null) {
+            return List.of();
+        }
+        int n = Math.min(counts[id], Math.max(limit, 0));
+        List<SpreadSnapshot.SpreadPoint> points = new ArrayList<>(n);
+        int base = id * historySize;
+        for (int i = n; i > 0; i--) {
+            int slot = base + Math.floorMod(heads[id] - i, historySize);
+            points.add(new SpreadSnapshot.SpreadPoint(historyTimes[slot], history[slot]));
+        }
+        return points;
+    }
+
+    private double premium(int id, long now, double fxRate, long maxAgeMs) {
+        long krwTime = (long) TIMES.getAcquire(krwTimes, id);
+        long usdTime = (long) TIMES.getAcquire(usdTimes, id);
+        double krw = price(krwPrices, id);
+        double usd = price(usdPrices, id);
+        if (fxRate <= 0 || krw <= 0 || usd <= 0 || now - krwTime > maxAgeMs || now - usdTime > maxAgeMs) {
+            return Double.NaN;
+        }
+        return (krw / (usd * fxRate) - 1) * 100;
+    }
+
+    private static double price(double[] prices, int id) {
+        return (double) PRICES.getOpaque(prices, id);
+    }
+
+    private void rebuild() {
+        for (int id = 0; id < assets.length; id++) {
+            double sum = 0;
+            double sumSquare = 0;
+            int base = id * historySize;
+            for (int i = 1; i <= counts[id]; i++) {
+                double value = history[base + Math.floorMod(heads[id] - i, historySize)];
+                sum += value;
+                sumSquare += value * value;
+            }
+            sums[id] = sum;
+            sumSquares[id] = sumSquare;
+        }
+    }
+}
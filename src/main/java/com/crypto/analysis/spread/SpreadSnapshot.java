@@ -0,0 +1,33 @@
+package com.crypto.analysis.spread;
+
+import java.util.List;
+
+/**
+ * 거래소 간 가격 차이(김치 프리미엄) 요약 (/topic/spread 로 발행)
+ *
+ * premium 은 업비트 원화 가격이 바이낸스 USDT 가격 x 환율보다 몇 % 비싼지이고 (USDT = USD 로 봄),
+ * mean/std/zScore 는 최근 samples 개 표본 기준이다. 표본이 적으면 zScore 는 0 이다.
+ * fxSource 는 환율 출처 (alphavantage, 조회 실패 시 업비트 KRW-USDT 가격인 upbit-usdt)
+ */
+public record SpreadSnapshot(
+        long updatedAt,
+        double fxRate,
+        String fxSource,
+        long fxUpdatedAt,
+        double averagePremium,
+        List<AssetSpread> assets) {
+
+    public record AssetSpread(
+            String asset,
+            double krwPrice,
+            double usdPrice,
+            double premium,
+            double mean,
+            double std,
+            double zScore,
+            int samples) {
+    }
+
+    public record SpreadPoint(long time, double premium) {
+    }
+}
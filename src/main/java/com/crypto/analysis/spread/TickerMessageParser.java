@@ -0,0 +1,95 @@
+package com.crypto.analysis.spread;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * 거래소 현재가 메시지 파서 (스트리밍으로 읽어 재사용하는 PriceTick 에 채움)
+ */
+public final class TickerMessageParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private TickerMessageParser() {
+    }
+
+    /**
+     * 업비트 ticker 메시지 (WebSocket 은 바이너리 프레임으로 보냄)
+     *
+     * @return ticker 메시지면 true
+     */
+    public static boolean parseUpbit(byte[] data, int offset, int length, PriceTick out) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(data, offset, length)) {
+            return parser.nextToken() == JsonToken.START_OBJECT && readUpbit(parser, out);
+        }
+    }
+
+    public static boolean parseUpbit(String json, PriceTick out) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return parser.nextToken() == JsonToken.START_OBJECT && readUpbit(parser, out);
+        }
+    }
+
+    /**
+     * 바이낸스 combined stream miniTicker ({"stream":..., "data":{"e":"24hrMiniTicker","E":..,"s":..,"c":..}})
+     *
+     * @return miniTicker 메시지면 true
+     */
+    public static boolean parseBinanceMiniTicker(String json, PriceTick out) throws IOException {
+        out.reset();
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            boolean ticker = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("data".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    ticker = readBinance(parser, out);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return ticker && out.getMarket() != null && out.getPrice() > 0;
+        }
+    }
+
+    private static boolean readUpbit(JsonParser parser, PriceTick out) throws IOException {
+        out.reset();
+        boolean ticker = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "type" -> ticker = "ticker".equals(parser.getText());
+                case "code" -> out.setMarket(parser.getText());
+                case "trade_price" -> out.setPrice(parser.getDoubleValue());
+                case "timestamp" -> out.setTime(parser.getLongValue());
+                default -> parser.skipChildren();
+            }
+        }
+        return ticker && out.getMarket() != null && out.getPrice() > 0;
+    }
+
+    private static boolean readBinance(JsonParser parser, PriceTick out) throws IOException {
+        boolean ticker = true;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "e" -> ticker = "24hrMiniTicker".equals(parser.getText());
+                case "s" -> out.setMarket(parser.getText());
+                // 바이낸스는 가격을 문자열로 내려줌
+                case "c" -> out.setPrice(parser.currentToken() == JsonToken.VALUE_STRING
+                    ? Double.parseDouble(parser.getText()) : parser.getDoubleValue());
+                case "E" -> out.setTime(parser.getLongValue());
+                default -> parser.skipChildren();
+            }
+        }
+        return ticker;
+    }
+}
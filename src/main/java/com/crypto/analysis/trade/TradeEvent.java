@@ -0,0 +1,84 @@
+package com.crypto.analysis.trade;
+
+/**
+ * 체결 한 건 (WebSocket 수신 스레드마다 하나를 재사용)
+ *
+ * buy 는 매수 주문이 체결을 일으켰는지(taker 가 매수)를 뜻한다.
+ */
+public final class TradeEvent {
+
+    private String market;
+    private long tradeId;
+    private long time;
+    private double price;
+    private double size;
+    private boolean buy;
+
+    public void reset() {
+        market = null;
+        tradeId = -1;
+        time = 0;
+        price = 0;
+        size = 0;
+        buy = false;
+    }
+
+    public TradeEvent copy() {
+        TradeEvent copy = new TradeEvent();
+        copy.market = market;
+        copy.tradeId = tradeId;
+        copy.time = time;
+        copy.price = price;
+        copy.size = size;
+        copy.buy = buy;
+        return copy;
+    }
+
+    public String getMarket() {
+        return market;
+    }
+
+    public void setMarket(String market) {
+        this.market = market;
+    }
+
+    public long getTradeId() {
+        return tradeId;
+    }
+
+    public void setTradeId(long tradeId) {
+        this.tradeId = tradeId;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public void setTime(long time) {
+        this.time = time;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public double getSize() {
+        return size;
+    }
+
+    public void setSize(double size) {
+        this.size = size;
+    }
+
+    public boolean isBuy() {
+        return buy;
+    }
+
+    public void setBuy(boolean buy) {
+        this.buy = buy;
+    }
+}
@@ -0,0 +1,32 @@
+package com.crypto.analysis.trade;
+
+import java.util.List;
+
+/**
+ * 체결 흐름 요약 (지표 계산과 Claude 프롬프트용)
+ *
+ * vwap, volume, delta 는 최근 windowMs 동안(링 버퍼가 가득 차면 그보다 짧은 실제 구간)의 체결 기준이고
+ * cvd 는 구독 시작 이후 누적 (매수 - 매도) 거래량이다.
+ * poc 는 윈도우 안에서 거래량이 가장 많은 가격대, valueArea 는 poc 부터 넓혀 거래량 70% 를 담는 가격 구간이다.
+ */
+public record TradeFlowSnapshot(
+        String exchange,
+        String market,
+        long updatedAt,
+        long windowMs,
+        int trades,
+        double lastPrice,
+        double vwap,
+        double volume,
+        double buyVolume,
+        double sellVolume,
+        double delta,
+        double cvd,
+        double poc,
+        double valueAreaLow,
+        double valueAreaHigh,
+        List<ProfileLevel> profile) {
+
+    public record ProfileLevel(double price, double volume) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.crypto.analysis.trade;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * 거래소 체결 메시지 파서
+ *
+ * 실시간 메시지는 스트리밍으로 읽어 재사용하는 TradeEvent 에 바로 채우고,
+ * 시작 시 한 번 읽는 REST 체결 목록은 체결 id 오름차순 목록으로 돌려준다.
+ */
+public final class TradeMessageParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private TradeMessageParser() {
+    }
+
+    /**
+     * 업비트 trade 메시지 (WebSocket 은 바이너리 프레임으로 보냄)
+     *
+     * @return trade 메시지면 true
+     */
+    public static boolean parseUpbit(byte[] data, int offset, int length, TradeEvent out) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(data, offset, length)) {
+            return parser.nextToken() == JsonToken.START_OBJECT && readUpbit(parser, out, true);
+        }
+    }
+
+    public static boolean parseUpbit(String json, TradeEvent out) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return parser.nextToken() == JsonToken.START_OBJECT && readUpbit(parser, out, true);
+        }
+    }
+
+    /**
+     * 업비트 REST /trades/ticks 응답 (최신순 배열)
+     */
+    public static List<TradeEvent> parseUpbitTicks(String json) throws IOException {
+        List<TradeEvent> trades = new ArrayList<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("trades/ticks 응답이 배열이 아닙니다");
+            }
+            TradeEvent trade = new TradeEvent();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                if (readUpbit(parser, trade, false)) {
+                    trades.add(trade.copy());
+                }
+            }
+        }
+        trades.sort(Comparator.comparingLong(TradeEvent::getTradeId));
+        return trades;
+    }
+
+    /**
+     * 바이낸스 combined stream aggTrade ({"stream":..., "data":{"e":"aggTrade","s":..,"a":..,"p":..,"q":..,"T":..,"m":..}})
+     *
+     * @return aggTrade 메시지면 true
+     */
+    public static boolean parseBinanceAggTrade(String json, TradeEvent out) throws IOException {
+        out.reset();
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            boolean aggTrade = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("data".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    aggTrade = readBinance(parser, out);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return aggTrade && out.getMarket() != null;
+        }
+    }
+
+    /**
+     * 바이낸스 REST /aggTrades 응답 (오래된 순 배열, 심볼 필드 없음)
+     */
+    public static List<TradeEvent> parseBinanceAggTrades(String market, String json) throws IOException {
+        List<TradeEvent> trades = new ArrayList<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("aggTrades 응답이 배열이 아닙니다");
+            }
+            TradeEvent trade = new TradeEvent();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                trade.reset();
+                readBinance(parser, trade);
+                trade.setMarket(market);
+                trades.add(trade.copy());
+            }
+        }
+        return trades;
+    }
+
+    // 실시간 메시지는 type 이 trade 여야 하고, REST 응답은 type 필드가 없음
+    private static boolean readUpbit(JsonParser parser, TradeEvent out, boolean stream) throws IOException {
+        out.reset();
+        boolean trade = !stream;
+        long tradeTime = 0;
+        long timestamp = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "type" -> trade = "trade".equals(parser.getText());
+                case "code", "market" -> out.setMarket(parser.getText());
+                case "trade_price" -> out.setPrice(parser.getDoubleValue());
+                case "trade_volume" -> out.setSize(parser.getDoubleValue());
+                // BID: 매수 주문이 체결을 일으킴
+                case "ask_bid" -> out.setBuy("BID".equals(parser.getText()));
+                case "sequential_id" -> out.setTradeId(parser.getLongValue());
+                case "trade_timestamp" -> tradeTime = parser.getLongValue();
+                case "timestamp" -> timestamp = parser.getLongValue();
+                default -> parser.skipChildren();
+            }
+        }
+        out.setTime(tradeTime > 0 ? tradeTime : timestamp);
+        return trade && out.getMarket() != null;
+    }
+
+    private static boolean readBinance(JsonParser parser, TradeEvent out) throws IOException {
+        boolean aggTrade = true;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "e" -> aggTrade = "aggTrade".equals(parser.getText());
+                case "s" -> out.setMarket(parser.getText());
+                case "a" -> out.setTradeId(parser.getLongValue());
+                case "p" -> out.setPrice(number(parser));
+                case "q" -> out.setSize(number(parser));
+                case "T" -> out.setTime(parser.getLongValue());
+                // 매수자가 maker 면 매도 주문이 체결을 일으킴
+                case "m" -> out.setBuy(!parser.getBooleanValue());
+                default -> parser.skipChildren();
+            }
+        }
+        return aggTrade;
+    }
+
+    // 바이낸스는 가격/수량을 문자열로 내려줌
+    private static double number(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_STRING
+            ? Double.parseDouble(parser.getText()) : parser.getDoubleValue();
+    }
+}
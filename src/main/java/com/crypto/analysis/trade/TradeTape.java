@@ -0,0 +1,287 @@
+package com.crypto.analysis.trade;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 마켓 하나의 체결 테이프
+ *
+ * 최근 windowMs 동안의 체결을 기본형 배열 링 버퍼(시각, 가격, 부호 있는 수량)에 보관하고
+ * VWAP 분자/분모, 매수/매도 거래량, 가격 버킷별 거래량(VolumeProfile)을 체결이 들어오고 빠질 때마다 갱신한다.
+ * 링 버퍼가 가득 차면 윈도우가 끝나기 전이라도 가장 오래된 체결부터 뺀다.
+ * 더하고 빼는 과정의 부동소수점 오차가 쌓이지 않도록 REBUILD_INTERVAL 번 뺄 때마다 버퍼에서 다시 합산한다.
+ * 수신 스레드가 쓰고 분석 스레드가 읽으므로 메서드 단위로 동기화한다 (경합이 거의 없어 비용이 작음).
+ * 업비트 sequential_id 는 단조 증가가 보장되지 않으므로 중복은 최근 RECENT_IDS 개 체결 id 와 비교해 거른다.
+ */
+public final class TradeTape {
+
+    private static final int REBUILD_INTERVAL = 1 << 16;
+    private static final double VALUE_AREA_RATIO = 0.7;
+    // 재연결 시 다시 받는 최근 체결을 거를 만큼의 id 수 (선형 탐색이라 작게 유지)
+    static final int RECENT_IDS = 512;
+
+    private final String exchange;
+    private final String market;
+    private final long windowMs;
+    private final double bucketPct;
+
+    // 링 버퍼 (sizes 는 매수 +, 매도 -)
+    private final long[] times;
+    private final double[] prices;
+    private final double[] sizes;
+    private int head;
+    private int count;
+
+    private final VolumeProfile profile = new VolumeProfile(256);
+    private double bucketSize;
+
+    private double notional;
+    private double buyVolume;
+    private double sellVolume;
+    private double cvd;
+    private int evictions;
+
+    // 최근 반영한 체결 id 링 (중복 체결 확인용)
+    private final long[] recentIds = new long[RECENT_IDS];
+    private int recentNext;
+    private int recentCount;
+    private long lastTradeId = -1;
+    private long lastTime;
+    private double lastPrice;
+
+    public TradeTape(String exchange, String market, long windowMs, int capacity, double bucketPct) {
+        this.exchange = exchange;
+        this.market = market;
+        this.windowMs = windowMs;
+        this.bucketPct = bucketPct;
+        this.times = new long[capacity];
+        this.prices = new double[capacity];
+        this.sizes = new double[capacity];
+    }
+
+    /**
+     * 체결 추가 (최근에 반영한 체결 id 와 같으면 무시)
+     *
+     * @return 반영했으면 true
+     */
+    public synchronized boolean add(TradeEvent trade) {
+        long tradeId = trade.getTradeId();
+        if (tradeId >= 0 && seenRecently(tradeId)) {
+            return false;
+        }
+        double price = trade.getPrice();
+        double size = trade.getSize();
+        if (price <= 0 || size <= 0) {
+            return false;
+        }
+        if (tradeId >= 0) {
+            remember(tradeId);
+        }
+        // 늦게 도착한 체결도 링 버퍼 순서를 지키도록 시각을 앞선 체결에 맞춤
+        long time = Math.max(trade.getTime(), lastTime);
+        if (bucketSize == 0) {
+            bucketSize = price * bucketPct / 100.0;
+        }
+
+        expire(time - windowMs);
+        if (count == times.length) {
+            evictOldest();
+        }
+        int index = (head + count) % times.length;
+        times[index] = time;
+        prices[index] = price;
+        sizes[index] = trade.isBuy() ? size : -size;
+        count++;
+
+        notional += price * size;
+        if (trade.isBuy()) {
+            buyVolume += size;
+            cvd += size;
+        } else {
+            sellVolume += size;
+            cvd -= size;
+        }
+        profile.add(bucket(price), size);
+        lastTime = time;
+        lastPrice = price;
+        return true;
+    }
+
+    /**
+     * 현재 윈도우 요약 (윈도우 안에 체결이 없으면 null)
+     */
+    public synchronized TradeFlowSnapshot snapshot(long now, int profileLevels) {
+        expire(now - windowMs);
+        double volume = buyVolume + sellVolume;
+        if (count == 0 || volume <= 0) {
+            return null;
+        }
+
+        long[] buckets = new long[profile.size()];
+        double[] volumes = new double[buckets.length];
+        int n = profile.copyTo(buckets, volumes);
+        if (n == 0) {
+            return null;
+        }
+        sortByBucket(buckets, volumes, n);
+
+        int poc = 0;
+        for (int i = 1; i < n; i++) {
+            if (volumes[i] > volumes[poc]) {
+                poc = i;
+            }
+        }
+        // poc 에서 시작해 거래량이 더 많은 쪽 이웃 버킷으로 넓힘
+        int low = poc;
+        int high = poc;
+        double covered = volumes[poc];
+        double profileVolume = 0;
+        for (int i = 0; i < n; i++) {
+            profileVolume += volumes[i];
+        }
+        while (covered < profileVolume * VALUE_AREA_RATIO && (low > 0 || high < n - 1)) {
+            double below = low > 0 ? volumes[low - 1] : -1;
+            double above = high < n - 1 ? volumes[high + 1] : -1;
+            if (above >= below) {
+                covered += volumes[++high];
+            } else {
+                covered += volumes[--low];
+            }
+        }
+
+        // 링 버퍼가 가득 차 윈도우보다 짧은 구간만 담고 있으면 실제 구간을 알림
+        long span = count == times.length ? lastTime - times[head] : windowMs;
+        return new TradeFlowSnapshot(exchange, market, lastTime, span, count, lastPrice,
+            notional / volume, volume, buyVolume, sellVolume, buyVolume - sellVolume, cvd,
+            bucketMid(buckets[poc]), buckets[low] * bucketSize, (buckets[high] + 1) * bucketSize,
+            topLevels(buckets, volumes, n, profileLevels));
+    }
+
+    public String getExchange() {
+        return exchange;
+    }
+
+    public String getMarket() {
+        return market;
+    }
+
+    public synchronized long getLastTime() {
+        return lastTime;
+    }
+
+    public synchronized long getLastTradeId() {
+        return lastTradeId;
+    }
+
+    private boolean seenRecently(long tradeId) {
+        for (int i = 0; i < recentCount; i++) {
+            if (recentIds[i] == tradeId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void remember(long tradeId) {
+        recentIds[recentNext] = tradeId;
+        recentNext = (recentNext + 1) % RECENT_IDS;
+        recentCount = Math.min(recentCount + 1, RECENT_IDS);
+        lastTradeId = tradeId;
+    }
+
+    private void expire(long cutoff) {
+        while (count > 0 && times[head] < cutoff) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        double price = prices[head];
+        double signed = sizes[head];
+        double size = Math.abs(signed);
+        head = (head + 1) % times.length;
+        count--;
+
+        if (count == 0) {
+            // 윈도우가 비면 누적 오차 없이 0 에서 다시 시작
+            notional = 0;
+            buyVolume = 0;
+            sellVolume = 0;
+            profile.clear();
+            evictions = 0;
+            return;
+        }
+        notional -= price * size;
+        if (signed > 0) {
+            buyVolume -= size;
+        } else {
+            sellVolume -= size;
+        }
+        profile.add(bucket(price), -size);
+        if (++evictions >= REBUILD_INTERVAL) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        notional = 0;
+        buyVolume = 0;
+        sellVolume = 0;
+        profile.clear();
+        for (int i = 0; i < count; i++) {
+            int index = (head + i) % times.length;
+            double size = Math.abs(sizes[index]);
+            notional += prices[index] * size;
+            if (sizes[index] > 0) {
+                buyVolume += size;
+            } else {
+                sellVolume += size;
+            }
+            profile.add(bucket(prices[index]), size);
+        }
+        evictions = 0;
+    }
+
+    private long bucket(double price) {
+        return (long) Math.floor(price / bucketSize);
+    }
+
+    private double bucketMid(long bucket) {
+        return (bucket + 0.5) * bucketSize;
+    }
+
+    // 거래량 상위 limit 개 버킷을 가격 순으로
+    private List<TradeFlowSnapshot.ProfileLevel> topLevels(long[] buckets, double[] volumes, int n, int limit) {
+        double threshold = 0;
+        if (n > limit) {
+            double[] sorted = new double[n];
+            System.arraycopy(volumes, 0, sorted, 0, n);
+            Arrays.sort(sorted);
+            threshold = sorted[n - limit];
+        }
+        List<TradeFlowSnapshot.ProfileLevel> levels = new ArrayList<>(Math.min(n, limit));
+        for (int i = 0; i < n && levels.size() < limit; i++) {
+            if (volumes[i] >= threshold) {
+                levels.add(new TradeFlowSnapshot.ProfileLevel(bucketMid(buckets[i]), volumes[i]));
+            }
+        }
+        return levels;
+    }
+
+    // 버킷 수가 가격 범위 / 버킷 크기로 작아서 삽입 정렬로 충분
+    private static void sortByBucket(long[] buckets, double[] volumes, int n) {
+        for (int i = 1; i < n; i++) {
+            long bucket = buckets[i];
+            double volume = volumes[i];
+            int j = i - 1;
+            while (j >= 0 && buckets[j] > bucket) {
+                buckets[j + 1] = buckets[j];
+                volumes[j + 1] = volumes[j];
+                j--;
+            }
+            buckets[j + 1] = bucket;
+            volumes[j + 1] = volume;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.crypto.analysis.trade;
+
+import java.util.Arrays;
+
+/**
+ * 가격 버킷별 체결량 (long 버킷 -> double 거래량 오픈 어드레싱 맵)
+ *
+ * 체결마다 더하고 윈도우에서 빠질 때 빼므로 박싱 없이 기본형 배열만 쓴다.
+ * 거래량이 0 이 된 버킷은 backward shift 로 지워 tombstone 이 쌓이지 않는다.
+ */
+final class VolumeProfile {
+
+    private static final double EMPTY_VOLUME = 1e-12;
+
+    private long[] keys;
+    private double[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+
+    VolumeProfile(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(16, initialCapacity) - 1) << 1;
+        allocate(capacity);
+    }
+
+    void add(long bucket, double volume) {
+        if (size * 2 >= keys.length) {
+            resize(keys.length << 1);
+        }
+        int slot = slot(bucket);
+        while (used[slot]) {
+            if (keys[slot] == bucket) {
+                values[slot] += volume;
+                if (values[slot] <= EMPTY_VOLUME) {
+                    remove(slot);
+                }
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (volume <= EMPTY_VOLUME) {
+            return;
+        }
+        used[slot] = true;
+        keys[slot] = bucket;
+        values[slot] = volume;
+        size++;
+    }
+
+    void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 버킷/거래량을 배열에 복사 (순서 없음)
+     *
+     * @return 복사한 버킷 수
+     */
+    int copyTo(long[] outBuckets, double[] outVolumes) {
+        int n = 0;
+        for (int i = 0; i < keys.length && n < outBuckets.length; i++) {
+            if (used[i]) {
+                outBuckets[n] = keys[i];
+                outVolumes[n] = values[i];
+                n++;
+            }
+        }
+        return n;
+    }
+
+    // 지운 자리 뒤로 이어진 항목을 원래 자리 쪽으로 당김
+    private void remove(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (used[next]) {
+            int home = slot(keys[next]);
+            // home 이 (hole, next] 구간 밖이면 hole 로 옮겨야 탐색이 끊기지 않음
+            boolean between = hole <= next ? (hole < home && home <= next) : (hole < home || home <= next);
+            if (!between) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[hole] = false;
+        size--;
+    }
+
+    private int slot(long bucket) {
+        long h = bucket * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slot(oldKeys[i]);
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+}
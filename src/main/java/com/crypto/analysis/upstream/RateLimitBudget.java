@@ -0,0 +1,58 @@
+package com.crypto.analysis.upstream;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 API 요청 한도용 토큰 버킷
+ *
+ * 초당 permitsPerSecond 개씩 채워지고 최대 burst 개까지 쌓인다.
+ * acquire 는 토큰을 미리 예약한 뒤 락 밖에서 대기하므로, 여러 스레드가 동시에 기다려도
+ * 전체 호출 속도는 한도를 넘지 않는다.
+ */
+public class RateLimitBudget {
+
+    private final String name;
+    private final double permitsPerNano;
+    private final double burst;
+
+    private double available;
+    private long lastRefill;
+
+    public RateLimitBudget(String name, double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("요청 한도는 0보다 커야 합니다: " + name);
+        }
+        this.name = name;
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.available = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * permits 만큼의 토큰을 얻을 때까지 대기 (바이낸스 weight 처럼 요청마다 비용이 다른 경우 permits > 1)
+     */
+    public void acquire(int permits) throws InterruptedException {
+        long waitNanos = reserve(permits);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    public void acquire() throws InterruptedException {
+        acquire(1);
+    }
+
+    private synchronized long reserve(int permits) {
+        long now = System.nanoTime();
+        available = Math.min(burst, available + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+        available -= permits;
+        // 음수 잔량은 이미 예약된 토큰이므로 그만큼 기다린다
+        return available >= 0 ? 0 : (long) Math.ceil(-available / permitsPerNano);
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,102 @@
+package com.crypto.analysis.upstream;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * 논블로킹 외부 API 호출
+ *
+ * 본문을 문자열 Mono 로 돌려주며, 시도마다 타임아웃을 걸고 일시적인 오류(연결 실패, 타임아웃, 5xx, 429)만
+ * 지수 백오프로 재시도한다. 대체 데이터는 호출하는 서비스가 onErrorResume 으로 정한다.
+ * Mono 는 구독 전까지 호출하지 않으므로 여러 호출을 Mono.zip 으로 묶어 한 번만 기다리면 된다.
+ */
+@Component
+public class ReactiveUpstreamClient {
+
+    private static final Consumer<HttpHeaders> NO_HEADERS = headers -> { };
+
+    private final WebClient webClient;
+
+    @Value("${upstream.webclient.timeout-ms:5000}")
+    private long TIMEOUT_MS;
+
+    @Value("${upstream.webclient.retries:2}")
+    private int RETRIES;
+
+    @Value("${upstream.webclient.retry-backoff-ms:200}")
+    private long RETRY_BACKOFF_MS;
+
+    public ReactiveUpstreamClient(WebClient upstreamWebClient) {
+        this.webClient = upstreamWebClient;
+    }
+
+    public Mono<String> get(String url) {
+        return get(url, NO_HEADERS, defaultPolicy());
+    }
+
+    public Mono<String> get(String url, Consumer<HttpHeaders> headers) {
+        return get(url, headers, defaultPolicy());
+    }
+
+    public Mono<String> get(String url, Consumer<HttpHeaders> headers, Policy policy) {
+        return apply(webClient.get()
+            .uri(url)
+            .headers(headers)
+            .retrieve()
+            .bodyToMono(String.class), policy);
+    }
+
+    /**
+     * body 는 Content-Type 에 맞게 직렬화됨 (Map 이면 JSON)
+     */
+    public Mono<String> post(String url, Consumer<HttpHeaders> headers, Object body, Policy policy) {
+        return apply(webClient.post()
+            .uri(url)
+            .headers(headers)
+            .bodyValue(body)
+            .retrieve()
+            .bodyToMono(String.class), policy);
+    }
+
+    /**
+     * upstream.webclient.* 기본 정책
+     */
+    public Policy defaultPolicy() {
+        return new Policy(Duration.ofMillis(TIMEOUT_MS), RETRIES, Duration.ofMillis(RETRY_BACKOFF_MS));
+    }
+
+    private static Mono<String> apply(Mono<String> call, Policy policy) {
+        Mono<String> attempt = call.timeout(policy.timeout());
+        if (policy.retries() <= 0) {
+            return attempt;
+        }
+        return attempt.retryWhen(Retry.backoff(policy.retries(), policy.backoff())
+            .filter(ReactiveUpstreamClient::isTransient)
+            // 재시도 소진 시 RetryExhaustedException 대신 마지막 오류를 그대로 전달
+            .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    static boolean isTransient(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return e instanceof WebClientRequestException || e instanceof TimeoutException;
+    }
+
+    /**
+     * 호출 정책 (시도당 타임아웃, 재시도 횟수, 첫 재시도 대기)
+     */
+    public record Policy(Duration timeout, int retries, Duration backoff) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.crypto.analysis.upstream;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.crypto.analysis.metrics.UpstreamMetricsFilter;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * 논블로킹 외부 API 클라이언트 설정
+ *
+ * 모든 외부 호출이 하나의 reactor-netty 연결 풀을 공유한다. 응답을 기다리는 동안 스레드를 점유하지 않으므로
+ * 동시 호출 수는 스레드 수가 아니라 max-connections 와 pending-acquire 대기열로 제한된다.
+ */
+@Configuration
+public class UpstreamClientConfig {
+
+    @Value("${upstream.webclient.max-connections:200}")
+    private int MAX_CONNECTIONS;
+
+    @Value("${upstream.webclient.pending-acquire-timeout-ms:5000}")
+    private long PENDING_ACQUIRE_TIMEOUT_MS;
+
+    @Value("${upstream.webclient.max-idle-ms:30000}")
+    private long MAX_IDLE_MS;
+
+    @Value("${upstream.webclient.connect-timeout-ms:2000}")
+    private int CONNECT_TIMEOUT_MS;
+
+    // 바이낸스 exchangeInfo 처럼 큰 응답을 한 번에 문자열로 받기 위한 버퍼 한도
+    @Value("${upstream.webclient.max-in-memory-kb:16384}")
+    private int MAX_IN_MEMORY_KB;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider() {
+        return ConnectionProvider.builder("upstream")
+            .maxConnections(MAX_CONNECTIONS)
+            .pendingAcquireTimeout(Duration.ofMillis(PENDING_ACQUIRE_TIMEOUT_MS))
+            .maxIdleTime(Duration.ofMillis(MAX_IDLE_MS))
+            .evictInBackground(Duration.ofMillis(MAX_IDLE_MS))
+            .metrics(true)
+            .build();
+    }
+
+    @Bean
+    public WebClient upstreamWebClient(WebClient.Builder builder, ConnectionProvider upstreamConnectionProvider,
+                                       UpstreamMetricsFilter upstreamMetricsFilter) {
+        // 응답 대기 시간은 호출 종류마다 다르므로(Claude 는 수십 초) 여기서는 연결 시간만 제한
+        HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT_MS)
+            .compress(true);
+        return builder
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_KB * 1024))
+            .filter(upstreamMetricsFilter)
+            .build();
+    }
+}
@@ -7,6 +7,7 @@
 let priceChart = null;
 let rsiChart = null;
 let stompClient = null;
+let analysisStompClient = null; // Claude 분석 결과 대기용
 let currentMarket = null;
 let currentExchange = "upbit"; // 기본 거래소 설정
 let realTimePrices = {};
@@ -20,8 +21,12 @@ document.addEventListener('DOMContentLoaded', function() {
     document.getElementById('exchangeSelect').addEventListener('change', function() {
         currentExchange = this.value;
         loadMarkets(currentExchange);
+        clearMarketSearch();
     });
     
+    // 코인 검색 (서버 색인으로 자동완성)
+    setupMarketSearch();
+    
     // 분석 버튼 이벤트
     document.getElementById('analyzeBtn').addEventListener('click', function() {
         const market = document.getElementById('marketSelect').value;
@@ -190,6 +195,107 @@ function loadMarkets(exchange) {
         });
 }
 
+/**
+ * 코인 검색 입력창 자동완성 설정
+ * 입력이 멈추면 /search 로 현재 거래소의 코인만 찾고, 결과를 고르면 코인 선택 목록에 반영
+ */
+function setupMarketSearch() {
+    const input = document.getElementById('marketSearch');
+    const results = document.getElementById('marketSearchResults');
+    if (!input || !results) {
+        return;
+    }
+    
+    let timer = null;
+    let requestId = 0;
+    
+    input.addEventListener('input', function() {
+        clearTimeout(timer);
+        const query = input.value.trim();
+        if (!query) {
+            results.innerHTML = '';
+            return;
+        }
+        timer = setTimeout(() => {
+            const id = ++requestId;
+            fetch(`/search?q=${encodeURIComponent(query)}&type=coin&exchange=${currentExchange}&limit=10`)
+                .then(response => response.ok ? response.json() : [])
+                .then(entries => {
+                    // 늦게 도착한 이전 검색 결과는 무시
+                    if (id === requestId) {
+                        renderMarketSearchResults(entries);
+                    }
+                })
+                .catch(error => console.error('코인 검색 실패:', error));
+        }, 120);
+    });
+    
+    input.addEventListener('keydown', function(event) {
+        if (event.key === 'Escape') {
+            results.innerHTML = '';
+        } else if (event.key === 'Enter') {
+            const first = results.querySelector('button');
+            if (first) {
+                first.click();
+            }
+        }
+    });
+    
+    // 결과 클릭이 먼저 처리되도록 약간 늦게 닫음
+    input.addEventListener('blur', function() {
+        setTimeout(() => { results.innerHTML = ''; }, 200);
+    });
+}
+
+/**
+ * 검색 결과 목록 표시
+ * @param {Array} entries - /search 응답 (symbol, asset, name, koreanName)
+ */
+function renderMarketSearchResults(entries) {
+    const results = document.getElementById('marketSearchResults');
+    results.innerHTML = '';
+    
+    entries.forEach(entry => {
+        const item = document.createElement('button');
+        item.type = 'button';
+        item.className = 'list-group-item list-group-item-action';
+        const label = `${entry.koreanName || entry.name || entry.asset} (${entry.symbol})`;
+        item.textContent = label;
+        item.addEventListener('click', function() {
+            selectSearchedMarket(entry.symbol, label);
+            document.getElementById('marketSearch').value = label;
+            results.innerHTML = '';
+        });
+        results.appendChild(item);
+    });
+}
+
+/**
+ * 검색한 코인을 선택 목록에서 선택 (목록에 없으면 추가)
+ */
+function selectSearchedMarket(market, label) {
+    const select = document.getElementById('marketSelect');
+    let option = Array.from(select.options).find(option => option.value === market);
+    if (!option) {
+        option = document.createElement('option');
+        option.value = market;
+        option.textContent = label;
+        select.appendChild(option);
+    }
+    select.value = market;
+}
+
+function clearMarketSearch() {
+    const input = document.getElementById('marketSearch');
+    const results = document.getElementById('marketSearchResults');
+    if (input) {
+        input.value = '';
+    }
+    if (results) {
+        results.innerHTML = '';
+    }
+}
+
 /**
  * 선택한 코인 분석 실행
  * @param {string} market - 마켓 코드 (예: KRW-BTC, BTCUSDT)
@@ -204,6 +310,7 @@ function analyzeMarket(market, exchange) {
     if (stompClient) {
         stompClient.disconnect();
     }
+    closeAnalysisUpgrade();
     
     fetch(`/analyze?market=${market}&exchange=${exchange}`)
         .then(response => {
@@ -222,8 +329,12 @@ function analyzeMarket(market, exchange) {
                 resultElement.classList.add('fade-in');
                 resultElement.style.display = 'block';
                 
-                // 텍스트 분석 결과
+                // 텍스트 분석 결과 (규칙 기반 분석이면 Claude 분석이 끝나는 대로 교체)
                 document.getElementById('analysisText').innerHTML = formatAnalysisText(data.analysis);
+                updateAnalysisTier(data.tier);
+                if (data.analysisId) {
+                    waitForAnalysisUpgrade(data.analysisId);
+                }
                 
                 // 기술적 지표
                 displayTechnicalIndicators(data.indicators.latest);
@@ -254,6 +365,93 @@ function analyzeMarket(market, exchange) {
         });
 }
 
+/**
+ * Claude 분석 결과 대기 (/topic/analysis/{analysisId} 로 한 번 전송됨)
+ * 구독 전에 전송이 끝났을 수 있으므로 구독 직후 /analyze/result/{analysisId} 를 한 번 조회한다.
+ * @param {string} analysisId - /analyze 응답의 analysisId
+ */
+function waitForAnalysisUpgrade(analysisId) {
+    try {
+        const client = Stomp.over(new SockJS('/ws'));
+        client.debug = null;
+        analysisStompClient = client;
+        let handled = false;
+        
+        const applyUpgrade = function(data) {
+            if (handled || analysisStompClient !== client) {
+                return;
+            }
+            handled = true;
+            try {
+                if (data.success) {
+                    document.getElementById('analysisText').innerHTML = formatAnalysisText(data.analysis);
+                    updateAnalysisTier(data.tier);
+                } else {
+                    console.warn('Claude 분석 실패, 규칙 기반 분석 유지:', data.error);
+                    updateAnalysisTier('rules-final');
+                }
+            } catch (e) {
+                console.error('Claude 분석 결과 처리 오류:', e);
+            }
+            closeAnalysisUpgrade();
+        };
+        
+        client.connect({}, function() {
+            client.subscribe('/topic/analysis/' + analysisId, function(message) {
+                try {
+                    applyUpgrade(JSON.parse(message.body));
+                } catch (e) {
+                    console.error('Claude 분석 결과 처리 오류:', e);
+                }
+            });
+            // 구독 전에 끝난 결과 (진행 중이면 204)
+            fetch('/analyze/result/' + encodeURIComponent(analysisId))
+                .then(response => response.status === 200 ? response.json() : null)
+                .then(data => {
+                    if (data) {
+                        applyUpgrade(data);
+                    }
+                })
+                .catch(error => console.warn('Claude 분석 결과 조회 실패:', error));
+        }, function(error) {
+            console.error('Claude 분석 결과 대기 연결 실패:', error);
+        });
+    } catch (e) {
+        console.error('Claude 분석 결과 대기 중 예외 발생:', e);
+    }
+}
+
+/**
+ * Claude 분석 결과 대기 종료
+ */
+function closeAnalysisUpgrade() {
+    if (analysisStompClient) {
+        try {
+            analysisStompClient.disconnect();
+        } catch (e) {
+            // 연결 전에 종료한 경우
+        }
+        analysisStompClient = null;
+    }
+}
+
+/**
+ * 분석 단계 표시
+ * @param {string} tier - llm, rules(Claude 분석 대기 중), rules-final(Claude 분석 실패)
+ */
+function updateAnalysisTier(tier) {
+    const badge = document.getElementById('analysisTier');
+    if (tier === 'rules') {
+        badge.textContent = '기본 분석 · AI 분석 중...';
+        badge.style.display = 'inline-block';
+    } else if (tier === 'rules-final') {
+        badge.textContent = '기본 분석';
+        badge.style.display = 'inline-block';
+    } else {
+        badge.style.display = 'none';
+    }
+}
+
 /**
  * 분석 텍스트 포맷팅
  * @param {string} analysis - 분석 결과 텍스트
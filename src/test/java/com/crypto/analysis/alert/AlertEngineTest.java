@@ -0,0 +1,137 @@
+package com.crypto.analysis.alert;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 임계값 힙 순서와 정리(retain), 알림 엔진의 지연 삭제를 확인
+ */
+class AlertEngineTest {
+
+    @Test
+    void heapPopsInThresholdOrder() {
+        Random random = new Random(3);
+        ThresholdHeap heap = new ThresholdHeap(4);
+        PriorityQueue<Double> expected = new PriorityQueue<>();
+        double[] keys = new double[5000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(1000) / 10.0;
+            heap.push(keys[i], i);
+            expected.add(keys[i]);
+            // 넣는 중간에도 꺼내 힙 구조 유지 확인 (같은 임계값이면 어느 id 든 임계값은 같음)
+            if (i % 7 == 0) {
+                assertEquals(expected.peek(), heap.peekKey());
+                assertEquals(expected.poll(), keys[(int) heap.pop()]);
+            }
+        }
+        assertEquals(expected.size(), heap.size());
+        while (!heap.isEmpty()) {
+            assertEquals(expected.poll(), keys[(int) heap.pop()]);
+        }
+    }
+
+    @Test
+    void retainRebuildsHeap() {
+        Random random = new Random(5);
+        ThresholdHeap heap = new ThresholdHeap(4);
+        double[] keys = new double[2000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextDouble() * 100;
+            heap.push(keys[i], i);
+        }
+        heap.retain(id -> id % 3 == 0);
+        assertEquals((keys.length + 2) / 3, heap.size());
+
+        double previous = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            double key = heap.peekKey();
+            long id = heap.pop();
+            assertEquals(0, id % 3);
+            assertEquals(keys[(int) id], key);
+            assertTrue(key >= previous);
+            previous = key;
+        }
+    }
+
+    @Test
+    void firesCrossedRulesOnce() {
+        AlertEngine engine = new AlertEngine();
+        long above = add(engine, AlertDirection.ABOVE, 110);
+        long below = add(engine, AlertDirection.BELOW, 90);
+        add(engine, AlertDirection.ABOVE, 120);
+
+        assertTrue(engine.evaluate("upbit", "KRW-BTC", AlertMetric.PRICE, 100).isEmpty());
+        // 다른 지표나 마켓의 값은 영향 없음
+        assertTrue(engine.evaluate("upbit", "KRW-BTC", AlertMetric.RSI, 200).isEmpty());
+        assertTrue(engine.evaluate("upbit", "KRW-ETH", AlertMetric.PRICE, 200).isEmpty());
+
+        List<AlertEvent> fired = engine.evaluate("upbit", "KRW-BTC", AlertMetric.PRICE, 115);
+        assertEquals(1, fired.size());
+        assertEquals(above, fired.get(0).rule().id());
+        assertTrue(engine.evaluate("upbit", "KRW-BTC", AlertMetric.PRICE, 115).isEmpty());
+        assertEquals(below, engine.evaluate("upbit", "KRW-BTC", AlertMetric.PRICE, 80).get(0).rule().id());
+        assertEquals(1, engine.size());
+
+        // 마지막 값이 이미 조건을 만족하면 등록하지 않고 바로 발생
+        AlertRule satisfied = rule(engine.nextId(), AlertDirection.BELOW, 85);
+        assertEquals(80, engine.add(satisfied).getAsDouble());
+        assertNull(engine.get(satisfied.id()));
+    }
+
+    @Test
+    void removedRulesNeverFireAcrossCompaction() {
+        AlertEngine engine = new AlertEngine();
+        engine.evaluate("upbit", "KRW-BTC", AlertMetric.PRICE, 0);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i <= 300; i++) {
+            ids.add(add(engine, i % 2 == 0 ? AlertDirection.ABOVE : AlertDirection.BELOW, i % 2 == 0 ? i : -i));
+        }
+
+        // 힙에는 남기고 규칙 표에서만 지움 (절반을 넘으면 정리가 일어남)
+        Set<Long> removed = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (i % 4 != 0) {
+                assertEquals(ids.get(i), engine.remove(ids.get(i)).id());
+                removed.add(ids.get(i));
+            }
+        }
+        assertNull(engine.remove(ids.get(1)));
+        assertEquals(ids.size() - removed.size(), engine.size());
+
+        Set<Long> fired = new HashSet<>();
+        for (AlertEvent event : engine.evaluate("upbit", "KRW-BTC", AlertMetric.PRICE, 1_000)) {
+            fired.add(event.rule().id());
+        }
+        for (AlertEvent event : engine.evaluate("upbit", "KRW-BTC", AlertMetric.PRICE, -1_000)) {
+            fired.add(event.rule().id());
+        }
+        Set<Long> expected = new HashSet<>(ids);
+        expected.removeAll(removed);
+        assertEquals(expected, fired);
+        assertEquals(0, engine.size());
+
+        // 정리 후에도 새 규칙은 정상 동작
+        long next = add(engine, AlertDirection.ABOVE, 2_000);
+        assertEquals(next, engine.evaluate("upbit", "KRW-BTC", AlertMetric.PRICE, 2_000).get(0).rule().id());
+    }
+
+    private static long add(AlertEngine engine, AlertDirection direction, double threshold) {
+        AlertRule rule = rule(engine.nextId(), direction, threshold);
+        assertTrue(engine.add(rule).isEmpty());
+        return rule.id();
+    }
+
+    private static AlertRule rule(long id, AlertDirection direction, double threshold) {
+        return new AlertRule(id, "user", "upbit", "KRW-BTC", AlertMetric.PRICE, direction, threshold, 0);
+    }
+}
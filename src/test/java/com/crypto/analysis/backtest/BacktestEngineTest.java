@@ -0,0 +1,130 @@
+package com.crypto.analysis.backtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.DoubleNum;
+
+import com.crypto.analysis.candle.CandleBars;
+
+/**
+ * 백테스트 체결 규칙(종가 신호, 다음 봉 시가 체결, 수수료/슬리피지)을 손으로 계산한 값과 비교하고
+ * 마지막 봉 종가가 거래에 영향을 주지 않는지(미래 참조 없음), 지표 캐시와 격자 생성을 확인
+ */
+class BacktestEngineTest {
+
+    private static final double FEE = 0.001;
+    private static final double SLIPPAGE = 0.0005;
+
+    @Test
+    void crossTradeExecutesAtNextOpen() {
+        double[] open = { 10, 10, 9, 8, 9.5, 10, 11, 10.5 };
+        double[] close = { 10, 9, 8, 9, 10, 11, 10, 9 };
+        // 종가 > 2봉 평균이 되는 3번 봉에서 매수 신호, 4번 봉 시가 체결 / 6번 봉 신호, 7번 봉 시가 매도
+        BacktestResult result = BacktestEngine.run(new IndicatorCache(bars(open, close)),
+            StrategyParams.cross(StrategyType.SMA_CROSS, 1, 2), FEE, SLIPPAGE);
+
+        double units = (1 - FEE) / (9.5 * (1 + SLIPPAGE));
+        double finalCash = units * 10.5 * (1 - SLIPPAGE) * (1 - FEE);
+        assertEquals(round((finalCash - 1) * 100), result.returnPercent());
+        // 5번 봉 종가 11 에서 6번 봉 종가 10 으로 떨어진 구간
+        assertEquals(round((1 - 10.0 / 11) * 100), result.maxDrawdownPercent());
+        assertEquals(1, result.trades());
+        assertEquals(100, result.hitRate());
+        // 평가한 2 ~ 7번 봉 중 4 ~ 6번 봉 보유
+        assertEquals(6, result.barsEvaluated());
+        assertEquals(50, result.exposurePercent());
+    }
+
+    @Test
+    void lastCloseDoesNotChangeTrades() {
+        Random random = new Random(5);
+        int n = 400;
+        double[] open = new double[n];
+        double[] close = new double[n];
+        double price = 100;
+        for (int i = 0; i < n; i++) {
+            open[i] = price;
+            price = Math.max(1, price * (1 + random.nextGaussian() * 0.02));
+            close[i] = price;
+        }
+        List<StrategyParams> grid = StrategyGrid.build(null, null, null, null, null, null);
+        IndicatorCache cache = new IndicatorCache(bars(open, close));
+        double[] shocked = close.clone();
+        shocked[n - 1] *= 3;
+        IndicatorCache shockedCache = new IndicatorCache(bars(open, shocked));
+
+        boolean traded = false;
+        for (StrategyParams params : grid) {
+            BacktestResult result = BacktestEngine.run(cache, params, FEE, SLIPPAGE);
+            BacktestResult other = BacktestEngine.run(shockedCache, params, FEE, SLIPPAGE);
+            assertEquals(result.trades(), other.trades(), params.label());
+            assertEquals(result.hitRate(), other.hitRate(), params.label());
+            assertEquals(result.exposurePercent(), other.exposurePercent(), params.label());
+            assertEquals(n - params.warmup(), result.barsEvaluated());
+            traded |= result.trades() > 0;
+        }
+        assertTrue(traded);
+    }
+
+    @Test
+    void rsiMatchesTa4j() {
+        Random random = new Random(11);
+        int n = 300;
+        BarSeries series = new BaseBarSeriesBuilder().withNumTypeOf(DoubleNum.class).build();
+        double[] close = new double[n];
+        ZonedDateTime time = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        double price = 100;
+        for (int i = 0; i < n; i++) {
+            price = Math.max(1, price * (1 + random.nextGaussian() * 0.01));
+            // 같은 종가가 이어지는 구간도 포함
+            close[i] = i % 17 == 0 && i > 0 ? close[i - 1] : price;
+            series.addBar(time.plusHours(i), close[i], close[i], close[i], close[i], 1);
+        }
+        IndicatorCache cache = new IndicatorCache(bars(close, close));
+        for (int period : new int[] { 7, 14 }) {
+            RSIIndicator expected = new RSIIndicator(new ClosePriceIndicator(series), period);
+            double[] actual = cache.rsi(period);
+            for (int i = 1; i < n; i++) {
+                assertEquals(expected.getValue(i).doubleValue(), actual[i], 1e-9, "period " + period + " index " + i);
+            }
+        }
+    }
+
+    @Test
+    void gridSkipsInvalidCombinations() {
+        List<StrategyParams> rsi = StrategyGrid.build(StrategyType.RSI_REVERSION, List.of(14), null,
+            List.of(30.0, 70.0), List.of(70.0), null);
+        assertEquals(List.of(StrategyParams.rsi(14, 30, 70)), rsi);
+        List<StrategyParams> cross = StrategyGrid.build(StrategyType.EMA_CROSS, List.of(10, 50), List.of(20), null,
+            null, null);
+        assertEquals(List.of(StrategyParams.cross(StrategyType.EMA_CROSS, 10, 20)), cross);
+        assertThrows(IllegalArgumentException.class,
+            () -> StrategyGrid.build(StrategyType.BOLLINGER, List.of(0), null, null, null, List.of(2.0)));
+    }
+
+    private static CandleBars bars(double[] open, double[] close) {
+        CandleBars bars = new CandleBars(close.length);
+        for (int i = 0; i < close.length; i++) {
+            double high = Math.max(open[i], close[i]);
+            double low = Math.min(open[i], close[i]);
+            bars.add(i * 3_600_000L, open[i], high, low, close[i], 1, close[i]);
+        }
+        return bars;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
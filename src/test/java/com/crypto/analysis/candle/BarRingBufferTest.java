@@ -0,0 +1,136 @@
+package com.crypto.analysis.candle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 링 버퍼 집계를 남아 있는 1분봉의 전체 재계산과 비교하고, 불완전한 가장 오래된 버킷 제외를 확인
+ */
+class BarRingBufferTest {
+
+    private static final long MINUTE = 60_000;
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void aggregateMatchesRecomputation() {
+        Random random = new Random(19);
+        BarRingBuffer buffer = new BarRingBuffer(500);
+        List<double[]> bars = new ArrayList<>();
+
+        double price = 100;
+        for (int m = 0; m < 3000; m++) {
+            // 거래가 없어 빠진 분
+            if (random.nextInt(5) == 0) {
+                continue;
+            }
+            double o = price;
+            price = Math.max(1, price * (1 + random.nextGaussian() * 0.002));
+            double h = Math.max(o, price) + random.nextDouble();
+            double l = Math.min(o, price) - random.nextDouble();
+            double v = random.nextDouble() * 10;
+            assertTrue(buffer.upsert(m * MINUTE, o, h, l, price, v, v * price));
+            bars.add(new double[] { m * MINUTE, o, h, l, price, v, v * price });
+
+            if (bars.size() % 700 == 0) {
+                List<double[]> kept = bars.subList(Math.max(bars.size() - 500, 0), bars.size());
+                for (int bucket : new int[] { 1, 5, 15, 60 }) {
+                    for (int count : new int[] { 3, 40, 1000 }) {
+                        assertAggregate(expected(kept, bucket * MINUTE, count),
+                            buffer.aggregate(t -> Math.floorDiv(t, bucket * MINUTE) * bucket * MINUTE, count));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void dropsPartialOldestBucket() {
+        BarRingBuffer buffer = new BarRingBuffer(10);
+        for (int m = 0; m < 13; m++) {
+            buffer.upsert(m * MINUTE, m, m + 1, m - 1, m + 0.5, 1, 1);
+        }
+        // 남은 봉 3 ~ 12분: 0 ~ 4분 버킷은 일부만 있으므로 제외
+        CandleBars five = buffer.aggregate(t -> t / (5 * MINUTE) * 5 * MINUTE, 10);
+        assertEquals(2, five.size());
+        assertEquals(5 * MINUTE, five.openTime(0));
+        assertEquals(5, five.open(0));
+        assertEquals(10, five.high(0), TOLERANCE);
+        assertEquals(4, five.low(0), TOLERANCE);
+        assertEquals(9.5, five.close(0), TOLERANCE);
+        assertEquals(5, five.volume(0), TOLERANCE);
+        assertEquals(10 * MINUTE, five.openTime(1));
+        assertEquals(3, five.volume(1), TOLERANCE);
+
+        // 버퍼가 버킷 경계에서 시작하면 가장 오래된 버킷도 포함
+        buffer.upsert(13 * MINUTE, 13, 14, 12, 13.5, 1, 1);
+        buffer.upsert(14 * MINUTE, 14, 15, 13, 14.5, 1, 1);
+        assertEquals(2, buffer.aggregate(t -> t / (5 * MINUTE) * 5 * MINUTE, 10).size());
+        assertEquals(5 * MINUTE, buffer.firstOpenTime());
+    }
+
+    @Test
+    void upsertAndTrades() {
+        BarRingBuffer buffer = new BarRingBuffer(4);
+        buffer.upsert(2 * MINUTE, 10, 11, 9, 10, 1, 10);
+        buffer.upsert(4 * MINUTE, 10, 11, 9, 10, 1, 10);
+        // 중간 시각은 같은 봉이 있을 때만 교체
+        assertFalse(buffer.upsert(3 * MINUTE, 1, 1, 1, 1, 1, 1));
+        assertTrue(buffer.upsert(2 * MINUTE, 12, 12, 12, 12, 2, 24));
+        assertEquals(12, buffer.copyRange(2 * MINUTE, 3 * MINUTE).open(0));
+
+        assertTrue(buffer.applyTrade(4 * MINUTE, 13, 2));
+        assertTrue(buffer.applyTrade(5 * MINUTE, 8, 1));
+        // 이미 지난 봉의 체결은 무시
+        assertFalse(buffer.applyTrade(4 * MINUTE, 20, 1));
+        CandleBars bars = buffer.copyRange(0, Long.MAX_VALUE);
+        assertEquals(3, bars.size());
+        assertEquals(13, bars.high(1));
+        assertEquals(3, bars.volume(1), TOLERANCE);
+        assertEquals(36, bars.quoteVolume(1), TOLERANCE);
+        assertEquals(8, bars.open(2));
+    }
+
+    /** 최신 count 개 버킷 (가장 오래된 버킷이 첫 봉보다 앞에서 시작하면 제외) */
+    private static List<double[]> expected(List<double[]> bars, long bucketMillis, int count) {
+        List<double[]> buckets = new ArrayList<>();
+        for (double[] bar : bars) {
+            long start = Math.floorDiv((long) bar[0], bucketMillis) * bucketMillis;
+            double[] last = buckets.isEmpty() ? null : buckets.get(buckets.size() - 1);
+            if (last == null || last[0] != start) {
+                buckets.add(new double[] { start, bar[1], bar[2], bar[3], bar[4], bar[5], bar[6] });
+            } else {
+                last[2] = Math.max(last[2], bar[2]);
+                last[3] = Math.min(last[3], bar[3]);
+                last[4] = bar[4];
+                last[5] += bar[5];
+                last[6] += bar[6];
+            }
+        }
+        boolean partial = !buckets.isEmpty() && buckets.get(0)[0] < bars.get(0)[0];
+        if (buckets.size() <= count && partial) {
+            buckets.remove(0);
+        }
+        return buckets.subList(Math.max(buckets.size() - count, 0), buckets.size());
+    }
+
+    private static void assertAggregate(List<double[]> expected, CandleBars actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            double[] e = expected.get(i);
+            assertEquals((long) e[0], actual.openTime(i));
+            assertEquals(e[1], actual.open(i));
+            assertEquals(e[2], actual.high(i));
+            assertEquals(e[3], actual.low(i));
+            assertEquals(e[4], actual.close(i));
+            assertEquals(e[5], actual.volume(i), Math.abs(e[5]) * TOLERANCE);
+            assertEquals(e[6], actual.quoteVolume(i), Math.abs(e[6]) * TOLERANCE);
+        }
+    }
+}
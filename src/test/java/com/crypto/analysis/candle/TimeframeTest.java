@@ -0,0 +1,109 @@
+package com.crypto.analysis.candle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.crypto.analysis.model.Timeframe;
+
+/**
+ * 타임프레임 파싱과 시간대별 버킷 경계(분/일/주 정렬)를 달력 계산과 비교
+ */
+class TimeframeTest {
+
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+    private static final ZoneId KOLKATA = ZoneId.of("Asia/Kolkata");
+
+    @Test
+    void parse() {
+        assertEquals(new Timeframe(Timeframe.Unit.MINUTE, 240), Timeframe.parse("4h"));
+        assertEquals(new Timeframe(Timeframe.Unit.DAY, 1), Timeframe.parse("24h"));
+        assertEquals(new Timeframe(Timeframe.Unit.DAY, 2), Timeframe.parse("2880m"));
+        assertEquals(new Timeframe(Timeframe.Unit.WEEK, 1), Timeframe.parse("1W"));
+        assertEquals("4h", Timeframe.parse("240m").toString());
+        assertThrows(IllegalArgumentException.class, () -> Timeframe.parse("15s"));
+        assertThrows(IllegalArgumentException.class, () -> new Timeframe(Timeframe.Unit.MINUTE, 1440));
+    }
+
+    @Test
+    void intradayBucketsAlignToLocalMidnight() {
+        Random random = new Random(13);
+        for (ZoneId zone : new ZoneId[] { ZoneOffset.UTC, SEOUL, KOLKATA }) {
+            for (int amount : new int[] { 1, 5, 7, 15, 240 }) {
+                Timeframe timeframe = new Timeframe(Timeframe.Unit.MINUTE, amount);
+                for (int i = 0; i < 2000; i++) {
+                    long time = 1_600_000_000_000L + (long) (random.nextDouble() * 400 * 86_400_000L);
+                    ZonedDateTime local = Instant.ofEpochMilli(time).atZone(zone);
+                    // 7m 처럼 하루를 나누어 떨어지지 않는 단위도 매일 자정에 새로 시작
+                    int minuteOfDay = local.getHour() * 60 + local.getMinute();
+                    long expected = local.toLocalDate().atStartOfDay(zone)
+                        .plusMinutes(minuteOfDay / amount * amount).toInstant().toEpochMilli();
+                    assertEquals(expected, timeframe.bucketStart(time, zone), zone + " " + timeframe + " " + local);
+                }
+            }
+        }
+    }
+
+    @Test
+    void fourHourBucketsInHalfHourOffsetZone() {
+        // 인도 표준시 04:10 = UTC 22:40 (전날), 버킷은 현지 04:00
+        long time = ZonedDateTime.of(2024, 3, 10, 4, 10, 0, 0, KOLKATA).toInstant().toEpochMilli();
+        long expected = ZonedDateTime.of(2024, 3, 10, 4, 0, 0, 0, KOLKATA).toInstant().toEpochMilli();
+        assertEquals(expected, Timeframe.parse("4h").bucketStart(time, KOLKATA));
+        assertEquals(ZonedDateTime.of(2024, 3, 9, 20, 0, 0, 0, ZoneOffset.UTC).toInstant().toEpochMilli(),
+            Timeframe.parse("4h").bucketStart(time, ZoneOffset.UTC));
+    }
+
+    @Test
+    void dailyAndWeeklyBucketsFollowZone() {
+        // 서울 2024-01-08(월) 00:30 = UTC 2024-01-07(일) 15:30
+        long time = ZonedDateTime.of(2024, 1, 8, 0, 30, 0, 0, SEOUL).toInstant().toEpochMilli();
+        assertEquals(startOf(2024, 1, 8, SEOUL), Timeframe.ONE_DAY.bucketStart(time, SEOUL));
+        assertEquals(startOf(2024, 1, 7, ZoneOffset.UTC), Timeframe.ONE_DAY.bucketStart(time, ZoneOffset.UTC));
+
+        Timeframe week = Timeframe.parse("1w");
+        assertEquals(startOf(2024, 1, 8, SEOUL), week.bucketStart(time, SEOUL));
+        assertEquals(startOf(2024, 1, 1, ZoneOffset.UTC), week.bucketStart(time, ZoneOffset.UTC));
+
+        // 여러 주/일 단위는 1970-01-05(월) / 1970-01-01 기준으로 나눔
+        Timeframe twoWeeks = Timeframe.parse("2w");
+        assertEquals(startOf(2024, 1, 8, SEOUL), twoWeeks.bucketStart(time, SEOUL));
+        long nextWeek = ZonedDateTime.of(2024, 1, 21, 23, 59, 0, 0, SEOUL).toInstant().toEpochMilli();
+        assertEquals(startOf(2024, 1, 8, SEOUL), twoWeeks.bucketStart(nextWeek, SEOUL));
+        assertEquals(startOf(2024, 1, 6, SEOUL), Timeframe.parse("3d").bucketStart(time, SEOUL));
+    }
+
+    @Test
+    void weeklyBucketsStartOnMonday() {
+        Random random = new Random(17);
+        Timeframe week = Timeframe.parse("1w");
+        Timeframe fourWeeks = Timeframe.parse("4w");
+        for (int i = 0; i < 2000; i++) {
+            long time = 1_500_000_000_000L + (long) (random.nextDouble() * 1000 * 86_400_000L);
+            long start = week.bucketStart(time, SEOUL);
+            ZonedDateTime local = Instant.ofEpochMilli(start).atZone(SEOUL);
+            assertEquals(DayOfWeek.MONDAY, local.getDayOfWeek());
+            assertEquals(0, local.getHour());
+            assertTrue(start <= time && time - start < 7 * 86_400_000L);
+
+            long grouped = fourWeeks.bucketStart(time, SEOUL);
+            long weeks = (Instant.ofEpochMilli(grouped).atZone(SEOUL).toLocalDate().toEpochDay() - 4) / 7;
+            assertEquals(0, weeks % 4);
+            assertTrue(grouped <= start && start - grouped < 28 * 86_400_000L);
+        }
+    }
+
+    private static long startOf(int year, int month, int day, ZoneId zone) {
+        return LocalDate.of(year, month, day).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+}
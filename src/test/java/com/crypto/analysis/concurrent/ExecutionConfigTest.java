@@ -0,0 +1,78 @@
+package com.crypto.analysis.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Async;
+
+import com.crypto.analysis.logging.CorrelationIdFilter;
+import com.crypto.analysis.logging.MdcTaskDecorator;
+
+/**
+ * 플랫폼/가상 스레드 모드 모두 @Async 작업과 fan-out 실행기 작업에 호출 스레드의 MDC 가 전달되는지 확인
+ */
+class ExecutionConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+        .withUserConfiguration(ExecutionConfig.class, MdcTaskDecorator.class, AsyncProbe.class);
+
+    @AfterEach
+    void clear() {
+        MDC.clear();
+    }
+
+    @Test
+    void platformThreads() {
+        assertMdcPropagated("false", false);
+    }
+
+    @Test
+    void virtualThreads() {
+        assertMdcPropagated("true", true);
+    }
+
+    private void assertMdcPropagated(String virtual, boolean expectVirtual) {
+        runner.withPropertyValues("spring.threads.virtual.enabled=" + virtual).run(context -> {
+            MDC.put(CorrelationIdFilter.MDC_KEY, "async-" + virtual);
+            Seen async = context.getBean(AsyncProbe.class).capture().get(5, TimeUnit.SECONDS);
+            AsyncTaskExecutor fanOut = context.getBean("analysisFanOutExecutor", AsyncTaskExecutor.class);
+            Seen fanned = fanOut.submitCompletable(Seen::now).get(5, TimeUnit.SECONDS);
+            MDC.clear();
+
+            // 호출 스레드가 아니라 각 실행기 스레드에서 실행
+            assertTrue(async.thread().startsWith("task-"), async.thread());
+            assertTrue(fanned.thread().startsWith("analysis-fanout-"), fanned.thread());
+            assertEquals("async-" + virtual, async.correlationId());
+            assertEquals(expectVirtual, async.virtual());
+            assertEquals("async-" + virtual, fanned.correlationId());
+            assertEquals(expectVirtual, fanned.virtual());
+
+            // MDC 가 없는 호출은 이전 작업의 값을 물려받지 않음
+            assertNull(context.getBean(AsyncProbe.class).capture().get(5, TimeUnit.SECONDS).correlationId());
+        });
+    }
+
+    record Seen(String correlationId, String thread, boolean virtual) {
+        static Seen now() {
+            Thread current = Thread.currentThread();
+            return new Seen(MDC.get(CorrelationIdFilter.MDC_KEY), current.getName(), current.isVirtual());
+        }
+    }
+
+    static class AsyncProbe {
+
+        @Async
+        public CompletableFuture<Seen> capture() {
+            return CompletableFuture.completedFuture(Seen.now());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.crypto.analysis.http;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.InternalResourceViewResolver;
+
+import com.crypto.analysis.controller.CryptoAnalysisController;
+import com.crypto.analysis.exchange.ExchangeAdapter;
+import com.crypto.analysis.exchange.ExchangeRegistry;
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.model.Timeframe;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 응답 캐시 필터의 304 처리, 표현별 ETag 와 gzip 선택, 봉 경계 max-age, JSON 외 응답 통과 확인
+ */
+class ResponseCacheFilterTest {
+
+    private static final String JSON = "application/json";
+
+    private ResponseCacheFilter filter;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        filter = new ResponseCacheFilter();
+        ReflectionTestUtils.setField(filter, "ENABLED", true);
+        ReflectionTestUtils.setField(filter, "MAX_ENTRIES", 16);
+        ReflectionTestUtils.setField(filter, "CANDLE_MAX_AGE_SECONDS", 10L);
+        ReflectionTestUtils.setField(filter, "MARKETS_MAX_AGE_SECONDS", 300L);
+        ReflectionTestUtils.setField(filter, "DEFAULT_MAX_AGE_SECONDS", 2L);
+        ReflectionTestUtils.setField(filter, "metrics", new AnalysisMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void servesCachedBodyAndNotModified() throws Exception {
+        String body = "[{\"market\":\"KRW-BTC\"}]";
+        MockHttpServletResponse first = fetch("/markets", null, null, 200, JSON, body);
+        assertEquals(200, first.getStatus());
+        assertEquals(body, first.getContentAsString());
+        assertEquals("public, max-age=300", first.getHeader(HttpHeaders.CACHE_CONTROL));
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+
+        // 만료 전에는 컨트롤러를 거치지 않음
+        MockHttpServletResponse second = fetch("/markets", null, null, 200, JSON, "changed");
+        assertEquals(body, second.getContentAsString());
+        assertEquals(1, calls.get());
+
+        MockHttpServletResponse notModified = fetch("/markets", etag, null, 200, JSON, body);
+        assertEquals(304, notModified.getStatus());
+        assertEquals(0, notModified.getContentAsByteArray().length);
+        assertEquals(etag, notModified.getHeader(HttpHeaders.ETAG));
+        assertEquals(304, fetch("/markets", "*", null, 200, JSON, body).getStatus());
+        assertEquals(200, fetch("/markets", "\"other\"", null, 200, JSON, body).getStatus());
+    }
+
+    @Test
+    void gzipVariantHasItsOwnEtag() throws Exception {
+        String body = "[" + "{\"trade_price\":65000.5},".repeat(200) + "{}]";
+        MockHttpServletResponse plain = fetch("/candles/day", null, null, 200, JSON, body);
+        assertNull(plain.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, plain.getHeader(HttpHeaders.VARY));
+
+        MockHttpServletResponse gzipped = fetch("/candles/day", null, "gzip, deflate", 200, JSON, body);
+        assertEquals("gzip", gzipped.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(body.getBytes(StandardCharsets.UTF_8), gunzip(gzipped.getContentAsByteArray()));
+        String etag = plain.getHeader(HttpHeaders.ETAG);
+        String gzipEtag = gzipped.getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, gzipEtag);
+        assertEquals(etag.substring(0, etag.length() - 1) + "-gz\"", gzipEtag);
+
+        // 본문이 같으면 어느 표현의 ETag 로 물어도 304
+        assertEquals(304, fetch("/candles/day", gzipEtag, null, 200, JSON, body).getStatus());
+        assertEquals(304, fetch("/candles/day", etag, "gzip", 200, JSON, body).getStatus());
+        assertEquals(1, calls.get());
+
+        // 작은 본문은 압축하지 않음
+        MockHttpServletResponse small = fetch("/candles/hour", null, "gzip", 200, JSON, "[{\"a\":1}]");
+        assertNull(small.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertFalse(small.getHeader(HttpHeaders.ETAG).endsWith("-gz\""));
+    }
+
+    @Test
+    void maxAgeStopsAtNextBarBoundary() throws Exception {
+        long before = System.currentTimeMillis();
+        MockHttpServletResponse history = fetch("/api/exchange/candles/history?interval=1h", null, null, 200, JSON,
+            "[{\"a\":1}]");
+        long after = System.currentTimeMillis();
+        long maxAge = maxAge(history);
+        assertTrue(maxAge >= secondsUntilNextHour(after) - 1 && maxAge <= secondsUntilNextHour(before), "" + maxAge);
+
+        // 진행 중 봉이 있는 조회는 candle-max-age 상한
+        long minute = maxAge(fetch("/candles/minute?minutes=1", null, null, 200, JSON, "[{\"a\":1}]"));
+        assertTrue(minute >= 0 && minute <= 10, "" + minute);
+        // 파라미터를 해석할 수 없으면 기본 만료
+        assertEquals(2, maxAge(fetch("/api/exchange/candles?timeframe=bad", null, null, 200, JSON, "[{\"a\":1}]")));
+    }
+
+    @Test
+    void passesThroughNonJsonAndErrors() throws Exception {
+        fetch("/candles/day", null, null, 200, "text/html;charset=UTF-8", "<html>error</html>");
+        fetch("/candles/day", null, null, 200, "text/html;charset=UTF-8", "<html>error</html>");
+        fetch("/candles/hour", null, null, 500, JSON, "[{\"a\":1}]");
+        fetch("/candles/hour", null, null, 500, JSON, "[{\"a\":1}]");
+        MockHttpServletResponse error = fetch("/markets", null, null, 200, JSON, "{\"error\": \"boom\"}");
+        fetch("/markets", null, null, 200, JSON, "{\"error\": \"boom\"}");
+        assertNull(error.getHeader(HttpHeaders.ETAG));
+        assertEquals(6, calls.get());
+    }
+
+    @Test
+    void controllerErrorIsNotCached() throws Exception {
+        ExchangeAdapter adapter = mock(ExchangeAdapter.class);
+        when(adapter.id()).thenReturn("upbit");
+        when(adapter.supports(any(Timeframe.class))).thenReturn(true);
+        when(adapter.candles(anyString(), any(Timeframe.class), anyInt())).thenThrow(new IllegalStateException("boom"));
+        CryptoAnalysisController controller = new CryptoAnalysisController();
+        ReflectionTestUtils.setField(controller, "exchangeRegistry", new ExchangeRegistry(List.of(adapter)));
+        InternalResourceViewResolver views = new InternalResourceViewResolver("/templates/", ".html");
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller).addFilters(filter).setViewResolvers(views).build();
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse response = mvc.perform(get("/candles/day").param("market", "KRW-BTC"))
+                .andReturn().getResponse();
+            assertEquals(500, response.getStatus());
+            assertNull(response.getHeader(HttpHeaders.ETAG));
+        }
+
+        // 잘못된 파라미터는 400
+        MockHttpServletResponse badRequest = mvc.perform(get("/candles/minute").param("market", "KRW-BTC")
+            .param("minutes", "0")).andReturn().getResponse();
+        assertEquals(400, badRequest.getStatus());
+    }
+
+    private MockHttpServletResponse fetch(String uri, String ifNoneMatch, String acceptEncoding, int status,
+            String contentType, String body) throws Exception {
+        int query = uri.indexOf('?');
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", query < 0 ? uri : uri.substring(0, query));
+        if (query >= 0) {
+            request.setQueryString(uri.substring(query + 1));
+            for (String pair : uri.substring(query + 1).split("&")) {
+                String[] kv = pair.split("=", 2);
+                request.addParameter(kv[0], kv[1]);
+            }
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                calls.incrementAndGet();
+                resp.setStatus(status);
+                resp.setContentType(contentType);
+                resp.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }));
+        return response;
+    }
+
+    private static long maxAge(MockHttpServletResponse response) {
+        return Long.parseLong(response.getHeader(HttpHeaders.CACHE_CONTROL).replaceAll(".*max-age=", ""));
+    }
+
+    private static long secondsUntilNextHour(long now) {
+        return Math.max(1, (now / 3_600_000 * 3_600_000 + 3_600_000 - now) / 1000);
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.crypto.analysis.indicator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.TRIndicator;
+import org.ta4j.core.indicators.statistics.VarianceIndicator;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.Num;
+
+/**
+ * 지표 커널을 ta4j (DoubleNum) 결과와 비교
+ *
+ * EMA / True Range 는 연산 순서가 같아 비트 단위로 일치해야 하고,
+ * SMA / 분산은 누적 방식이 달라 상대 오차 1e-9 이내를 허용한다.
+ */
+class IndicatorKernelsTest {
+
+    // 재합산 주기(ScalarKernels.RESYNC_INTERVAL)를 몇 번 넘기는 길이
+    private static final int BARS = 3000;
+    private static final double TOLERANCE = 1e-9;
+
+    private final IndicatorKernels scalar = new ScalarKernels();
+    private final IndicatorKernels active = IndicatorKernels.get();
+
+    private BarSeries series;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        series = new BaseBarSeriesBuilder().withNumTypeOf(DoubleNum.class).build();
+        high = new double[BARS];
+        low = new double[BARS];
+        close = new double[BARS];
+
+        ZonedDateTime time = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        double price = 50_000;
+        for (int i = 0; i < BARS; i++) {
+            double open = price;
+            price = Math.max(1, price * (1 + random.nextGaussian() * 0.01));
+            high[i] = Math.max(open, price) * (1 + random.nextDouble() * 0.005);
+            low[i] = Math.min(open, price) * (1 - random.nextDouble() * 0.005);
+            close[i] = price;
+            series.addBar(time.plusMinutes(i), open, high[i], low[i], close[i], random.nextDouble() * 10);
+        }
+    }
+
+    @Test
+    void smaMatchesTa4j() {
+        for (int period : new int[] {1, 5, 20, 200, 1500}) {
+            SMAIndicator expected = new SMAIndicator(new ClosePriceIndicator(series), period);
+            assertClose(expected, scalar.sma(close, period));
+            assertClose(expected, active.sma(close, period));
+        }
+    }
+
+    @Test
+    void varianceMatchesTa4j() {
+        for (int period : new int[] {2, 20, 50, 1500}) {
+            VarianceIndicator expected = new VarianceIndicator(new ClosePriceIndicator(series), period);
+            assertClose(expected, scalar.rollingVariance(close, period));
+            assertClose(expected, active.rollingVariance(close, period));
+        }
+    }
+
+    @Test
+    void emaMatchesTa4jExactly() {
+        for (int period : new int[] {9, 12, 26}) {
+            EMAIndicator expected = new EMAIndicator(new ClosePriceIndicator(series), period);
+            assertExact(expected, scalar.ema(close, period));
+            assertExact(expected, active.ema(close, period));
+        }
+    }
+
+    @Test
+    void trueRangeMatchesTa4jExactly() {
+        TRIndicator expected = new TRIndicator(series);
+        assertExact(expected, scalar.trueRange(high, low, close));
+        assertExact(expected, active.trueRange(high, low, close));
+    }
+
+    @Test
+    void activeKernelsMatchScalarBitForBit() {
+        // 벡터 구현이 켜져 있을 때 차분/원소별 연산 결과가 스칼라와 같아야 함
+        assertArrayEquals(scalar.rollingSum(close, 20), active.rollingSum(close, 20));
+        assertArrayEquals(scalar.rollingSum(close, 1500), active.rollingSum(close, 1500));
+        assertArrayEquals(scalar.subtract(high, low), active.subtract(high, low));
+        assertArrayEquals(scalar.trueRange(high, low, close), active.trueRange(high, low, close));
+    }
+
+    @Test
+    void handlesShortInput() {
+        double[] values = {1, 2, 3};
+        assertArrayEquals(new double[] {1, 1.5, 2}, active.sma(values, 20));
+        assertArrayEquals(new double[] {0, 0.25, 2.0 / 3}, active.rollingVariance(values, 20), TOLERANCE);
+        assertEquals(0, active.ema(new double[0], 12).length);
+    }
+
+    private void assertClose(Indicator<Num> expected, double[] actual) {
+        for (int i = 0; i < BARS; i++) {
+            double value = expected.getValue(i).doubleValue();
+            assertEquals(value, actual[i], Math.abs(value) * TOLERANCE + TOLERANCE, "index " + i);
+        }
+    }
+
+    private void assertExact(Indicator<Num> expected, double[] actual) {
+        for (int i = 0; i < BARS; i++) {
+            assertEquals(expected.getValue(i).doubleValue(), actual[i], 0.0, "index " + i);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.crypto.analysis.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 저널 레코드 배치, 세그먼트 넘김, 재생기의 헤더 0 정지 조건 확인
+ */
+class TickJournalTest {
+
+    // 최소 세그먼트 크기 (레코드 1024 개)
+    private static final int RECORDS_PER_SEGMENT = 1024;
+    private static final long HOUR = 3_600_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordLayout() throws Exception {
+        try (TickJournal journal = new TickJournal(directory, 0, HOUR)) {
+            journal.append(new JournalRecord().trade("binance", "BTCUSDT", 1_700_000_000_123L, 42, 65_000.5, 0.25, true));
+        }
+        List<Path> segments = TickJournal.segments(directory);
+        assertEquals(1, segments.size());
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segments.get(0))).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals((long) TickJournal.RECORD_SIZE * RECORDS_PER_SEGMENT, buffer.capacity());
+
+        assertEquals(JournalRecord.TRADE, buffer.get(0));
+        assertEquals(2, buffer.get(1));
+        assertEquals(1, buffer.get(2));
+        assertEquals(7, buffer.get(3));
+        assertEquals(1_700_000_000_123L, buffer.getLong(8));
+        assertEquals(42, buffer.getLong(16));
+        byte[] market = new byte[7];
+        buffer.get(TickJournal.MARKET_OFFSET, market);
+        assertEquals("BTCUSDT", new String(market));
+        assertEquals(65_000.5, buffer.getDouble(TickJournal.VALUES_OFFSET));
+        assertEquals(0.25, buffer.getDouble(TickJournal.VALUES_OFFSET + 8));
+        // 다음 레코드 자리는 0
+        assertEquals(0, buffer.getLong(TickJournal.RECORD_SIZE));
+    }
+
+    @Test
+    void replayAcrossSegments() throws Exception {
+        int total = RECORDS_PER_SEGMENT * 2 + 100;
+        // 재생기는 세그먼트 파일 이름(연 시각)으로 건너뛰므로 레코드 시각도 현재 시각 기준
+        long base = System.currentTimeMillis();
+        try (TickJournal journal = new TickJournal(directory, 0, HOUR)) {
+            JournalRecord record = new JournalRecord();
+            for (int i = 0; i < total; i++) {
+                journal.append(record.trade(i % 2 == 0 ? "upbit" : "binance", i % 3 == 0 ? "KRW-BTC" : "KRW-ETH",
+                    base + i, i, 100 + i, 1, i % 2 == 0));
+            }
+            assertEquals(total, journal.getWritten());
+        }
+        assertEquals(3, TickJournal.segments(directory).size());
+        assertNoSpare();
+
+        List<Long> ids = new ArrayList<>();
+        long count = JournalReader.replay(directory, Long.MIN_VALUE, Long.MAX_VALUE, record -> {
+            assertEquals(record.getId() % 2 == 0 ? "upbit" : "binance", record.getExchange());
+            assertEquals(record.getId() % 3 == 0 ? "KRW-BTC" : "KRW-ETH", record.getMarket());
+            assertEquals(100 + record.getId(), record.value(0));
+            assertEquals(record.getId() % 2 == 0, record.isBuy());
+            ids.add(record.getId());
+            return true;
+        });
+        assertEquals(total, count);
+        for (int i = 0; i < total; i++) {
+            assertEquals(i, ids.get(i));
+        }
+
+        // 시각 범위와 handler 중단
+        assertEquals(11, JournalReader.replay(directory, base + 1020, base + 1030, record -> true));
+        assertEquals(5, JournalReader.replay(directory, Long.MIN_VALUE, Long.MAX_VALUE, record -> record.getId() < 4));
+    }
+
+    @Test
+    void readerStopsAtZeroHeader() throws Exception {
+        try (TickJournal journal = new TickJournal(directory, 0, HOUR)) {
+            JournalRecord record = new JournalRecord();
+            for (int i = 0; i < 3; i++) {
+                journal.append(record.trade("upbit", "KRW-BTC", 1_000 + i, i, 100, 1, true));
+            }
+        }
+        Path segment = TickJournal.segments(directory).get(0);
+        // 본문만 쓰고 헤더를 쓰기 전에 멈춘 레코드, 그 뒤에 헤더가 있는 레코드
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            ByteBuffer body = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, 1_003);
+            channel.write(body, 3L * TickJournal.RECORD_SIZE + 8);
+            ByteBuffer header = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, JournalRecord.TRADE);
+            channel.write(header, 4L * TickJournal.RECORD_SIZE);
+        }
+        assertEquals(3, JournalReader.replay(directory, Long.MIN_VALUE, Long.MAX_VALUE, record -> true));
+    }
+
+    @Test
+    void restartOpensNewSegmentAndDropsLeftoverSpare() throws Exception {
+        Files.write(directory.resolve("next-000007" + TickJournal.SPARE_SUFFIX), new byte[16]);
+        try (TickJournal journal = new TickJournal(directory, 0, HOUR)) {
+            journal.append(new JournalRecord().trade("upbit", "KRW-BTC", 1_000, 1, 100, 1, true));
+        }
+        assertNoSpare();
+        // 세그먼트 이름이 밀리초 단위라 같은 시각에 다시 열지 않도록
+        Thread.sleep(5);
+        try (TickJournal journal = new TickJournal(directory, 0, HOUR)) {
+            journal.append(new JournalRecord().trade("upbit", "KRW-BTC", 2_000, 2, 100, 1, true));
+        }
+        assertNoSpare();
+        assertEquals(2, TickJournal.segments(directory).size());
+        assertEquals(2, JournalReader.replay(directory, Long.MIN_VALUE, Long.MAX_VALUE, record -> true));
+    }
+
+    private void assertNoSpare() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            assertFalse(files.anyMatch(p -> p.getFileName().toString().endsWith(TickJournal.SPARE_SUFFIX)));
+        }
+    }
+}
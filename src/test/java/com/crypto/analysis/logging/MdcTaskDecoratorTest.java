@@ -0,0 +1,75 @@
+package com.crypto.analysis.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 다른 스레드로 넘어간 작업에 호출 스레드의 MDC 가 붙고, 끝나면 그 스레드의 MDC 가 원래대로 돌아오는지 확인
+ */
+class MdcTaskDecoratorTest {
+
+    @AfterEach
+    void clear() {
+        MDC.clear();
+    }
+
+    @Test
+    void decoratedTaskSeesCallerContext() throws Exception {
+        MDC.put(CorrelationIdFilter.MDC_KEY, "request-1");
+        String[] seen = new String[1];
+        Runnable task = new MdcTaskDecorator().decorate(() -> seen[0] = MDC.get(CorrelationIdFilter.MDC_KEY));
+        MDC.clear();
+
+        Thread thread = new Thread(task);
+        thread.start();
+        thread.join();
+        assertEquals("request-1", seen[0]);
+    }
+
+    @Test
+    void callRestoresPreviousContext() throws Exception {
+        MDC.put(CorrelationIdFilter.MDC_KEY, "worker");
+        MDC.put("other", "kept");
+        String inside = MdcTaskDecorator.call(Map.of(CorrelationIdFilter.MDC_KEY, "request-2"),
+            () -> MDC.get(CorrelationIdFilter.MDC_KEY) + "/" + MDC.get("other"));
+        assertEquals("request-2/null", inside);
+        assertEquals("worker", MDC.get(CorrelationIdFilter.MDC_KEY));
+        assertEquals("kept", MDC.get("other"));
+
+        // 넘길 MDC 가 없으면 실행 중에는 비우고 끝나면 되돌림
+        MdcTaskDecorator.run(null, () -> assertNull(MDC.get("other")));
+        assertEquals("kept", MDC.get("other"));
+    }
+
+    @Test
+    void carriesContextAcrossPublishOn() {
+        Scheduler scheduler = Schedulers.newSingle("mdc-test");
+        try {
+            MDC.put(CorrelationIdFilter.MDC_KEY, "request-3");
+            Map<String, String> mdc = MDC.getCopyOfContextMap();
+            String lost = Mono.just(1).publishOn(scheduler).map(x -> String.valueOf(MDC.get(CorrelationIdFilter.MDC_KEY)))
+                .block();
+            String carried = Mono.just(1).publishOn(scheduler)
+                .flatMap(x -> Mono.fromCallable(() -> MdcTaskDecorator.call(mdc, () -> MDC.get(CorrelationIdFilter.MDC_KEY))))
+                .block();
+            String after = Mono.just(1).publishOn(scheduler).map(x -> String.valueOf(MDC.get(CorrelationIdFilter.MDC_KEY)))
+                .block();
+            assertEquals("null", lost);
+            assertEquals("request-3", carried);
+            // 스케줄러 스레드에 MDC 가 남지 않음
+            assertEquals("null", after);
+        } finally {
+            scheduler.dispose();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.crypto.analysis.onchain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 온체인 지표 링 버퍼의 덮어쓰기, 기간 변화율, 최소제곱 추세 확인
+ */
+class MetricSeriesTest {
+
+    private static final long HOUR = 3_600_000;
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void keepsNewestValuesAndComputesChange() {
+        MetricSeries series = new MetricSeries(4);
+        assertTrue(Double.isNaN(series.latest()));
+        series.add(0, 100);
+        assertTrue(Double.isNaN(series.changePercent(HOUR)));
+
+        for (int h = 1; h <= 5; h++) {
+            series.add(h * HOUR, 100 + h * 10);
+        }
+        // 2 ~ 5시 값(120, 130, 140, 150)만 남음
+        assertEquals(4, series.size());
+        assertEquals(150, series.latest());
+        assertEquals((150.0 / 130 - 1) * 100, series.changePercent(2 * HOUR), TOLERANCE);
+        assertEquals((150.0 / 140 - 1) * 100, series.changePercent(HOUR), TOLERANCE);
+        // 기간보다 짧게 보관 중이면 가장 오래된 값 기준
+        assertEquals((150.0 / 120 - 1) * 100, series.changePercent(24 * HOUR), TOLERANCE);
+    }
+
+    @Test
+    void trendIsSlopeRelativeToMean() {
+        MetricSeries series = new MetricSeries(10);
+        series.add(0, 100);
+        series.add(HOUR, 102);
+        assertTrue(Double.isNaN(series.trendPercentPerHour()));
+
+        // 시간당 +2 로 증가하는 직선, 앞 값은 밀려남
+        for (int h = 2; h < 15; h++) {
+            series.add(h * HOUR, 100 + 2 * h);
+        }
+        // 남은 5 ~ 14시 평균 119
+        assertEquals(2.0 / 119 * 100, series.trendPercentPerHour(), TOLERANCE);
+
+        MetricSeries flat = new MetricSeries(5);
+        for (int h = 0; h < 5; h++) {
+            flat.add(h * HOUR, 0);
+        }
+        assertTrue(Double.isNaN(flat.trendPercentPerHour()));
+    }
+}
@@ -0,0 +1,164 @@
+package com.crypto.analysis.orderbook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 호가 트리(treap)를 TreeMap 과 비교하고, 바이낸스 U/u 연속성 검사와 스냅샷 재동기화를 확인
+ */
+class OrderBookTest {
+
+    @Test
+    void treeMatchesTreeMap() {
+        Random random = new Random(7);
+        // 초기 용량보다 많은 레벨을 넣어 배열 확장과 free list 재사용을 함께 거친다
+        PriceLevelTree bids = new PriceLevelTree(true, 16);
+        PriceLevelTree asks = new PriceLevelTree(false, 16);
+        TreeMap<Double, Double> expectedBids = new TreeMap<>(Collections.reverseOrder());
+        TreeMap<Double, Double> expectedAsks = new TreeMap<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            double price = 100 + random.nextInt(500) * 0.5;
+            double size = random.nextInt(4) == 0 ? 0 : random.nextInt(100) + 1;
+            bids.update(price, size);
+            asks.update(price, size);
+            if (size == 0) {
+                expectedBids.remove(price);
+                expectedAsks.remove(price);
+            } else {
+                expectedBids.put(price, size);
+                expectedAsks.put(price, size);
+            }
+            if (i % 1000 == 0) {
+                assertSameLevels(expectedBids, bids);
+                assertSameLevels(expectedAsks, asks);
+            }
+        }
+        assertSameLevels(expectedBids, bids);
+        assertSameLevels(expectedAsks, asks);
+
+        double limit = 200;
+        double expectedNotional = expectedAsks.headMap(limit, true).entrySet().stream()
+            .mapToDouble(e -> e.getKey() * e.getValue()).sum();
+        assertEquals(expectedNotional, asks.notionalWithin(limit), 1e-6);
+    }
+
+    @Test
+    void emptyTree() {
+        PriceLevelTree tree = new PriceLevelTree(true, 16);
+        tree.update(100, 1);
+        tree.update(100, 0);
+        assertTrue(tree.isEmpty());
+        assertTrue(Double.isNaN(tree.bestPrice()));
+        assertEquals(0, tree.bestSize());
+        // 없는 가격 삭제는 무시
+        tree.update(101, 0);
+        assertEquals(0, tree.levels());
+    }
+
+    @Test
+    void buffersUntilSnapshotAndReplaysContiguousDiffs() {
+        OrderBook book = new OrderBook("binance", "BTCUSDT", 16);
+        assertEquals(OrderBook.Result.BUFFERED, book.applyDiff(diff(90, 99, 100, 1, 0, 0)));
+        assertEquals(OrderBook.Result.BUFFERED, book.applyDiff(diff(100, 105, 100, 2, 101, 3)));
+        assertEquals(OrderBook.Result.BUFFERED, book.applyDiff(diff(106, 110, 99, 4, 0, 0)));
+        assertFalse(book.isSynced());
+        assertNull(book.snapshot(5, 1));
+
+        // 스냅샷 lastUpdateId=100: 99 까지는 버리고(STALE) U=100 <= 101 <= u=105 부터 이어서 적용
+        assertEquals(OrderBook.Result.APPLIED, book.applySnapshot(snapshot(100, 100, 5, 101, 1)));
+        assertTrue(book.isSynced());
+        OrderBookSnapshot snapshot = book.snapshot(5, 1);
+        assertEquals(100, snapshot.bestBid());
+        assertEquals(101, snapshot.bestAsk());
+        assertEquals(2, snapshot.bids().get(0).size());
+        assertEquals(3, snapshot.asks().get(0).size());
+        assertEquals(99, snapshot.bids().get(1).price());
+
+        assertEquals(OrderBook.Result.STALE, book.applyDiff(diff(108, 110, 100, 9, 0, 0)));
+        assertEquals(OrderBook.Result.APPLIED, book.applyDiff(diff(111, 112, 100, 0, 0, 0)));
+        assertEquals(99, book.snapshot(5, 1).bestBid());
+    }
+
+    @Test
+    void gapDesyncsUntilNextSnapshot() {
+        OrderBook book = new OrderBook("binance", "BTCUSDT", 16);
+        book.applySnapshot(snapshot(100, 100, 5, 101, 1));
+
+        // U=105 > lastUpdateId+1=101 이면 누락
+        assertEquals(OrderBook.Result.GAP, book.applyDiff(diff(105, 106, 100, 1, 0, 0)));
+        assertFalse(book.isSynced());
+        assertEquals(OrderBook.Result.BUFFERED, book.applyDiff(diff(107, 108, 100, 7, 0, 0)));
+
+        // 새 스냅샷이 대기열 첫 변경분보다 오래되면 다시 GAP
+        assertEquals(OrderBook.Result.GAP, book.applySnapshot(snapshot(102, 100, 5, 101, 1)));
+        assertFalse(book.isSynced());
+
+        assertEquals(OrderBook.Result.APPLIED, book.applySnapshot(snapshot(105, 100, 6, 101, 1)));
+        assertTrue(book.isSynced());
+        assertEquals(7, book.snapshot(5, 1).bids().get(0).size());
+    }
+
+    @Test
+    void crossedBookDesyncs() {
+        OrderBook book = new OrderBook("binance", "BTCUSDT", 16);
+        book.applySnapshot(snapshot(100, 100, 5, 101, 1));
+        assertEquals(OrderBook.Result.CROSSED, book.applyDiff(diff(101, 101, 102, 1, 0, 0)));
+        assertFalse(book.isSynced());
+    }
+
+    @Test
+    void upbitReplaceIgnoresOlderMessages() {
+        OrderBook book = new OrderBook("upbit", "KRW-BTC", 16);
+        assertEquals(OrderBook.Result.APPLIED, book.replace(snapshot(2000, 100, 1, 101, 1)));
+        assertEquals(OrderBook.Result.STALE, book.replace(snapshot(1000, 90, 1, 91, 1)));
+        assertEquals(OrderBook.Result.APPLIED, book.replace(snapshot(3000, 95, 1, 96, 1)));
+        OrderBookSnapshot snapshot = book.snapshot(5, 1);
+        assertEquals(95, snapshot.bestBid());
+        assertEquals(2, snapshot.bidLevels());
+    }
+
+    private static void assertSameLevels(TreeMap<Double, Double> expected, PriceLevelTree tree) {
+        assertEquals(expected.size(), tree.levels());
+        double[] prices = new double[expected.size()];
+        double[] sizes = new double[expected.size()];
+        assertEquals(expected.size(), tree.copyTop(expected.size(), prices, sizes));
+        int i = 0;
+        for (Map.Entry<Double, Double> entry : expected.entrySet()) {
+            assertEquals(entry.getKey(), prices[i]);
+            assertEquals(entry.getValue(), sizes[i]);
+            i++;
+        }
+        if (!expected.isEmpty()) {
+            assertEquals(expected.firstKey(), tree.bestPrice());
+        }
+    }
+
+    private static DepthUpdate diff(long first, long last, double bidPrice, double bidSize, double askPrice, double askSize) {
+        DepthUpdate update = new DepthUpdate(4);
+        update.setMarket("BTCUSDT");
+        update.setFirstUpdateId(first);
+        update.setFinalUpdateId(last);
+        update.setEventTime(last);
+        update.addBid(bidPrice, bidSize);
+        if (askPrice > 0) {
+            update.addAsk(askPrice, askSize);
+        }
+        return update;
+    }
+
+    private static DepthUpdate snapshot(long lastUpdateId, double bidPrice, double bidSize, double askPrice, double askSize) {
+        DepthUpdate update = diff(lastUpdateId, lastUpdateId, bidPrice, bidSize, askPrice, askSize);
+        update.addBid(bidPrice - 1, 1);
+        return update;
+    }
+}
@@ -0,0 +1,126 @@
+package com.crypto.analysis.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 템플릿 렌더링 결과가 기존 StringBuilder 구현(LegacyReportFormatter)과 같은 내용을 보여주는지,
+ * 사용자 문자열을 이스케이프하는지, 지문 캐시가 같은 입력을 다시 렌더링하지 않는지 확인
+ */
+class AnalysisReportRendererTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // 모든 선택 항목 포함 (분할 매수/매도 지정)
+    private static final String BUY = """
+        {
+          "통화단위": "원", "거래소": "UPBIT", "코인명": "BTC",
+          "분석_요약": "단기적으로 저항선 돌파를 시도하고 있습니다.",
+          "매수매도_추천": {"매수_확률": 68, "매도_확률": 32, "추천": "매수", "신뢰도": 7.5, "근거": "MACD 골든크로스"},
+          "매매_전략": {
+            "수익실현_목표가": [152000000, 158000000], "손절매_라인": 138000000, "리스크_보상_비율": 2.4,
+            "전략_설명": "첫 목표가에서 절반을 정리합니다.",
+            "매수_분할": [{"가격": 145000000, "비율": 40, "설명": "1차 진입"}, {"가격": 142000000, "비율": 60}],
+            "매도_분할": [{"가격": 152000000, "비율": 50, "설명": "1차 저항선"}, {"가격": 158000000, "비율": 50, "설명": "2차 저항선"}]
+          },
+          "시간별_전망": {"단기_24시간": "등락", "중기_1주일": "저항선 돌파 여부", "장기_1개월": "신고가 도전"},
+          "기술적_분석": {"주요_지지선": [142000000, 140000000], "주요_저항선": [152000000], "추세_강도": "중", "주요_패턴": "상승 삼각형"},
+          "고급_지표_분석": {"MACD": "상향 돌파", "볼린저밴드": "상단 접근", "피보나치": "0.618 지지", "ATR": "평균", "OBV": "상승"},
+          "최근_뉴스_요약": {"주요_뉴스": ["ETF 순유입", "금리 동결"], "뉴스_영향": "긍정적"},
+          "위험_요소": ["거시경제 불확실성", "규제 리스크"]
+        }""";
+
+    // 분할 정보 없이 목표가/지지선으로 표를 채우는 경우 (문자열 확률, 바이낸스 통화)
+    private static final String SELL = """
+        {
+          "거래소": "BINANCE", "코인명": "ETH",
+          "분석_요약": "하락 추세가 이어지고 있습니다.",
+          "매수매도_추천": {"매수_확률": "27.5", "매도_확률": "72.5", "추천": "매도", "신뢰도": 6, "근거": "데드크로스"},
+          "매매_전략": {"수익실현_목표가": [3100, 3000, 2900], "손절매_라인": 3600, "리스크_보상_비율": 1.8, "전략_설명": "반등 시 분할 매도"},
+          "시간별_전망": {"단기_24시간": "약세", "중기_1주일": "3,100 지지 시험", "장기_1개월": "추세 전환 대기"},
+          "기술적_분석": {"주요_지지선": [3100], "주요_저항선": [3500, 3700], "추세_강도": "강", "주요_패턴": "하락 채널"},
+          "위험_요소": ["급반등"]
+        }""";
+
+    // 관망 추천, 주식 보고서 형식 (회사명, 재무 분석, 1주일/1개월/3개월 전망)
+    private static final String HOLD_STOCK = """
+        {
+          "회사명": "Apple Inc.",
+          "분석_요약": "실적 발표 전까지 관망이 필요합니다.",
+          "매수매도_추천": {"매수_확률": 50, "매도_확률": 50, "추천": "관망", "신뢰도": 5, "근거": "방향성 부재"},
+          "매매_전략": {"수익실현_목표가": [200], "손절매_라인": 170, "리스크_보상_비율": 1.5, "전략_설명": "박스권 매매",
+            "관망_매수": [{"가격": 175, "비율": 100, "조건": "지지 확인"}]},
+          "시간별_전망": {"단기_1주일": "박스권", "중기_1개월": "실적에 따라", "장기_3개월": "완만한 상승"},
+          "기술적_분석": {"주요_지지선": [], "주요_저항선": [200], "추세_강도": "약", "주요_패턴": "박스권"},
+          "재무_분석": {"PER": "29", "EPS": "6.4", "배당수익률": "0.5%", "시가총액": "2.9T", "기업가치_평가": "적정"},
+          "위험_요소": []
+        }""";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AnalysisReportRenderer renderer = new AnalysisReportRenderer(new AnalysisMetrics(registry));
+
+    @Test
+    void matchesLegacyFormatterText() throws IOException {
+        for (String json : List.of(BUY, SELL, HOLD_STOCK)) {
+            String legacy = LegacyReportFormatter.format(json);
+            String rendered = renderer.render(AnalysisReport.from(MAPPER.readTree(json)));
+            assertEquals(visibleText(legacy), visibleText(rendered), json);
+            assertEquals(recommendClass(legacy), recommendClass(rendered), json);
+        }
+    }
+
+    @Test
+    void escapesAnalysisText() throws IOException {
+        String json = BUY.replace("단기적으로 저항선 돌파를 시도하고 있습니다.", "<script>alert(1)</script>");
+        String html = renderer.render(AnalysisReport.from(MAPPER.readTree(json)));
+        assertTrue(html.contains("&lt;script&gt;alert(1)&lt;/script&gt;"), html);
+        assertFalse(html.contains("<script>"), html);
+        // 스타일은 내용 해시를 붙인 정적 파일로 연결
+        assertTrue(html.contains("href=\"" + AnalysisReportRenderer.CSS_PATH + "?v="), html);
+    }
+
+    @Test
+    void cachesByFingerprint() throws IOException {
+        String first = renderer.render(BUY);
+        assertSame(first, renderer.render(BUY));
+        renderer.render(SELL);
+
+        assertEquals(1, registry.get("analysis.http.response.cache").tag("outcome", "hit").counter().count());
+        assertEquals(2, registry.get("analysis.http.response.cache").tag("outcome", "miss").counter().count());
+    }
+
+    @Test
+    void rejectsMissingRequiredFields() {
+        assertThrows(RuntimeException.class, () -> renderer.render("{\"코인명\": \"BTC\"}"));
+    }
+
+    // 태그/스타일을 빼고 화면에 보이는 글자만 비교 (공백 차이 무시)
+    private static String visibleText(String html) {
+        return html.replaceAll("(?s)<style>.*?</style>", " ")
+            .replaceAll("(?s)<!--.*?-->", " ")
+            .replaceAll("<[^>]+>", " ")
+            .replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"").replace("&#39;", "'").replace("&amp;", "&")
+            .replaceAll("\\s+", " ")
+            .trim();
+    }
+
+    private static String recommendClass(String html) {
+        Matcher matcher = Pattern.compile("class=['\"](recommend [a-z]+)['\"]").matcher(html);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+}
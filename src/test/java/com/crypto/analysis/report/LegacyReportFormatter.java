@@ -0,0 +1,463 @@
+package com.crypto.analysis.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 템플릿 렌더러 도입 전 ClaudeService.formatJsonResponse 구현 (AnalysisReportRendererTest, ReportRenderBenchmark 비교 기준)
+ *
+ * 호출마다 ObjectMapper 를 만들고 인라인 CSS 를 포함한 HTML 문서 전체를 문자열로 이어 붙인다.
+ */
+final class LegacyReportFormatter {
+
+    private LegacyReportFormatter() {
+    }
+
+    public static String format(String response) {
+        try {
+            // 마크다운 코드 블럭에서 JSON 추출 (```json ~ ``` 제거)
+            String jsonStr = response;
+            if (response.contains("```json")) {
+                jsonStr = response.substring(response.indexOf("```json") + 7);
+                jsonStr = jsonStr.substring(0, jsonStr.lastIndexOf("```")).trim();
+            }
+            
+            // JSON 파싱
+            ObjectMapper mapper = new ObjectMapper();
+            JsonNode jsonNode = mapper.readTree(jsonStr);
+            
+            // 거래소 정보와 통화 단위 확인
+            String exchange = jsonNode.has("거래소") ? jsonNode.get("거래소").asText() : "upbit";
+            String currencySymbol = "upbit".equalsIgnoreCase(exchange) ? "원" : "$";
+            
+            // HTML 형식으로 포맷팅
+            StringBuilder html = new StringBuilder();
+            html.append("<html><head>");
+            html.append("<style>");
+            html.append("body { font-family: Arial, sans-serif; margin: 20px; }");
+            html.append("h1 { color: #333366; }");
+            html.append("h2 { color: #336699; margin-top: 20px; }");
+            html.append(".card { background-color: #f8f9fa; border-radius: 10px; padding: 15px; margin-bottom: 15px; box-shadow: 0 2px 5px rgba(0,0,0,0.1); }");
+            html.append(".highlight { color: #0066cc; font-weight: bold; }");
+            html.append(".recommend { font-size: 18px; font-weight: bold; }");
+            html.append(".recommend.buy { color: #00aa00; }");
+            html.append(".recommend.sell { color: #cc0000; }");
+            html.append(".recommend.wait { color: #ff9900; }");
+            html.append(".prob-bar { height: 25px; background-color: #e9ecef; border-radius: 10px; margin-top: 5px; position: relative; margin-bottom: 10px; }");
+            html.append(".prob-bar-buy { height: 100%; background-color: #4CAF50; border-radius: 10px 0 0 10px; float: left; }");
+            html.append(".prob-bar-sell { height: 100%; background-color: #f44336; border-radius: 0 10px 10px 0; float: left; }");
+            html.append(".prob-text { position: absolute; left: 50%; top: 0; transform: translateX(-50%); color: #fff; font-weight: bold; line-height: 25px; text-shadow: 1px 1px 2px rgba(0,0,0,0.5); }");
+            html.append(".strategy-box { border: 1px solid #ddd; padding: 12px; margin: 10px 0; border-radius: 8px; background-color: #f9f9f9; }");
+            html.append(".strategy-box h4 { margin-top: 0; color: #0066cc; margin-bottom: 10px; }");
+            html.append(".strategy-item { margin-bottom: 8px; }");
+            html.append(".allocation-table { width: 100%; border-collapse: collapse; margin: 10px 0; }");
+            html.append(".allocation-table th { background-color: #eef0f2; text-align: left; padding: 8px; }");
+            html.append(".allocation-table td { padding: 8px; border-bottom: 1px solid #ddd; }");
+            html.append("table { width: 100%; border-collapse: collapse; margin-top: 10px; }");
+            html.append("th { background-color: #eef0f2; text-align: left; padding: 8px; }");
+            html.append("td { padding: 8px; border-bottom: 1px solid #ddd; }");
+            html.append("ul { padding-left: 20px; }");
+            html.append("li { margin-bottom: 5px; }");
+            html.append(".tag { display: inline-block; padding: 2px 8px; border-radius: 12px; font-size: 0.8em; margin-right: 5px; }");
+            html.append(".tag-buy { background-color: #e8f5e9; color: #2e7d32; }");
+            html.append(".tag-sell { background-color: #ffebee; color: #c62828; }");
+            html.append(".tag-neutral { background-color: #fff8e1; color: #ff8f00; }");
+            html.append("</style>");
+            html.append("</head><body>");
+            
+            // 제목 및 분석 요약
+            html.append("<h1>").append(jsonNode.get("코인명") != null ? jsonNode.get("코인명").asText() : 
+                        (jsonNode.get("회사명") != null ? jsonNode.get("회사명").asText() : "암호화폐")).append(" 분석 보고서</h1>");
+            html.append("<div class='card'>");
+            html.append("<h2>📊 분석 요약</h2>");
+            html.append("<p>").append(jsonNode.get("분석_요약").asText()).append("</p>");
+            html.append("</div>");
+            
+            // 매수매도 추천
+            JsonNode recommendation = jsonNode.get("매수매도_추천");
+            html.append("<div class='card'>");
+            html.append("<h2>💹 매수/매도 추천</h2>");
+            
+            // 추천 정보
+            String recommendType = recommendation.get("추천").asText();
+            String recommendClass = "wait";
+            if (recommendType.equals("매수")) recommendClass = "buy";
+            else if (recommendType.equals("매도")) recommendClass = "sell";
+            
+            html.append("<div class='recommend ").append(recommendClass).append("'>");
+            if (recommendType.equals("매수")) html.append("🟢 매수 추천");
+            else if (recommendType.equals("매도")) html.append("🔴 매도 추천");
+            else html.append("🟠 관망 추천");
+            html.append("</div>");
+            
+            // 확률 바 표시 - 소수점 한 자리까지 표시하도록 수정
+            double buyProb = 50.0;
+            double sellProb = 50.0;
+            
+            if (recommendation.get("매수_확률").isNumber()) {
+                buyProb = recommendation.get("매수_확률").asDouble();
+            } else {
+                buyProb = Double.parseDouble(recommendation.get("매수_확률").asText());
+            }
+            
+            if (recommendation.get("매도_확률").isNumber()) {
+                sellProb = recommendation.get("매도_확률").asDouble();
+            } else {
+                sellProb = Double.parseDouble(recommendation.get("매도_확률").asText());
+            }
+            
+            html.append("<div class='prob-bar'>");
+            html.append("<div class='prob-bar-buy' style='width: ").append(buyProb).append("%;'></div>");
+            html.append("<div class='prob-bar-sell' style='width: ").append(sellProb).append("%;'></div>");
+            html.append("<span class='prob-text'>매수: ").append(String.format("%.1f", buyProb)).append("% / 매도: ").append(String.format("%.1f", sellProb)).append("%</span>");
+            html.append("</div>");
+            
+            html.append("<p><strong>신뢰도:</strong> ").append(recommendation.get("신뢰도").asText()).append("/10</p>");
+            html.append("<p><strong>근거:</strong> ").append(recommendation.get("근거").asText()).append("</p>");
+            html.append("</div>");
+            
+            // 매매 전략 - 분할 매수/매도 정보를 더 자세히 표시하도록 수정
+            if (jsonNode.has("매매_전략")) {
+                JsonNode strategy = jsonNode.get("매매_전략");
+                html.append("<div class='card'>");
+                html.append("<h2>📈 매매 전략</h2>");
+                
+                // 매매 구분 태그 추가
+                if (recommendType.equals("매수")) {
+                    html.append("<span class='tag tag-buy'>매수 전략</span>");
+                } else if (recommendType.equals("매도")) {
+                    html.append("<span class='tag tag-sell'>매도 전략</span>");
+                } else {
+                    html.append("<span class='tag tag-neutral'>관망 전략</span>");
+                }
+                
+                // 분할 매수/매도 전략 박스
+                html.append("<div class='strategy-box'>");
+                
+                // 매수 전략 테이블
+                if (recommendType.equals("매수")) {
+                    html.append("<h4>📊 분할 매수 전략</h4>");
+                    
+                    // 분할 매수 테이블 추가
+                    html.append("<table class='allocation-table'>");
+                    html.append("<tr><th>진입 가격</th><th>배분 비율</th><th>설명</th></tr>");
+                    
+                    // 매수 전략이 있는 경우
+                    if (strategy.has("매수_분할") && strategy.get("매수_분할").isArray()) {
+                        JsonNode buyAllocation = strategy.get("매수_분할");
+                        for (int i = 0; i < buyAllocation.size(); i++) {
+                            JsonNode entry = buyAllocation.get(i);
+                            html.append("<tr>");
+                            html.append("<td>").append(entry.get("가격").asText()).append(currencySymbol).append("</td>");
+                            html.append("<td>").append(entry.get("비율").asText()).append("%</td>");
+                            html.append("<td>").append(entry.has("설명") ? entry.get("설명").asText() : "").append("</td>");
+                            html.append("</tr>");
+                        }
+                    } else {
+                        // 구체적인 분할 매수 정보가 없는 경우 기본 내용 표시
+                        html.append("<tr><td>현재 가격</td><td>50%</td><td>첫 진입</td></tr>");
+                        
+                        JsonNode supports = jsonNode.get("기술적_분석").get("주요_지지선");
+                        if (supports.isArray() && supports.size() > 0) {
+                            html.append("<tr><td>").append(supports.get(0).asText()).append(currencySymbol).append("</td><td>50%</td><td>추가 매수</td></tr>");
+                        } else {
+                            html.append("<tr><td>추가 하락 시</td><td>50%</td><td>추가 매수</td></tr>");
+                        }
+                    }
+                    html.append("</table>");
+                    
+                    // 분할 매도 테이블 추가 (수익실현)
+                    html.append("<h4>🔔 수익실현 전략</h4>");
+                    html.append("<table class='allocation-table'>");
+                    html.append("<tr><th>매도 가격</th><th>매도 비율</th><th>설명</th></tr>");
+                    
+                    // 매도 전략이 있는 경우
+                    if (strategy.has("매도_분할") && strategy.get("매도_분할").isArray()) {
+                        JsonNode sellAllocation = strategy.get("매도_분할");
+                        for (int i = 0; i < sellAllocation.size(); i++) {
+                            JsonNode exit = sellAllocation.get(i);
+                            html.append("<tr>");
+                            html.append("<td>").append(exit.get("가격").asText()).append(currencySymbol).append("</td>");
+                            html.append("<td>").append(exit.get("비율").asText()).append("%</td>");
+                            html.append("<td>").append(exit.has("설명") ? exit.get("설명").asText() : "").append("</td>");
+                            html.append("</tr>");
+                        }
+                    } else {
+                        // 수익실현 목표가
+                        JsonNode targets = strategy.get("수익실현_목표가");
+                        if (targets.isArray()) {
+                            int numTargets = targets.size();
+                            int sellPercentage = 100 / numTargets;
+                            
+                            for (int i = 0; i < targets.size(); i++) {
+                                html.append("<tr>");
+                                html.append("<td>").append(targets.get(i).asText()).append(currencySymbol).append("</td>");
+                                if (i == targets.size() - 1) {
+                                    html.append("<td>").append(100 - (sellPercentage * (numTargets - 1))).append("%</td>");
+                                } else {
+                                    html.append("<td>").append(sellPercentage).append("%</td>");
+                                }
+                                html.append("<td>수익실현 ").append(i+1).append("차</td>");
+                                html.append("</tr>");
+                            }
+                        }
+                    }
+                    html.append("</table>");
+                    
+                } else if (recommendType.equals("매도")) {
+                    // 매도 전략 테이블
+                    html.append("<h4>📉 분할 매도 전략</h4>");
+                    
+                    // 분할 매도 테이블 추가
+                    html.append("<table class='allocation-table'>");
+                    html.append("<tr><th>매도 가격</th><th>매도 비율</th><th>설명</th></tr>");
+                    
+                    // 매도 전략이 있는 경우
+                    if (strategy.has("매도_분할") && strategy.get("매도_분할").isArray()) {
+                        JsonNode sellAllocation = strategy.get("매도_분할");
+                        for (int i = 0; i < sellAllocation.size(); i++) {
+                            JsonNode exit = sellAllocation.get(i);
+                            html.append("<tr>");
+                            html.append("<td>").append(exit.get("가격").asText()).append(currencySymbol).append("</td>");
+                            html.append("<td>").append(exit.get("비율").asText()).append("%</td>");
+                            html.append("<td>").append(exit.has("설명") ? exit.get("설명").asText() : "").append("</td>");
+                            html.append("</tr>");
+                        }
+                    } else {
+                        // 구체적인 분할 매도 정보가 없는 경우 기본 내용 표시
+                        html.append("<tr><td>현재 가격</td><td>60%</td><td>첫 매도</td></tr>");
+                        
+                        JsonNode resistances = jsonNode.get("기술적_분석").get("주요_저항선");
+                        if (resistances.isArray() && resistances.size() > 0) {
+                            html.append("<tr><td>").append(resistances.get(0).asText()).append(currencySymbol).append("</td><td>40%</td><td>추가 매도</td></tr>");
+                        } else {
+                            html.append("<tr><td>추가 상승 시</td><td>40%</td><td>추가 매도</td></tr>");
+                        }
+                    }
+                    html.append("</table>");
+                    
+                    // 매수 테이블 추가 (재진입)
+                    html.append("<h4>🔔 재진입 전략</h4>");
+                    html.append("<table class='allocation-table'>");
+                    html.append("<tr><th>매수 가격</th><th>매수 비율</th><th>설명</th></tr>");
+                    
+                    // 매수 전략이 있는 경우
+                    if (strategy.has("매수_분할") && strategy.get("매수_분할").isArray()) {
+                        JsonNode buyAllocation = strategy.get("매수_분할");
+                        for (int i = 0; i < buyAllocation.size(); i++) {
+                            JsonNode entry = buyAllocation.get(i);
+                            html.append("<tr>");
+                            html.append("<td>").append(entry.get("가격").asText()).append(currencySymbol).append("</td>");
+                            html.append("<td>").append(entry.get("비율").asText()).append("%</td>");
+                            html.append("<td>").append(entry.has("설명") ? entry.get("설명").asText() : "").append("</td>");
+                            html.append("</tr>");
+                        }
+                    } else {
+                        // 구체적인 재진입 정보가 없는 경우 수익실현 목표가 기반으로 표시
+                        JsonNode targets = strategy.get("수익실현_목표가");
+                        if (targets.isArray() && targets.size() > 0) {
+                            html.append("<tr><td>").append(targets.get(0).asText()).append(currencySymbol).append("</td><td>50%</td><td>첫 매수</td></tr>");
+                            if (targets.size() > 1) {
+                                html.append("<tr><td>").append(targets.get(1).asText()).append(currencySymbol).append("</td><td>50%</td><td>추가 매수</td></tr>");
+                            }
+                        }
+                    }
+                    html.append("</table>");
+                    
+                } else {
+                    // 관망 전략 테이블
+                    html.append("<h4>⚖️ 관망 후 진입 전략</h4>");
+                    
+                    // 매수 검토 테이블
+                    html.append("<table class='allocation-table'>");
+                    html.append("<tr><th colspan='3'>매수 검토 기준</th></tr>");
+                    html.append("<tr><th>진입 가격</th><th>배분 비율</th><th>조건</th></tr>");
+                    
+                    // 관망 후 매수 전략이 있는 경우
+                    if (strategy.has("관망_매수") && strategy.get("관망_매수").isArray()) {
+                        JsonNode waitBuyAllocation = strategy.get("관망_매수");
+                        for (int i = 0; i < waitBuyAllocation.size(); i++) {
+                            JsonNode entry = waitBuyAllocation.get(i);
+                            html.append("<tr>");
+                            html.append("<td>").append(entry.get("가격").asText()).append(currencySymbol).append("</td>");
+                            html.append("<td>").append(entry.get("비율").asText()).append("%</td>");
+                            html.append("<td>").append(entry.has("조건") ? entry.get("조건").asText() : "").append("</td>");
+                            html.append("</tr>");
+                        }
+                    } else {
+                        // 구체적인 관망 후 매수 정보가 없는 경우 기본 내용 표시
+                        JsonNode supports = jsonNode.get("기술적_분석").get("주요_지지선");
+                        if (supports.isArray() && supports.size() > 0) {
+                            html.append("<tr><td>").append(supports.get(0).asText()).append(currencySymbol).append("</td><td>60%</td><td>지지선 확인 후 반등</td></tr>");
+                            if (supports.size() > 1) {
+                                html.append("<tr><td>").append(supports.get(1).asText()).append(currencySymbol).append("</td><td>40%</td><td>2차 지지선 확인</td></tr>");
+                            }
+                        } else {
+                            html.append("<tr><td>추가 하락 시</td><td>100%</td><td>지지 확인 후</td></tr>");
+                        }
+                    }
+                    html.append("</table>");
+                    
+                    // 매도 검토 테이블
+                    html.append("<table class='allocation-table' style='margin-top: 15px;'>");
+                    html.append("<tr><th colspan='3'>매도 검토 기준</th></tr>");
+                    html.append("<tr><th>진입 가격</th><th>배분 비율</th><th>조건</th></tr>");
+                    
+                    // 관망 후 매도 전략이 있는 경우
+                    if (strategy.has("관망_매도") && strategy.get("관망_매도").isArray()) {
+                        JsonNode waitSellAllocation = strategy.get("관망_매도");
+                        for (int i = 0; i < waitSellAllocation.size(); i++) {
+                            JsonNode entry = waitSellAllocation.get(i);
+                            html.append("<tr>");
+                            html.append("<td>").append(entry.get("가격").asText()).append(currencySymbol).append("</td>");
+                            html.append("<td>").append(entry.get("비율").asText()).append("%</td>");
+                            html.append("<td>").append(entry.has("조건") ? entry.get("조건").asText() : "").append("</td>");
+                            html.append("</tr>");
+                        }
+                    } else {
+                        // 구체적인 관망 후 매도 정보가 없는 경우 기본 내용 표시
+                        JsonNode resistances = jsonNode.get("기술적_분석").get("주요_저항선");
+                        if (resistances.isArray() && resistances.size() > 0) {
+                            html.append("<tr><td>").append(resistances.get(0).asText()).append(currencySymbol).append("</td><td>60%</td><td>저항선 도달 후 반락</td></tr>");
+                            if (resistances.size() > 1) {
+                                html.append("<tr><td>").append(resistances.get(1).asText()).append(currencySymbol).append("</td><td>40%</td><td>2차 저항선 도달</td></tr>");
+                            }
+                        } else {
+                            html.append("<tr><td>추가 상승 시</td><td>100%</td><td>저항 확인 후</td></tr>");
+                        }
+                    }
+                    html.append("</table>");
+                }
+                
+                // 손절매 정보 테이블
+                html.append("<h4>⚠️ 손절매 라인</h4>");
+                html.append("<table class='allocation-table'>");
+                html.append("<tr><th>손절 가격</th><th>손절 비율</th><th>설명</th></tr>");
+                html.append("<tr>");
+                html.append("<td>").append(strategy.get("손절매_라인").asText()).append(currencySymbol).append("</td>");
+                html.append("<td>100%</td>");
+                html.append("<td>모든 포지션 청산</td>");
+                html.append("</tr>");
+                html.append("</table>");
+                
+                html.append("</div>"); // strategy-box 종료
+                
+                // 리스크 보상 비율
+                html.append("<p><strong>리스크 대비 보상 비율:</strong> ").append(strategy.get("리스크_보상_비율").asText()).append(":1</p>");
+                
+                // 전략 설명
+                html.append("<p><strong>전략 설명:</strong></p>");
+                html.append("<p>").append(strategy.get("전략_설명").asText()).append("</p>");
+                
+                html.append("</div>"); // card 종료
+            }
+            
+            // 시간별 전망
+            JsonNode outlooks = jsonNode.get("시간별_전망");
+            html.append("<div class='card'>");
+            html.append("<h2>⏱️ 시간별 전망</h2>");
+            html.append("<p><strong>단기 (").append(outlooks.has("단기_24시간") ? "24시간" : "1주일").append("):</strong> ").append(outlooks.has("단기_24시간") ? outlooks.get("단기_24시간").asText() : outlooks.get("단기_1주일").asText()).append("</p>");
+            html.append("<p><strong>중기 (1").append(outlooks.has("중기_1개월") ? "개월" : "주일").append("):</strong> ").append(outlooks.has("중기_1개월") ? outlooks.get("중기_1개월").asText() : outlooks.get("중기_1주일").asText()).append("</p>");
+            html.append("<p><strong>장기 (").append(outlooks.has("장기_1개월") ? "1개월" : "3개월").append("):</strong> ").append(outlooks.has("장기_1개월") ? outlooks.get("장기_1개월").asText() : outlooks.get("장기_3개월").asText()).append("</p>");
+            html.append("</div>");
+            
+            // 기술적 분석
+            JsonNode technical = jsonNode.get("기술적_분석");
+            html.append("<div class='card'>");
+            html.append("<h2>📊 기술적 분석</h2>");
+            
+            html.append("<p><strong>추세 강도:</strong> ").append(technical.get("추세_강도").asText()).append("</p>");
+            html.append("<p><strong>주요 패턴:</strong> ").append(technical.get("주요_패턴").asText()).append("</p>");
+            
+            html.append("<table>");
+            html.append("<tr><th>주요 지지선</th><td>");
+            JsonNode supports = technical.get("주요_지지선");
+            if (supports.isArray()) {
+                for (int i = 0; i < supports.size(); i++) {
+                    html.append(supports.get(i).asText()).append(currencySymbol);
+                    if (i < supports.size() - 1) html.append(", ");
+                }
+            }
+            html.append("</td></tr>");
+            
+            html.append("<tr><th>주요 저항선</th><td>");
+            JsonNode resistances = technical.get("주요_저항선");
+            if (resistances.isArray()) {
+                for (int i = 0; i < resistances.size(); i++) {
+                    html.append(resistances.get(i).asText()).append(currencySymbol);
+                    if (i < resistances.size() - 1) html.append(", ");
+                }
+            }
+            html.append("</td></tr>");
+            html.append("</table>");
+            html.append("</div>");
+            
+            // 고급 지표 분석
+            if (jsonNode.has("고급_지표_분석")) {
+                JsonNode advanced = jsonNode.get("고급_지표_분석");
+                html.append("<div class='card'>");
+                html.append("<h2>🔬 고급 지표 분석</h2>");
+                
+                html.append("<p><strong>MACD:</strong> ").append(advanced.get("MACD").asText()).append("</p>");
+                html.append("<p><strong>볼린저밴드:</strong> ").append(advanced.get("볼린저밴드").asText()).append("</p>");
+                html.append("<p><strong>피보나치:</strong> ").append(advanced.get("피보나치").asText()).append("</p>");
+                html.append("<p><strong>ATR:</strong> ").append(advanced.get("ATR").asText()).append("</p>");
+                html.append("<p><strong>OBV:</strong> ").append(advanced.get("OBV").asText()).append("</p>");
+                html.append("</div>");
+            }
+            
+            // 재무 분석 (주식용)
+            if (jsonNode.has("재무_분석")) {
+                JsonNode financialAnalysis = jsonNode.get("재무_분석");
+                html.append("<div class='card'>");
+                html.append("<h2>💰 재무 분석</h2>");
+                
+                html.append("<p><strong>PER:</strong> ").append(financialAnalysis.get("PER").asText()).append("</p>");
+                html.append("<p><strong>EPS:</strong> ").append(financialAnalysis.get("EPS").asText()).append("</p>");
+                html.append("<p><strong>배당수익률:</strong> ").append(financialAnalysis.get("배당수익률").asText()).append("</p>");
+                html.append("<p><strong>시가총액:</strong> ").append(financialAnalysis.get("시가총액").asText()).append("</p>");
+                html.append("<p><strong>기업가치 평가:</strong> ").append(financialAnalysis.get("기업가치_평가").asText()).append("</p>");
+                html.append("</div>");
+            }
+            
+            // 뉴스 요약
+            if (jsonNode.has("최근_뉴스_요약")) {
+                JsonNode newsNode = jsonNode.get("최근_뉴스_요약");
+                html.append("<div class='card'>");
+                html.append("<h2>📰 최근 뉴스 요약</h2>");
+                
+                html.append("<ul>");
+                JsonNode newsList = newsNode.get("주요_뉴스");
+                if (newsList.isArray()) {
+                    for (JsonNode news : newsList) {
+                        html.append("<li>").append(news.asText()).append("</li>");
+                    }
+                }
+                html.append("</ul>");
+                
+                html.append("<p><strong>뉴스 영향:</strong> ").append(newsNode.get("뉴스_영향").asText()).append("</p>");
+                html.append("</div>");
+            }
+            
+            // 위험 요소
+            JsonNode risks = jsonNode.get("위험_요소");
+            html.append("<div class='card'>");
+            html.append("<h2>⚠️ 위험 요소</h2>");
+            html.append("<ul>");
+            if (risks.isArray()) {
+                for (int i = 0; i < risks.size(); i++) {
+                    html.append("<li>").append(risks.get(i).asText()).append("</li>");
+                }
+            }
+            html.append("</ul>");
+            html.append("</div>");
+            
+            html.append("</body></html>");
+            
+            return html.toString();
+        } catch (Exception e) {
+            // 포맷팅 실패 시 원본 응답 반환
+            return response;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.crypto.analysis.screener;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.bollinger.PercentBIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.DoubleNum;
+
+import com.crypto.analysis.candle.CandleBars;
+
+/**
+ * 스크리너 단일 패스 지표를 ta4j 결과와 비교하고 마지막 봉 교차 판정 확인
+ *
+ * RSI 는 시작값 처리가 달라 충분히 긴 구간에서 상대 오차 1e-9 이내를 허용한다.
+ */
+class SignalCalculatorTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void matchesTa4j() {
+        Random random = new Random(7);
+        int bars = 600;
+        BarSeries series = new BaseBarSeriesBuilder().withNumTypeOf(DoubleNum.class).build();
+        CandleBars candles = new CandleBars(bars);
+        ZonedDateTime time = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        double price = 100;
+        for (int i = 0; i < bars; i++) {
+            price = Math.max(1, price * (1 + random.nextGaussian() * 0.01));
+            series.addBar(time.plusHours(i), price, price, price, price, 1);
+            candles.add(time.plusHours(i).toInstant().toEpochMilli(), price, price, price, price, 1, price);
+        }
+
+        MarketSignals signals = SignalCalculator.calculate("upbit", "KRW-BTC", candles);
+        ClosePriceIndicator close = new ClosePriceIndicator(series);
+        int last = bars - 1;
+        assertEquals(candles.openTime(last), signals.candleTime());
+        assertEquals(price, signals.close());
+        assertClose(new SMAIndicator(close, 20).getValue(last).doubleValue(), signals.sma20());
+        assertClose(new SMAIndicator(close, 50).getValue(last).doubleValue(), signals.sma50());
+        assertClose(new EMAIndicator(close, 12).getValue(last).doubleValue(), signals.ema12());
+        assertClose(new EMAIndicator(close, 26).getValue(last).doubleValue(), signals.ema26());
+        assertClose(new RSIIndicator(close, 14).getValue(last).doubleValue(), signals.rsi());
+        assertClose(new PercentBIndicator(close, 20, 2).getValue(last).doubleValue(), signals.percentB());
+        assertClose((price / candles.close(last - 1) - 1) * 100, signals.changePercent());
+    }
+
+    @Test
+    void detectsCrossOnLastBarOnly() {
+        // 50봉 하락 뒤 급등: 마지막 봉에서 SMA20 이 SMA50 을 뚫고 올라감
+        assertEquals("GOLDEN", signals(closes(60, 100, -1, 30)).smaCross());
+        assertEquals("DEATH", signals(closes(60, 1000, 1, -30)).smaCross());
+        // 이미 지난 교차는 표시하지 않음
+        assertNull(signals(closes(60, 100, 1, 0)).smaCross());
+        assertNull(SignalCalculator.calculate("upbit", "KRW-BTC", bars(new double[SignalCalculator.MIN_BARS - 1])));
+    }
+
+    /** start 부터 step 씩 변하다가 마지막 봉만 jump * 20 만큼 더 움직이는 종가 (SMA20 이 jump 만큼 움직임) */
+    private static double[] closes(int n, double start, double step, double jump) {
+        double[] close = new double[n];
+        for (int i = 0; i < n; i++) {
+            close[i] = start + step * i;
+        }
+        close[n - 1] += jump * 20;
+        return close;
+    }
+
+    private static MarketSignals signals(double[] close) {
+        return SignalCalculator.calculate("upbit", "KRW-BTC", bars(close));
+    }
+
+    private static CandleBars bars(double[] close) {
+        CandleBars bars = new CandleBars(close.length);
+        for (int i = 0; i < close.length; i++) {
+            bars.add(i * 3_600_000L, close[i], close[i], close[i], close[i], 1, close[i]);
+        }
+        return bars;
+    }
+
+    private static void assertClose(double expected, double actual) {
+        assertEquals(expected, actual, Math.abs(expected) * TOLERANCE + TOLERANCE);
+    }
+}
@@ -0,0 +1,52 @@
+package com.crypto.analysis.screener;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 샤드별 상위 K 선택과 병합 결과를 전체 정렬 결과와 비교
+ */
+class TopKTest {
+
+    @Test
+    void shardedSelectionMatchesFullSort() {
+        Random random = new Random(31);
+        for (int round = 0; round < 50; round++) {
+            int n = random.nextInt(500);
+            int k = random.nextInt(30);
+            int shards = 1 + random.nextInt(6);
+            List<Integer> values = new ArrayList<>();
+            List<TopK<Integer>> parts = new ArrayList<>();
+            for (int s = 0; s < shards; s++) {
+                parts.add(new TopK<>(k, Comparator.<Integer>naturalOrder()));
+            }
+            for (int i = 0; i < n; i++) {
+                // 중복 값도 섞음
+                int value = random.nextInt(200);
+                values.add(value);
+                parts.get(random.nextInt(shards)).offer(value);
+            }
+
+            TopK<Integer> merged = new TopK<>(k, Comparator.<Integer>naturalOrder());
+            for (TopK<Integer> part : parts) {
+                merged.merge(part);
+            }
+            values.sort(Comparator.reverseOrder());
+            assertEquals(values.subList(0, Math.min(k, n)), merged.toSortedList(), "n=" + n + " k=" + k);
+        }
+    }
+
+    @Test
+    void zeroKeepsNothing() {
+        TopK<Integer> top = new TopK<>(0, Comparator.<Integer>naturalOrder());
+        top.offer(1);
+        assertTrue(top.toSortedList().isEmpty());
+    }
+}
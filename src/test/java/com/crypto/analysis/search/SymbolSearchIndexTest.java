@@ -0,0 +1,96 @@
+package com.crypto.analysis.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 자동완성 색인의 접두어/초성/오타 검색과 순위 확인
+ */
+class SymbolSearchIndexTest {
+
+    private SymbolSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = SymbolSearchIndex.builder()
+            .add(coin("upbit", "KRW-ETHFI", "ETHFI", "Ether.fi", "이더파이"))
+            .add(coin("upbit", "KRW-BTC", "BTC", "Bitcoin", "비트코인"))
+            .add(coin("upbit", "KRW-BCH", "BCH", "Bitcoin Cash", "비트코인캐시"))
+            .add(coin("upbit", "KRW-ETH", "ETH", "Ethereum", "이더리움"))
+            .add(coin("binance", "BTCUSDT", "BTC", null, null))
+            // 같은 거래소/심볼은 한 번만
+            .add(coin("upbit", "KRW-BTC", "BTC", "Bitcoin", "비트코인"))
+            .add(new SearchEntry("stock", "NASDAQ", "AAPL", "AAPL", "Apple Inc", null))
+            .build();
+    }
+
+    @Test
+    void counts() {
+        assertEquals(6, index.size());
+        assertEquals(5, index.count("coin"));
+        assertEquals(1, index.count("stock"));
+        assertTrue(SymbolSearchIndex.EMPTY.search("btc", null, null, 10).isEmpty());
+    }
+
+    @Test
+    void prefixRanksExactSymbolFirst() {
+        // 정확히 일치하는 심볼이 먼저 추가한 접두어 일치보다 앞섬
+        assertEquals(List.of("KRW-ETH", "KRW-ETHFI"), symbols("eth", null, null, 2));
+        // 같은 점수는 추가한 순서, 결과가 모자라면 오타 일치(bch)가 뒤에 붙음
+        assertEquals(List.of("KRW-BTC", "BTCUSDT", "KRW-BCH"), symbols("BTC", null, null, 10));
+        assertEquals(List.of("BTCUSDT"), symbols("btc", "coin", "binance", 10));
+        assertEquals(List.of("KRW-BTC"), symbols("btc", null, null, 1));
+        assertEquals("KRW-BTC", symbols("KRW-BT", null, null, 10).get(0));
+    }
+
+    @Test
+    void namesAndWords() {
+        assertEquals(List.of("KRW-BTC", "KRW-BCH"), symbols("bitcoin", null, null, 10));
+        assertEquals(List.of("KRW-BCH"), symbols("cash", null, null, 10));
+        assertEquals(List.of("KRW-BTC", "KRW-BCH"), symbols("비트코", null, null, 10));
+        assertEquals(List.of("AAPL"), symbols("apple", "stock", null, 10));
+        assertTrue(symbols("apple", "coin", null, 10).isEmpty());
+    }
+
+    @Test
+    void initials() {
+        assertEquals(List.of("KRW-BTC", "KRW-BCH"), symbols("ㅂㅌㅋㅇ", null, null, 10));
+        assertEquals(List.of("KRW-BCH"), symbols("ㅂㅌㅋㅇㅋ", null, null, 10));
+        // 글자와 초성을 섞어 입력
+        assertEquals(List.of("KRW-BTC", "KRW-BCH"), symbols("비트ㅋ", null, null, 10));
+        assertEquals(List.of("KRW-ETHFI", "KRW-ETH"), symbols("ㅇㄷ", null, null, 10));
+    }
+
+    @Test
+    void fuzzy() {
+        // 인접 교환
+        assertEquals("KRW-BTC", symbols("bitcion", null, null, 10).get(0));
+        // 삭제 (6자 이상은 거리 2 까지)
+        assertEquals("KRW-ETH", symbols("etherum", null, null, 10).get(0));
+        // 치환
+        assertEquals("AAPL", symbols("appke", null, null, 10).get(0));
+        // 첫 글자가 다르거나 너무 짧으면 오타로 찾지 않음
+        assertTrue(symbols("vitcoin", null, null, 10).isEmpty());
+        assertTrue(symbols("bx", null, null, 10).isEmpty());
+    }
+
+    @Test
+    void normalize() {
+        assertEquals("krwbtc", SymbolSearchIndex.normalize(" KRW-BTC "));
+        assertEquals("", SymbolSearchIndex.normalize(null));
+        assertEquals(32, SymbolSearchIndex.normalize("a".repeat(100)).length());
+    }
+
+    private List<String> symbols(String query, String type, String exchange, int limit) {
+        return index.search(query, type, exchange, limit).stream().map(SearchEntry::symbol).toList();
+    }
+
+    private static SearchEntry coin(String exchange, String symbol, String asset, String name, String koreanName) {
+        return new SearchEntry("coin", exchange, symbol, asset, name, koreanName);
+    }
+}
@@ -0,0 +1,67 @@
+package com.crypto.analysis.service;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.crypto.analysis.logging.MdcTaskDecorator;
+import com.crypto.analysis.metrics.AnalysisMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 예열 목록(설정 목록 + 요청 빈도 상위, 중복/잘못된 항목 제외)과 실패한 종목이 나머지를 막지 않는지 확인
+ */
+class AnalysisWarmerServiceTest {
+
+    private final CryptoAnalysisService analysis = mock(CryptoAnalysisService.class);
+    private AnalysisWarmerService warmer;
+
+    @BeforeEach
+    void setUp() {
+        warmer = new AnalysisWarmerService(analysis);
+        ReflectionTestUtils.setField(warmer, "ENABLED", true);
+        ReflectionTestUtils.setField(warmer, "MARKETS", List.of("upbit:KRW-BTC", " Binance:BTCUSDT", "KRW-ETH", ""));
+        ReflectionTestUtils.setField(warmer, "AUTO_TOP", 2);
+        ReflectionTestUtils.setField(warmer, "PARALLELISM", 2);
+        ReflectionTestUtils.setField(warmer, "metrics", new AnalysisMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(warmer, "mdcTaskDecorator", new MdcTaskDecorator());
+        warmer.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        warmer.shutdown();
+    }
+
+    @Test
+    void warmsConfiguredAndPopularMarkets() throws Exception {
+        when(analysis.topRequested(2)).thenReturn(List.of("upbit:KRW-BTC", "upbit:KRW-SOL"));
+        doThrow(new IllegalStateException("대체 데이터")).when(analysis).warm("KRW-BTC", "upbit", false);
+
+        warmer.warmHotMarkets();
+
+        verify(analysis).retainWarmed(List.of("upbit:KRW-BTC", "binance:BTCUSDT", "upbit:KRW-SOL"));
+        verify(analysis).warm("KRW-BTC", "upbit", false);
+        verify(analysis).warm("BTCUSDT", "binance", false);
+        verify(analysis).warm("KRW-SOL", "upbit", false);
+    }
+
+    @Test
+    void disabledDoesNothing() throws Exception {
+        ReflectionTestUtils.setField(warmer, "ENABLED", false);
+        warmer.warmHotMarkets();
+        verify(analysis, never()).warm(anyString(), anyString(), anyBoolean());
+    }
+}
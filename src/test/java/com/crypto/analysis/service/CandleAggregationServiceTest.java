@@ -0,0 +1,179 @@
+package com.crypto.analysis.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.crypto.analysis.candle.CandleBars;
+import com.crypto.analysis.exchange.AdapterResult;
+import com.crypto.analysis.exchange.ExchangeAdapter;
+import com.crypto.analysis.exchange.ExchangeRegistry;
+import com.crypto.analysis.exchange.MarketInfo;
+import com.crypto.analysis.exchange.Ticker;
+import com.crypto.analysis.model.Candle;
+import com.crypto.analysis.model.Timeframe;
+
+/**
+ * 거래소 일봉(기준 일봉)과 이후 1분봉을 이어 붙인 일봉 재계산, 실시간 체결 반영 확인
+ */
+class CandleAggregationServiceTest {
+
+    private static final long MINUTE = 60_000;
+    private static final long DAY = 86_400_000;
+    private static final long TODAY = ZonedDateTime.of(2024, 3, 10, 0, 0, 0, 0, ZoneOffset.UTC)
+        .toInstant().toEpochMilli();
+    private static final double TOLERANCE = 1e-9;
+
+    private final StubAdapter adapter = new StubAdapter();
+    private CandleAggregationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CandleAggregationService(new ExchangeRegistry(List.of(adapter)), null);
+        ReflectionTestUtils.setField(service, "UPBIT_ZONE", "UTC");
+        ReflectionTestUtils.setField(service, "BINANCE_ZONE", "UTC");
+        ReflectionTestUtils.setField(service, "MINUTE_CAPACITY", 10_080);
+        ReflectionTestUtils.setField(service, "DAY_CAPACITY", 800);
+        ReflectionTestUtils.setField(service, "IDLE_MINUTES", 30L);
+        // 열지 않은 저널은 기록하지 않음
+        ReflectionTestUtils.setField(service, "journalService", new JournalService());
+
+        adapter.days = List.of(
+            candle(TODAY, 100, 110, 90, 105, 10),
+            candle(TODAY - DAY, 95, 101, 94, 100, 20),
+            candle(TODAY - 2 * DAY, 90, 96, 89, 95, 30));
+        // 거래소 일봉에 이미 포함된 10:00 ~ 10:04 1분봉
+        adapter.minutes = List.of(
+            candle(TODAY + 604 * MINUTE, 104, 105, 103, 104, 1),
+            candle(TODAY + 603 * MINUTE, 103, 104, 102, 103, 1),
+            candle(TODAY + 602 * MINUTE, 102, 103, 101, 102, 1),
+            candle(TODAY + 601 * MINUTE, 101, 102, 100, 101, 1),
+            candle(TODAY + 600 * MINUTE, 100, 101, 99, 100, 1));
+    }
+
+    @Test
+    void seedsDaysFromExchange() throws Exception {
+        CandleBars days = service.getCandles("upbit", "KRW-BTC", Timeframe.ONE_DAY, 3);
+        assertEquals(3, days.size());
+        assertEquals(TODAY - 2 * DAY, days.openTime(0));
+        assertEquals(TODAY, days.openTime(2));
+        assertEquals(105, days.close(2));
+        assertEquals(10, days.volume(2), TOLERANCE);
+    }
+
+    @Test
+    void stitchesBaseDayWithLaterMinutes() throws Exception {
+        service.getCandles("upbit", "KRW-BTC", Timeframe.ONE_DAY, 3);
+
+        // 기준 일봉 이후 갱신: 10:04 봉이 다시 오고(이미 기준 일봉에 포함) 10:05 ~ 10:07 이 새로 옴
+        adapter.minutes = List.of(
+            candle(TODAY + 607 * MINUTE, 108, 109, 107, 108, 4),
+            candle(TODAY + 606 * MINUTE, 112, 120, 107, 108, 3),
+            candle(TODAY + 605 * MINUTE, 104, 112, 85, 112, 2),
+            candle(TODAY + 604 * MINUTE, 104, 105, 103, 104.5, 1.5));
+        service.refreshTrackedMarkets();
+
+        CandleBars days = service.getCandles("upbit", "KRW-BTC", Timeframe.ONE_DAY, 3);
+        assertEquals(TODAY, days.openTime(2));
+        assertEquals(100, days.open(2));
+        assertEquals(120, days.high(2));
+        assertEquals(85, days.low(2));
+        assertEquals(108, days.close(2));
+        assertEquals(10 + 2 + 3 + 4, days.volume(2), TOLERANCE);
+        assertEquals(105 * 10 + 2 * 112 + 3 * 108 + 4 * 108, days.quoteVolume(2), TOLERANCE);
+        // 지난 일봉은 그대로
+        assertEquals(100, days.close(1));
+        assertEquals(20, days.volume(1), TOLERANCE);
+
+        // 다음 날 첫 1분봉은 새 일봉을 시작
+        adapter.minutes = List.of(
+            candle(TODAY + DAY, 109, 111, 108, 110, 5),
+            candle(TODAY + 607 * MINUTE, 108, 109, 107, 108, 4));
+        service.refreshTrackedMarkets();
+
+        days = service.getCandles("upbit", "KRW-BTC", Timeframe.ONE_DAY, 3);
+        assertEquals(TODAY + DAY, days.openTime(2));
+        assertEquals(109, days.open(2));
+        assertEquals(110, days.close(2));
+        assertEquals(5, days.volume(2), TOLERANCE);
+        assertEquals(19, days.volume(1), TOLERANCE);
+    }
+
+    @Test
+    void liveTradesUpdateOpenBars() throws Exception {
+        service.getCandles("upbit", "KRW-BTC", Timeframe.ONE_DAY, 3);
+        service.ingestTrade("upbit", "KRW-BTC", TODAY + 605 * MINUTE + 10_000, 130, 2);
+        service.ingestTrade("upbit", "KRW-BTC", TODAY + 605 * MINUTE + 20_000, 80, 1);
+        // 조회된 적 없는 마켓은 무시
+        service.ingestTrade("upbit", "KRW-ETH", TODAY + 605 * MINUTE, 1, 1);
+
+        CandleBars minutes = service.getCandles("upbit", "KRW-BTC", Timeframe.ONE_MINUTE, 2);
+        assertEquals(TODAY + 605 * MINUTE, minutes.openTime(1));
+        assertEquals(130, minutes.open(1));
+        assertEquals(80, minutes.close(1));
+        assertEquals(3, minutes.volume(1), TOLERANCE);
+
+        CandleBars days = service.getCandles("upbit", "KRW-BTC", Timeframe.ONE_DAY, 3);
+        assertEquals(130, days.high(2));
+        assertEquals(80, days.close(2));
+        assertEquals(13, days.volume(2), TOLERANCE);
+    }
+
+    private static Candle candle(long time, double o, double h, double l, double c, double v) {
+        ZonedDateTime utc = Instant.ofEpochMilli(time).atZone(ZoneOffset.UTC);
+        return new Candle("KRW-BTC", utc, utc, o, h, l, c, c * v, v);
+    }
+
+    /** 최신순 캔들을 그대로 돌려주는 업비트 대역 (이전 페이지 요청에는 빈 목록) */
+    private static class StubAdapter implements ExchangeAdapter {
+
+        volatile List<Candle> minutes = List.of();
+        volatile List<Candle> days = List.of();
+
+        @Override
+        public String id() {
+            return "upbit";
+        }
+
+        @Override
+        public int maxCandlesPerRequest() {
+            return 200;
+        }
+
+        @Override
+        public String nativeInterval(Timeframe timeframe) {
+            return timeframe.toString();
+        }
+
+        @Override
+        public AdapterResult<MarketInfo> markets() {
+            return AdapterResult.of(List.of());
+        }
+
+        @Override
+        public Ticker ticker(String market) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AdapterResult<Candle> candles(String market, Timeframe timeframe, int count) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Candle> candlesBefore(String market, Timeframe timeframe, int count, Long beforeMillis) {
+            if (beforeMillis != null) {
+                return List.of();
+            }
+            return new ArrayList<>(timeframe.isIntraday() ? minutes : days);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.crypto.analysis.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.crypto.analysis.model.CandleRecord;
+
+/**
+ * 백필 페이지 커서 계산과 실패한 페이지 너머 봉 제외 확인
+ */
+class CandleBackfillServiceTest {
+
+    private static final long MINUTE = 60_000;
+    private static final int PAGE = 200;
+    private static final long PAGE_MILLIS = PAGE * MINUTE;
+    private static final long NOW = 1_700_000_000_000L / MINUTE * MINUTE;
+
+    @Test
+    void emptySeriesPagesBackFromNow() {
+        CandleBackfillService.PagePlan plan = CandleBackfillService.planPages(null, null, 0, 450, NOW, MINUTE,
+            PAGE, 100, false);
+        assertEquals(List.of(NOW, NOW - PAGE_MILLIS, NOW - 2 * PAGE_MILLIS), plan.cursors());
+        assertEquals(0, plan.headPages());
+        assertEquals(NOW - 2 * PAGE_MILLIS, plan.probeCursor());
+    }
+
+    @Test
+    void headPagesContinueFromLastStoredBar() {
+        long last = NOW - 450 * MINUTE;
+        CandleBackfillService.PagePlan plan = CandleBackfillService.planPages(last - 99 * MINUTE, last, 100, 300, NOW,
+            MINUTE, PAGE, 100, false);
+        // 첫 페이지는 last 바로 다음 봉부터, 마지막 페이지는 현재에서 잘림
+        assertEquals(List.of(last + MINUTE + PAGE_MILLIS, last + MINUTE + 2 * PAGE_MILLIS, NOW), plan.cursors());
+        assertEquals(3, plan.headPages());
+        // 최신 구간만으로 count 를 채우므로 과거 페이지 없음
+        assertNull(plan.probeCursor());
+    }
+
+    @Test
+    void maxPagesKeepsPagesAdjacentToStoredRange() {
+        long last = NOW - 10_000 * MINUTE;
+        CandleBackfillService.PagePlan plan = CandleBackfillService.planPages(last - PAGE_MILLIS, last, PAGE, 20_000,
+            NOW, MINUTE, PAGE, 5, false);
+        assertEquals(5, plan.cursors().size());
+        assertEquals(5, plan.headPages());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(last + MINUTE + (i + 1) * PAGE_MILLIS, plan.cursors().get(i));
+        }
+        assertNull(plan.probeCursor());
+    }
+
+    @Test
+    void tailPagesShareRemainingBudget() {
+        long first = NOW - 1_000 * MINUTE;
+        long last = NOW - 100 * MINUTE;
+        CandleBackfillService.PagePlan plan = CandleBackfillService.planPages(first, last, 900, 3_000, NOW, MINUTE,
+            PAGE, 4, false);
+        assertEquals(1, plan.headPages());
+        assertEquals(List.of(NOW, first, first - PAGE_MILLIS, first - 2 * PAGE_MILLIS), plan.cursors());
+        assertEquals(first - 2 * PAGE_MILLIS, plan.probeCursor());
+
+        // 상장 시점까지 받은 시리즈는 과거 페이지를 잡지 않음
+        CandleBackfillService.PagePlan exhausted = CandleBackfillService.planPages(first, last, 900, 3_000, NOW,
+            MINUTE, PAGE, 4, true);
+        assertEquals(List.of(NOW), exhausted.cursors());
+        assertNull(exhausted.probeCursor());
+    }
+
+    @Test
+    void dropsBarsPastFirstFailedPage() {
+        long last = NOW - 3 * PAGE_MILLIS;
+        List<Long> cursors = List.of(last + PAGE_MILLIS, last + 2 * PAGE_MILLIS, last + 3 * PAGE_MILLIS,
+            last - 5 * PAGE_MILLIS, last - 6 * PAGE_MILLIS, last - 7 * PAGE_MILLIS);
+        TreeMap<Long, CandleRecord> merged = new TreeMap<>();
+        for (long t = last - 8 * PAGE_MILLIS; t < NOW; t += MINUTE) {
+            merged.put(t, new CandleRecord("upbit", "KRW-BTC", "1m", t, 1, 1, 1, 1, 1, 1));
+        }
+
+        CandleBackfillService.dropPastFailures(merged, cursors, 3,
+            Set.of(last + 2 * PAGE_MILLIS, last + 3 * PAGE_MILLIS, last - 6 * PAGE_MILLIS), PAGE_MILLIS);
+        // 최신 쪽은 처음 실패한 두 번째 페이지 시작부터, 과거 쪽은 처음 실패한 두 번째 페이지 끝 이전을 버림
+        assertEquals(last - 6 * PAGE_MILLIS, merged.firstKey());
+        assertEquals(last + PAGE_MILLIS - MINUTE, merged.lastKey());
+
+        TreeMap<Long, CandleRecord> untouched = new TreeMap<>(merged);
+        CandleBackfillService.dropPastFailures(merged, cursors, 3, Set.of(), PAGE_MILLIS);
+        assertEquals(untouched, merged);
+    }
+}
@@ -0,0 +1,126 @@
+package com.crypto.analysis.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.crypto.analysis.exchange.Ticker;
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.model.MacroSnapshot;
+import com.crypto.analysis.report.AnalysisReportRenderer;
+import com.crypto.analysis.upstream.ReactiveUpstreamClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Claude 요청의 system 블록이 종목/거래소와 관계없이 같고 캐시 표시가 붙는지,
+ * 요청별 값은 user 메시지에만 들어가는지, 캐시 토큰 사용량이 기록되는지 확인
+ */
+class ClaudeServiceTest {
+
+    private static final String RESPONSE = "{\"content\": [{\"text\": \"```json\\n{}\\n```\"}],"
+        + " \"usage\": {\"input_tokens\": 120, \"output_tokens\": 800,"
+        + " \"cache_read_input_tokens\": 2000, \"cache_creation_input_tokens\": 0}}";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<Map<String, Object>> requests = new ArrayList<>();
+    private ClaudeService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        ReactiveUpstreamClient client = mock(ReactiveUpstreamClient.class);
+        when(client.defaultPolicy()).thenReturn(new ReactiveUpstreamClient.Policy(Duration.ofSeconds(1), 0, Duration.ZERO));
+        when(client.post(anyString(), any(), any(), any())).thenAnswer(invocation -> {
+            requests.add((Map<String, Object>) invocation.getArgument(2));
+            return Mono.just(RESPONSE);
+        });
+        MacroDataService macro = mock(MacroDataService.class);
+        when(macro.getSnapshot()).thenReturn(MacroSnapshot.DEFAULT);
+        AnalysisReportRenderer renderer = mock(AnalysisReportRenderer.class);
+        when(renderer.render(anyString())).thenReturn("<report>");
+
+        service = new ClaudeService(mock(RestTemplate.class));
+        ReflectionTestUtils.setField(service, "metrics", new AnalysisMetrics(registry));
+        ReflectionTestUtils.setField(service, "reportRenderer", renderer);
+        ReflectionTestUtils.setField(service, "macroDataService", macro);
+        ReflectionTestUtils.setField(service, "onchainCollectorService", mock(OnchainCollectorService.class));
+        ReflectionTestUtils.setField(service, "orderBookService", mock(OrderBookService.class));
+        ReflectionTestUtils.setField(service, "upstreamClient", client);
+        ReflectionTestUtils.setField(service, "API_URL", "http://claude");
+        ReflectionTestUtils.setField(service, "API_KEY", "test");
+        ReflectionTestUtils.setField(service, "CLAUDE_TIMEOUT_MS", 1000L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void systemBlockIsSharedAcrossMarkets() throws Exception {
+        assertEquals("<report>", service.generateLlmAnalysis(data("KRW-BTC", "upbit", 95_000_000)));
+        service.generateLlmAnalysis(data("ETHUSDT", "binance", 3_500));
+        assertEquals(2, requests.size());
+
+        List<Map<String, Object>> first = (List<Map<String, Object>>) requests.get(0).get("system");
+        List<Map<String, Object>> second = (List<Map<String, Object>>) requests.get(1).get("system");
+        assertEquals(first, second);
+        assertEquals(1, first.size());
+        assertEquals(Map.of("type", "ephemeral"), first.get(0).get("cache_control"));
+
+        // 마켓/코인명은 system 에 없고 거래소/통화와 함께 user 메시지에만 (system 의 거래소는 응답 형식 자리표시자)
+        String system = (String) first.get(0).get("text");
+        for (String value : List.of("KRW-BTC", "ETHUSDT", "비트코인", "이더리움")) {
+            assertFalse(system.contains(value), value);
+        }
+        String upbitPrompt = userPrompt(requests.get(0));
+        String binancePrompt = userPrompt(requests.get(1));
+        assertTrue(upbitPrompt.contains("KRW-BTC") && upbitPrompt.contains("UPBIT") && upbitPrompt.contains("원"));
+        assertTrue(binancePrompt.contains("ETHUSDT") && binancePrompt.contains("BINANCE") && binancePrompt.contains("$"));
+    }
+
+    @Test
+    void recordsCacheTokens() throws Exception {
+        service.generateLlmAnalysis(data("KRW-BTC", "upbit", 95_000_000));
+
+        assertEquals(2000, tokens("cache_read"));
+        assertEquals(120, tokens("prompt"));
+        // 캐시를 새로 쓰지 않은 요청은 cache_write 를 남기지 않음
+        assertTrue(registry.find("analysis.claude.tokens").tag("direction", "cache_write").summaries().isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String userPrompt(Map<String, Object> request) {
+        List<Map<String, String>> messages = (List<Map<String, String>>) request.get("messages");
+        assertEquals(1, messages.size());
+        assertEquals("user", messages.get(0).get("role"));
+        return messages.get(0).get("content");
+    }
+
+    private double tokens(String direction) {
+        return registry.get("analysis.claude.tokens").tag("direction", direction).summary().totalAmount();
+    }
+
+    private static Map<String, Object> data(String market, String exchange, double price) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("market", market);
+        data.put("exchange", exchange);
+        data.put("currentPrice", new Ticker(market, price, 0.01, price, price, 10, 1000, System.currentTimeMillis()));
+        data.put("fearGreedIndex", Map.of("value", 50, "valueClassification", "Neutral"));
+        data.put("coinNews", Map.of());
+        return data;
+    }
+}
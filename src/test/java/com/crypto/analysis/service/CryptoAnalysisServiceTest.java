@@ -0,0 +1,219 @@
+package com.crypto.analysis.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.crypto.analysis.exchange.AdapterResult;
+import com.crypto.analysis.exchange.ExchangeAdapter;
+import com.crypto.analysis.exchange.ExchangeRegistry;
+import com.crypto.analysis.exchange.Ticker;
+import com.crypto.analysis.logging.MdcTaskDecorator;
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.model.Candle;
+import com.crypto.analysis.model.Timeframe;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 분석 예열 캐시(대체 데이터 제외, 캐시 결과 복사), 빈 조회 결과 처리, 요청 빈도 상위 종목 선정/감쇠,
+ * 단계별 분석(규칙 기반 즉시 응답, Claude 결과 전송/보관/공유) 확인
+ */
+class CryptoAnalysisServiceTest {
+
+    private static final String ANALYSIS = "```json\n{\"signal\": \"hold\"}\n```";
+
+    private final ExchangeAdapter adapter = mock(ExchangeAdapter.class);
+    private final ClaudeService claudeService = mock(ClaudeService.class);
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private CryptoAnalysisService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(adapter.id()).thenReturn("upbit");
+        when(adapter.candlesAsync(anyString(), any(Timeframe.class), anyInt()))
+            .thenReturn(Mono.just(AdapterResult.of(List.<Candle>of())));
+        when(adapter.tickerAsync(anyString())).thenAnswer(invocation -> Mono.just(ticker(invocation.getArgument(0))));
+        when(adapter.ticker(anyString())).thenAnswer(invocation -> ticker(invocation.getArgument(0)));
+
+        TechnicalIndicatorService indicators = mock(TechnicalIndicatorService.class);
+        when(indicators.calculateAllIndicators(anyString(), anyList())).thenReturn(Map.of("latest", Map.of("rsi", 50)));
+        when(indicators.withTradeFlow(anyString(), anyMap())).thenAnswer(invocation -> invocation.getArgument(1));
+
+        MarketSentimentService sentiment = mock(MarketSentimentService.class);
+        when(sentiment.getFearAndGreedIndexAsync()).thenReturn(Mono.just(Map.of("value", 50)));
+        when(sentiment.getNewsForCoinAsync(anyString())).thenReturn(Mono.just(Map.of()));
+        when(claudeService.getCoinNewsAsync(anyString(), any())).thenReturn(Mono.just(Map.of()));
+        when(claudeService.generateAnalysis(anyMap())).thenReturn(ANALYSIS);
+        when(claudeService.generateRuleBasedAnalysis(anyMap())).thenReturn("rules");
+        when(claudeService.generateLlmAnalysis(anyMap())).thenReturn(ANALYSIS);
+
+        service = new CryptoAnalysisService(new ExchangeRegistry(List.of(adapter)), indicators, sentiment,
+            claudeService, new AnalysisMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "blockingScheduler", Schedulers.immediate());
+        ReflectionTestUtils.setField(service, "mdcTaskDecorator", new MdcTaskDecorator());
+        ReflectionTestUtils.setField(service, "messagingTemplate", messagingTemplate);
+        ReflectionTestUtils.setField(service, "UPGRADE_PARALLELISM", 1);
+        ReflectionTestUtils.setField(service, "RESULT_TTL_MS", 60_000L);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void servesWarmedResultAsCopy() throws Exception {
+        service.warm("KRW-BTC", "upbit", true);
+        verify(claudeService, times(1)).generateAnalysis(anyMap());
+
+        Map<String, Object> first = service.analyze("KRW-BTC", "upbit");
+        assertEquals(true, first.get("success"));
+        assertEquals("{\"signal\": \"hold\"}", first.get("analysis"));
+        first.put("analysis", "changed");
+
+        Map<String, Object> second = service.analyze("KRW-BTC", "upbit");
+        assertEquals("{\"signal\": \"hold\"}", second.get("analysis"));
+        // 예열 뒤에는 외부 조회와 Claude 호출 없이 응답
+        verify(adapter, times(1)).candlesAsync(eq("KRW-BTC"), any(Timeframe.class), anyInt());
+        verify(claudeService, times(1)).generateAnalysis(anyMap());
+
+        // 예열 목록에서 빠지면 다시 분석
+        service.retainWarmed(List.of());
+        service.analyze("KRW-BTC", "upbit");
+        verify(claudeService, times(2)).generateAnalysis(anyMap());
+    }
+
+    @Test
+    void doesNotWarmFallbackData() throws Exception {
+        when(adapter.candlesAsync(anyString(), any(Timeframe.class), anyInt()))
+            .thenReturn(Mono.just(AdapterResult.fallback(List.<Candle>of())));
+        assertThrows(IllegalStateException.class, () -> service.warm("KRW-BTC", "upbit", false));
+
+        // 현재가 조회 실패(빈 현재가)도 대체 데이터
+        when(adapter.candlesAsync(anyString(), any(Timeframe.class), anyInt()))
+            .thenReturn(Mono.just(AdapterResult.of(List.<Candle>of())));
+        when(adapter.tickerAsync(anyString())).thenReturn(Mono.just(Ticker.empty("KRW-BTC")));
+        assertThrows(IllegalStateException.class, () -> service.warm("KRW-BTC", "upbit", false));
+
+        service.analyze("KRW-BTC", "upbit");
+        // 캐시된 것이 없어 요청 때 다시 조회
+        verify(adapter, times(3)).candlesAsync(eq("KRW-BTC"), any(Timeframe.class), anyInt());
+    }
+
+    @Test
+    void emptySourceFailsWithStageName() {
+        when(adapter.candlesAsync(anyString(), any(Timeframe.class), anyInt())).thenReturn(Mono.empty());
+        Map<String, Object> result = service.analyze("KRW-BTC", "upbit");
+        assertEquals(false, result.get("success"));
+        assertTrue(String.valueOf(result.get("error")).contains("candles"), String.valueOf(result.get("error")));
+    }
+
+    @Test
+    void tieredRespondsWithRulesAndPublishesClaudeResult() throws Exception {
+        ReflectionTestUtils.setField(service, "TIERED", true);
+        CountDownLatch release = new CountDownLatch(1);
+        when(claudeService.generateLlmAnalysis(anyMap())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return ANALYSIS;
+        });
+
+        Map<String, Object> first = service.analyze("KRW-BTC", "upbit");
+        assertEquals(true, first.get("success"));
+        assertEquals("rules", first.get("tier"));
+        assertEquals("rules", first.get("analysis"));
+        String analysisId = (String) first.get("analysisId");
+        assertNotNull(analysisId);
+        assertNull(service.upgradeResult(analysisId));
+
+        // 진행 중인 Claude 분석은 새로 시작하지 않고 같은 analysisId 를 받음
+        Map<String, Object> second = service.analyze("KRW-BTC", "upbit");
+        assertEquals("rules", second.get("tier"));
+        assertEquals(analysisId, second.get("analysisId"));
+
+        release.countDown();
+        verify(messagingTemplate, timeout(5_000)).convertAndSend(eq("/topic/analysis/" + analysisId), anyMap());
+        verify(claudeService, times(1)).generateLlmAnalysis(anyMap());
+        Map<String, Object> message = service.upgradeResult(analysisId);
+        assertEquals(true, message.get("success"));
+        assertEquals("llm", message.get("tier"));
+        assertEquals("{\"signal\": \"hold\"}", message.get("analysis"));
+
+        // 이후 요청은 보관된 Claude 결과로 바로 응답
+        Map<String, Object> third = service.analyze("KRW-BTC", "upbit");
+        assertEquals("llm", third.get("tier"));
+        assertEquals(analysisId, third.get("analysisId"));
+        verify(claudeService, times(1)).generateLlmAnalysis(anyMap());
+        verify(claudeService, times(0)).generateAnalysis(anyMap());
+    }
+
+    @Test
+    void tieredClaudeFailureKeepsRules() throws Exception {
+        ReflectionTestUtils.setField(service, "TIERED", true);
+        when(claudeService.generateLlmAnalysis(anyMap())).thenThrow(new IllegalStateException("overloaded"));
+
+        Map<String, Object> first = service.analyze("KRW-BTC", "upbit");
+        assertEquals("rules", first.get("tier"));
+        String analysisId = (String) first.get("analysisId");
+        verify(messagingTemplate, timeout(5_000)).convertAndSend(eq("/topic/analysis/" + analysisId), anyMap());
+
+        Map<String, Object> message = service.upgradeResult(analysisId);
+        assertEquals(false, message.get("success"));
+        assertEquals("overloaded", message.get("error"));
+        // 실패한 결과는 캐시하지 않아 다음 요청은 새 analysisId 로 다시 시도
+        Map<String, Object> second = service.analyze("KRW-BTC", "upbit");
+        assertEquals("rules", second.get("tier"));
+        assertNotEquals(analysisId, second.get("analysisId"));
+    }
+
+    @Test
+    void topRequestedRanksAndDecays() {
+        for (int i = 0; i < 5; i++) {
+            service.analyze("KRW-ETH", "upbit");
+        }
+        for (int i = 0; i < 3; i++) {
+            service.analyze("KRW-BTC", "UPBIT");
+        }
+        service.analyze("KRW-XRP", "upbit");
+        // 지원하지 않는 거래소는 세지 않음
+        service.analyze("KRW-BTC", "bithumb");
+
+        assertEquals(List.of("upbit:KRW-ETH", "upbit:KRW-BTC"), service.topRequested(2));
+        // 절반으로 줄어 XRP(1 -> 0) 는 빠지고 ETH 2, BTC 1
+        assertEquals(List.of("upbit:KRW-ETH", "upbit:KRW-BTC"), service.topRequested(5));
+        assertEquals(List.of("upbit:KRW-ETH"), service.topRequested(5));
+        assertTrue(service.topRequested(5).isEmpty());
+    }
+
+    private static Ticker ticker(String market) {
+        return new Ticker(market, 100, 0.01, 101, 99, 10, 1000, System.currentTimeMillis());
+    }
+}
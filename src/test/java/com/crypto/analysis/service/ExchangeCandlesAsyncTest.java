@@ -0,0 +1,70 @@
+package com.crypto.analysis.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.crypto.analysis.exchange.AdapterResult;
+import com.crypto.analysis.exchange.ExchangeAdapter;
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.model.Candle;
+import com.crypto.analysis.model.Timeframe;
+import com.crypto.analysis.upstream.ReactiveUpstreamClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * 거래소 어댑터 candlesAsync 가 지원하지 않는 단위를 조립 시점이 아니라 구독 시 오류로 알리고,
+ * 외부 호출 실패만 대체 데이터로 바꾸는지 확인
+ */
+class ExchangeCandlesAsyncTest {
+
+    private final ReactiveUpstreamClient client = mock(ReactiveUpstreamClient.class);
+
+    @Test
+    void unsupportedTimeframeIsAnErrorSignal() {
+        for (ExchangeAdapter adapter : List.of(upbit(), binance())) {
+            Mono<AdapterResult<Candle>> candles = adapter.candlesAsync("KRW-BTC", Timeframe.parse("7m"), 10);
+            assertThrows(IllegalArgumentException.class, candles::block, adapter.id());
+        }
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void upstreamFailureFallsBack() {
+        when(client.get(anyString(), any())).thenReturn(Mono.error(new IllegalStateException("503")));
+        for (ExchangeAdapter adapter : List.of(upbit(), binance())) {
+            AdapterResult<Candle> candles = adapter.candlesAsync("KRW-BTC", Timeframe.ONE_DAY, 10).block();
+            assertTrue(candles.degraded(), adapter.id());
+            assertEquals(10, candles.items().size(), adapter.id());
+        }
+    }
+
+    private UpbitService upbit() {
+        UpbitService upbit = new UpbitService(new RestTemplate());
+        ReflectionTestUtils.setField(upbit, "API_URL", "http://upbit");
+        ReflectionTestUtils.setField(upbit, "upstreamClient", client);
+        ReflectionTestUtils.setField(upbit, "metrics", new AnalysisMetrics(new SimpleMeterRegistry()));
+        return upbit;
+    }
+
+    private BinanceService binance() {
+        BinanceService binance = new BinanceService(new RestTemplate());
+        ReflectionTestUtils.setField(binance, "API_URL", "http://binance");
+        ReflectionTestUtils.setField(binance, "upstreamClient", client);
+        ReflectionTestUtils.setField(binance, "metrics", new AnalysisMetrics(new SimpleMeterRegistry()));
+        return binance;
+    }
+}
@@ -0,0 +1,147 @@
+package com.crypto.analysis.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.crypto.analysis.metrics.AnalysisMetrics;
+import com.crypto.analysis.model.MacroObservation;
+import com.crypto.analysis.model.MacroSnapshot;
+import com.crypto.analysis.repository.MacroObservationRepository;
+import com.crypto.analysis.upstream.ReactiveUpstreamClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 거시경제 스냅샷이 저장된 관측값으로 만들어지고, 실패한 시리즈는 이전 값을 유지하며 대체 표시되는지 확인
+ */
+class MacroDataServiceTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    private final Map<String, String> responses = new HashMap<>();
+    private final List<MacroObservation> store = new ArrayList<>();
+    private MacroDataService service;
+
+    @BeforeEach
+    void setUp() {
+        ReactiveUpstreamClient client = mock(ReactiveUpstreamClient.class);
+        when(client.get(anyString())).thenAnswer(invocation -> {
+            String url = invocation.getArgument(0);
+            return responses.entrySet().stream()
+                .filter(entry -> url.contains(entry.getKey()))
+                .findFirst()
+                .map(entry -> Mono.just(entry.getValue()))
+                .orElseGet(() -> Mono.error(new IllegalStateException("503")));
+        });
+
+        MacroObservationRepository repository = mock(MacroObservationRepository.class);
+        when(repository.findTop13BySeriesIdOrderByObservationDateDesc(anyString())).thenAnswer(invocation ->
+            store.stream()
+                .filter(o -> o.getSeriesId().equals(invocation.getArgument(0)))
+                .sorted(Comparator.comparing(MacroObservation::getObservationDate).reversed())
+                .limit(13)
+                .toList());
+        when(repository.findBySeriesIdAndObservationDate(anyString(), any(LocalDate.class))).thenAnswer(invocation ->
+            store.stream()
+                .filter(o -> o.getSeriesId().equals(invocation.getArgument(0))
+                    && o.getObservationDate().equals(invocation.getArgument(1)))
+                .findFirst());
+        when(repository.save(any(MacroObservation.class))).thenAnswer(invocation -> {
+            MacroObservation observation = invocation.getArgument(0);
+            if (!store.contains(observation)) {
+                store.add(observation);
+            }
+            return observation;
+        });
+
+        service = new MacroDataService(client, repository);
+        ReflectionTestUtils.setField(service, "FRED_API_URL", "http://fred");
+        ReflectionTestUtils.setField(service, "ALPHA_VANTAGE_API_URL", "http://alphavantage");
+        ReflectionTestUtils.setField(service, "metrics", new AnalysisMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "blockingScheduler", Schedulers.immediate());
+    }
+
+    @Test
+    void startsFromDefaultsWhenNothingIsStored() {
+        service.init();
+        MacroSnapshot snapshot = service.getSnapshot();
+        assertTrue(snapshot.fallback());
+        assertEquals(MacroSnapshot.DEFAULT.interestRate(), snapshot.interestRate());
+    }
+
+    @Test
+    void buildsSnapshotFromAllSeries() {
+        responses.put("series_id=DFF", fred(5.33));
+        responses.put("series_id=CPIAUCSL", cpi());
+        responses.put("symbol=DXY", quote(104.2, "2024-03-08"));
+        responses.put("symbol=SPY", quote(512.5, "2024-03-08"));
+        service.refresh();
+
+        MacroSnapshot snapshot = service.getSnapshot();
+        assertFalse(snapshot.fallback());
+        assertEquals(5.33, snapshot.interestRate(), TOLERANCE);
+        // 최신 13개 중 1년 전 값(300) 대비 (312 / 300 - 1) * 100 = 4.0
+        assertEquals(4.0, snapshot.inflation(), TOLERANCE);
+        assertEquals(104.2, snapshot.dollarIndex(), TOLERANCE);
+        assertEquals(5125, snapshot.sp500(), TOLERANCE);
+    }
+
+    @Test
+    void keepsStoredValuesWhenASeriesFails() {
+        responses.put("series_id=DFF", fred(5.33));
+        responses.put("series_id=CPIAUCSL", cpi());
+        responses.put("symbol=DXY", quote(104.2, "2024-03-08"));
+        responses.put("symbol=SPY", quote(512.5, "2024-03-08"));
+        service.refresh();
+
+        // 같은 날짜의 수정된 금리는 덮어쓰고, 시세 조회 실패(한도 초과 응답, 오류)는 저장된 값 유지
+        responses.put("series_id=DFF", fred(5.08));
+        responses.put("symbol=DXY", "{\"Note\": \"rate limit\"}");
+        responses.remove("symbol=SPY");
+        service.refresh();
+
+        MacroSnapshot snapshot = service.getSnapshot();
+        assertTrue(snapshot.fallback());
+        assertEquals(5.08, snapshot.interestRate(), TOLERANCE);
+        assertEquals(104.2, snapshot.dollarIndex(), TOLERANCE);
+        assertEquals(5125, snapshot.sp500(), TOLERANCE);
+        assertEquals(1, store.stream().filter(o -> o.getSeriesId().equals("DFF")).count());
+    }
+
+    private static String fred(double value) {
+        return "{\"observations\": [{\"date\": \"2024-03-08\", \"value\": \"" + value + "\"}]}";
+    }
+
+    /** 2023-03 ~ 2024-03 월별 CPI, 값이 없는 달(".")은 건너뜀 */
+    private static String cpi() {
+        StringBuilder sb = new StringBuilder("{\"observations\": [");
+        sb.append("{\"date\": \"2024-04-01\", \"value\": \".\"}");
+        for (int month = 12; month >= 0; month--) {
+            LocalDate date = LocalDate.of(2023, 3, 1).plusMonths(month);
+            sb.append(", {\"date\": \"").append(date).append("\", \"value\": \"").append(300 + month).append("\"}");
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static String quote(double price, String day) {
+        return "{\"Global Quote\": {\"05. price\": \"" + price + "\", \"07. latest trading day\": \"" + day + "\"}}";
+    }
+}
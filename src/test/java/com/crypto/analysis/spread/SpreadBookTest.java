@@ -0,0 +1,87 @@
+package com.crypto.analysis.spread;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 프리미엄 링 버퍼의 평균/표준편차/z-score 를 남아 있는 표본의 전체 재계산과 비교하고, 오래된 가격 제외 확인
+ */
+class SpreadBookTest {
+
+    private static final double FX = 1300;
+    private static final long MAX_AGE = 10_000;
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void rollingStatisticsMatchRecomputation() {
+        Random random = new Random(23);
+        int historySize = 50;
+        SpreadBook book = new SpreadBook(List.of("BTC", "ETH"), historySize);
+        List<Double> premiums = new ArrayList<>();
+
+        double usd = 60_000;
+        for (int i = 0; i < 400; i++) {
+            long now = i * 1000L;
+            usd *= 1 + random.nextGaussian() * 0.001;
+            double krw = usd * FX * (1 + (2 + random.nextGaussian()) / 100);
+            assertTrue(book.onBinance("BTCUSDT", usd, now));
+            assertTrue(book.onUpbit("KRW-BTC", krw, now));
+            book.sample(now, FX, MAX_AGE);
+            premiums.add((krw / (usd * FX) - 1) * 100);
+
+            if (i % 37 == 0 || i == 399) {
+                List<Double> kept = premiums.subList(Math.max(premiums.size() - historySize, 0), premiums.size());
+                double mean = kept.stream().mapToDouble(Double::doubleValue).average().orElseThrow();
+                double variance = kept.stream().mapToDouble(p -> (p - mean) * (p - mean)).sum() / kept.size();
+                double std = Math.sqrt(variance);
+                double last = kept.get(kept.size() - 1);
+
+                List<SpreadSnapshot.AssetSpread> spreads = book.spreads();
+                // ETH 는 가격을 받은 적이 없어 제외
+                assertEquals(1, spreads.size());
+                SpreadSnapshot.AssetSpread btc = spreads.get(0);
+                assertEquals("BTC", btc.asset());
+                assertEquals(kept.size(), btc.samples());
+                assertEquals(last, btc.premium(), TOLERANCE);
+                assertEquals(mean, btc.mean(), TOLERANCE);
+                assertEquals(std, btc.std(), TOLERANCE);
+                assertEquals(kept.size() >= 30 ? (last - mean) / std : 0, btc.zScore(), 1e-6);
+            }
+        }
+
+        List<SpreadSnapshot.SpreadPoint> history = book.history("BTC", 3);
+        assertEquals(3, history.size());
+        assertEquals(397_000, history.get(0).time());
+        assertEquals(premiums.get(399), history.get(2).premium(), TOLERANCE);
+        assertEquals(historySize, book.history("BTC", 1000).size());
+        assertTrue(book.history("DOGE", 10).isEmpty());
+    }
+
+    @Test
+    void skipsStalePricesAndUnknownMarkets() {
+        SpreadBook book = new SpreadBook(List.of("BTC"), 10);
+        assertFalse(book.onUpbit("KRW-ETH", 1, 0));
+        assertFalse(book.onBinance("ETHUSDT", 1, 0));
+
+        book.onUpbit("KRW-BTC", 66_300_000, 0);
+        book.onBinance("BTCUSDT", 50_000, 5_000);
+        book.sample(5_000, FX, MAX_AGE);
+        assertEquals(2, book.spreads().get(0).premium(), TOLERANCE);
+
+        // 업비트 가격이 max-age 를 넘으면 표본을 건너뛰고 현재 프리미엄 목록에서도 빠짐
+        book.sample(10_001, FX, MAX_AGE);
+        assertTrue(book.spreads().isEmpty());
+        assertEquals(1, book.history("BTC", 10).size());
+        // 환율이 없으면 계산하지 않음
+        book.onUpbit("KRW-BTC", 66_300_000, 10_001);
+        book.sample(10_001, 0, MAX_AGE);
+        assertTrue(book.spreads().isEmpty());
+    }
+}
@@ -0,0 +1,158 @@
+package com.crypto.analysis.trade;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 체결 테이프의 링 버퍼/윈도우 계산을 전체 재계산과 비교하고, 최근 체결 id 중복 제거를 확인
+ */
+class TradeTapeTest {
+
+    private static final long WINDOW_MS = 60_000;
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void windowMatchesRecomputation() {
+        Random random = new Random(11);
+        TradeTape tape = new TradeTape("upbit", "KRW-BTC", WINDOW_MS, 100_000, 0.1);
+        List<long[]> times = new ArrayList<>();
+        List<double[]> trades = new ArrayList<>();
+
+        long time = 0;
+        double price = 50_000;
+        for (int i = 0; i < 50_000; i++) {
+            time += random.nextInt(50);
+            price = Math.max(1, price * (1 + random.nextGaussian() * 0.0005));
+            double size = random.nextDouble() * 2 + 0.001;
+            boolean buy = random.nextBoolean();
+            assertTrue(tape.add(trade(i, time, price, size, buy)));
+            times.add(new long[] { time });
+            trades.add(new double[] { price, buy ? size : -size });
+
+            if (i % 5000 == 4999) {
+                assertWindow(tape.snapshot(time, 10), times, trades, time - WINDOW_MS);
+            }
+        }
+    }
+
+    @Test
+    void fullRingEvictsOldestBeforeWindowEnds() {
+        TradeTape tape = new TradeTape("upbit", "KRW-BTC", WINDOW_MS, 4, 0.1);
+        for (int i = 0; i < 6; i++) {
+            tape.add(trade(i, 1000L * i, 100 + i, 1, true));
+        }
+        TradeFlowSnapshot snapshot = tape.snapshot(5000, 10);
+        assertEquals(4, snapshot.trades());
+        // 윈도우(60초)보다 짧은 실제 구간 (2초 ~ 5초 체결)
+        assertEquals(3000, snapshot.windowMs());
+        assertEquals((102 + 103 + 104 + 105) / 4.0, snapshot.vwap(), TOLERANCE);
+        assertEquals(4, snapshot.buyVolume(), TOLERANCE);
+        // cvd 는 빠진 체결까지 누적
+        assertEquals(6, snapshot.cvd(), TOLERANCE);
+    }
+
+    @Test
+    void emptyWindowKeepsCvd() {
+        TradeTape tape = new TradeTape("upbit", "KRW-BTC", WINDOW_MS, 16, 0.1);
+        tape.add(trade(1, 0, 100, 2, true));
+        tape.add(trade(2, 10, 100, 5, false));
+        assertNull(tape.snapshot(WINDOW_MS + 100, 10));
+
+        tape.add(trade(3, WINDOW_MS + 200, 100, 1, true));
+        TradeFlowSnapshot snapshot = tape.snapshot(WINDOW_MS + 200, 10);
+        assertEquals(1, snapshot.trades());
+        assertEquals(1, snapshot.volume(), TOLERANCE);
+        assertEquals(1, snapshot.delta(), TOLERANCE);
+        assertEquals(-2, snapshot.cvd(), TOLERANCE);
+    }
+
+    @Test
+    void lateTradeKeepsRingOrder() {
+        TradeTape tape = new TradeTape("upbit", "KRW-BTC", WINDOW_MS, 16, 0.1);
+        tape.add(trade(1, 10_000, 100, 1, true));
+        tape.add(trade(2, 5_000, 100, 1, true));
+        assertEquals(10_000, tape.getLastTime());
+        // 늦게 온 체결은 앞선 체결 시각으로 맞춰져 함께 만료
+        assertEquals(2, tape.snapshot(10_000 + WINDOW_MS, 10).trades());
+        assertNull(tape.snapshot(10_001 + WINDOW_MS, 10));
+    }
+
+    @Test
+    void dropsRecentDuplicateIds() {
+        TradeTape tape = new TradeTape("upbit", "KRW-BTC", WINDOW_MS, 4096, 0.1);
+        assertTrue(tape.add(trade(5, 0, 100, 1, true)));
+        // 업비트 sequential_id 는 단조 증가가 아니므로 더 작은 id 도 새 체결
+        assertTrue(tape.add(trade(3, 1, 100, 1, true)));
+        assertFalse(tape.add(trade(5, 2, 100, 1, true)));
+        assertFalse(tape.add(trade(3, 3, 100, 1, true)));
+        assertEquals(3, tape.getLastTradeId());
+        // id 가 없는 체결(-1)은 중복 확인 없이 반영
+        assertTrue(tape.add(trade(-1, 4, 100, 1, true)));
+        assertTrue(tape.add(trade(-1, 5, 100, 1, true)));
+
+        // RECENT_IDS 개가 더 지나면 처음 id 는 잊음
+        for (int i = 0; i < TradeTape.RECENT_IDS; i++) {
+            assertTrue(tape.add(trade(1_000 + i, 10 + i, 100, 1, true)));
+        }
+        assertTrue(tape.add(trade(5, 10_000, 100, 1, true)));
+        assertEquals(4 + TradeTape.RECENT_IDS + 1, tape.snapshot(10_000, 10).trades());
+    }
+
+    @Test
+    void valueAreaCoversPoc() {
+        TradeTape tape = new TradeTape("upbit", "KRW-BTC", WINDOW_MS, 64, 1);
+        tape.add(trade(1, 0, 100, 1, true));
+        tape.add(trade(2, 1, 105, 10, true));
+        tape.add(trade(3, 2, 110, 1, false));
+        TradeFlowSnapshot snapshot = tape.snapshot(2, 2);
+        // 버킷 크기 1 (첫 체결 가격의 1%)
+        assertEquals(105.5, snapshot.poc(), TOLERANCE);
+        assertTrue(snapshot.valueAreaLow() <= 105 && snapshot.valueAreaHigh() >= 106);
+        assertEquals(2, snapshot.profile().size());
+        assertEquals(105.5, snapshot.profile().get(snapshot.profile().size() - 1).price(), TOLERANCE);
+    }
+
+    private static void assertWindow(TradeFlowSnapshot snapshot, List<long[]> times, List<double[]> trades, long cutoff) {
+        double notional = 0;
+        double buy = 0;
+        double sell = 0;
+        int count = 0;
+        for (int i = 0; i < trades.size(); i++) {
+            if (times.get(i)[0] < cutoff) {
+                continue;
+            }
+            double price = trades.get(i)[0];
+            double signed = trades.get(i)[1];
+            notional += price * Math.abs(signed);
+            if (signed > 0) {
+                buy += signed;
+            } else {
+                sell -= signed;
+            }
+            count++;
+        }
+        assertEquals(count, snapshot.trades());
+        assertEquals(buy, snapshot.buyVolume(), buy * TOLERANCE);
+        assertEquals(sell, snapshot.sellVolume(), sell * TOLERANCE);
+        assertEquals(notional / (buy + sell), snapshot.vwap(), snapshot.vwap() * TOLERANCE);
+    }
+
+    private static TradeEvent trade(long id, long time, double price, double size, boolean buy) {
+        TradeEvent trade = new TradeEvent();
+        trade.setMarket("KRW-BTC");
+        trade.setTradeId(id);
+        trade.setTime(time);
+        trade.setPrice(price);
+        trade.setSize(size);
+        trade.setBuy(buy);
+        return trade;
+    }
+}